@@ -16,6 +16,8 @@ import org.opentcs.components.kernel.services.TCSObjectService;
 import org.opentcs.data.ObjectHistory;
 import org.opentcs.data.TCSObject;
 import org.opentcs.data.TCSObjectReference;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.TransportOrder;
 
 /**
  * Declares the methods provided by the {@link TCSObjectService} via RMI.
@@ -53,6 +55,13 @@ public interface RemoteTCSObjectService
                                                Predicate<? super T> predicate)
       throws RemoteException;
 
+  Set<TransportOrder> fetchTransportOrders(ClientID clientId, TransportOrder.State state)
+      throws RemoteException;
+
+  Set<TransportOrder> fetchTransportOrders(ClientID clientId,
+                                           TCSObjectReference<Vehicle> vehicleRef)
+      throws RemoteException;
+
   void updateObjectProperty(ClientID clientId,
                             TCSObjectReference<?> ref,
                             String key,
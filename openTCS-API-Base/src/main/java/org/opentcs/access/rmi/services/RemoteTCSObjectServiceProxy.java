@@ -16,6 +16,8 @@ import org.opentcs.data.ObjectHistory;
 import org.opentcs.data.ObjectUnknownException;
 import org.opentcs.data.TCSObject;
 import org.opentcs.data.TCSObjectReference;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.TransportOrder;
 
 /**
  * The default implementation of the tcs object service.
@@ -81,6 +83,32 @@ abstract class RemoteTCSObjectServiceProxy<R extends RemoteTCSObjectService>
     }
   }
 
+  @Override
+  public Set<TransportOrder> fetchTransportOrders(TransportOrder.State state)
+      throws KernelRuntimeException {
+    checkServiceAvailability();
+
+    try {
+      return getRemoteService().fetchTransportOrders(getClientId(), state);
+    }
+    catch (RemoteException ex) {
+      throw findSuitableExceptionFor(ex);
+    }
+  }
+
+  @Override
+  public Set<TransportOrder> fetchTransportOrders(TCSObjectReference<Vehicle> vehicleRef)
+      throws KernelRuntimeException {
+    checkServiceAvailability();
+
+    try {
+      return getRemoteService().fetchTransportOrders(getClientId(), vehicleRef);
+    }
+    catch (RemoteException ex) {
+      throw findSuitableExceptionFor(ex);
+    }
+  }
+
   @Override
   public void updateObjectProperty(TCSObjectReference<?> ref, String key, String value)
       throws ObjectUnknownException, KernelRuntimeException {
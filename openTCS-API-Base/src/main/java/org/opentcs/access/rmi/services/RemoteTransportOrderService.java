@@ -9,6 +9,7 @@ package org.opentcs.access.rmi.services;
 
 import java.rmi.Remote;
 import java.rmi.RemoteException;
+import java.util.List;
 import org.opentcs.access.rmi.ClientID;
 import org.opentcs.access.to.order.OrderSequenceCreationTO;
 import org.opentcs.access.to.order.TransportOrderCreationTO;
@@ -44,6 +45,9 @@ public interface RemoteTransportOrderService
   TransportOrder createTransportOrder(ClientID clientId, TransportOrderCreationTO to)
       throws RemoteException;
 
+  List<TransportOrder> createTransportOrders(ClientID clientId, List<TransportOrderCreationTO> tos)
+      throws RemoteException;
+
   void markOrderSequenceComplete(ClientID clientId, TCSObjectReference<OrderSequence> ref)
       throws RemoteException;
   // CHECKSTYLE:ON
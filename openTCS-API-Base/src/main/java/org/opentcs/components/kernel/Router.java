@@ -15,6 +15,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.opentcs.components.Lifecycle;
 import org.opentcs.data.TCSObjectReference;
+import org.opentcs.data.model.Path;
 import org.opentcs.data.model.Point;
 import org.opentcs.data.model.Vehicle;
 import org.opentcs.data.order.DriveOrder;
@@ -63,6 +64,20 @@ public interface Router
    */
   void topologyChanged();
 
+  /**
+   * Notifies the router of changes in the topology that are limited to the given paths (e.g.
+   * because they were locked or unlocked).
+   * <p>
+   * Implementations may use this to update their routing tables incrementally.
+   * The default implementation simply calls {@link #topologyChanged()}.
+   * </p>
+   *
+   * @param paths The paths that changed, in their current states.
+   */
+  default void topologyChanged(@Nonnull Set<Path> paths) {
+    topologyChanged();
+  }
+
   /**
    * Checks the general routability of a given transport order.
    *
@@ -7,6 +7,8 @@
  */
 package org.opentcs.components.kernel.services;
 
+import java.util.HashSet;
+import static java.util.Objects.requireNonNull;
 import java.util.Set;
 import java.util.function.Predicate;
 import javax.annotation.Nonnull;
@@ -16,6 +18,8 @@ import org.opentcs.data.ObjectHistory;
 import org.opentcs.data.ObjectUnknownException;
 import org.opentcs.data.TCSObject;
 import org.opentcs.data.TCSObjectReference;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.TransportOrder;
 
 /**
  * Provides methods concerning {@link TCSObject}s.
@@ -76,6 +80,58 @@ public interface TCSObjectService {
                                                @Nonnull Predicate<? super T> predicate)
       throws KernelRuntimeException;
 
+  /**
+   * Returns all existing {@link TransportOrder}s in the given state.
+   * <p>
+   * The default implementation filters all transport orders.
+   * Implementations are encouraged to provide more efficient lookups, e.g. via indexes.
+   * </p>
+   *
+   * @param state The state of the transport orders to be returned.
+   * @return Copies of all existing transport orders in the given state. If no such orders exist,
+   * the returned set will be empty.
+   * @throws KernelRuntimeException In case there is an exception executing this method.
+   */
+  default Set<TransportOrder> fetchTransportOrders(@Nonnull TransportOrder.State state)
+      throws KernelRuntimeException {
+    requireNonNull(state, "state");
+
+    Set<TransportOrder> result = new HashSet<>();
+    for (TransportOrder order : fetchObjects(TransportOrder.class)) {
+      if (order.hasState(state)) {
+        result.add(order);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns all existing {@link TransportOrder}s the given vehicle is intended to process or is
+   * processing.
+   * <p>
+   * The default implementation filters all transport orders.
+   * Implementations are encouraged to provide more efficient lookups, e.g. via indexes.
+   * </p>
+   *
+   * @param vehicleRef A reference to the vehicle.
+   * @return Copies of all existing transport orders with the given vehicle as their intended or
+   * processing vehicle. If no such orders exist, the returned set will be empty.
+   * @throws KernelRuntimeException In case there is an exception executing this method.
+   */
+  default Set<TransportOrder> fetchTransportOrders(@Nonnull TCSObjectReference<Vehicle> vehicleRef)
+      throws KernelRuntimeException {
+    requireNonNull(vehicleRef, "vehicleRef");
+
+    Set<TransportOrder> result = new HashSet<>();
+    for (TransportOrder order : fetchObjects(TransportOrder.class)) {
+      if (vehicleRef.equals(order.getIntendedVehicle())
+          || vehicleRef.equals(order.getProcessingVehicle())) {
+        result.add(order);
+      }
+    }
+    return result;
+  }
+
   /**
    * Updates a {@link TCSObject}'s property.
    *
@@ -7,6 +7,10 @@
  */
 package org.opentcs.components.kernel.services;
 
+import java.util.ArrayList;
+import java.util.List;
+import static java.util.Objects.requireNonNull;
+import javax.annotation.Nonnull;
 import org.opentcs.access.KernelRuntimeException;
 import org.opentcs.access.to.order.OrderSequenceCreationTO;
 import org.opentcs.access.to.order.TransportOrderCreationTO;
@@ -55,6 +59,36 @@ public interface TransportOrderService
   TransportOrder createTransportOrder(TransportOrderCreationTO to)
       throws ObjectUnknownException, ObjectExistsException, KernelRuntimeException;
 
+  /**
+   * Creates new transport orders.
+   * The transport orders are created in the given order, as with
+   * {@link #createTransportOrder(TransportOrderCreationTO)}, so every transport order may refer to
+   * the ones preceding it, e.g. as a dependency.
+   * Copies of the newly created transport orders are then returned.
+   * <p>
+   * Implementations are encouraged to create all transport orders at once, so that either all or
+   * none of them are created.
+   * The default implementation creates them one by one and does not do so.
+   * </p>
+   *
+   * @param tos Describe the transport orders to be created.
+   * @return Copies of the newly created transport orders, in the given order.
+   * @throws ObjectUnknownException If any referenced object does not exist.
+   * @throws ObjectExistsException If an object with the same name as any of the new transport
+   * orders already exists in the model.
+   * @throws KernelRuntimeException In case there is an exception executing this method.
+   */
+  default List<TransportOrder> createTransportOrders(@Nonnull List<TransportOrderCreationTO> tos)
+      throws ObjectUnknownException, ObjectExistsException, KernelRuntimeException {
+    requireNonNull(tos, "tos");
+
+    List<TransportOrder> result = new ArrayList<>(tos.size());
+    for (TransportOrderCreationTO to : tos) {
+      result.add(createTransportOrder(to));
+    }
+    return result;
+  }
+
   /**
    * Marks an order sequence as complete by setting its complete flag.
    *
@@ -23,4 +23,25 @@ public interface ConfigurationBindingProvider {
    * @return The corresponding binding.
    */
   <T> T get(String prefix, Class<T> type);
+
+  /**
+   * Registers a listener to be notified when configuration values provided by any of this
+   * provider's bindings change.
+   * <p>
+   * The default implementation does nothing, i.e. it is suitable for providers whose bindings'
+   * values never change.
+   * </p>
+   *
+   * @param listener The listener.
+   */
+  default void addChangeListener(ConfigurationChangeListener listener) {
+  }
+
+  /**
+   * Unregisters a listener.
+   *
+   * @param listener The listener.
+   */
+  default void removeChangeListener(ConfigurationChangeListener listener) {
+  }
 }
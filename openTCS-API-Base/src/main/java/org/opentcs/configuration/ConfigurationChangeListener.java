@@ -0,0 +1,23 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.configuration;
+
+/**
+ * A listener interested in changes of configuration values.
+ */
+@FunctionalInterface
+public interface ConfigurationChangeListener {
+
+  /**
+   * Called after configuration values have been reloaded and the values provided by the binding
+   * for the given prefix have changed.
+   *
+   * @param prefix The prefix of the binding whose values changed.
+   */
+  void configurationChanged(String prefix);
+}
@@ -0,0 +1,29 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.customizations.kernel;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import javax.inject.Qualifier;
+
+/**
+ * Annotation type to mark an injectable {@code ScheduledExecutorService} to be used by a single
+ * communication adapter.
+ * <p>
+ * Every injection of such an executor yields an executor of its own that executes tasks serially,
+ * in submission order.
+ * Depending on the kernel's configuration, this may be the kernel executor itself.
+ * </p>
+ */
+@Qualifier
+@Target({ElementType.FIELD, ElementType.PARAMETER, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CommAdapterExecutor {
+}
@@ -7,17 +7,29 @@
  */
 package org.opentcs.data;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import static java.util.Objects.requireNonNull;
+import java.util.Optional;
 import javax.annotation.Nonnull;
 import static org.opentcs.util.Assertions.checkArgument;
 
 /**
  * A history of events related to an object.
+ * <p>
+ * Histories are immutable and share their entries structurally, so appending an entry takes
+ * constant time regardless of the number of entries already contained.
+ * A history may be limited to a maximum number of entries, in which case the oldest entries are
+ * evicted when new ones are appended.
+ * </p>
  *
  * @author Stefan Walter (Fraunhofer IML)
  */
@@ -25,24 +37,52 @@ public class ObjectHistory
     implements Serializable {
 
   /**
-   * The actual history entries.
+   * The maximum number of entries of histories that are not limited.
    */
-  private final List<Entry> entries;
+  public static final int UNLIMITED = Integer.MAX_VALUE;
+  /**
+   * The most recent entry's node, or {@code null}, if this history is empty.
+   */
+  private final transient Node lastNode;
+  /**
+   * The number of entries in this history.
+   */
+  private final transient int size;
+  /**
+   * The number of nodes reachable from the last node, including evicted ones.
+   */
+  private final transient int chainLength;
+  /**
+   * The maximum number of entries in this history.
+   */
+  private final transient int maxEntries;
+  /**
+   * The most recent entry's node for every event code, shared with the history this one was
+   * derived from where possible.
+   */
+  private final transient Map<String, Node> lastNodesByEventCode;
+  /**
+   * This history's entries, materialized on demand.
+   */
+  private transient volatile List<Entry> entries;
 
   /**
    * Creates a new instance.
    */
   public ObjectHistory() {
-    this(new ArrayList<>());
+    this(null, 0, 0, UNLIMITED, Collections.emptyMap());
   }
 
-  /**
-   * Creates a new instance with the given list of entries.
-   *
-   * @param entries
-   */
-  private ObjectHistory(List<Entry> entries) {
-    this.entries = Collections.unmodifiableList(requireNonNull(entries, "entries"));
+  private ObjectHistory(Node lastNode,
+                        int size,
+                        int chainLength,
+                        int maxEntries,
+                        Map<String, Node> lastNodesByEventCode) {
+    this.lastNode = lastNode;
+    this.size = size;
+    this.chainLength = chainLength;
+    this.maxEntries = maxEntries;
+    this.lastNodesByEventCode = lastNodesByEventCode;
   }
 
   /**
@@ -51,21 +91,96 @@ public class ObjectHistory
    * @return This history's entries.
    */
   public List<Entry> getEntries() {
-    return entries;
+    List<Entry> result = entries;
+    if (result == null) {
+      Entry[] array = new Entry[size];
+      Node node = lastNode;
+      for (int i = size - 1; i >= 0; i--) {
+        array[i] = node.entry;
+        node = node.previous;
+      }
+      result = Collections.unmodifiableList(Arrays.asList(array));
+      entries = result;
+    }
+    return result;
+  }
+
+  /**
+   * Returns the most recent entry with any of the given event codes.
+   * <p>
+   * This method does not iterate over this history's entries, i.e. its cost does not depend on the
+   * number of entries.
+   * </p>
+   *
+   * @param eventCodes The event codes.
+   * @return The most recent entry with any of the given event codes, or an empty optional, if this
+   * history does not contain any such entry.
+   */
+  @Nonnull
+  public Optional<Entry> getLastEntry(@Nonnull String... eventCodes) {
+    requireNonNull(eventCodes, "eventCodes");
+
+    Node result = null;
+    for (String eventCode : eventCodes) {
+      Node node = lastNodesByEventCode.get(eventCode);
+      if (node != null
+          && isRetained(node)
+          && (result == null || node.sequenceNumber > result.sequenceNumber)) {
+        result = node;
+      }
+    }
+    return result == null ? Optional.empty() : Optional.of(result.entry);
+  }
+
+  /**
+   * Returns the maximum number of entries in this history.
+   *
+   * @return The maximum number of entries in this history, or {@link #UNLIMITED}.
+   */
+  public int getMaxEntries() {
+    return maxEntries;
+  }
+
+  /**
+   * Returns a copy of this object, with the given maximum number of entries.
+   * If this history contains more entries, the oldest ones are evicted.
+   *
+   * @param maxEntries The maximum number of entries, or {@link #UNLIMITED}.
+   * @return A copy of this object, with the given maximum number of entries.
+   */
+  public ObjectHistory withMaxEntries(int maxEntries) {
+    checkArgument(maxEntries > 0, "maxEntries <= 0: %s", maxEntries);
+
+    if (maxEntries == this.maxEntries) {
+      return this;
+    }
+    if (size <= maxEntries) {
+      return new ObjectHistory(lastNode, size, chainLength, maxEntries, lastNodesByEventCode);
+    }
+    List<Entry> currentEntries = getEntries();
+    return fromEntries(currentEntries.subList(currentEntries.size() - maxEntries,
+                                              currentEntries.size()),
+                       maxEntries);
   }
 
   /**
    * Returns a copy of this object, with the given entries.
+   * If this history is limited to fewer entries, only the most recent of the given entries are
+   * kept.
    *
    * @param entries The entries.
    * @return A copy of this object, with the given entries.
    */
   public ObjectHistory withEntries(List<Entry> entries) {
-    return new ObjectHistory(entries);
+    requireNonNull(entries, "entries");
+
+    return fromEntries(entries.subList(Math.max(0, entries.size() - maxEntries), entries.size()),
+                       maxEntries);
   }
 
   /**
    * Returns a copy of this object, with the given entry appended.
+   * If this history already contains its maximum number of entries, the oldest entry is evicted.
    *
    * @param entry The entry.
    * @return A copy of this object, with the given entry appended.
@@ -73,15 +188,99 @@ public class ObjectHistory
   public ObjectHistory withEntryAppended(Entry entry) {
     requireNonNull(entry, "entry");
 
-    List<Entry> newEntries = new ArrayList<>(entries.size() + 1);
-    newEntries.addAll(entries);
-    newEntries.add(entry);
-    return new ObjectHistory(newEntries);
+    // Evicted nodes remain reachable until the chain has grown to twice the maximum number of
+    // entries. Compacting it only then keeps the amortized cost of appending constant.
+    if (maxEntries != UNLIMITED && chainLength >= 2L * maxEntries) {
+      List<Entry> newEntries = new ArrayList<>(maxEntries);
+      newEntries.addAll(getEntries().subList(size - (maxEntries - 1), size));
+      newEntries.add(entry);
+      return fromEntries(newEntries, maxEntries);
+    }
+
+    Node node = new Node(entry, lastNode);
+    Map<String, Node> newLastNodes = new HashMap<>(lastNodesByEventCode);
+    newLastNodes.put(entry.getEventCode(), node);
+    return new ObjectHistory(node,
+                             Math.min(size + 1, maxEntries),
+                             chainLength + 1,
+                             maxEntries,
+                             Collections.unmodifiableMap(newLastNodes));
   }
 
   @Override
   public String toString() {
-    return "ObjectHistory{" + "entries=" + entries + '}';
+    return "ObjectHistory{" + "entries=" + getEntries() + '}';
+  }
+
+  private boolean isRetained(Node node) {
+    return node.sequenceNumber > lastNode.sequenceNumber - size;
+  }
+
+  private static ObjectHistory fromEntries(List<Entry> entries, int maxEntries) {
+    Node node = null;
+    Map<String, Node> lastNodes = new HashMap<>();
+    for (Entry entry : entries) {
+      node = new Node(requireNonNull(entry, "entry"), node);
+      lastNodes.put(entry.getEventCode(), node);
+    }
+    return new ObjectHistory(node,
+                             entries.size(),
+                             entries.size(),
+                             maxEntries,
+                             Collections.unmodifiableMap(lastNodes));
+  }
+
+  private Object writeReplace() {
+    return new SerializedForm(this);
+  }
+
+  private void readObject(ObjectInputStream stream)
+      throws InvalidObjectException {
+    throw new InvalidObjectException("Serialized form required");
+  }
+
+  /**
+   * A node in a chain of history entries.
+   */
+  private static final class Node {
+
+    /**
+     * The entry.
+     */
+    private final Entry entry;
+    /**
+     * The node of the preceding entry, or {@code null}.
+     */
+    private final Node previous;
+    /**
+     * The position of the entry in the chain.
+     */
+    private final long sequenceNumber;
+
+    Node(Entry entry, Node previous) {
+      this.entry = entry;
+      this.previous = previous;
+      this.sequenceNumber = previous == null ? 0 : previous.sequenceNumber + 1;
+    }
+  }
+
+  /**
+   * The serialized form of a history, containing its entries as a plain list.
+   */
+  private static final class SerializedForm
+      implements Serializable {
+
+    private final ArrayList<Entry> entries;
+    private final int maxEntries;
+
+    SerializedForm(ObjectHistory history) {
+      this.entries = new ArrayList<>(history.getEntries());
+      this.maxEntries = history.maxEntries;
+    }
+
+    private Object readResolve() {
+      return fromEntries(entries, maxEntries);
+    }
   }
 
   /**
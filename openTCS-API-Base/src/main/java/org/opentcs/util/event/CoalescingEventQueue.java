@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.util.event;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opentcs.data.TCSObjectEvent;
+
+/**
+ * A queue of events in which modifications of objects may be merged with queued events.
+ * <p>
+ * In coalescing mode, a modification of an object is merged with a queued creation or modification
+ * of the same object, so a consumer receives only the object's latest state and its state as of
+ * the queued event.
+ * The merged event keeps the position of the queued one.
+ * Any other event for an object (e.g. its removal) ends merging for that object, so later
+ * modifications are never merged with events preceding it.
+ * </p>
+ * <p>
+ * Note that this class is not thread-safe.
+ * </p>
+ */
+public class CoalescingEventQueue {
+
+  /**
+   * The queued events.
+   */
+  private final Deque<QueuedEvent> events = new ArrayDeque<>();
+  /**
+   * The queued creations and modifications of objects that later modifications may be merged
+   * with, by object name.
+   */
+  private final Map<String, QueuedEvent> mergeableEvents = new HashMap<>();
+  /**
+   * Whether to merge modifications of objects with queued events.
+   */
+  private final boolean coalescing;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param coalescing Whether to merge modifications of objects with queued events.
+   */
+  public CoalescingEventQueue(boolean coalescing) {
+    this.coalescing = coalescing;
+  }
+
+  /**
+   * Merges the given event with a queued one, if possible.
+   * <p>
+   * If the event is not merged, it is expected to be added to this queue via
+   * {@link #add(java.lang.Object)} subsequently.
+   * </p>
+   *
+   * @param event The event.
+   * @return Whether the event was merged with a queued one.
+   */
+  public boolean merge(@Nonnull Object event) {
+    requireNonNull(event, "event");
+    if (!coalescing || !(event instanceof TCSObjectEvent)) {
+      return false;
+    }
+    TCSObjectEvent objectEvent = (TCSObjectEvent) event;
+    String objectName = objectEvent.getCurrentOrPreviousObjectState().getName();
+    if (objectEvent.getType() != TCSObjectEvent.Type.OBJECT_MODIFIED) {
+      // Later modifications must not be merged with events preceding this one.
+      mergeableEvents.remove(objectName);
+      return false;
+    }
+
+    QueuedEvent queuedEvent = mergeableEvents.get(objectName);
+    if (queuedEvent == null) {
+      return false;
+    }
+    TCSObjectEvent queuedObjectEvent = (TCSObjectEvent) queuedEvent.event;
+    queuedEvent.event = new TCSObjectEvent(objectEvent.getCurrentObjectState(),
+                                           queuedObjectEvent.getPreviousObjectState(),
+                                           queuedObjectEvent.getType());
+    return true;
+  }
+
+  /**
+   * Adds the given event to the end of this queue.
+   *
+   * @param event The event.
+   */
+  public void add(@Nonnull Object event) {
+    requireNonNull(event, "event");
+    QueuedEvent queuedEvent = new QueuedEvent(event);
+    events.addLast(queuedEvent);
+    if (coalescing && isMergeTarget(event)) {
+      mergeableEvents.put(((TCSObjectEvent) event).getCurrentObjectState().getName(),
+                          queuedEvent);
+    }
+  }
+
+  /**
+   * Removes the oldest event from this queue.
+   *
+   * @return The oldest event, or {@code null}, if this queue is empty.
+   */
+  @Nullable
+  public Object poll() {
+    QueuedEvent queuedEvent = events.pollFirst();
+    if (queuedEvent == null) {
+      return null;
+    }
+    if (queuedEvent.event instanceof TCSObjectEvent) {
+      mergeableEvents.remove(
+          ((TCSObjectEvent) queuedEvent.event).getCurrentOrPreviousObjectState().getName(),
+          queuedEvent
+      );
+    }
+    return queuedEvent.event;
+  }
+
+  /**
+   * Removes all events from this queue.
+   *
+   * @return The removed events, in the order in which they were queued.
+   */
+  @Nonnull
+  public List<Object> drain() {
+    List<Object> result = new ArrayList<>(events.size());
+    for (QueuedEvent queuedEvent : events) {
+      result.add(queuedEvent.event);
+    }
+    clear();
+    return result;
+  }
+
+  /**
+   * Discards all events in this queue.
+   */
+  public void clear() {
+    events.clear();
+    mergeableEvents.clear();
+  }
+
+  /**
+   * Returns the number of events in this queue.
+   *
+   * @return The number of events in this queue.
+   */
+  public int size() {
+    return events.size();
+  }
+
+  /**
+   * Checks whether this queue is empty.
+   *
+   * @return {@code true} if, and only if, this queue is empty.
+   */
+  public boolean isEmpty() {
+    return events.isEmpty();
+  }
+
+  private static boolean isMergeTarget(Object event) {
+    return event instanceof TCSObjectEvent
+        && ((TCSObjectEvent) event).getType() != TCSObjectEvent.Type.OBJECT_REMOVED;
+  }
+
+  /**
+   * A queued event that may be replaced by a merged one.
+   */
+  private static class QueuedEvent {
+
+    private Object event;
+
+    QueuedEvent(Object event) {
+      this.event = event;
+    }
+  }
+}
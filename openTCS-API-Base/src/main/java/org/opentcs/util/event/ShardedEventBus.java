@@ -0,0 +1,500 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.util.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.opentcs.util.Assertions.checkArgument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An implementation of {@link EventBus} that delivers events asynchronously.
+ * <p>
+ * Every subscriber gets a bounded queue of its own, from which events are delivered to it in the
+ * order in which they were emitted.
+ * Queues are drained by a fixed number of threads (shards), with every subscriber being assigned
+ * to one of them.
+ * A slow subscriber thus does not delay the thread emitting events, and it delays only the
+ * subscribers sharing its shard.
+ * What happens when a subscriber's queue is full is determined by the {@link BackpressurePolicy}.
+ * </p>
+ * <p>
+ * Events are delivered to subscribers implementing {@link SynchronousEventHandler} synchronously,
+ * on the thread emitting them.
+ * </p>
+ * <p>
+ * Once an instance is no longer needed, {@link #shutdown()} should be called to stop its threads.
+ * </p>
+ */
+public class ShardedEventBus
+    implements EventBus {
+
+  /**
+   * This class's logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(ShardedEventBus.class);
+  /**
+   * The shards delivering events.
+   */
+  private final Shard[] shards;
+  /**
+   * The maximum number of events queued for a single subscriber.
+   */
+  private final int queueCapacity;
+  /**
+   * What to do when a subscriber's queue is full.
+   */
+  private final BackpressurePolicy backpressurePolicy;
+  /**
+   * The maximum time to block a thread emitting an event (in ns).
+   */
+  private final long maxBlockTime;
+  /**
+   * The subscribers events are delivered to asynchronously, mapped to their subscriptions.
+   */
+  private final Map<EventHandler, Subscription> subscriptions = new ConcurrentHashMap<>();
+  /**
+   * The subscribers events are delivered to synchronously.
+   */
+  private final Set<EventHandler> synchronousHandlers = new CopyOnWriteArraySet<>();
+  /**
+   * The index of the shard the next subscriber will be assigned to.
+   */
+  private final AtomicInteger nextShardIndex = new AtomicInteger();
+  /**
+   * Whether this event bus has been shut down.
+   */
+  private volatile boolean shutDown;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param shardCount The number of threads delivering events.
+   * @param queueCapacity The maximum number of events queued for a single subscriber.
+   * @param backpressurePolicy What to do when a subscriber's queue is full.
+   * @param maxBlockTime The maximum time to block a thread emitting an event when a subscriber's
+   * queue is full (in ms). Once it has elapsed, the oldest event in the queue is discarded.
+   */
+  public ShardedEventBus(int shardCount,
+                         int queueCapacity,
+                         BackpressurePolicy backpressurePolicy,
+                         long maxBlockTime) {
+    checkArgument(shardCount > 0, "shardCount <= 0: %s", shardCount);
+    checkArgument(queueCapacity > 0, "queueCapacity <= 0: %s", queueCapacity);
+    checkArgument(maxBlockTime >= 0, "maxBlockTime < 0: %s", maxBlockTime);
+    this.queueCapacity = queueCapacity;
+    this.backpressurePolicy = requireNonNull(backpressurePolicy, "backpressurePolicy");
+    this.maxBlockTime = TimeUnit.MILLISECONDS.toNanos(maxBlockTime);
+    this.shards = new Shard[shardCount];
+    for (int i = 0; i < shardCount; i++) {
+      shards[i] = new Shard("eventBusShard-" + i);
+    }
+  }
+
+  @Override
+  public void onEvent(Object event) {
+    for (EventHandler handler : synchronousHandlers) {
+      deliver(handler, event);
+    }
+    if (shutDown) {
+      return;
+    }
+    for (Subscription subscription : subscriptions.values()) {
+      subscription.enqueue(event);
+    }
+  }
+
+  @Override
+  public void subscribe(EventHandler listener) {
+    requireNonNull(listener, "listener");
+
+    if (listener instanceof SynchronousEventHandler) {
+      synchronousHandlers.add(listener);
+    }
+    else {
+      subscriptions.computeIfAbsent(
+          listener,
+          handler -> new Subscription(
+              handler,
+              shards[Math.floorMod(nextShardIndex.getAndIncrement(), shards.length)]
+          )
+      );
+    }
+  }
+
+  @Override
+  public void unsubscribe(EventHandler listener) {
+    requireNonNull(listener, "listener");
+
+    synchronousHandlers.remove(listener);
+    Subscription subscription = subscriptions.remove(listener);
+    if (subscription != null) {
+      subscription.cancel();
+    }
+  }
+
+  /**
+   * Stops the threads delivering events asynchronously.
+   * Events still queued are discarded, and threads blocked emitting events are released.
+   * Afterwards, events are delivered to subscribers implementing {@link SynchronousEventHandler}
+   * only.
+   */
+  public void shutdown() {
+    shutDown = true;
+    for (Subscription subscription : subscriptions.values()) {
+      subscription.cancel();
+    }
+    for (Shard shard : shards) {
+      shard.stop();
+    }
+  }
+
+  /**
+   * Returns statistics about the queues of all subscribers events are delivered to
+   * asynchronously.
+   *
+   * @return Statistics about the queues of all subscribers.
+   */
+  public List<QueueStatistics> getQueueStatistics() {
+    List<QueueStatistics> result = new ArrayList<>();
+    for (Subscription subscription : subscriptions.values()) {
+      result.add(subscription.getStatistics());
+    }
+    return result;
+  }
+
+  private static void deliver(EventHandler handler, Object event) {
+    try {
+      handler.onEvent(event);
+    }
+    catch (Exception exc) {
+      LOG.warn("Exception thrown by event handler", exc);
+    }
+  }
+
+  /**
+   * Defines what happens when a subscriber's queue is full.
+   */
+  public enum BackpressurePolicy {
+    /**
+     * The thread emitting the event is blocked until there is space in the queue again, or until
+     * the maximum block time has elapsed.
+     * Note that the emitting thread may hold locks while being blocked (e.g. a kernel's global
+     * synchronization object), so a slow subscriber may delay other threads, too.
+     */
+    BLOCK,
+    /**
+     * The oldest event in the queue is discarded.
+     */
+    DROP_OLDEST,
+    /**
+     * A modification of an object is merged with a modification or the creation of the same object
+     * still queued, so a subscriber only receives the latest state of the object.
+     * (This is done regardless of the queue being full.)
+     * If the queue is full and the event cannot be merged, the thread emitting it is blocked as
+     * with {@link #BLOCK}.
+     */
+    COALESCE;
+  }
+
+  /**
+   * Statistics about a subscriber's queue.
+   */
+  public static class QueueStatistics {
+
+    /**
+     * A description of the subscriber.
+     */
+    private final String subscriber;
+    /**
+     * The number of events currently queued.
+     */
+    private final int queueDepth;
+    /**
+     * The maximum number of events that have been queued at the same time.
+     */
+    private final int maxQueueDepth;
+    /**
+     * The number of events that have been discarded.
+     */
+    private final long droppedEvents;
+    /**
+     * The number of events that have been merged with queued ones.
+     */
+    private final long coalescedEvents;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param subscriber A description of the subscriber.
+     * @param queueDepth The number of events currently queued.
+     * @param maxQueueDepth The maximum number of events that have been queued at the same time.
+     * @param droppedEvents The number of events that have been discarded.
+     * @param coalescedEvents The number of events that have been merged with queued ones.
+     */
+    public QueueStatistics(String subscriber,
+                           int queueDepth,
+                           int maxQueueDepth,
+                           long droppedEvents,
+                           long coalescedEvents) {
+      this.subscriber = requireNonNull(subscriber, "subscriber");
+      this.queueDepth = queueDepth;
+      this.maxQueueDepth = maxQueueDepth;
+      this.droppedEvents = droppedEvents;
+      this.coalescedEvents = coalescedEvents;
+    }
+
+    /**
+     * Returns a description of the subscriber.
+     *
+     * @return A description of the subscriber.
+     */
+    public String getSubscriber() {
+      return subscriber;
+    }
+
+    /**
+     * Returns the number of events currently queued.
+     *
+     * @return The number of events currently queued.
+     */
+    public int getQueueDepth() {
+      return queueDepth;
+    }
+
+    /**
+     * Returns the maximum number of events that have been queued at the same time.
+     *
+     * @return The maximum number of events that have been queued at the same time.
+     */
+    public int getMaxQueueDepth() {
+      return maxQueueDepth;
+    }
+
+    /**
+     * Returns the number of events that have been discarded.
+     *
+     * @return The number of events that have been discarded.
+     */
+    public long getDroppedEvents() {
+      return droppedEvents;
+    }
+
+    /**
+     * Returns the number of events that have been merged with queued ones.
+     *
+     * @return The number of events that have been merged with queued ones.
+     */
+    public long getCoalescedEvents() {
+      return coalescedEvents;
+    }
+
+    @Override
+    public String toString() {
+      return "QueueStatistics{"
+          + "subscriber=" + subscriber
+          + ", queueDepth=" + queueDepth
+          + ", maxQueueDepth=" + maxQueueDepth
+          + ", droppedEvents=" + droppedEvents
+          + ", coalescedEvents=" + coalescedEvents
+          + '}';
+    }
+  }
+
+  /**
+   * A thread delivering the events queued for the subscribers assigned to it.
+   */
+  private static class Shard {
+
+    /**
+     * The subscriptions with queued events, in the order in which they need to be served.
+     */
+    private final BlockingQueue<Subscription> pendingSubscriptions = new LinkedBlockingQueue<>();
+    /**
+     * The thread delivering events.
+     */
+    private final Thread thread;
+    /**
+     * Whether this shard has been stopped.
+     */
+    private volatile boolean stopped;
+
+    Shard(String threadName) {
+      thread = new Thread(this::deliverEvents, threadName);
+      thread.setDaemon(true);
+      thread.start();
+    }
+
+    void schedule(Subscription subscription) {
+      pendingSubscriptions.add(subscription);
+    }
+
+    boolean isCurrentThread() {
+      return Thread.currentThread() == thread;
+    }
+
+    void stop() {
+      stopped = true;
+      thread.interrupt();
+    }
+
+    private void deliverEvents() {
+      try {
+        while (!stopped) {
+          pendingSubscriptions.take().deliverQueuedEvents();
+        }
+      }
+      catch (InterruptedException exc) {
+        if (!stopped) {
+          LOG.warn("Interrupted, no further events will be delivered by {}.", thread.getName());
+        }
+      }
+    }
+  }
+
+  /**
+   * A subscriber and its queue.
+   */
+  private class Subscription {
+
+    /**
+     * The subscriber.
+     */
+    private final EventHandler handler;
+    /**
+     * The shard delivering events to the subscriber.
+     */
+    private final Shard shard;
+    /**
+     * The queued events.
+     */
+    private final CoalescingEventQueue queue
+        = new CoalescingEventQueue(backpressurePolicy == BackpressurePolicy.COALESCE);
+    /**
+     * Whether this subscription is waiting to be served by its shard.
+     */
+    private boolean scheduled;
+    /**
+     * Whether this subscription has been cancelled.
+     */
+    private volatile boolean cancelled;
+    /**
+     * The maximum number of events that have been queued at the same time.
+     */
+    private int maxQueueDepth;
+    /**
+     * The number of events that have been discarded.
+     */
+    private long droppedEvents;
+    /**
+     * The number of events that have been merged with queued ones.
+     */
+    private long coalescedEvents;
+
+    Subscription(EventHandler handler, Shard shard) {
+      this.handler = requireNonNull(handler, "handler");
+      this.shard = requireNonNull(shard, "shard");
+    }
+
+    synchronized void enqueue(Object event) {
+      if (cancelled) {
+        return;
+      }
+      if (queue.merge(event)) {
+        coalescedEvents++;
+        return;
+      }
+      // Never block a shard thread - it might be the one that needs to drain this queue.
+      if (queue.size() >= queueCapacity && !shard.isCurrentThread()) {
+        makeRoom();
+        if (cancelled) {
+          return;
+        }
+      }
+
+      queue.add(event);
+      maxQueueDepth = Math.max(maxQueueDepth, queue.size());
+
+      if (!scheduled) {
+        scheduled = true;
+        shard.schedule(this);
+      }
+    }
+
+    void deliverQueuedEvents() {
+      List<Object> events;
+      synchronized (this) {
+        scheduled = false;
+        events = queue.drain();
+        notifyAll();
+      }
+
+      for (Object event : events) {
+        if (cancelled) {
+          return;
+        }
+        deliver(handler, event);
+      }
+    }
+
+    synchronized void cancel() {
+      cancelled = true;
+      queue.clear();
+      notifyAll();
+    }
+
+    synchronized QueueStatistics getStatistics() {
+      return new QueueStatistics(handler.toString(),
+                                 queue.size(),
+                                 maxQueueDepth,
+                                 droppedEvents,
+                                 coalescedEvents);
+    }
+
+    private void makeRoom() {
+      if (backpressurePolicy == BackpressurePolicy.DROP_OLDEST) {
+        dropOldestEvent();
+        return;
+      }
+
+      long deadline = System.nanoTime() + maxBlockTime;
+      try {
+        while (queue.size() >= queueCapacity && !cancelled) {
+          long remainingTime = deadline - System.nanoTime();
+          if (remainingTime <= 0) {
+            LOG.warn("Queue for {} still full after waiting, discarding oldest event.", handler);
+            dropOldestEvent();
+            return;
+          }
+          TimeUnit.NANOSECONDS.timedWait(this, remainingTime);
+        }
+      }
+      catch (InterruptedException exc) {
+        Thread.currentThread().interrupt();
+        LOG.warn("Interrupted while waiting for queue of {}, discarding oldest event.", handler);
+        dropOldestEvent();
+      }
+    }
+
+    private void dropOldestEvent() {
+      if (queue.poll() != null) {
+        droppedEvents++;
+      }
+    }
+  }
+}
@@ -0,0 +1,22 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.util.event;
+
+/**
+ * An {@link EventHandler} that needs to be called on the thread emitting an event.
+ * <p>
+ * This is the case for handlers that rely on the emitting thread's locks or that need to process
+ * an event before the emitting thread continues.
+ * Event buses that deliver events asynchronously still deliver events to such handlers
+ * synchronously.
+ * </p>
+ */
+public interface SynchronousEventHandler
+    extends EventHandler {
+
+}
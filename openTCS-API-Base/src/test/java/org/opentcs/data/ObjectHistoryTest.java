@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.data;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.*;
+
+/**
+ * Unit tests for {@link ObjectHistory}.
+ */
+public class ObjectHistoryTest {
+
+  @Test
+  public void keepEntriesInOrderOfAppending() {
+    ObjectHistory history = new ObjectHistory()
+        .withEntryAppended(new ObjectHistory.Entry("code1"))
+        .withEntryAppended(new ObjectHistory.Entry("code2"))
+        .withEntryAppended(new ObjectHistory.Entry("code3"));
+
+    assertThat(eventCodesOf(history), contains("code1", "code2", "code3"));
+  }
+
+  @Test
+  public void leaveOriginalHistoryUnmodifiedWhenAppending() {
+    ObjectHistory history = new ObjectHistory()
+        .withEntryAppended(new ObjectHistory.Entry("code1"));
+
+    history.withEntryAppended(new ObjectHistory.Entry("code2"));
+
+    assertThat(eventCodesOf(history), contains("code1"));
+  }
+
+  @Test
+  public void evictOldestEntriesWhenExceedingMaxEntries() {
+    ObjectHistory history = new ObjectHistory().withMaxEntries(2);
+    for (int i = 1; i <= 10; i++) {
+      history = history.withEntryAppended(new ObjectHistory.Entry("code" + i));
+    }
+
+    assertThat(eventCodesOf(history), contains("code9", "code10"));
+  }
+
+  @Test
+  public void evictOldestEntriesWhenReducingMaxEntries() {
+    ObjectHistory history = new ObjectHistory()
+        .withEntries(Arrays.asList(new ObjectHistory.Entry("code1"),
+                                   new ObjectHistory.Entry("code2"),
+                                   new ObjectHistory.Entry("code3")))
+        .withMaxEntries(2);
+
+    assertThat(eventCodesOf(history), contains("code2", "code3"));
+  }
+
+  @Test
+  public void returnLastEntryWithAnyOfTheGivenEventCodes() {
+    ObjectHistory.Entry entry2 = new ObjectHistory.Entry("code2");
+    ObjectHistory history = new ObjectHistory()
+        .withEntryAppended(new ObjectHistory.Entry("code1"))
+        .withEntryAppended(entry2)
+        .withEntryAppended(new ObjectHistory.Entry("code3"));
+
+    assertThat(history.getLastEntry("code1", "code2").get(), is(entry2));
+    assertThat(history.getLastEntry("code4").isPresent(), is(false));
+  }
+
+  @Test
+  public void doNotReturnEvictedEntryAsLastEntry() {
+    ObjectHistory history = new ObjectHistory()
+        .withMaxEntries(2)
+        .withEntryAppended(new ObjectHistory.Entry("code1"))
+        .withEntryAppended(new ObjectHistory.Entry("code2"))
+        .withEntryAppended(new ObjectHistory.Entry("code3"));
+
+    assertThat(history.getLastEntry("code1").isPresent(), is(false));
+    assertThat(history.getLastEntry("code2").isPresent(), is(true));
+  }
+
+  @Test
+  public void keepEntriesAndMaxEntriesWhenSerializing()
+      throws Exception {
+    ObjectHistory history = new ObjectHistory()
+        .withMaxEntries(5)
+        .withEntryAppended(new ObjectHistory.Entry("code1"))
+        .withEntryAppended(new ObjectHistory.Entry("code2"));
+
+    ObjectHistory deserializedHistory = serializeAndDeserialize(history);
+
+    assertThat(eventCodesOf(deserializedHistory), contains("code1", "code2"));
+    assertThat(deserializedHistory.getMaxEntries(), is(5));
+    assertThat(deserializedHistory.getLastEntry("code1").isPresent(), is(true));
+  }
+
+  @Test
+  public void serializeEmptyHistory()
+      throws Exception {
+    assertThat(serializeAndDeserialize(new ObjectHistory()).getEntries(), is(empty()));
+  }
+
+  private List<String> eventCodesOf(ObjectHistory history) {
+    return history.getEntries().stream()
+        .map(ObjectHistory.Entry::getEventCode)
+        .collect(Collectors.toList());
+  }
+
+  private ObjectHistory serializeAndDeserialize(ObjectHistory history)
+      throws Exception {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+      oos.writeObject(history);
+    }
+    try (ObjectInputStream ois
+        = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+      return (ObjectHistory) ois.readObject();
+    }
+  }
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.util.event;
+
+import java.util.List;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.model.Point;
+
+/**
+ * Unit tests for {@link CoalescingEventQueue}.
+ */
+public class CoalescingEventQueueTest {
+
+  private Point point1;
+  private Point point2;
+  private Point point3;
+
+  @BeforeEach
+  public void setUp() {
+    point1 = new Point("point1");
+    point2 = point1.withProperty("key", "value1");
+    point3 = point1.withProperty("key", "value2");
+  }
+
+  @Test
+  public void mergeModificationWithQueuedEvent() {
+    CoalescingEventQueue queue = new CoalescingEventQueue(true);
+    Point otherPoint = new Point("otherPoint");
+
+    queue.add(new TCSObjectEvent(point1, null, TCSObjectEvent.Type.OBJECT_CREATED));
+    queue.add(new TCSObjectEvent(otherPoint, null, TCSObjectEvent.Type.OBJECT_CREATED));
+    assertThat(queue.merge(modification(point2, point1)), is(true));
+    assertThat(queue.merge(modification(point3, point2)), is(true));
+
+    List<Object> events = queue.drain();
+    assertThat(events, hasSize(2));
+    TCSObjectEvent mergedEvent = (TCSObjectEvent) events.get(0);
+    assertThat(mergedEvent.getType(), is(TCSObjectEvent.Type.OBJECT_CREATED));
+    assertThat(mergedEvent.getCurrentObjectState(), is(sameInstance(point3)));
+    assertThat(mergedEvent.getPreviousObjectState(), is(nullValue()));
+    assertThat(queue.isEmpty(), is(true));
+  }
+
+  @Test
+  public void doNotMergeIfNotCoalescing() {
+    CoalescingEventQueue queue = new CoalescingEventQueue(false);
+
+    queue.add(modification(point2, point1));
+
+    assertThat(queue.merge(modification(point3, point2)), is(false));
+  }
+
+  @Test
+  public void doNotMergeAcrossRemoval() {
+    CoalescingEventQueue queue = new CoalescingEventQueue(true);
+    TCSObjectEvent removal = new TCSObjectEvent(null, point2, TCSObjectEvent.Type.OBJECT_REMOVED);
+
+    queue.add(modification(point2, point1));
+    assertThat(queue.merge(removal), is(false));
+    queue.add(removal);
+
+    assertThat(queue.merge(modification(point3, point2)), is(false));
+  }
+
+  @Test
+  public void doNotMergeWithPolledEvent() {
+    CoalescingEventQueue queue = new CoalescingEventQueue(true);
+    TCSObjectEvent modification = modification(point2, point1);
+
+    queue.add(modification);
+    assertThat(queue.poll(), is(sameInstance(modification)));
+
+    assertThat(queue.merge(modification(point3, point2)), is(false));
+    assertThat(queue.poll(), is(nullValue()));
+  }
+
+  @Test
+  public void keepOrderOfUnmergedEvents() {
+    CoalescingEventQueue queue = new CoalescingEventQueue(true);
+
+    queue.add("event1");
+    assertThat(queue.merge("event2"), is(false));
+    queue.add("event2");
+
+    assertThat(queue.size(), is(2));
+    assertThat(queue.drain(), contains("event1", "event2"));
+  }
+
+  private static TCSObjectEvent modification(Point current, Point previous) {
+    return new TCSObjectEvent(current, previous, TCSObjectEvent.Type.OBJECT_MODIFIED);
+  }
+}
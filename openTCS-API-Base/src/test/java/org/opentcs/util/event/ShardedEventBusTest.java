@@ -0,0 +1,270 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.util.event;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import org.junit.jupiter.api.*;
+import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.model.Point;
+
+/**
+ * Unit tests for {@link ShardedEventBus}.
+ */
+public class ShardedEventBusTest {
+
+  @Test
+  public void deliverEventsInOrderOfEmission()
+      throws InterruptedException {
+    ShardedEventBus eventBus
+        = new ShardedEventBus(2, 100, ShardedEventBus.BackpressurePolicy.BLOCK, 1000);
+    RecordingHandler handler = new RecordingHandler(3);
+    eventBus.subscribe(handler);
+
+    eventBus.onEvent("event1");
+    eventBus.onEvent("event2");
+    eventBus.onEvent("event3");
+
+    handler.awaitEvents();
+    assertThat(handler.events, contains("event1", "event2", "event3"));
+  }
+
+  @Test
+  public void deliverEventsToSynchronousHandlersOnEmittingThread() {
+    ShardedEventBus eventBus
+        = new ShardedEventBus(1, 100, ShardedEventBus.BackpressurePolicy.BLOCK, 1000);
+    List<Thread> threads = new CopyOnWriteArrayList<>();
+    eventBus.subscribe((SynchronousEventHandler) event -> threads.add(Thread.currentThread()));
+
+    eventBus.onEvent("event1");
+
+    assertThat(threads, contains(Thread.currentThread()));
+  }
+
+  @Test
+  public void keepDeliveringToOtherShardsWhileSubscriberIsBlocked()
+      throws InterruptedException {
+    ShardedEventBus eventBus
+        = new ShardedEventBus(2, 100, ShardedEventBus.BackpressurePolicy.BLOCK, 1000);
+    BlockingHandler blockingHandler = new BlockingHandler(1);
+    RecordingHandler handler = new RecordingHandler(2);
+    eventBus.subscribe(blockingHandler);
+    eventBus.subscribe(handler);
+
+    eventBus.onEvent("event1");
+    eventBus.onEvent("event2");
+
+    handler.awaitEvents();
+    assertThat(handler.events, contains("event1", "event2"));
+    blockingHandler.release();
+  }
+
+  @Test
+  public void dropOldestEventsWhenQueueIsFull()
+      throws InterruptedException {
+    ShardedEventBus eventBus
+        = new ShardedEventBus(1, 2, ShardedEventBus.BackpressurePolicy.DROP_OLDEST, 1000);
+    BlockingHandler handler = new BlockingHandler(3);
+    eventBus.subscribe(handler);
+
+    eventBus.onEvent("event1");
+    handler.awaitBlocked();
+    eventBus.onEvent("event2");
+    eventBus.onEvent("event3");
+    eventBus.onEvent("event4");
+    eventBus.onEvent("event5");
+    assertThat(eventBus.getQueueStatistics().get(0).getDroppedEvents(), is(2L));
+
+    handler.release();
+    handler.recorder.awaitEvents();
+    assertThat(handler.recorder.events, contains("event1", "event4", "event5"));
+  }
+
+  @Test
+  public void discardOldestEventWhenStillBlockedAfterMaxBlockTime()
+      throws InterruptedException {
+    ShardedEventBus eventBus
+        = new ShardedEventBus(1, 1, ShardedEventBus.BackpressurePolicy.BLOCK, 10);
+    BlockingHandler handler = new BlockingHandler(2);
+    eventBus.subscribe(handler);
+
+    eventBus.onEvent("event1");
+    handler.awaitBlocked();
+    eventBus.onEvent("event2");
+    eventBus.onEvent("event3");
+
+    handler.release();
+    handler.recorder.awaitEvents();
+    assertThat(handler.recorder.events, contains("event1", "event3"));
+    assertThat(eventBus.getQueueStatistics().get(0).getDroppedEvents(), is(1L));
+  }
+
+  @Test
+  public void coalesceModificationsOfSameObject()
+      throws InterruptedException {
+    ShardedEventBus eventBus
+        = new ShardedEventBus(1, 100, ShardedEventBus.BackpressurePolicy.COALESCE, 1000);
+    BlockingHandler handler = new BlockingHandler(3);
+    eventBus.subscribe(handler);
+    Point point1 = new Point("point1");
+    Point point2 = point1.withProperty("key", "value1");
+    Point point3 = point1.withProperty("key", "value2");
+    Point otherPoint = new Point("point2");
+
+    eventBus.onEvent("event1");
+    handler.awaitBlocked();
+    eventBus.onEvent(new TCSObjectEvent(point2, point1, TCSObjectEvent.Type.OBJECT_MODIFIED));
+    eventBus.onEvent(new TCSObjectEvent(otherPoint, null, TCSObjectEvent.Type.OBJECT_CREATED));
+    eventBus.onEvent(new TCSObjectEvent(point3, point2, TCSObjectEvent.Type.OBJECT_MODIFIED));
+
+    handler.release();
+    handler.recorder.awaitEvents();
+    assertThat(handler.recorder.events, hasSize(3));
+    TCSObjectEvent mergedEvent = (TCSObjectEvent) handler.recorder.events.get(1);
+    assertThat(mergedEvent.getPreviousObjectState(), sameInstance(point1));
+    assertThat(mergedEvent.getCurrentObjectState(), sameInstance(point3));
+    assertThat(eventBus.getQueueStatistics().get(0).getCoalescedEvents(), is(1L));
+  }
+
+  @Test
+  public void stopDeliveringEventsAfterUnsubscribing()
+      throws InterruptedException {
+    ShardedEventBus eventBus
+        = new ShardedEventBus(1, 100, ShardedEventBus.BackpressurePolicy.BLOCK, 1000);
+    BlockingHandler handler = new BlockingHandler(1);
+    eventBus.subscribe(handler);
+
+    eventBus.onEvent("event1");
+    handler.awaitBlocked();
+    eventBus.onEvent("event2");
+    eventBus.unsubscribe(handler);
+    eventBus.onEvent("event3");
+
+    handler.release();
+    handler.recorder.awaitEvents();
+    assertThat(handler.recorder.events, contains("event1"));
+    assertThat(eventBus.getQueueStatistics(), hasSize(0));
+  }
+
+  @Test
+  public void releaseBlockedEmitterOnShutdown()
+      throws InterruptedException {
+    ShardedEventBus eventBus
+        = new ShardedEventBus(1, 1, ShardedEventBus.BackpressurePolicy.BLOCK, 60000);
+    BlockingHandler handler = new BlockingHandler(1);
+    eventBus.subscribe(handler);
+
+    eventBus.onEvent("event1");
+    handler.awaitBlocked();
+    eventBus.onEvent("event2");
+    Thread emitter = new Thread(() -> eventBus.onEvent("event3"));
+    emitter.start();
+    eventBus.shutdown();
+    emitter.join(5000);
+
+    assertThat(emitter.isAlive(), is(false));
+    handler.release();
+    handler.recorder.awaitEvents();
+    assertThat(handler.recorder.events, contains("event1"));
+  }
+
+  @Test
+  public void deliverEventsToSynchronousHandlersOnlyAfterShutdown()
+      throws InterruptedException {
+    ShardedEventBus eventBus
+        = new ShardedEventBus(1, 100, ShardedEventBus.BackpressurePolicy.BLOCK, 1000);
+    RecordingHandler handler = new RecordingHandler(1);
+    List<Object> synchronousEvents = new CopyOnWriteArrayList<>();
+    eventBus.subscribe(handler);
+    eventBus.subscribe((SynchronousEventHandler) synchronousEvents::add);
+
+    eventBus.onEvent("event1");
+    handler.awaitEvents();
+    eventBus.shutdown();
+    eventBus.onEvent("event2");
+
+    Thread.sleep(50);
+    assertThat(handler.events, contains("event1"));
+    assertThat(synchronousEvents, contains("event1", "event2"));
+  }
+
+  /**
+   * Records the events delivered to it.
+   */
+  private static class RecordingHandler
+      implements EventHandler {
+
+    private final List<Object> events = new CopyOnWriteArrayList<>();
+    private final long expectedEventCount;
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    RecordingHandler(long expectedEventCount) {
+      this.expectedEventCount = expectedEventCount;
+    }
+
+    @Override
+    public void onEvent(Object event) {
+      events.add(event);
+      if (events.size() >= expectedEventCount) {
+        done.countDown();
+      }
+    }
+
+    /**
+     * Waits for the expected number of events, and then for events that are delivered erroneously.
+     */
+    void awaitEvents()
+        throws InterruptedException {
+      assertThat(done.await(5, TimeUnit.SECONDS), is(true));
+      Thread.sleep(50);
+    }
+  }
+
+  /**
+   * Records the events delivered to it, blocking until being released.
+   */
+  private static class BlockingHandler
+      implements EventHandler {
+
+    private final RecordingHandler recorder;
+    private final CountDownLatch blocked = new CountDownLatch(1);
+    private final CountDownLatch released = new CountDownLatch(1);
+
+    BlockingHandler(long expectedEventCount) {
+      this.recorder = new RecordingHandler(expectedEventCount);
+    }
+
+    @Override
+    public void onEvent(Object event) {
+      recorder.onEvent(event);
+      blocked.countDown();
+      try {
+        released.await();
+      }
+      catch (InterruptedException exc) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    void awaitBlocked()
+        throws InterruptedException {
+      assertThat(blocked.await(5, TimeUnit.SECONDS), is(true));
+    }
+
+    void release() {
+      released.countDown();
+    }
+  }
+}
@@ -8,7 +8,9 @@
 package org.opentcs.virtualvehicle;
 
 import com.google.inject.assistedinject.FactoryModuleBuilder;
+import javax.inject.Singleton;
 import org.opentcs.customizations.kernel.KernelInjectionModule;
+import org.opentcs.virtualvehicle.VirtualVehicleConfiguration.SimulationMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,6 +40,16 @@ public class LoopbackCommAdapterModule
 
     bind(VirtualVehicleConfiguration.class)
         .toInstance(configuration);
+    if (configuration.simulationMode() == SimulationMode.DISCRETE_EVENT) {
+      LOG.info("Loopback vehicles simulated in discrete event mode.");
+      bind(SimulationClock.class)
+          .to(DiscreteEventSimulationClock.class)
+          .in(Singleton.class);
+    }
+    else {
+      bind(SimulationClock.class)
+          .toInstance(new RealTimeSimulationClock(configuration.simulationTimeFactor()));
+    }
     //这种注入方式非常特别，只需要定义接口，实现由Guice自动生成，生成实现的规则是——创建一个接口中方法的返回类型
     install(new FactoryModuleBuilder().build(LoopbackAdapterComponentsFactory.class));
 
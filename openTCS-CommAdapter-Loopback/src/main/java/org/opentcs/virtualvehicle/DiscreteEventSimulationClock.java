@@ -0,0 +1,238 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.virtualvehicle;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import static java.util.Objects.requireNonNull;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import javax.inject.Inject;
+import org.opentcs.customizations.kernel.KernelExecutor;
+import static org.opentcs.util.Assertions.checkArgument;
+import org.opentcs.util.logging.UncaughtExceptionLogger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A simulation clock that jumps straight from one scheduled task to the next.
+ * <p>
+ * Before simulation time jumps to the next task, the clock waits for the kernel executor and all
+ * registered executors (as well as the executors of all tasks scheduled so far) to have been found
+ * idle in a number of consecutive rounds, i.e. for the kernel and the communication adapters to
+ * have processed the effects of the previous tasks.
+ * As tasks are executed in a total order of due time, source name and scheduling order, a
+ * simulation run does not depend on the wall clock time the kernel needs for processing.
+ * </p>
+ * <p>
+ * Note that this applies to the movement and operations of the simulated vehicles only.
+ * The kernel's own timing, e.g. of periodic tasks and of time stamps and deadlines of transport
+ * orders, is still based on the wall clock, so it must not be relied on in discrete event mode.
+ * </p>
+ */
+public class DiscreteEventSimulationClock
+    implements SimulationClock {
+
+  /**
+   * This class's logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(DiscreteEventSimulationClock.class);
+  /**
+   * The kernel executor.
+   */
+  private final ScheduledExecutorService kernelExecutor;
+  /**
+   * The number of consecutive rounds the executors must be found idle in before the next task is
+   * executed.
+   */
+  private final int settleRounds;
+  /**
+   * The tasks pending execution, ordered by due time, source name and scheduling order.
+   */
+  private final Queue<SimulationTask> tasks = new PriorityQueue<>(
+      Comparator.comparingLong((SimulationTask task) -> task.dueTime)
+          .thenComparing(task -> task.source)
+          .thenComparingLong(task -> task.sequenceNumber)
+  );
+  /**
+   * The executors registered or tasks have been scheduled for so far.
+   */
+  private final Set<ScheduledExecutorService> executors = ConcurrentHashMap.newKeySet();
+  /**
+   * The current simulation time (in ms).
+   */
+  private volatile long currentTime;
+  /**
+   * The number of tasks scheduled so far.
+   */
+  private long scheduledTaskCount;
+  /**
+   * The thread executing the scheduled tasks.
+   */
+  private Thread clockThread;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param configuration The loopback adapters' configuration.
+   * @param kernelExecutor The kernel executor.
+   */
+  @Inject
+  public DiscreteEventSimulationClock(VirtualVehicleConfiguration configuration,
+                                      @KernelExecutor ScheduledExecutorService kernelExecutor) {
+    requireNonNull(configuration, "configuration");
+    this.kernelExecutor = requireNonNull(kernelExecutor, "kernelExecutor");
+    this.settleRounds = configuration.simulationSettleRounds();
+    checkArgument(settleRounds > 0, "simulationSettleRounds <= 0: %s", settleRounds);
+  }
+
+  @Override
+  public long getCurrentTime() {
+    return currentTime;
+  }
+
+  @Override
+  public void registerExecutor(ScheduledExecutorService executor) {
+    executors.add(requireNonNull(executor, "executor"));
+  }
+
+  @Override
+  public synchronized void schedule(String source,
+                                    ScheduledExecutorService executor,
+                                    Runnable task,
+                                    long delay) {
+    requireNonNull(source, "source");
+    requireNonNull(executor, "executor");
+    requireNonNull(task, "task");
+
+    executors.add(executor);
+    tasks.add(new SimulationTask(currentTime + Math.max(delay, 0),
+                                 source,
+                                 scheduledTaskCount++,
+                                 executor,
+                                 task));
+    if (clockThread == null) {
+      clockThread = new Thread(this::run, "loopbackSimulationClock");
+      clockThread.setDaemon(true);
+      clockThread.setUncaughtExceptionHandler(new UncaughtExceptionLogger(false));
+      clockThread.start();
+    }
+    notifyAll();
+  }
+
+  private void run() {
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        awaitSettled();
+        SimulationTask task = nextTask();
+        try {
+          task.executor.execute(task.task);
+        }
+        catch (RejectedExecutionException exc) {
+          LOG.debug("Executor rejected simulation task from {}, skipping it.", task.source, exc);
+          executors.remove(task.executor);
+        }
+      }
+    }
+    catch (InterruptedException exc) {
+      Thread.currentThread().interrupt();
+    }
+    catch (RejectedExecutionException exc) {
+      LOG.info("Kernel executor shut down, stopping simulation clock.");
+    }
+  }
+
+  private synchronized SimulationTask nextTask()
+      throws InterruptedException {
+    while (tasks.isEmpty()) {
+      wait();
+    }
+    SimulationTask task = tasks.poll();
+    currentTime = Math.max(currentTime, task.dueTime);
+    return task;
+  }
+
+  private synchronized long getScheduledTaskCount() {
+    return scheduledTaskCount;
+  }
+
+  /**
+   * Waits until all executors have been found idle in the configured number of consecutive rounds
+   * without any new tasks having been scheduled.
+   *
+   * @throws InterruptedException If the current thread was interrupted while waiting.
+   */
+  private void awaitSettled()
+      throws InterruptedException {
+    int idleRounds = 0;
+    while (idleRounds < settleRounds) {
+      long taskCountBefore = getScheduledTaskCount();
+      awaitExecutorsIdle();
+      idleRounds = (getScheduledTaskCount() == taskCountBefore) ? idleRounds + 1 : 0;
+    }
+  }
+
+  private void awaitExecutorsIdle()
+      throws InterruptedException {
+    List<Future<?>> markers = new ArrayList<>();
+    markers.add(kernelExecutor.submit(() -> {
+    }));
+    for (ScheduledExecutorService executor : executors) {
+      if (executor == kernelExecutor) {
+        continue;
+      }
+      try {
+        markers.add(executor.submit(() -> {
+        }));
+      }
+      catch (RejectedExecutionException exc) {
+        executors.remove(executor);
+      }
+    }
+
+    for (Future<?> marker : markers) {
+      try {
+        marker.get();
+      }
+      catch (ExecutionException exc) {
+        throw new IllegalStateException("Unexpected failure of empty task", exc);
+      }
+    }
+  }
+
+  /**
+   * A task scheduled for execution at a specific simulation time.
+   */
+  private static class SimulationTask {
+
+    private final long dueTime;
+    private final String source;
+    private final long sequenceNumber;
+    private final ScheduledExecutorService executor;
+    private final Runnable task;
+
+    SimulationTask(long dueTime,
+                   String source,
+                   long sequenceNumber,
+                   ScheduledExecutorService executor,
+                   Runnable task) {
+      this.dueTime = dueTime;
+      this.source = source;
+      this.sequenceNumber = sequenceNumber;
+      this.executor = executor;
+      this.task = task;
+    }
+  }
+}
@@ -16,11 +16,10 @@ import java.util.Objects;
 import static java.util.Objects.requireNonNull;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import org.opentcs.common.LoopbackAdapterConstants;
-import org.opentcs.customizations.kernel.KernelExecutor;
+import org.opentcs.customizations.kernel.CommAdapterExecutor;
 import org.opentcs.data.model.Vehicle;
 import org.opentcs.data.order.Route.Step;
 import org.opentcs.data.order.TransportOrder;
@@ -34,6 +33,7 @@ import org.opentcs.drivers.vehicle.management.VehicleProcessModelTO;
 import org.opentcs.drivers.vehicle.messages.SetSpeedMultiplier;
 import org.opentcs.util.ExplainedBoolean;
 import org.opentcs.virtualvehicle.VelocityController.WayEntry;
+import org.opentcs.virtualvehicle.VirtualVehicleConfiguration.SimulationMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -70,9 +70,11 @@ public class LoopbackCommunicationAdapter
    */
   private static final int ADVANCE_TIME = 100;
   /**
-   * The delay to use for scheduling the various simulation tasks (in ms).
+   * The maximum simulation time to pass between two simulation tasks in discrete event mode
+   * (in ms). Limits the time a vehicle that does not reach the end of its path is simulated in
+   * one go.
    */
-  private static final int SIMULATION_TASKS_DELAY = 100;
+  private static final int MAX_DISCRETE_EVENT_TIME = 60000;
   /**
    * This instance's configuration.
    */
@@ -97,25 +99,32 @@ public class LoopbackCommunicationAdapter
    * The amount of time that passed during the simulation of an operation.
    */
   private int operationSimulationTimePassed;
+  /**
+   * The clock determining how simulation time passes.
+   */
+  private final SimulationClock simulationClock;
 
   /**
    * Creates a new instance.
    *
    * @param configuration This class's configuration.
    * @param vehicle The vehicle this adapter is associated with.
-   * @param kernelExecutor The kernel's executor.
+   * @param executor The executor to run this adapter's tasks on.
+   * @param simulationClock The clock determining how simulation time passes.
    */
   @Inject
   public LoopbackCommunicationAdapter(VirtualVehicleConfiguration configuration,
                                       @Assisted Vehicle vehicle,
-                                      @KernelExecutor ScheduledExecutorService kernelExecutor) {
+                                      @CommAdapterExecutor ScheduledExecutorService executor,
+                                      SimulationClock simulationClock) {
     super(new LoopbackVehicleModel(vehicle),
           configuration.commandQueueCapacity(),
           1,
           configuration.rechargeOperation(),
-          kernelExecutor);
+          executor);
     this.vehicle = requireNonNull(vehicle, "vehicle");
     this.configuration = requireNonNull(configuration, "configuration");
+    this.simulationClock = requireNonNull(simulationClock, "simulationClock");
   }
 
   @Override
@@ -124,6 +133,7 @@ public class LoopbackCommunicationAdapter
       return;
     }
     super.initialize();
+    simulationClock.registerExecutor((ScheduledExecutorService) getExecutor());
 
     String initialPos
         = vehicle.getProperties().get(LoopbackAdapterConstants.PROPKEY_INITIAL_POSITION);
@@ -172,7 +182,10 @@ public class LoopbackCommunicationAdapter
     if (isEnabled()) {
       return;
     }
-    getProcessModel().getVelocityController().addVelocityListener(getProcessModel());
+    // With simulation time jumping, a velocity history would neither be meaningful nor cheap.
+    if (!isDiscreteEventSimulation()) {
+      getProcessModel().getVelocityController().addVelocityListener(getProcessModel());
+    }
     super.enable();
   }
 
@@ -315,9 +328,7 @@ public class LoopbackCommunicationAdapter
 
     if (step.getPath() == null) {
       LOG.debug("Starting operation simulation...");
-      ((ScheduledExecutorService) getExecutor()).schedule(() -> operationSimulation(command),
-                                                          SIMULATION_TASKS_DELAY,
-                                                          TimeUnit.MILLISECONDS);
+      operationSimulation(command);
     }
     else {
       getProcessModel().getVelocityController().addWayEntry(
@@ -328,9 +339,7 @@ public class LoopbackCommunicationAdapter
       );
 
       LOG.debug("Starting movement simulation...");
-      ((ScheduledExecutorService) getExecutor()).schedule(() -> movementSimulation(command),
-                                                          SIMULATION_TASKS_DELAY,
-                                                          TimeUnit.MILLISECONDS);
+      movementSimulation(command);
     }
   }
 
@@ -346,39 +355,40 @@ public class LoopbackCommunicationAdapter
     }
 
     WayEntry prevWayEntry = getProcessModel().getVelocityController().getCurrentWayEntry();
-    getProcessModel().getVelocityController().advanceTime(getSimulationTimeStep());
+    long timePassed = getProcessModel().getVelocityController().advanceTime(getSimulationTimeStep(),
+                                                                            ADVANCE_TIME);
     WayEntry currentWayEntry = getProcessModel().getVelocityController().getCurrentWayEntry();
     //if we are still on the same way entry then reschedule to do it again
     if (prevWayEntry == currentWayEntry) {
-      ((ScheduledExecutorService) getExecutor()).schedule(() -> movementSimulation(command),
-                                                          SIMULATION_TASKS_DELAY,
-                                                          TimeUnit.MILLISECONDS);
+      scheduleSimulationTask(() -> movementSimulation(command), timePassed);
     }
     else {
       //if the way enties are different then we have finished this step
-      //and we can move on.
-      getProcessModel().setVehiclePosition(prevWayEntry.getDestPointName());
-      LOG.debug("Movement simulation finished.");
-      if (!command.isWithoutOperation()) {
-        LOG.debug("Starting operation simulation...");
-        ((ScheduledExecutorService) getExecutor()).schedule(() -> operationSimulation(command),
-                                                            SIMULATION_TASKS_DELAY,
-                                                            TimeUnit.MILLISECONDS);
-      }
-      else {
-        finishVehicleSimulation(command);
-      }
+      //and we can move on once the time it took has passed.
+      scheduleSimulationTask(() -> finishMovementSimulation(command, prevWayEntry), timePassed);
+    }
+  }
+
+  private void finishMovementSimulation(MovementCommand command, WayEntry wayEntry) {
+    getProcessModel().setVehiclePosition(wayEntry.getDestPointName());
+    LOG.debug("Movement simulation finished.");
+    if (!command.isWithoutOperation()) {
+      LOG.debug("Starting operation simulation...");
+      operationSimulation(command);
+    }
+    else {
+      finishVehicleSimulation(command);
     }
   }
 
   private void operationSimulation(MovementCommand command) {
-    operationSimulationTimePassed += getSimulationTimeStep();
+    int remainingTime = getProcessModel().getOperatingTime() - operationSimulationTimePassed;
 
-    if (operationSimulationTimePassed < getProcessModel().getOperatingTime()) {
-      getProcessModel().getVelocityController().advanceTime(getSimulationTimeStep());
-      ((ScheduledExecutorService) getExecutor()).schedule(() -> operationSimulation(command),
-                                                          SIMULATION_TASKS_DELAY,
-                                                          TimeUnit.MILLISECONDS);
+    if (remainingTime > 0) {
+      int timeStep = Math.min(getSimulationTimeStep(), remainingTime);
+      getProcessModel().getVelocityController().advanceTime(timeStep, ADVANCE_TIME);
+      operationSimulationTimePassed += timeStep;
+      scheduleSimulationTask(() -> operationSimulation(command), timeStep);
     }
     else {
       LOG.debug("Operation simulation finished.");
@@ -416,8 +426,32 @@ public class LoopbackCommunicationAdapter
     isSimulationRunning = false;
   }
 
+  private void scheduleSimulationTask(Runnable task, long delay) {
+    simulationClock.schedule(getName(),
+                             (ScheduledExecutorService) getExecutor(),
+                             task,
+                             delay);
+  }
+
+  /**
+   * Returns the simulation time to pass between two simulation tasks (in ms).
+   * <p>
+   * In real time mode, this is the time passing during the (wall clock) interval between two
+   * simulation tasks.
+   * In discrete event mode, simulation time jumps, so a vehicle is simulated until it reaches the
+   * end of its current path or operation in one go.
+   * </p>
+   *
+   * @return The simulation time to pass between two simulation tasks.
+   */
   private int getSimulationTimeStep() {
-    return (int) (ADVANCE_TIME * configuration.simulationTimeFactor());
+    return isDiscreteEventSimulation()
+        ? MAX_DISCRETE_EVENT_TIME
+        : (int) (ADVANCE_TIME * configuration.simulationTimeFactor());
+  }
+
+  private boolean isDiscreteEventSimulation() {
+    return configuration.simulationMode() == SimulationMode.DISCRETE_EVENT;
   }
 
   /**
@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.virtualvehicle;
+
+import static java.util.Objects.requireNonNull;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import static org.opentcs.util.Assertions.checkArgument;
+
+/**
+ * A simulation clock that passes with the wall clock, sped up by a constant factor.
+ */
+public class RealTimeSimulationClock
+    implements SimulationClock {
+
+  /**
+   * The factor by which simulation time passes faster than wall clock time.
+   */
+  private final double timeFactor;
+  /**
+   * The wall clock time at which this clock was created (in ns).
+   */
+  private final long startTime = System.nanoTime();
+
+  /**
+   * Creates a new instance.
+   *
+   * @param timeFactor The factor by which simulation time passes faster than wall clock time.
+   */
+  public RealTimeSimulationClock(double timeFactor) {
+    checkArgument(timeFactor > 0, "timeFactor <= 0: %s", timeFactor);
+    this.timeFactor = timeFactor;
+  }
+
+  @Override
+  public long getCurrentTime() {
+    return (long) ((System.nanoTime() - startTime) * timeFactor / 1000000);
+  }
+
+  @Override
+  public void registerExecutor(ScheduledExecutorService executor) {
+    requireNonNull(executor, "executor");
+  }
+
+  @Override
+  public void schedule(String source,
+                       ScheduledExecutorService executor,
+                       Runnable task,
+                       long delay) {
+    requireNonNull(executor, "executor");
+    requireNonNull(task, "task");
+
+    executor.schedule(task, (long) (delay * 1000000 / timeFactor), TimeUnit.NANOSECONDS);
+  }
+}
@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.virtualvehicle;
+
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * The clock shared by all loopback vehicles, determining how simulation time passes.
+ * <p>
+ * Note that the clock only applies to the simulation of vehicle movement and operations.
+ * The kernel's own timing, e.g. of periodic tasks and of time stamps of transport orders, is based
+ * on the wall clock in any case.
+ * </p>
+ */
+public interface SimulationClock {
+
+  /**
+   * Returns the current simulation time.
+   *
+   * @return The simulation time that has passed since this clock was created (in ms).
+   */
+  long getCurrentTime();
+
+  /**
+   * Registers an executor that simulation tasks are going to be scheduled for.
+   * <p>
+   * Executors should be registered as soon as they may execute tasks affecting the simulation,
+   * e.g. when a simulated vehicle is initialized, not only when its first simulation task is
+   * scheduled.
+   * </p>
+   *
+   * @param executor The executor.
+   */
+  void registerExecutor(ScheduledExecutorService executor);
+
+  /**
+   * Schedules a simulation task for execution once the given amount of simulation time has passed.
+   * <p>
+   * Tasks that become due at the same simulation time are executed in the order of their sources'
+   * names, and in the order they were scheduled for the same source.
+   * </p>
+   *
+   * @param source The name of the task's source, e.g. the simulated vehicle.
+   * @param executor The executor to execute the task on.
+   * @param task The task.
+   * @param delay The simulation time after which to execute the task (in ms).
+   */
+  void schedule(String source,
+                ScheduledExecutorService executor,
+                Runnable task,
+                long delay);
+}
@@ -342,6 +342,36 @@ public class VelocityController {
     }
   }
 
+  /**
+   * Increase this controller's current time by up to the given value in steps of at most the given
+   * size, simulating the events that would happen in this time frame.
+   * Stops early (but after at least one step) once the current way entry has been left or the
+   * vehicle is paused, so that a caller can jump straight to the end of the current way entry.
+   *
+   * @param dt The maximum time by which to advance this controller (in milliseconds).
+   * Must be at least 1.
+   * @param maxStep The maximum time by which to advance this controller per step (in
+   * milliseconds). Must be at least 1.
+   * @return The time by which this controller was actually advanced (in milliseconds).
+   */
+  public long advanceTime(long dt, int maxStep) {
+    if (dt < 1) {
+      throw new IllegalArgumentException("dt is less than 1");
+    }
+    if (maxStep < 1) {
+      throw new IllegalArgumentException("maxStep is less than 1");
+    }
+    final WayEntry wayEntry = getCurrentWayEntry();
+    long timePassed = 0;
+    do {
+      int step = (int) Math.min(maxStep, dt - timePassed);
+      advanceTime(step);
+      timePassed += step;
+    }
+    while (timePassed < dt && getCurrentWayEntry() == wayEntry && !paused);
+    return timePassed;
+  }
+
   /**
    * Returns the acceleration (in mm/s<sup>2</sup>) needed for reaching a given
    * velocity exactly after travelling a given distance (respecting the current
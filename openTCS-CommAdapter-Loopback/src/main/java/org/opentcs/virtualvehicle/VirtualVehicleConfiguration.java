@@ -44,7 +44,47 @@ public interface VirtualVehicleConfiguration {
   @ConfigurationEntry(
       type = "Double",
       description = {"The simulation time factor.",
-                     "1.0 is real time, greater values speed up simulation."},
+                     "1.0 is real time, greater values speed up simulation.",
+                     "(Only used with simulation mode REAL_TIME.)"},
       orderKey = "1_behaviour_3")
   double simulationTimeFactor();
+
+  @ConfigurationEntry(
+      type = "String",
+      description = {
+        "How the passing of time is simulated for all loopback vehicles.",
+        "Possible values:",
+        "REAL_TIME: Time passes with the wall clock, sped up by the simulation time factor.",
+        "DISCRETE_EVENT: Time jumps straight to the next arrival or operation completion of any "
+        + "vehicle once the kernel has processed all previous ones.",
+        "(This applies to the vehicles' movement and operations only. The kernel's periodic tasks "
+        + "and the time stamps and deadlines of transport orders always follow the wall clock.)"
+      },
+      orderKey = "1_behaviour_4")
+  SimulationMode simulationMode();
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = {
+        "The number of consecutive rounds the kernel and adapter executors must be found idle in "
+        + "before simulation time jumps to the next event.",
+        "(Only used with simulation mode DISCRETE_EVENT. Higher values make sure longer chains of "
+        + "reactions to an event are processed before simulation time proceeds.)"
+      },
+      orderKey = "1_behaviour_5")
+  int simulationSettleRounds();
+
+  /**
+   * How the passing of time is simulated.
+   */
+  enum SimulationMode {
+    /**
+     * Time passes with the wall clock, sped up by the simulation time factor.
+     */
+    REAL_TIME,
+    /**
+     * Time jumps from one simulation event to the next.
+     */
+    DISCRETE_EVENT;
+  }
 }
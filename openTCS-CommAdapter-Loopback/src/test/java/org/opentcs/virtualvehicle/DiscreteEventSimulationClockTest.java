@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.virtualvehicle;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link DiscreteEventSimulationClock}.
+ */
+public class DiscreteEventSimulationClockTest {
+
+  private ScheduledExecutorService kernelExecutor;
+  private DiscreteEventSimulationClock clock;
+  private List<String> executedTasks;
+
+  @BeforeEach
+  public void setUp() {
+    kernelExecutor = Executors.newSingleThreadScheduledExecutor();
+    VirtualVehicleConfiguration configuration = mock(VirtualVehicleConfiguration.class);
+    when(configuration.simulationSettleRounds()).thenReturn(2);
+    clock = new DiscreteEventSimulationClock(configuration, kernelExecutor);
+    executedTasks = Collections.synchronizedList(new ArrayList<>());
+  }
+
+  @AfterEach
+  public void tearDown() {
+    kernelExecutor.shutdownNow();
+  }
+
+  @Test
+  public void jumpToDueTimeOfNextTask()
+      throws InterruptedException {
+    CountDownLatch executed = new CountDownLatch(1);
+    List<Long> executionTimes = new ArrayList<>();
+
+    Runnable task = () -> {
+      executionTimes.add(clock.getCurrentTime());
+      executed.countDown();
+    };
+    clock.schedule("vehicle", kernelExecutor, task, 3600000);
+
+    assertThat(executed.await(10, TimeUnit.SECONDS), is(true));
+    assertThat(executionTimes, contains(3600000L));
+  }
+
+  @Test
+  public void executeTasksInOrderOfDueTimeAndSource()
+      throws InterruptedException {
+    CountDownLatch executed = new CountDownLatch(4);
+    // Keep the clock from executing any task until all of them are scheduled.
+    CountDownLatch scheduled = new CountDownLatch(1);
+    kernelExecutor.execute(() -> awaitUninterruptibly(scheduled));
+
+    clock.schedule("vehicle-2", kernelExecutor, recordingTask("vehicle-2@2000", executed), 2000);
+    clock.schedule("vehicle-2", kernelExecutor, recordingTask("vehicle-2@1000", executed), 1000);
+    clock.schedule("vehicle-1", kernelExecutor, recordingTask("vehicle-1@2000", executed), 2000);
+    clock.schedule("vehicle-3", kernelExecutor, recordingTask("vehicle-3@1000", executed), 1000);
+    scheduled.countDown();
+
+    assertThat(executed.await(10, TimeUnit.SECONDS), is(true));
+    assertThat(executedTasks, contains("vehicle-2@1000",
+                                       "vehicle-3@1000",
+                                       "vehicle-1@2000",
+                                       "vehicle-2@2000"));
+  }
+
+  @Test
+  public void scheduleFollowUpTasksRelativeToCurrentSimulationTime()
+      throws InterruptedException {
+    CountDownLatch executed = new CountDownLatch(1);
+    List<Long> executionTimes = new ArrayList<>();
+
+    Runnable followUpTask = () -> {
+      executionTimes.add(clock.getCurrentTime());
+      executed.countDown();
+    };
+    clock.schedule("vehicle",
+                   kernelExecutor,
+                   () -> clock.schedule("vehicle", kernelExecutor, followUpTask, 500),
+                   1000);
+
+    assertThat(executed.await(10, TimeUnit.SECONDS), is(true));
+    assertThat(executionTimes, contains(1500L));
+  }
+
+  private Runnable recordingTask(String name, CountDownLatch executed) {
+    return () -> {
+      executedTasks.add(name);
+      executed.countDown();
+    };
+  }
+
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    try {
+      latch.await();
+    }
+    catch (InterruptedException exc) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,232 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.virtualvehicle;
+
+import java.beans.PropertyChangeEvent;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.opentcs.data.model.Path;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.Route.Step;
+import org.opentcs.drivers.vehicle.MovementCommand;
+import org.opentcs.drivers.vehicle.VehicleProcessModel;
+import org.opentcs.virtualvehicle.VirtualVehicleConfiguration.SimulationMode;
+
+/**
+ * Tests simulating several loopback vehicles in discrete event mode end to end.
+ * <p>
+ * Every vehicle drives along a route of its own, with the next movement command being enqueued
+ * (like the kernel would do it) in reaction to the previous one having been executed.
+ * </p>
+ */
+public class DiscreteEventSimulationTest {
+
+  private static final int VEHICLE_COUNT = 3;
+
+  private static final int STEP_COUNT = 4;
+
+  private VirtualVehicleConfiguration configuration;
+
+  private List<ScheduledExecutorService> executors;
+
+  @BeforeEach
+  public void setUp() {
+    configuration = mock(VirtualVehicleConfiguration.class);
+    when(configuration.commandQueueCapacity()).thenReturn(2);
+    when(configuration.rechargeOperation()).thenReturn("CHARGE");
+    when(configuration.simulationTimeFactor()).thenReturn(1.0);
+    when(configuration.simulationMode()).thenReturn(SimulationMode.DISCRETE_EVENT);
+    when(configuration.simulationSettleRounds()).thenReturn(5);
+    executors = new ArrayList<>();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    for (ScheduledExecutorService executor : executors) {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void produceSameEventsRegardlessOfProcessingTimeAndExecutors()
+      throws InterruptedException {
+    Map<String, List<String>> referenceEvents = simulate(false, null);
+    Map<String, List<String>> events = simulate(true, new Random(4711));
+
+    assertThat(events, is(referenceEvents));
+  }
+
+  @Test
+  public void produceSameEventsInRepeatedRuns()
+      throws InterruptedException {
+    Map<String, List<String>> referenceEvents = simulate(true, new Random(1));
+
+    for (long seed = 2; seed <= 3; seed++) {
+      assertThat(simulate(true, new Random(seed)), is(referenceEvents));
+    }
+  }
+
+  @Test
+  public void executeAllCommandsInSimulationTime()
+      throws InterruptedException {
+    Map<String, List<String>> events = simulate(false, null);
+
+    for (int i = 0; i < VEHICLE_COUNT; i++) {
+      String lastPointName = pointName(i, STEP_COUNT);
+      assertThat(events.get(vehicleName(i)),
+                 hasItem(endsWith(": POSITION=" + lastPointName)));
+      assertThat(events.get(vehicleName(i)),
+                 hasItem(endsWith(": COMMAND_EXECUTED=" + lastPointName)));
+    }
+  }
+
+  /**
+   * Simulates all vehicles driving along their routes.
+   *
+   * @param dedicatedExecutors Whether to give every vehicle's adapter an executor of its own
+   * instead of letting all of them use the kernel executor.
+   * @param processingDelays Provides random (wall clock) delays for the kernel reacting to events,
+   * or {@code null}, if the kernel should react without delay.
+   * @return The events of every vehicle, in the order they occurred and prefixed with the
+   * simulation time they occurred at.
+   * @throws InterruptedException If interrupted while waiting for the simulation to finish.
+   */
+  private Map<String, List<String>> simulate(boolean dedicatedExecutors, Random processingDelays)
+      throws InterruptedException {
+    ScheduledExecutorService kernelExecutor = newExecutor();
+    DiscreteEventSimulationClock clock
+        = new DiscreteEventSimulationClock(configuration, kernelExecutor);
+    Map<String, List<String>> events = Collections.synchronizedMap(new TreeMap<>());
+    CountDownLatch finished = new CountDownLatch(VEHICLE_COUNT);
+    // Keep simulation time from passing until all vehicles have been set up.
+    CountDownLatch setUp = new CountDownLatch(1);
+    kernelExecutor.execute(() -> awaitUninterruptibly(setUp));
+
+    for (int i = 0; i < VEHICLE_COUNT; i++) {
+      Vehicle vehicle = new Vehicle(vehicleName(i))
+          .withMaxVelocity(1000)
+          .withMaxReverseVelocity(1000);
+      LoopbackCommunicationAdapter adapter
+          = new LoopbackCommunicationAdapter(configuration,
+                                             vehicle,
+                                             dedicatedExecutors ? newExecutor() : kernelExecutor,
+                                             clock);
+      List<String> vehicleEvents = Collections.synchronizedList(new ArrayList<>());
+      events.put(vehicle.getName(), vehicleEvents);
+      List<MovementCommand> commands = createCommands(i);
+
+      adapter.getProcessModel().addPropertyChangeListener((PropertyChangeEvent evt) -> {
+        if (VehicleProcessModel.Attribute.POSITION.name().equals(evt.getPropertyName())) {
+          vehicleEvents.add(clock.getCurrentTime() + ": POSITION=" + evt.getNewValue());
+        }
+        else if (VehicleProcessModel.Attribute.COMMAND_EXECUTED.name()
+            .equals(evt.getPropertyName())) {
+          MovementCommand command = (MovementCommand) evt.getNewValue();
+          vehicleEvents.add(clock.getCurrentTime() + ": COMMAND_EXECUTED="
+              + command.getStep().getDestinationPoint().getName());
+          int nextIndex = commands.indexOf(command) + 1;
+          if (nextIndex < commands.size()) {
+            kernelExecutor.execute(() -> {
+              delay(processingDelays);
+              adapter.enqueueCommand(commands.get(nextIndex));
+            });
+          }
+          else {
+            finished.countDown();
+          }
+        }
+      });
+      adapter.initialize();
+      adapter.enable();
+      kernelExecutor.execute(() -> adapter.enqueueCommand(commands.get(0)));
+    }
+    setUp.countDown();
+
+    assertThat(finished.await(30, TimeUnit.SECONDS), is(true));
+    kernelExecutor.shutdownNow();
+
+    return new TreeMap<>(events);
+  }
+
+  private List<MovementCommand> createCommands(int vehicleIndex) {
+    List<MovementCommand> commands = new ArrayList<>();
+    Point srcPoint = new Point(pointName(vehicleIndex, 0));
+    for (int i = 1; i <= STEP_COUNT; i++) {
+      Point destPoint = new Point(pointName(vehicleIndex, i));
+      Path path = new Path(srcPoint.getName() + " --- " + destPoint.getName(),
+                           srcPoint.getReference(),
+                           destPoint.getReference())
+          .withLength(1000 * (vehicleIndex + 1) + 700 * i)
+          .withMaxVelocity(500 + 250 * vehicleIndex);
+      Step step = new Step(path, srcPoint, destPoint, Vehicle.Orientation.FORWARD, i - 1);
+
+      MovementCommand command = mock(MovementCommand.class);
+      when(command.getStep()).thenReturn(step);
+      // Let every other step include an operation.
+      when(command.isWithoutOperation()).thenReturn(i % 2 == 1);
+      when(command.getOperation()).thenReturn(i % 2 == 1 ? MovementCommand.NO_OPERATION : "Work");
+      commands.add(command);
+
+      srcPoint = destPoint;
+    }
+    return commands;
+  }
+
+  private ScheduledExecutorService newExecutor() {
+    ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    executors.add(executor);
+    return executor;
+  }
+
+  private static void delay(Random processingDelays) {
+    if (processingDelays == null) {
+      return;
+    }
+    try {
+      Thread.sleep(processingDelays.nextInt(5));
+    }
+    catch (InterruptedException exc) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    try {
+      latch.await();
+    }
+    catch (InterruptedException exc) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static String vehicleName(int vehicleIndex) {
+    return String.format("Vehicle-%02d", vehicleIndex + 1);
+  }
+
+  private static String pointName(int vehicleIndex, int pointIndex) {
+    return String.format("Point-%d-%d", vehicleIndex + 1, pointIndex);
+  }
+}
@@ -13,6 +13,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -195,4 +196,65 @@ public class VelocityControllerTest {
     // Velocity could be 500 mm/s after 1s, but should be limited to 250 mm/s
     assertEquals(250, controller.getCurrentVelocity());
   }
+
+  @Test
+  public void testSteppedAdvanceStopsAtEndOfWayEntry() {
+    VelocityController controller
+        = new VelocityController(MAX_DECEL, MAX_ACCEL,
+                                 MAX_REV_VELO, MAX_FWD_VELO);
+    VelocityController.WayEntry firstEntry
+        = new VelocityController.WayEntry(WAY_LENGTH, MAX_VELO,
+                                          POINT_NAME, Vehicle.Orientation.FORWARD);
+    VelocityController.WayEntry secondEntry
+        = new VelocityController.WayEntry(WAY_LENGTH, MAX_VELO,
+                                          POINT_NAME, Vehicle.Orientation.FORWARD);
+    controller.addWayEntry(firstEntry);
+    controller.addWayEntry(secondEntry);
+
+    long timePassed = controller.advanceTime(Long.MAX_VALUE, 100);
+
+    assertSame(secondEntry, controller.getCurrentWayEntry());
+    assertEquals(timePassed, controller.getCurrentTime());
+    // 5 m at 0.5 m/s, plus a little for accelerating:
+    assertTrue(timePassed > 10000 && timePassed < 12000);
+  }
+
+  @Test
+  public void testSteppedAdvanceMatchesSingleSteps() {
+    VelocityController steppedController
+        = new VelocityController(MAX_DECEL, MAX_ACCEL,
+                                 MAX_REV_VELO, MAX_FWD_VELO);
+    VelocityController singleStepController
+        = new VelocityController(MAX_DECEL, MAX_ACCEL,
+                                 MAX_REV_VELO, MAX_FWD_VELO);
+    steppedController.addWayEntry(
+        new VelocityController.WayEntry(100000, MAX_VELO,
+                                        POINT_NAME, Vehicle.Orientation.FORWARD));
+    singleStepController.addWayEntry(
+        new VelocityController.WayEntry(100000, MAX_VELO,
+                                        POINT_NAME, Vehicle.Orientation.FORWARD));
+
+    assertEquals(2500, steppedController.advanceTime(2500, 100));
+    for (int i = 0; i < 25; i++) {
+      singleStepController.advanceTime(100);
+    }
+
+    assertEquals(singleStepController.getCurrentVelocity(),
+                 steppedController.getCurrentVelocity());
+    assertEquals(singleStepController.getCurrentPosition(),
+                 steppedController.getCurrentPosition());
+  }
+
+  @Test
+  public void testSteppedAdvanceOfPausedVehicleTakesSingleStep() {
+    VelocityController controller
+        = new VelocityController(MAX_DECEL, MAX_ACCEL,
+                                 MAX_REV_VELO, MAX_FWD_VELO);
+    controller.addWayEntry(
+        new VelocityController.WayEntry(WAY_LENGTH, MAX_VELO,
+                                        POINT_NAME, Vehicle.Orientation.FORWARD));
+    controller.setVehiclePaused(true);
+
+    assertEquals(100, controller.advanceTime(Long.MAX_VALUE, 100));
+  }
 }
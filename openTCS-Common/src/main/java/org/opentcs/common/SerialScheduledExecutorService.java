@@ -0,0 +1,392 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import static java.util.Objects.requireNonNull;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static org.opentcs.util.Assertions.checkArgument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ScheduledExecutorService} executing its tasks one at a time, in submission order, on the
+ * threads of a (possibly shared) pool.
+ * <p>
+ * Instances do not own any threads: Any number of them can be multiplexed on the same pool, with
+ * each instance never executing more than one task at a time, and with the effects of a task
+ * being visible to all tasks executed after it.
+ * An instance executes at most a given number of tasks in a row before yielding its pool thread,
+ * so instances with many pending tasks cannot starve others.
+ * Delayed and periodic tasks are timed by a separate scheduler and executed like all other tasks
+ * once due.
+ * </p>
+ * <p>
+ * Exceptions thrown by executed and periodic tasks are logged; those thrown by other tasks are left
+ * to be retrieved via the tasks' futures.
+ * Shutting down an instance cancels all of its delayed and periodic tasks.
+ * </p>
+ */
+public class SerialScheduledExecutorService
+    extends AbstractExecutorService
+    implements ScheduledExecutorService {
+
+  /**
+   * This class's logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(SerialScheduledExecutorService.class);
+  /**
+   * The pool executing tasks.
+   */
+  private final Executor pool;
+  /**
+   * The scheduler timing delayed and periodic tasks.
+   */
+  private final ScheduledExecutorService timer;
+  /**
+   * The maximum number of tasks to be executed in a row before yielding the pool thread.
+   */
+  private final int batchSize;
+  /**
+   * The tasks pending execution.
+   */
+  private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+  /**
+   * The delayed and periodic tasks that are not done, yet.
+   */
+  private final Set<ScheduledTask<?>> scheduledTasks = ConcurrentHashMap.newKeySet();
+  /**
+   * Whether a pool thread is currently assigned to execute pending tasks.
+   */
+  private final AtomicBoolean active = new AtomicBoolean();
+  /**
+   * Used for waiting for termination.
+   */
+  private final Object terminationLock = new Object();
+  /**
+   * Whether this instance has been shut down.
+   */
+  private volatile boolean shutdown;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param pool The pool executing tasks.
+   * @param timer The scheduler timing delayed and periodic tasks. (Only used for submitting tasks
+   * to this instance once they are due, so a single thread is sufficient for it.)
+   * @param batchSize The maximum number of tasks to be executed in a row before yielding the pool
+   * thread.
+   */
+  public SerialScheduledExecutorService(Executor pool,
+                                        ScheduledExecutorService timer,
+                                        int batchSize) {
+    this.pool = requireNonNull(pool, "pool");
+    this.timer = requireNonNull(timer, "timer");
+    checkArgument(batchSize > 0, "batchSize <= 0: %s", batchSize);
+    this.batchSize = batchSize;
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    requireNonNull(command, "command");
+    if (shutdown) {
+      throw new RejectedExecutionException("Executor has been shut down");
+    }
+    tasks.add(command);
+    activate();
+  }
+
+  @Override
+  public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+    requireNonNull(command, "command");
+    return schedule(new ScheduledTask<>(command, null, triggerTime(delay, unit), 0));
+  }
+
+  @Override
+  public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+    requireNonNull(callable, "callable");
+    return schedule(new ScheduledTask<>(callable, triggerTime(delay, unit)));
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleAtFixedRate(Runnable command,
+                                                long initialDelay,
+                                                long period,
+                                                TimeUnit unit) {
+    requireNonNull(command, "command");
+    checkArgument(period > 0, "period <= 0: %s", period);
+    return schedule(new ScheduledTask<>(command,
+                                        null,
+                                        triggerTime(initialDelay, unit),
+                                        unit.toNanos(period)));
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command,
+                                                   long initialDelay,
+                                                   long delay,
+                                                   TimeUnit unit) {
+    requireNonNull(command, "command");
+    checkArgument(delay > 0, "delay <= 0: %s", delay);
+    return schedule(new ScheduledTask<>(command,
+                                        null,
+                                        triggerTime(initialDelay, unit),
+                                        -unit.toNanos(delay)));
+  }
+
+  @Override
+  public void shutdown() {
+    shutdown = true;
+    for (ScheduledTask<?> task : new ArrayList<>(scheduledTasks)) {
+      task.cancel(false);
+    }
+    signalIfTerminated();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    shutdown();
+    List<Runnable> pendingTasks = new ArrayList<>();
+    for (Runnable task = tasks.poll(); task != null; task = tasks.poll()) {
+      pendingTasks.add(task);
+    }
+    signalIfTerminated();
+    return pendingTasks;
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return shutdown;
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return shutdown && !active.get() && tasks.isEmpty();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    synchronized (terminationLock) {
+      while (!isTerminated()) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          return false;
+        }
+        TimeUnit.NANOSECONDS.timedWait(terminationLock, remaining);
+      }
+      return true;
+    }
+  }
+
+  private <V> ScheduledTask<V> schedule(ScheduledTask<V> task) {
+    if (shutdown) {
+      throw new RejectedExecutionException("Executor has been shut down");
+    }
+    scheduledTasks.add(task);
+    task.arm();
+    return task;
+  }
+
+  private void enqueueDue(ScheduledTask<?> task) {
+    if (shutdown) {
+      task.cancel(false);
+      return;
+    }
+    tasks.add(task);
+    activate();
+  }
+
+  private void activate() {
+    if (!active.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      pool.execute(this::runTasks);
+    }
+    catch (RejectedExecutionException exc) {
+      active.set(false);
+      throw exc;
+    }
+  }
+
+  private void runTasks() {
+    try {
+      for (int i = 0; i < batchSize; i++) {
+        Runnable task = tasks.poll();
+        if (task == null) {
+          break;
+        }
+        runTask(task);
+      }
+    }
+    finally {
+      // Hand over to the next task even if the current one threw an Error.
+      active.set(false);
+      if (!tasks.isEmpty()) {
+        activate();
+      }
+      else {
+        signalIfTerminated();
+      }
+    }
+  }
+
+  private void runTask(Runnable task) {
+    try {
+      task.run();
+    }
+    catch (RuntimeException exc) {
+      LOG.warn("Unhandled exception in executed task", exc);
+      return;
+    }
+
+    if (task instanceof Future<?> && ((Future<?>) task).isDone()) {
+      try {
+        ((Future<?>) task).get();
+      }
+      catch (ExecutionException exc) {
+        if (task instanceof ScheduledTask<?> && ((ScheduledTask<?>) task).isPeriodic()) {
+          LOG.warn("Unhandled exception in periodic task, cancelling it", exc.getCause());
+        }
+        else {
+          // The task's submitter is expected to retrieve the exception via the task's future.
+          LOG.debug("Exception in submitted task", exc.getCause());
+        }
+      }
+      catch (CancellationException exc) {
+        LOG.debug("Task was cancelled", exc);
+      }
+      catch (InterruptedException exc) {
+        LOG.debug("Interrupted during Future.get()", exc);
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private void signalIfTerminated() {
+    if (isTerminated()) {
+      synchronized (terminationLock) {
+        terminationLock.notifyAll();
+      }
+    }
+  }
+
+  private static long triggerTime(long delay, TimeUnit unit) {
+    return System.nanoTime() + unit.toNanos(Math.max(delay, 0));
+  }
+
+  /**
+   * A delayed or periodic task.
+   *
+   * @param <V> The task's result type.
+   */
+  private class ScheduledTask<V>
+      extends FutureTask<V>
+      implements RunnableScheduledFuture<V> {
+
+    /**
+     * The period (in ns): positive for fixed-rate execution, negative for fixed-delay execution,
+     * zero for a one-shot task.
+     */
+    private final long period;
+    /**
+     * The time at which the task is due next (in ns, relative to {@link System#nanoTime()}).
+     */
+    private volatile long triggerTime;
+    /**
+     * The timer's future for submitting the task once it is due.
+     */
+    private volatile ScheduledFuture<?> timerFuture;
+
+    ScheduledTask(Runnable runnable, V result, long triggerTime, long period) {
+      super(runnable, result);
+      this.triggerTime = triggerTime;
+      this.period = period;
+    }
+
+    ScheduledTask(Callable<V> callable, long triggerTime) {
+      super(callable);
+      this.triggerTime = triggerTime;
+      this.period = 0;
+    }
+
+    @Override
+    public boolean isPeriodic() {
+      return period != 0;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return unit.convert(triggerTime - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+      if (other == this) {
+        return 0;
+      }
+      return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void run() {
+      if (!isPeriodic()) {
+        super.run();
+        scheduledTasks.remove(this);
+      }
+      else if (super.runAndReset()) {
+        triggerTime = period > 0 ? triggerTime + period : System.nanoTime() - period;
+        arm();
+      }
+      else {
+        scheduledTasks.remove(this);
+      }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      boolean cancelled = super.cancel(mayInterruptIfRunning);
+      ScheduledFuture<?> future = timerFuture;
+      if (future != null) {
+        future.cancel(false);
+      }
+      scheduledTasks.remove(this);
+      return cancelled;
+    }
+
+    void arm() {
+      timerFuture = timer.schedule(() -> enqueueDue(this),
+                                   triggerTime - System.nanoTime(),
+                                   TimeUnit.NANOSECONDS);
+      // Do not leave a timer armed for a task cancelled concurrently.
+      if (isCancelled()) {
+        timerFuture.cancel(false);
+      }
+    }
+  }
+}
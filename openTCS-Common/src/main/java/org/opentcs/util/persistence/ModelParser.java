@@ -18,9 +18,11 @@ import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
 import java.nio.charset.Charset;
+import java.util.Objects;
 import org.opentcs.access.to.model.PlantModelCreationTO;
 import org.opentcs.util.persistence.v004.V004ModelParser;
-import org.opentcs.util.persistence.v004.V004PlantModelTO;
+import org.opentcs.util.persistence.v004.V004ModelStreamReader;
+import org.opentcs.util.persistence.v004.V004ModelStreamWriter;
 import org.opentcs.util.persistence.v004.V004TOMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,8 +57,16 @@ public class ModelParser {
 
     LOG.debug("File '{}' contains a model version '{}'.", file.getAbsolutePath(), modelVersion);
 
-    try (Reader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file),
-                                                                  CHARSET))) {
+    if (Objects.equals(modelVersion, V004TOMapper.VERSION_STRING)) {
+      // Validating the model in a separate pass keeps the reader from having to buffer it.
+      try (Reader reader = createReader(file)) {
+        V004ModelStreamReader.validate(reader);
+      }
+      try (Reader reader = createReader(file)) {
+        return new V004ModelStreamReader().read(reader);
+      }
+    }
+    try (Reader reader = createReader(file)) {
       return new V004ModelParser().read(reader, modelVersion);
     }
   }
@@ -72,17 +82,19 @@ public class ModelParser {
       throws IOException {
     try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file),
                                                                    CHARSET))) {
-      V004TOMapper mapper = new V004TOMapper();
-      V004PlantModelTO mappedModel = mapper.map(model);
-      mappedModel.toXml(writer);
+      new V004ModelStreamWriter().write(model, writer);
     }
   }
 
   private String peekModelVersion(File file)
       throws IOException {
-    try (Reader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file),
-                                                                  CHARSET))) {
-      return ProbePlantModelTO.fromXml(reader).getVersion();
+    try (Reader reader = createReader(file)) {
+      return V004ModelStreamReader.peekModelVersion(reader);
     }
   }
+
+  private Reader createReader(File file)
+      throws IOException {
+    return new BufferedReader(new InputStreamReader(new FileInputStream(file), CHARSET));
+  }
 }
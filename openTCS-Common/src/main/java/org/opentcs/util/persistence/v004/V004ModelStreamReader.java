@@ -0,0 +1,667 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.util.persistence.v004;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.stax.StAXSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import org.opentcs.access.to.model.BlockCreationTO;
+import org.opentcs.access.to.model.LocationCreationTO;
+import org.opentcs.access.to.model.LocationTypeCreationTO;
+import org.opentcs.access.to.model.PathCreationTO;
+import org.opentcs.access.to.model.PlantModelCreationTO;
+import org.opentcs.access.to.model.PointCreationTO;
+import org.opentcs.access.to.model.VehicleCreationTO;
+import org.opentcs.access.to.model.VisualLayoutCreationTO;
+import org.opentcs.access.to.peripherals.PeripheralOperationCreationTO;
+import org.opentcs.data.model.Block;
+import org.opentcs.data.model.Couple;
+import org.opentcs.data.model.Path;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Triple;
+import org.opentcs.data.model.visualization.Layer;
+import org.opentcs.data.model.visualization.LayerGroup;
+import org.opentcs.data.model.visualization.LocationRepresentation;
+import org.opentcs.data.peripherals.PeripheralOperation;
+import org.opentcs.util.Colors;
+import org.xml.sax.SAXException;
+
+/**
+ * Reads V004 models and parses them to {@link PlantModelCreationTO} instances.
+ * <p>
+ * In contrast to {@link V004PlantModelTO#fromXml(java.io.Reader)} and {@link V004TOMapper}, the
+ * model is read element by element using StAX, and every model element is parsed to its creation
+ * TO directly, without building the complete JAXB object tree first.
+ * The result is the same as that of the mapper.
+ * </p>
+ * <p>
+ * Required attributes and the structure of the document are checked while reading it.
+ * To check a document against the model schema, too, it needs to be validated via
+ * {@link #validate(java.io.Reader)}, which also processes it in a streaming fashion.
+ * </p>
+ */
+public class V004ModelStreamReader {
+
+  /**
+   * The factory for the XML stream readers.
+   */
+  private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+  /**
+   * The schema of V004 models, created lazily.
+   */
+  private static volatile Schema schema;
+
+  /**
+   * Creates a new instance.
+   */
+  public V004ModelStreamReader() {
+  }
+
+  /**
+   * Reads a V004 model with the given reader and parses it to a {@link PlantModelCreationTO}
+   * instance.
+   *
+   * @param reader The reader to use.
+   * @return The parsed {@link PlantModelCreationTO}.
+   * @throws IOException If there was an error reading the model or if it is not a V004 model.
+   */
+  public PlantModelCreationTO read(@Nonnull Reader reader)
+      throws IOException {
+    requireNonNull(reader, "reader");
+
+    try {
+      XMLStreamReader xml = INPUT_FACTORY.createXMLStreamReader(reader);
+      try {
+        xml.nextTag();
+        expectElement(xml, "model");
+        String version = requiredAttribute(xml, "version");
+        if (!V004TOMapper.VERSION_STRING.equals(version)) {
+          throw new XMLStreamException("Unsupported model version: " + version, xml.getLocation());
+        }
+        return readModel(xml);
+      }
+      finally {
+        xml.close();
+      }
+    }
+    catch (XMLStreamException | IllegalArgumentException exc) {
+      throw new IOException("Exception reading model", exc);
+    }
+  }
+
+  /**
+   * Validates the V004 model read with the given reader against the model schema.
+   * <p>
+   * The model is read element by element, without building any object tree.
+   * </p>
+   *
+   * @param reader The reader to use.
+   * @throws IOException If there was an error reading the model or if it is not valid.
+   */
+  public static void validate(@Nonnull Reader reader)
+      throws IOException {
+    requireNonNull(reader, "reader");
+
+    try {
+      XMLStreamReader xml = INPUT_FACTORY.createXMLStreamReader(reader);
+      try {
+        getSchema().newValidator().validate(new StAXSource(xml));
+      }
+      finally {
+        xml.close();
+      }
+    }
+    catch (XMLStreamException | SAXException exc) {
+      throw new IOException("Exception validating model", exc);
+    }
+  }
+
+  /**
+   * Reads the version of the model with the given reader, reading no further than the model's root
+   * element.
+   *
+   * @param reader The reader to use.
+   * @return The model version.
+   * @throws IOException If there was an error reading the model.
+   */
+  public static String peekModelVersion(@Nonnull Reader reader)
+      throws IOException {
+    requireNonNull(reader, "reader");
+
+    try {
+      XMLStreamReader xml = INPUT_FACTORY.createXMLStreamReader(reader);
+      try {
+        xml.nextTag();
+        expectElement(xml, "model");
+        return requiredAttribute(xml, "version");
+      }
+      finally {
+        xml.close();
+      }
+    }
+    catch (XMLStreamException exc) {
+      throw new IOException("Exception reading model version", exc);
+    }
+  }
+
+  private PlantModelCreationTO readModel(XMLStreamReader xml)
+      throws XMLStreamException {
+    String name = requiredAttribute(xml, "name");
+    List<PointCreationTO> points = new ArrayList<>();
+    List<PathCreationTO> paths = new ArrayList<>();
+    List<VehicleCreationTO> vehicles = new ArrayList<>();
+    List<LocationTypeCreationTO> locationTypes = new ArrayList<>();
+    List<LocationCreationTO> locations = new ArrayList<>();
+    List<BlockCreationTO> blocks = new ArrayList<>();
+    VisualLayoutCreationTO visualLayout = null;
+    Map<String, String> properties = new HashMap<>();
+
+    while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+      switch (xml.getLocalName()) {
+        case "point":
+          points.add(readPoint(xml));
+          break;
+        case "path":
+          paths.add(readPath(xml));
+          break;
+        case "vehicle":
+          vehicles.add(readVehicle(xml));
+          break;
+        case "locationType":
+          locationTypes.add(readLocationType(xml));
+          break;
+        case "location":
+          locations.add(readLocation(xml));
+          break;
+        case "block":
+          blocks.add(readBlock(xml));
+          break;
+        case "visualLayout":
+          visualLayout = readVisualLayout(xml);
+          break;
+        case "property":
+          readProperty(xml, properties);
+          break;
+        default:
+          throw unexpectedElement(xml);
+      }
+    }
+
+    return new PlantModelCreationTO(name)
+        .withPoints(points)
+        .withVehicles(vehicles)
+        .withPaths(paths)
+        .withLocationTypes(locationTypes)
+        .withLocations(locations)
+        .withBlocks(blocks)
+        .withVisualLayout(visualLayout != null
+            ? visualLayout
+            // Like the mapper, fall back to the defaults of an empty visual layout TO.
+            : new VisualLayoutCreationTO("").withScaleX(0.0).withScaleY(0.0))
+        .withProperties(properties);
+  }
+
+  private PointCreationTO readPoint(XMLStreamReader xml)
+      throws XMLStreamException {
+    String name = requiredAttribute(xml, "name");
+    long xPosition = parseLong(xml, requiredAttribute(xml, "xPosition"));
+    long yPosition = parseLong(xml, requiredAttribute(xml, "yPosition"));
+    long zPosition = longAttribute(xml, "zPosition", 0L);
+    float vehicleOrientationAngle = floatAttribute(xml, "vehicleOrientationAngle", 0.0F);
+    String type = requiredAttribute(xml, "type");
+    Map<String, String> properties = new HashMap<>();
+    PointCreationTO.Layout layout = new PointCreationTO.Layout(new Couple(0, 0),
+                                                               new Couple(0, 0),
+                                                               0);
+
+    while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+      switch (xml.getLocalName()) {
+        case "outgoingPath":
+          // Outgoing paths are implied by the paths' source points.
+          skipElement(xml);
+          break;
+        case "property":
+          readProperty(xml, properties);
+          break;
+        case "pointLayout":
+          layout = new PointCreationTO.Layout(
+              new Couple(parseLong(xml, requiredAttribute(xml, "xPosition")),
+                         parseLong(xml, requiredAttribute(xml, "yPosition"))),
+              new Couple(parseLong(xml, requiredAttribute(xml, "xLabelOffset")),
+                         parseLong(xml, requiredAttribute(xml, "yLabelOffset"))),
+              parseInt(xml, requiredAttribute(xml, "layerId"))
+          );
+          skipElement(xml);
+          break;
+        default:
+          throw unexpectedElement(xml);
+      }
+    }
+
+    return new PointCreationTO(name)
+        .withPosition(new Triple(xPosition, yPosition, zPosition))
+        .withVehicleOrientationAngle(vehicleOrientationAngle)
+        .withType(Point.Type.valueOf(type))
+        .withProperties(properties)
+        .withLayout(layout);
+  }
+
+  private PathCreationTO readPath(XMLStreamReader xml)
+      throws XMLStreamException {
+    String name = requiredAttribute(xml, "name");
+    String sourcePoint = requiredAttribute(xml, "sourcePoint");
+    String destinationPoint = requiredAttribute(xml, "destinationPoint");
+    long length = longAttribute(xml, "length", 0L);
+    long maxVelocity = parseLong(xml, requiredAttribute(xml, "maxVelocity"));
+    long maxReverseVelocity = parseLong(xml, requiredAttribute(xml, "maxReverseVelocity"));
+    boolean locked = parseBoolean(xml, requiredAttribute(xml, "locked"));
+    List<PeripheralOperationCreationTO> peripheralOperations = new ArrayList<>();
+    Map<String, String> properties = new HashMap<>();
+    String connectionType = "";
+    List<Couple> controlPoints = new ArrayList<>();
+    int layerId = 0;
+
+    while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+      switch (xml.getLocalName()) {
+        case "peripheralOperation":
+          peripheralOperations.add(
+              new PeripheralOperationCreationTO(requiredAttribute(xml, "name"),
+                                                requiredAttribute(xml, "locationName"))
+                  .withExecutionTrigger(PeripheralOperation.ExecutionTrigger.valueOf(
+                      requiredAttribute(xml, "executionTrigger")
+                  ))
+                  .withCompletionRequired(
+                      parseBoolean(xml, requiredAttribute(xml, "completionRequired"))
+                  )
+          );
+          skipElement(xml);
+          break;
+        case "property":
+          readProperty(xml, properties);
+          break;
+        case "pathLayout":
+          connectionType = requiredAttribute(xml, "connectionType");
+          layerId = parseInt(xml, requiredAttribute(xml, "layerId"));
+          while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            expectElement(xml, "controlPoint");
+            controlPoints.add(new Couple(parseLong(xml, requiredAttribute(xml, "x")),
+                                         parseLong(xml, requiredAttribute(xml, "y"))));
+            skipElement(xml);
+          }
+          break;
+        default:
+          throw unexpectedElement(xml);
+      }
+    }
+
+    return new PathCreationTO(name, sourcePoint, destinationPoint)
+        .withLength(length)
+        .withLocked(locked)
+        .withMaxVelocity((int) maxVelocity)
+        .withMaxReverseVelocity((int) maxReverseVelocity)
+        .withPeripheralOperations(peripheralOperations)
+        .withProperties(properties)
+        .withLayout(new PathCreationTO.Layout(Path.Layout.ConnectionType.valueOf(connectionType),
+                                              controlPoints,
+                                              layerId));
+  }
+
+  private VehicleCreationTO readVehicle(XMLStreamReader xml)
+      throws XMLStreamException {
+    VehicleCreationTO result = new VehicleCreationTO(requiredAttribute(xml, "name"))
+        .withLength((int) longAttribute(xml, "length", 0L))
+        .withEnergyLevelCritical((int) longAttribute(xml, "energyLevelCritical", 0L))
+        .withEnergyLevelGood((int) longAttribute(xml, "energyLevelGood", 0L))
+        .withEnergyLevelFullyRecharged((int) longAttribute(xml, "energyLevelFullyRecharged", 0L))
+        .withEnergyLevelSufficientlyRecharged(
+            (int) longAttribute(xml, "energyLevelSufficientlyRecharged", 0L)
+        )
+        .withMaxReverseVelocity((int) longAttribute(xml, "maxReverseVelocity", 0L))
+        .withMaxVelocity((int) longAttribute(xml, "maxVelocity", 0L));
+    Map<String, String> properties = new HashMap<>();
+    String color = "";
+
+    while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+      switch (xml.getLocalName()) {
+        case "property":
+          readProperty(xml, properties);
+          break;
+        case "vehicleLayout":
+          color = requiredAttribute(xml, "color");
+          skipElement(xml);
+          break;
+        default:
+          throw unexpectedElement(xml);
+      }
+    }
+
+    return result
+        .withProperties(properties)
+        .withLayout(new VehicleCreationTO.Layout(Colors.decodeFromHexRGB(color)));
+  }
+
+  private LocationTypeCreationTO readLocationType(XMLStreamReader xml)
+      throws XMLStreamException {
+    String name = requiredAttribute(xml, "name");
+    List<String> allowedOperations = new LinkedList<>();
+    List<String> allowedPeripheralOperations = new LinkedList<>();
+    Map<String, String> properties = new HashMap<>();
+    String locationRepresentation = "";
+
+    while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+      switch (xml.getLocalName()) {
+        case "allowedOperation":
+          allowedOperations.add(requiredAttribute(xml, "name"));
+          skipElement(xml);
+          break;
+        case "allowedPeripheralOperation":
+          allowedPeripheralOperations.add(requiredAttribute(xml, "name"));
+          skipElement(xml);
+          break;
+        case "property":
+          readProperty(xml, properties);
+          break;
+        case "locationTypeLayout":
+          locationRepresentation = requiredAttribute(xml, "locationRepresentation");
+          skipElement(xml);
+          break;
+        default:
+          throw unexpectedElement(xml);
+      }
+    }
+
+    return new LocationTypeCreationTO(name)
+        .withAllowedOperations(allowedOperations)
+        .withAllowedPeripheralOperations(allowedPeripheralOperations)
+        .withProperties(properties)
+        .withLayout(new LocationTypeCreationTO.Layout(
+            LocationRepresentation.valueOf(locationRepresentation)
+        ));
+  }
+
+  private LocationCreationTO readLocation(XMLStreamReader xml)
+      throws XMLStreamException {
+    String name = requiredAttribute(xml, "name");
+    long xPosition = longAttribute(xml, "xPosition", 0L);
+    long yPosition = longAttribute(xml, "yPosition", 0L);
+    long zPosition = longAttribute(xml, "zPosition", 0L);
+    String type = requiredAttribute(xml, "type");
+    boolean locked = parseBoolean(xml, requiredAttribute(xml, "locked"));
+    Map<String, Set<String>> links = new HashMap<>();
+    Map<String, String> properties = new HashMap<>();
+    Couple layoutPosition = new Couple(0, 0);
+    Couple layoutLabelOffset = new Couple(0, 0);
+    String locationRepresentation = "";
+    int layerId = 0;
+
+    while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+      switch (xml.getLocalName()) {
+        case "link":
+          String point = requiredAttribute(xml, "point");
+          Set<String> allowedOperations = new HashSet<>();
+          while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            expectElement(xml, "allowedOperation");
+            allowedOperations.add(requiredAttribute(xml, "name"));
+            skipElement(xml);
+          }
+          links.put(point, allowedOperations);
+          break;
+        case "property":
+          readProperty(xml, properties);
+          break;
+        case "locationLayout":
+          layoutPosition = new Couple(parseLong(xml, requiredAttribute(xml, "xPosition")),
+                                      parseLong(xml, requiredAttribute(xml, "yPosition")));
+          layoutLabelOffset = new Couple(parseLong(xml, requiredAttribute(xml, "xLabelOffset")),
+                                         parseLong(xml, requiredAttribute(xml, "yLabelOffset")));
+          locationRepresentation = requiredAttribute(xml, "locationRepresentation");
+          layerId = parseInt(xml, requiredAttribute(xml, "layerId"));
+          skipElement(xml);
+          break;
+        default:
+          throw unexpectedElement(xml);
+      }
+    }
+
+    return new LocationCreationTO(name, type, new Triple(xPosition, yPosition, zPosition))
+        .withLinks(links)
+        .withLocked(locked)
+        .withProperties(properties)
+        .withLayout(new LocationCreationTO.Layout(
+            layoutPosition,
+            layoutLabelOffset,
+            LocationRepresentation.valueOf(locationRepresentation),
+            layerId
+        ));
+  }
+
+  private BlockCreationTO readBlock(XMLStreamReader xml)
+      throws XMLStreamException {
+    String name = requiredAttribute(xml, "name");
+    String type = xml.getAttributeValue(null, "type");
+    Set<String> memberNames = new HashSet<>();
+    Map<String, String> properties = new HashMap<>();
+    String color = "";
+
+    while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+      switch (xml.getLocalName()) {
+        case "member":
+          memberNames.add(requiredAttribute(xml, "name"));
+          skipElement(xml);
+          break;
+        case "property":
+          readProperty(xml, properties);
+          break;
+        case "blockLayout":
+          color = requiredAttribute(xml, "color");
+          skipElement(xml);
+          break;
+        default:
+          throw unexpectedElement(xml);
+      }
+    }
+
+    return new BlockCreationTO(name)
+        .withType(type == null ? Block.Type.SINGLE_VEHICLE_ONLY : Block.Type.valueOf(type))
+        .withMemberNames(memberNames)
+        .withProperties(properties)
+        .withLayout(new BlockCreationTO.Layout(Colors.decodeFromHexRGB(color)));
+  }
+
+  private VisualLayoutCreationTO readVisualLayout(XMLStreamReader xml)
+      throws XMLStreamException {
+    String name = requiredAttribute(xml, "name");
+    float scaleX = parseFloat(xml, requiredAttribute(xml, "scaleX"));
+    float scaleY = parseFloat(xml, requiredAttribute(xml, "scaleY"));
+    List<Layer> layers = new ArrayList<>();
+    List<LayerGroup> layerGroups = new ArrayList<>();
+    Map<String, String> properties = new HashMap<>();
+
+    while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+      switch (xml.getLocalName()) {
+        case "layer":
+          layers.add(new Layer(parseInt(xml, requiredAttribute(xml, "id")),
+                               parseInt(xml, requiredAttribute(xml, "ordinal")),
+                               parseBoolean(xml, requiredAttribute(xml, "visible")),
+                               requiredAttribute(xml, "name"),
+                               parseInt(xml, requiredAttribute(xml, "groupId"))));
+          skipElement(xml);
+          break;
+        case "layerGroup":
+          layerGroups.add(new LayerGroup(parseInt(xml, requiredAttribute(xml, "id")),
+                                         requiredAttribute(xml, "name"),
+                                         parseBoolean(xml, requiredAttribute(xml, "visible"))));
+          skipElement(xml);
+          break;
+        case "property":
+          readProperty(xml, properties);
+          break;
+        default:
+          throw unexpectedElement(xml);
+      }
+    }
+
+    return new VisualLayoutCreationTO(name)
+        .withScaleX(scaleX)
+        .withScaleY(scaleY)
+        .withLayers(layers)
+        .withLayerGroups(layerGroups)
+        .withProperties(properties);
+  }
+
+  private void readProperty(XMLStreamReader xml, Map<String, String> properties)
+      throws XMLStreamException {
+    String name = requiredAttribute(xml, "name");
+    String value = requiredAttribute(xml, "value");
+    skipElement(xml);
+    // Like the mapper, replace empty names and values.
+    properties.put(name.isEmpty() ? "Property unknown" : name,
+                   value.isEmpty() ? "Value unknown" : value);
+  }
+
+  /**
+   * Skips the rest of the current element, including any nested elements, leaving the reader at
+   * its end tag.
+   */
+  private void skipElement(XMLStreamReader xml)
+      throws XMLStreamException {
+    int depth = 1;
+    while (depth > 0) {
+      int event = xml.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        depth++;
+      }
+      else if (event == XMLStreamConstants.END_ELEMENT) {
+        depth--;
+      }
+    }
+  }
+
+  private static void expectElement(XMLStreamReader xml, String name)
+      throws XMLStreamException {
+    if (!name.equals(xml.getLocalName())) {
+      throw unexpectedElement(xml);
+    }
+  }
+
+  private static XMLStreamException unexpectedElement(XMLStreamReader xml) {
+    return new XMLStreamException("Unexpected element: " + xml.getLocalName(), xml.getLocation());
+  }
+
+  private static String requiredAttribute(XMLStreamReader xml, String name)
+      throws XMLStreamException {
+    String value = xml.getAttributeValue(null, name);
+    if (value == null) {
+      throw new XMLStreamException("Element " + xml.getLocalName()
+          + " lacks required attribute " + name,
+                                   xml.getLocation());
+    }
+    return value;
+  }
+
+  private long longAttribute(XMLStreamReader xml, String name, long defaultValue)
+      throws XMLStreamException {
+    String value = xml.getAttributeValue(null, name);
+    return value == null ? defaultValue : parseLong(xml, value);
+  }
+
+  private float floatAttribute(XMLStreamReader xml, String name, float defaultValue)
+      throws XMLStreamException {
+    String value = xml.getAttributeValue(null, name);
+    return value == null ? defaultValue : parseFloat(xml, value);
+  }
+
+  private long parseLong(XMLStreamReader xml, String value)
+      throws XMLStreamException {
+    try {
+      return Long.parseLong(value.trim());
+    }
+    catch (NumberFormatException exc) {
+      throw new XMLStreamException("Not a valid number: " + value, xml.getLocation(), exc);
+    }
+  }
+
+  private int parseInt(XMLStreamReader xml, String value)
+      throws XMLStreamException {
+    try {
+      return Integer.parseInt(value.trim());
+    }
+    catch (NumberFormatException exc) {
+      throw new XMLStreamException("Not a valid number: " + value, xml.getLocation(), exc);
+    }
+  }
+
+  private float parseFloat(XMLStreamReader xml, String value)
+      throws XMLStreamException {
+    // Use the lexical representation of xsd:float for special values.
+    switch (value.trim()) {
+      case "NaN":
+        return Float.NaN;
+      case "INF":
+        return Float.POSITIVE_INFINITY;
+      case "-INF":
+        return Float.NEGATIVE_INFINITY;
+      default:
+        try {
+          return Float.parseFloat(value.trim());
+        }
+        catch (NumberFormatException exc) {
+          throw new XMLStreamException("Not a valid number: " + value, xml.getLocation(), exc);
+        }
+    }
+  }
+
+  private boolean parseBoolean(XMLStreamReader xml, String value)
+      throws XMLStreamException {
+    switch (value.trim()) {
+      case "true":
+      case "1":
+        return true;
+      case "false":
+      case "0":
+        return false;
+      default:
+        throw new XMLStreamException("Not a valid boolean: " + value, xml.getLocation());
+    }
+  }
+
+  private static Schema getSchema()
+      throws SAXException {
+    if (schema == null) {
+      URL schemaUrl
+          = V004ModelStreamReader.class.getResource("/org/opentcs/util/persistence/model-0.0.4.xsd");
+      schema = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI).newSchema(schemaUrl);
+    }
+    return schema;
+  }
+
+  private static XMLInputFactory createInputFactory() {
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    // Model files are self-contained, so do not resolve any external entities.
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    return factory;
+  }
+}
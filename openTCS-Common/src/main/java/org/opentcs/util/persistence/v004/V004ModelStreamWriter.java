@@ -0,0 +1,432 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.util.persistence.v004;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.opentcs.access.to.model.BlockCreationTO;
+import org.opentcs.access.to.model.LocationCreationTO;
+import org.opentcs.access.to.model.LocationTypeCreationTO;
+import org.opentcs.access.to.model.PathCreationTO;
+import org.opentcs.access.to.model.PlantModelCreationTO;
+import org.opentcs.access.to.model.PointCreationTO;
+import org.opentcs.access.to.model.VehicleCreationTO;
+import org.opentcs.access.to.model.VisualLayoutCreationTO;
+import org.opentcs.access.to.peripherals.PeripheralOperationCreationTO;
+import org.opentcs.data.model.Couple;
+import org.opentcs.data.model.visualization.Layer;
+import org.opentcs.data.model.visualization.LayerGroup;
+import org.opentcs.util.Colors;
+
+/**
+ * Writes {@link PlantModelCreationTO} instances as V004 models.
+ * <p>
+ * In contrast to {@link V004TOMapper#map(PlantModelCreationTO)} and
+ * {@link V004PlantModelTO#toXml(java.io.Writer)}, every model element is written as soon as it has
+ * been converted, without building the complete JAXB object tree first.
+ * Elements are written in the same order and with the same content as with the mapper.
+ * </p>
+ */
+public class V004ModelStreamWriter {
+
+  /**
+   * The string used for indenting nested elements.
+   */
+  private static final String INDENT = "    ";
+  /**
+   * The XML declaration, as written by JAXB.
+   */
+  private static final String XML_DECLARATION
+      = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>";
+  /**
+   * The factory for the XML stream writers.
+   */
+  private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+  /**
+   * Creates a new instance.
+   */
+  public V004ModelStreamWriter() {
+  }
+
+  /**
+   * Writes the given model with the given writer.
+   *
+   * @param model The model to write.
+   * @param writer The writer to use.
+   * @throws IOException If there was an error writing the model.
+   */
+  public void write(@Nonnull PlantModelCreationTO model, @Nonnull Writer writer)
+      throws IOException {
+    requireNonNull(model, "model");
+    requireNonNull(writer, "writer");
+
+    try {
+      // Write the declaration ourselves, as XMLStreamWriter does not support the standalone flag.
+      writer.write(XML_DECLARATION);
+      XMLStreamWriter xml = OUTPUT_FACTORY.createXMLStreamWriter(writer);
+      new ModelOutput(xml).writeModel(model);
+      xml.flush();
+    }
+    catch (XMLStreamException exc) {
+      throw new IOException("Exception writing model", exc);
+    }
+  }
+
+  /**
+   * Writes the elements of a single model, keeping track of the indentation.
+   */
+  private static class ModelOutput {
+
+    /**
+     * The XML stream writer.
+     */
+    private final XMLStreamWriter xml;
+    /**
+     * The nesting depth of the element currently being written.
+     */
+    private int depth;
+
+    ModelOutput(XMLStreamWriter xml) {
+      this.xml = requireNonNull(xml, "xml");
+    }
+
+    void writeModel(PlantModelCreationTO model)
+        throws XMLStreamException {
+      startElement("model", false);
+      xml.writeAttribute("version", V004TOMapper.VERSION_STRING);
+      xml.writeAttribute("name", model.getName());
+
+      Map<String, List<String>> outgoingPaths = outgoingPathsBySourcePoint(model.getPaths());
+      for (PointCreationTO point : sortedByName(model.getPoints(), PointCreationTO::getName)) {
+        writePoint(point, outgoingPaths.getOrDefault(point.getName(), new ArrayList<>()));
+      }
+      for (PathCreationTO path : sortedByName(model.getPaths(), PathCreationTO::getName)) {
+        writePath(path);
+      }
+      for (VehicleCreationTO vehicle : sortedByName(model.getVehicles(),
+                                                     VehicleCreationTO::getName)) {
+        writeVehicle(vehicle);
+      }
+      for (LocationTypeCreationTO locationType : sortedByName(model.getLocationTypes(),
+                                                               LocationTypeCreationTO::getName)) {
+        writeLocationType(locationType);
+      }
+      for (LocationCreationTO location : sortedByName(model.getLocations(),
+                                                       LocationCreationTO::getName)) {
+        writeLocation(location);
+      }
+      for (BlockCreationTO block : sortedByName(model.getBlocks(), BlockCreationTO::getName)) {
+        writeBlock(block);
+      }
+      writeVisualLayout(model.getVisualLayout());
+      writeProperties(model.getProperties());
+
+      endElement();
+      xml.writeCharacters("\n");
+      xml.writeEndDocument();
+    }
+
+    private void writePoint(PointCreationTO point, List<String> outgoingPaths)
+        throws XMLStreamException {
+      startElement("point", false);
+      xml.writeAttribute("name", point.getName());
+      xml.writeAttribute("xPosition", Long.toString(point.getPosition().getX()));
+      xml.writeAttribute("yPosition", Long.toString(point.getPosition().getY()));
+      // Like the mapper, do not write the point's actual z position.
+      xml.writeAttribute("zPosition", "0");
+      xml.writeAttribute("vehicleOrientationAngle",
+                         toXmlFloat((float) point.getVehicleOrientationAngle()));
+      xml.writeAttribute("type", point.getType().name());
+
+      outgoingPaths.sort(Comparator.naturalOrder());
+      for (String outgoingPath : outgoingPaths) {
+        startElement("outgoingPath", true);
+        xml.writeAttribute("name", outgoingPath);
+      }
+      writeProperties(point.getProperties());
+
+      startElement("pointLayout", true);
+      xml.writeAttribute("xPosition", Long.toString(point.getLayout().getPosition().getX()));
+      xml.writeAttribute("yPosition", Long.toString(point.getLayout().getPosition().getY()));
+      xml.writeAttribute("xLabelOffset",
+                         Long.toString(point.getLayout().getLabelOffset().getX()));
+      xml.writeAttribute("yLabelOffset",
+                         Long.toString(point.getLayout().getLabelOffset().getY()));
+      xml.writeAttribute("layerId", Integer.toString(point.getLayout().getLayerId()));
+
+      endElement();
+    }
+
+    private void writePath(PathCreationTO path)
+        throws XMLStreamException {
+      startElement("path", false);
+      xml.writeAttribute("name", path.getName());
+      xml.writeAttribute("sourcePoint", path.getSrcPointName());
+      xml.writeAttribute("destinationPoint", path.getDestPointName());
+      xml.writeAttribute("length", Long.toString(path.getLength()));
+      xml.writeAttribute("maxVelocity", Long.toString(path.getMaxVelocity()));
+      xml.writeAttribute("maxReverseVelocity", Long.toString(path.getMaxReverseVelocity()));
+      xml.writeAttribute("locked", Boolean.toString(path.isLocked()));
+
+      for (PeripheralOperationCreationTO operation : path.getPeripheralOperations()) {
+        startElement("peripheralOperation", true);
+        xml.writeAttribute("completionRequired",
+                           Boolean.toString(operation.isCompletionRequired()));
+        xml.writeAttribute("executionTrigger", operation.getExecutionTrigger().name());
+        xml.writeAttribute("locationName", operation.getLocationName());
+        xml.writeAttribute("name", operation.getOperation());
+      }
+      writeProperties(path.getProperties());
+
+      List<Couple> controlPoints = path.getLayout().getControlPoints();
+      startElement("pathLayout", controlPoints.isEmpty());
+      xml.writeAttribute("connectionType", path.getLayout().getConnectionType().name());
+      xml.writeAttribute("layerId", Integer.toString(path.getLayout().getLayerId()));
+      for (Couple controlPoint : controlPoints) {
+        startElement("controlPoint", true);
+        xml.writeAttribute("x", Long.toString(controlPoint.getX()));
+        xml.writeAttribute("y", Long.toString(controlPoint.getY()));
+      }
+      if (!controlPoints.isEmpty()) {
+        endElement();
+      }
+
+      endElement();
+    }
+
+    private void writeVehicle(VehicleCreationTO vehicle)
+        throws XMLStreamException {
+      startElement("vehicle", false);
+      xml.writeAttribute("name", vehicle.getName());
+      xml.writeAttribute("length", Integer.toString(vehicle.getLength()));
+      xml.writeAttribute("energyLevelCritical",
+                         Integer.toString(vehicle.getEnergyLevelCritical()));
+      xml.writeAttribute("energyLevelGood", Integer.toString(vehicle.getEnergyLevelGood()));
+      xml.writeAttribute("energyLevelFullyRecharged",
+                         Integer.toString(vehicle.getEnergyLevelFullyRecharged()));
+      xml.writeAttribute("energyLevelSufficientlyRecharged",
+                         Integer.toString(vehicle.getEnergyLevelSufficientlyRecharged()));
+      xml.writeAttribute("maxVelocity", Integer.toString(vehicle.getMaxVelocity()));
+      xml.writeAttribute("maxReverseVelocity",
+                         Integer.toString(vehicle.getMaxReverseVelocity()));
+
+      writeProperties(vehicle.getProperties());
+
+      startElement("vehicleLayout", true);
+      xml.writeAttribute("color", Colors.encodeToHexRGB(vehicle.getLayout().getRouteColor()));
+
+      endElement();
+    }
+
+    private void writeLocationType(LocationTypeCreationTO locationType)
+        throws XMLStreamException {
+      startElement("locationType", false);
+      xml.writeAttribute("name", locationType.getName());
+
+      writeNames("allowedOperation", locationType.getAllowedOperations());
+      writeNames("allowedPeripheralOperation", locationType.getAllowedPeripheralOperations());
+      writeProperties(locationType.getProperties());
+
+      startElement("locationTypeLayout", true);
+      xml.writeAttribute("locationRepresentation",
+                         locationType.getLayout().getLocationRepresentation().name());
+
+      endElement();
+    }
+
+    private void writeLocation(LocationCreationTO location)
+        throws XMLStreamException {
+      startElement("location", false);
+      xml.writeAttribute("name", location.getName());
+      xml.writeAttribute("xPosition", Long.toString(location.getPosition().getX()));
+      xml.writeAttribute("yPosition", Long.toString(location.getPosition().getY()));
+      // Like the mapper, do not write the location's actual z position.
+      xml.writeAttribute("zPosition", "0");
+      xml.writeAttribute("locked", Boolean.toString(location.isLocked()));
+      xml.writeAttribute("type", location.getTypeName());
+
+      for (Map.Entry<String, Set<String>> link : new TreeMap<>(location.getLinks()).entrySet()) {
+        startElement("link", link.getValue().isEmpty());
+        xml.writeAttribute("point", link.getKey());
+        if (!link.getValue().isEmpty()) {
+          writeNames("allowedOperation", link.getValue());
+          endElement();
+        }
+      }
+      writeProperties(location.getProperties());
+
+      startElement("locationLayout", true);
+      xml.writeAttribute("xPosition", Long.toString(location.getLayout().getPosition().getX()));
+      xml.writeAttribute("yPosition", Long.toString(location.getLayout().getPosition().getY()));
+      xml.writeAttribute("xLabelOffset",
+                         Long.toString(location.getLayout().getLabelOffset().getX()));
+      xml.writeAttribute("yLabelOffset",
+                         Long.toString(location.getLayout().getLabelOffset().getY()));
+      xml.writeAttribute("locationRepresentation",
+                         location.getLayout().getLocationRepresentation().name());
+      xml.writeAttribute("layerId", Integer.toString(location.getLayout().getLayerId()));
+
+      endElement();
+    }
+
+    private void writeBlock(BlockCreationTO block)
+        throws XMLStreamException {
+      startElement("block", false);
+      xml.writeAttribute("name", block.getName());
+      xml.writeAttribute("type", block.getType().name());
+
+      writeNames("member", block.getMemberNames());
+      writeProperties(block.getProperties());
+
+      startElement("blockLayout", true);
+      xml.writeAttribute("color", Colors.encodeToHexRGB(block.getLayout().getColor()));
+
+      endElement();
+    }
+
+    private void writeVisualLayout(VisualLayoutCreationTO layout)
+        throws XMLStreamException {
+      boolean empty = layout.getLayers().isEmpty()
+          && layout.getLayerGroups().isEmpty()
+          && layout.getProperties().isEmpty();
+      startElement("visualLayout", empty);
+      xml.writeAttribute("name", layout.getName());
+      xml.writeAttribute("scaleX", toXmlFloat((float) layout.getScaleX()));
+      xml.writeAttribute("scaleY", toXmlFloat((float) layout.getScaleY()));
+
+      for (Layer layer : layout.getLayers()) {
+        startElement("layer", true);
+        xml.writeAttribute("id", Integer.toString(layer.getId()));
+        xml.writeAttribute("ordinal", Integer.toString(layer.getOrdinal()));
+        xml.writeAttribute("visible", Boolean.toString(layer.isVisible()));
+        xml.writeAttribute("name", layer.getName());
+        xml.writeAttribute("groupId", Integer.toString(layer.getGroupId()));
+      }
+      for (LayerGroup layerGroup : layout.getLayerGroups()) {
+        startElement("layerGroup", true);
+        xml.writeAttribute("id", Integer.toString(layerGroup.getId()));
+        xml.writeAttribute("name", layerGroup.getName());
+        xml.writeAttribute("visible", Boolean.toString(layerGroup.isVisible()));
+      }
+      writeProperties(layout.getProperties());
+
+      if (!empty) {
+        endElement();
+      }
+    }
+
+    private void writeNames(String elementName, Collection<String> names)
+        throws XMLStreamException {
+      List<String> sortedNames = new ArrayList<>(names);
+      sortedNames.sort(Comparator.naturalOrder());
+      for (String name : sortedNames) {
+        startElement(elementName, true);
+        xml.writeAttribute("name", name);
+      }
+    }
+
+    private void writeProperties(Map<String, String> properties)
+        throws XMLStreamException {
+      for (Map.Entry<String, String> property : new TreeMap<>(properties).entrySet()) {
+        startElement("property", true);
+        xml.writeAttribute("name", property.getKey());
+        xml.writeAttribute("value", property.getValue());
+      }
+    }
+
+    /**
+     * Starts an element on a new, indented line.
+     * Elements that are not empty need to be closed via {@link #endElement()}.
+     *
+     * @param name The element's name.
+     * @param empty Whether the element will not have any child elements.
+     */
+    private void startElement(String name, boolean empty)
+        throws XMLStreamException {
+      writeIndentation();
+      if (empty) {
+        xml.writeEmptyElement(name);
+      }
+      else {
+        xml.writeStartElement(name);
+        depth++;
+      }
+    }
+
+    private void endElement()
+        throws XMLStreamException {
+      depth--;
+      writeIndentation();
+      xml.writeEndElement();
+    }
+
+    private void writeIndentation()
+        throws XMLStreamException {
+      if (depth == 0) {
+        xml.writeCharacters("\n");
+        return;
+      }
+      StringBuilder indentation = new StringBuilder("\n");
+      for (int i = 0; i < depth; i++) {
+        indentation.append(INDENT);
+      }
+      xml.writeCharacters(indentation.toString());
+    }
+  }
+
+  private static Map<String, List<String>> outgoingPathsBySourcePoint(
+      List<PathCreationTO> paths) {
+    Map<String, List<String>> result = new HashMap<>();
+    for (PathCreationTO path : paths) {
+      result.computeIfAbsent(path.getSrcPointName(), point -> new ArrayList<>())
+          .add(path.getName());
+    }
+    return result;
+  }
+
+  private static <T> List<T> sortedByName(List<T> elements,
+                                          Function<T, String> nameFunction) {
+    List<T> result = new ArrayList<>(elements);
+    result.sort(Comparator.comparing(nameFunction));
+    return result;
+  }
+
+  /**
+   * Returns the lexical representation of the given value as an {@code xsd:float}.
+   *
+   * @param value The value.
+   * @return The lexical representation.
+   */
+  private static String toXmlFloat(float value) {
+    if (Float.isNaN(value)) {
+      return "NaN";
+    }
+    if (value == Float.POSITIVE_INFINITY) {
+      return "INF";
+    }
+    if (value == Float.NEGATIVE_INFINITY) {
+      return "-INF";
+    }
+    return Float.toString(value);
+  }
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.*;
+
+/**
+ * Unit tests for {@link SerialScheduledExecutorService}.
+ */
+public class SerialScheduledExecutorServiceTest {
+
+  private ExecutorService pool;
+  private ScheduledExecutorService timer;
+
+  @BeforeEach
+  public void setUp() {
+    pool = Executors.newFixedThreadPool(4);
+    timer = Executors.newSingleThreadScheduledExecutor();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    pool.shutdownNow();
+    timer.shutdownNow();
+  }
+
+  @Test
+  public void executeTasksOneAtATimeInSubmissionOrder()
+      throws InterruptedException {
+    SerialScheduledExecutorService executor = new SerialScheduledExecutorService(pool, timer, 3);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    List<Integer> executed = new ArrayList<>();
+
+    for (int i = 0; i < 1000; i++) {
+      int taskNumber = i;
+      executor.execute(() -> {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        executed.add(taskNumber);
+        running.decrementAndGet();
+      });
+    }
+    executor.shutdown();
+
+    assertThat(executor.awaitTermination(10, TimeUnit.SECONDS), is(true));
+    assertThat(maxRunning.get(), is(1));
+    assertThat(executed.size(), is(1000));
+    for (int i = 0; i < 1000; i++) {
+      assertThat(executed.get(i), is(i));
+    }
+  }
+
+  @Test
+  public void yieldPoolThreadAfterBatch()
+      throws InterruptedException {
+    ExecutorService singleThreadPool = Executors.newSingleThreadExecutor();
+    try {
+      SerialScheduledExecutorService busyExecutor
+          = new SerialScheduledExecutorService(singleThreadPool, timer, 2);
+      SerialScheduledExecutorService otherExecutor
+          = new SerialScheduledExecutorService(singleThreadPool, timer, 2);
+      CountDownLatch otherSubmitted = new CountDownLatch(1);
+      List<String> executed = new ArrayList<>();
+
+      busyExecutor.execute(() -> {
+        awaitUninterruptibly(otherSubmitted);
+        executed.add("busy");
+      });
+      for (int i = 1; i < 10; i++) {
+        busyExecutor.execute(() -> executed.add("busy"));
+      }
+      otherExecutor.execute(() -> executed.add("other"));
+      otherSubmitted.countDown();
+      busyExecutor.shutdown();
+      otherExecutor.shutdown();
+
+      assertThat(busyExecutor.awaitTermination(10, TimeUnit.SECONDS), is(true));
+      assertThat(otherExecutor.awaitTermination(10, TimeUnit.SECONDS), is(true));
+      assertThat(executed.indexOf("other"), is(2));
+    }
+    finally {
+      singleThreadPool.shutdownNow();
+    }
+  }
+
+  @Test
+  public void keepExecutingTasksAfterTaskThrewError()
+      throws InterruptedException {
+    SerialScheduledExecutorService executor = new SerialScheduledExecutorService(pool, timer, 3);
+    CountDownLatch executed = new CountDownLatch(1);
+
+    executor.execute(() -> {
+      throw new AssertionError("Thrown on purpose");
+    });
+    executor.execute(executed::countDown);
+
+    assertThat(executed.await(5, TimeUnit.SECONDS), is(true));
+    executor.shutdown();
+    assertThat(executor.awaitTermination(5, TimeUnit.SECONDS), is(true));
+  }
+
+  @Test
+  public void executeDelayedTasks()
+      throws InterruptedException, ExecutionException {
+    SerialScheduledExecutorService executor = new SerialScheduledExecutorService(pool, timer, 3);
+
+    ScheduledFuture<String> future = executor.schedule(() -> "done", 20, TimeUnit.MILLISECONDS);
+
+    assertThat(future.get(), is("done"));
+  }
+
+  @Test
+  public void executePeriodicTasksUntilCancelled()
+      throws InterruptedException {
+    SerialScheduledExecutorService executor = new SerialScheduledExecutorService(pool, timer, 3);
+    CountDownLatch executions = new CountDownLatch(3);
+
+    ScheduledFuture<?> future = executor.scheduleAtFixedRate(executions::countDown,
+                                                             0,
+                                                             10,
+                                                             TimeUnit.MILLISECONDS);
+
+    assertThat(executions.await(10, TimeUnit.SECONDS), is(true));
+    assertThat(future.cancel(false), is(true));
+    assertThat(future.isCancelled(), is(true));
+  }
+
+  @Test
+  public void cancelScheduledTasksOnShutdown()
+      throws InterruptedException {
+    SerialScheduledExecutorService executor = new SerialScheduledExecutorService(pool, timer, 3);
+
+    ScheduledFuture<?> future = executor.schedule(() -> {
+    }, 1, TimeUnit.HOURS);
+    executor.shutdown();
+
+    assertThat(future.isCancelled(), is(true));
+    assertThat(executor.awaitTermination(10, TimeUnit.SECONDS), is(true));
+  }
+
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    try {
+      latch.await();
+    }
+    catch (InterruptedException exc) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,417 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.util.persistence.v004;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import javax.xml.XMLConstants;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.opentcs.access.to.model.BlockCreationTO;
+import org.opentcs.access.to.model.LocationCreationTO;
+import org.opentcs.access.to.model.LocationTypeCreationTO;
+import org.opentcs.access.to.model.PathCreationTO;
+import org.opentcs.access.to.model.PlantModelCreationTO;
+import org.opentcs.access.to.model.PointCreationTO;
+import org.opentcs.access.to.model.VehicleCreationTO;
+import org.opentcs.access.to.model.VisualLayoutCreationTO;
+import org.opentcs.access.to.peripherals.PeripheralOperationCreationTO;
+import org.opentcs.data.model.Block;
+import org.opentcs.data.model.Couple;
+import org.opentcs.data.model.Path;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Triple;
+import org.opentcs.data.model.visualization.Layer;
+import org.opentcs.data.model.visualization.LayerGroup;
+import org.opentcs.data.model.visualization.LocationRepresentation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.SAXException;
+
+/**
+ * Unit tests for {@link V004ModelStreamReader} and {@link V004ModelStreamWriter}.
+ */
+public class V004ModelStreamTest {
+
+  /**
+   * This class's logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(V004ModelStreamTest.class);
+
+  private static final int POINT_COUNT = 100;
+
+  @Test
+  public void writeModelValidAgainstSchema()
+      throws IOException, SAXException {
+    String xml = write(createModel());
+
+    Schema schema = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI)
+        .newSchema(getClass().getResource("/org/opentcs/util/persistence/model-0.0.4.xsd"));
+    schema.newValidator().validate(new StreamSource(new StringReader(xml)));
+  }
+
+  @Test
+  public void writeSameXmlAsJaxb()
+      throws IOException {
+    PlantModelCreationTO model = createModel();
+
+    assertThat(write(model), is(writeWithJaxb(model)));
+  }
+
+  @Test
+  public void readSameModelAsJaxb()
+      throws IOException {
+    String xml = writeWithJaxb(createModel());
+
+    PlantModelCreationTO streamModel = new V004ModelStreamReader().read(new StringReader(xml));
+    PlantModelCreationTO jaxbModel
+        = new V004ModelParser().read(new StringReader(xml), V004TOMapper.VERSION_STRING);
+
+    // Creation TOs do not implement equals(), so compare their XML representations.
+    assertThat(writeWithJaxb(streamModel), is(writeWithJaxb(jaxbModel)));
+  }
+
+  @Test
+  public void validateWrittenModel()
+      throws IOException {
+    V004ModelStreamReader.validate(new StringReader(write(createModel())));
+  }
+
+  @Test
+  public void rejectModelNotValidAgainstSchema() {
+    // Well-formed and readable, but points must precede paths.
+    String xml = "<model version=\"0.0.4\" name=\"Invalid\">"
+        + "<path name=\"Path1\" sourcePoint=\"Point1\" destinationPoint=\"Point1\""
+        + " length=\"1\" maxVelocity=\"0\" maxReverseVelocity=\"0\" locked=\"false\">"
+        + "<pathLayout connectionType=\"DIRECT\" layerId=\"0\"/>"
+        + "</path>"
+        + "<point name=\"Point1\" xPosition=\"0\" yPosition=\"0\" type=\"HALT_POSITION\">"
+        + "<pointLayout xPosition=\"0\" yPosition=\"0\" xLabelOffset=\"0\""
+        + " yLabelOffset=\"0\" layerId=\"0\"/>"
+        + "</point>"
+        + "</model>";
+
+    assertThrows(IOException.class,
+                 () -> V004ModelStreamReader.validate(new StringReader(xml)));
+  }
+
+  @Test
+  public void readWrittenModel()
+      throws IOException {
+    PlantModelCreationTO model = new V004ModelStreamReader()
+        .read(new StringReader(write(createModel())));
+
+    assertThat(model.getName(), is("Generated model"));
+    assertThat(model.getProperties(), hasEntry("modelKey", "modelValue"));
+    assertThat(model.getPoints(), hasSize(POINT_COUNT));
+    assertThat(model.getPaths(), hasSize(POINT_COUNT));
+
+    PointCreationTO point = model.getPoints().get(1);
+    assertThat(point.getName(), is("Point-0001"));
+    assertThat(point.getPosition().getX(), is(1000L));
+    assertThat(point.getType(), is(Point.Type.HALT_POSITION));
+    assertThat(point.getVehicleOrientationAngle(), is(90.0));
+    assertThat(point.getLayout().getLabelOffset().getY(), is(-20L));
+    assertThat(point.getLayout().getLayerId(), is(1));
+
+    PathCreationTO path = model.getPaths().get(1);
+    assertThat(path.getName(), is("Path-0001"));
+    assertThat(path.getSrcPointName(), is("Point-0001"));
+    assertThat(path.getDestPointName(), is("Point-0002"));
+    assertThat(path.getLength(), is(1000L));
+    assertThat(path.getMaxVelocity(), is(1000));
+    assertThat(path.isLocked(), is(true));
+    assertThat(path.getProperties(), hasEntry("pathKey", "<value & 'quotes'>"));
+    assertThat(path.getLayout().getConnectionType(), is(Path.Layout.ConnectionType.BEZIER));
+    assertThat(path.getLayout().getControlPoints(), hasSize(2));
+    assertThat(path.getLayout().getControlPoints().get(1).getY(), is(20L));
+    assertThat(path.getPeripheralOperations(), hasSize(1));
+    assertThat(path.getPeripheralOperations().get(0).getOperation(), is("Open door"));
+
+    VehicleCreationTO vehicle = model.getVehicles().get(0);
+    assertThat(vehicle.getEnergyLevelGood(), is(90));
+    assertThat(vehicle.getMaxReverseVelocity(), is(500));
+    assertThat(vehicle.getLayout().getRouteColor(), is(Color.RED));
+
+    LocationTypeCreationTO locationType = model.getLocationTypes().get(0);
+    assertThat(locationType.getAllowedOperations(), contains("Load cargo", "Unload cargo"));
+    assertThat(locationType.getLayout().getLocationRepresentation(),
+               is(LocationRepresentation.LOAD_TRANSFER_GENERIC));
+
+    LocationCreationTO location = model.getLocations().get(0);
+    assertThat(location.getTypeName(), is("Transfer station"));
+    assertThat(location.getLinks().get("Point-0000"), containsInAnyOrder("Load cargo"));
+    assertThat(location.getLinks().get("Point-0001"), is(new HashSet<>()));
+
+    BlockCreationTO block = model.getBlocks().get(0);
+    assertThat(block.getMemberNames(), containsInAnyOrder("Path-0000", "Point-0001"));
+    assertThat(block.getLayout().getColor(), is(Color.BLUE));
+
+    VisualLayoutCreationTO visualLayout = model.getVisualLayout();
+    assertThat(visualLayout.getScaleX(), is(50.0));
+    assertThat(visualLayout.getLayers(), hasSize(2));
+    assertThat(visualLayout.getLayers().get(1).getName(), is("Layer 1"));
+    assertThat(visualLayout.getLayerGroups(), hasSize(1));
+  }
+
+  @Test
+  public void writeSameModelAfterReadingIt()
+      throws IOException {
+    String xml = write(createModel());
+
+    assertThat(write(new V004ModelStreamReader().read(new StringReader(xml))), is(xml));
+  }
+
+  @Test
+  public void readModelWithoutOptionalAttributes()
+      throws IOException {
+    String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+        + "<model version=\"0.0.4\" name=\"Minimal\">\n"
+        + "  <point name=\"Point1\" xPosition=\"1\" yPosition=\"2\" type=\"PARK_POSITION\">\n"
+        + "    <outgoingPath name=\"Path1\"/>\n"
+        + "    <property name=\"\" value=\"\"/>\n"
+        + "    <pointLayout xPosition=\"1\" yPosition=\"2\" xLabelOffset=\"3\" yLabelOffset=\"4\""
+        + " layerId=\"0\"/>\n"
+        + "  </point>\n"
+        + "  <vehicle name=\"Vehicle1\" length=\"1000\">\n"
+        + "    <vehicleLayout color=\"#00FF00\"/>\n"
+        + "  </vehicle>\n"
+        + "  <block name=\"Block1\">\n"
+        + "    <blockLayout color=\"#FF0000\"/>\n"
+        + "  </block>\n"
+        + "</model>\n";
+
+    PlantModelCreationTO model = new V004ModelStreamReader().read(new StringReader(xml));
+
+    PointCreationTO point = model.getPoints().get(0);
+    assertThat(point.getPosition().getZ(), is(0L));
+    assertThat(point.getVehicleOrientationAngle(), is(0.0));
+    assertThat(point.getProperties(), hasEntry("Property unknown", "Value unknown"));
+    assertThat(model.getVehicles().get(0).getMaxVelocity(), is(0));
+    assertThat(model.getBlocks().get(0).getType(),
+               is(Block.Type.SINGLE_VEHICLE_ONLY));
+    assertThat(model.getVisualLayout().getName(), is(""));
+  }
+
+  @Test
+  public void rejectModelOfOtherVersion() {
+    String xml = "<model version=\"0.0.3\" name=\"Old\"/>";
+
+    assertThrows(IOException.class,
+                 () -> new V004ModelStreamReader().read(new StringReader(xml)));
+  }
+
+  @Test
+  public void rejectElementMissingRequiredAttribute() {
+    String xml = "<model version=\"0.0.4\" name=\"Broken\">"
+        + "<path name=\"Path1\" sourcePoint=\"Point1\"/>"
+        + "</model>";
+
+    assertThrows(IOException.class,
+                 () -> new V004ModelStreamReader().read(new StringReader(xml)));
+  }
+
+  @Test
+  public void peekModelVersion()
+      throws IOException {
+    String xml = "<?xml version=\"1.0\"?>\n<model version=\"0.0.3\" name=\"Old\"><point/></model>";
+
+    assertThat(V004ModelStreamReader.peekModelVersion(new StringReader(xml)), is("0.0.3"));
+  }
+
+  /**
+   * Compares reading and writing a large model via StAX with doing so via JAXB.
+   * <p>
+   * As this takes a while, it is only done if the system property {@code opentcs.benchmark} is set
+   * to {@code true}, e.g. via {@code gradlew :openTCS-Common:test -Pbenchmark}.
+   * The number of points (and paths) of the generated model may be set via the system property
+   * {@code opentcs.benchmark.pointCount}.
+   * </p>
+   *
+   * @throws Exception If reading or writing the model fails.
+   */
+  @Test
+  @EnabledIfSystemProperty(named = "opentcs.benchmark", matches = "true")
+  public void benchmarkAgainstJaxb()
+      throws Exception {
+    PlantModelCreationTO model
+        = createModel(Integer.getInteger("opentcs.benchmark.pointCount", 20000));
+    String xml = write(model);
+    LOG.info("Generated model with {} points and {} paths, {} characters of XML.",
+             model.getPoints().size(),
+             model.getPaths().size(),
+             xml.length());
+
+    measure("Writing via JAXB", () -> writeWithJaxb(model));
+    measure("Writing via StAX", () -> write(model));
+    measure("Reading via JAXB",
+            () -> new V004ModelParser().read(new StringReader(xml), V004TOMapper.VERSION_STRING));
+    measure("Reading via StAX", () -> new V004ModelStreamReader().read(new StringReader(xml)));
+    measure("Validating via StAX", () -> {
+      V004ModelStreamReader.validate(new StringReader(xml));
+      return null;
+    });
+  }
+
+  private void measure(String description, Callable<?> task)
+      throws Exception {
+    final int warmUpRuns = 3;
+    final int measuredRuns = 5;
+    for (int i = 0; i < warmUpRuns; i++) {
+      task.call();
+    }
+
+    long totalTime = 0;
+    long totalAllocatedBytes = 0;
+    for (int i = 0; i < measuredRuns; i++) {
+      long allocatedBytesBefore = allocatedBytes();
+      long timeBefore = System.nanoTime();
+      task.call();
+      totalTime += System.nanoTime() - timeBefore;
+      totalAllocatedBytes += allocatedBytes() - allocatedBytesBefore;
+    }
+    LOG.info("{}: {} ms, {} MiB allocated (average of {} runs)",
+             description,
+             totalTime / measuredRuns / 1000000,
+             totalAllocatedBytes / measuredRuns / (1024 * 1024),
+             measuredRuns);
+  }
+
+  /**
+   * Returns the number of bytes allocated by the current thread so far, if the JVM supports
+   * measuring it.
+   *
+   * @return The number of bytes allocated, or 0.
+   */
+  private static long allocatedBytes() {
+    if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+      return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+          .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    return 0;
+  }
+
+  private String write(PlantModelCreationTO model)
+      throws IOException {
+    StringWriter writer = new StringWriter();
+    new V004ModelStreamWriter().write(model, writer);
+    return writer.toString();
+  }
+
+  private String writeWithJaxb(PlantModelCreationTO model)
+      throws IOException {
+    StringWriter writer = new StringWriter();
+    new V004TOMapper().map(model).toXml(writer);
+    return writer.toString();
+  }
+
+  private PlantModelCreationTO createModel() {
+    return createModel(POINT_COUNT);
+  }
+
+  private PlantModelCreationTO createModel(int pointCount) {
+    List<PointCreationTO> points = new ArrayList<>();
+    List<PathCreationTO> paths = new ArrayList<>();
+    for (int i = 0; i < pointCount; i++) {
+      points.add(
+          new PointCreationTO(String.format("Point-%04d", i))
+              .withPosition(new Triple(i * 1000L, 0, 0))
+              .withType(Point.Type.HALT_POSITION)
+              .withVehicleOrientationAngle(i % 2 == 0 ? Double.NaN : 90.0)
+              .withProperty("pointKey", "pointValue")
+              .withLayout(new PointCreationTO.Layout(new Couple(i * 50L, 0),
+                                                     new Couple(-10, -20),
+                                                     i % 2))
+      );
+      paths.add(
+          new PathCreationTO(String.format("Path-%04d", i),
+                             String.format("Point-%04d", i),
+                             String.format("Point-%04d", (i + 1) % pointCount))
+              .withLength(1000L)
+              .withMaxVelocity(1000)
+              .withMaxReverseVelocity(0)
+              .withLocked(i % 2 == 1)
+              .withProperty("pathKey", "<value & 'quotes'>")
+              .withPeripheralOperations(Arrays.asList(
+                  new PeripheralOperationCreationTO("Open door", "Door")
+              ))
+              .withLayout(new PathCreationTO.Layout(Path.Layout.ConnectionType.BEZIER,
+                                                    Arrays.asList(new Couple(10, 10),
+                                                                  new Couple(20, 20)),
+                                                    i % 2))
+      );
+    }
+
+    Map<String, Set<String>> links = new HashMap<>();
+    links.put("Point-0000", new HashSet<>(Arrays.asList("Load cargo")));
+    links.put("Point-0001", new HashSet<>());
+
+    return new PlantModelCreationTO("Generated model")
+        .withPoints(points)
+        .withPaths(paths)
+        .withVehicles(Arrays.asList(
+            new VehicleCreationTO("Vehicle-01")
+                .withEnergyLevelGood(90)
+                .withMaxVelocity(1000)
+                .withMaxReverseVelocity(500)
+                .withLayout(new VehicleCreationTO.Layout(Color.RED))
+        ))
+        .withLocationTypes(Arrays.asList(
+            new LocationTypeCreationTO("Transfer station")
+                .withAllowedOperations(Arrays.asList("Unload cargo", "Load cargo"))
+                .withLayout(new LocationTypeCreationTO.Layout(
+                    LocationRepresentation.LOAD_TRANSFER_GENERIC
+                ))
+        ))
+        .withLocations(Arrays.asList(
+            new LocationCreationTO("Storage 01", "Transfer station", new Triple(100, 200, 0))
+                .withLinks(links)
+                .withLayout(new LocationCreationTO.Layout(
+                    new Couple(100, 200),
+                    new Couple(-10, -20),
+                    LocationRepresentation.DEFAULT,
+                    0
+                ))
+        ))
+        .withBlocks(Arrays.asList(
+            new BlockCreationTO("Block-01")
+                .withMemberNames(new HashSet<>(Arrays.asList("Point-0001", "Path-0000")))
+                .withLayout(new BlockCreationTO.Layout(Color.BLUE))
+        ))
+        .withVisualLayout(
+            new VisualLayoutCreationTO("VLayout-01")
+                .withScaleX(50.0)
+                .withScaleY(50.0)
+                .withLayers(Arrays.asList(new Layer(0, 0, true, "Layer 0", 0),
+                                          new Layer(1, 1, false, "Layer 1", 0)))
+                .withLayerGroups(Arrays.asList(new LayerGroup(0, "Default group", true)))
+        )
+        .withProperty("modelKey", "modelValue");
+  }
+}
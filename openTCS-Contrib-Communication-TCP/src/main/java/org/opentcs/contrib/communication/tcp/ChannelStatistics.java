@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.contrib.communication.tcp;
+
+/**
+ * A snapshot of the throughput and latency counters of a single channel/connection.
+ */
+public class ChannelStatistics {
+
+  /**
+   * The time the channel has been active for (in ns).
+   */
+  private final long activeTime;
+  /**
+   * The number of bytes received.
+   */
+  private final long bytesRead;
+  /**
+   * The number of bytes sent.
+   */
+  private final long bytesWritten;
+  /**
+   * The number of reads from the channel.
+   */
+  private final long readCount;
+  /**
+   * The number of writes to the channel that have completed.
+   */
+  private final long writeCount;
+  /**
+   * The sum of the latencies of all completed writes (in ns).
+   */
+  private final long totalWriteLatency;
+  /**
+   * The maximum latency of all completed writes (in ns).
+   */
+  private final long maxWriteLatency;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param activeTime The time the channel has been active for (in ns).
+   * @param bytesRead The number of bytes received.
+   * @param bytesWritten The number of bytes sent.
+   * @param readCount The number of reads from the channel.
+   * @param writeCount The number of writes to the channel that have completed.
+   * @param totalWriteLatency The sum of the latencies of all completed writes (in ns).
+   * @param maxWriteLatency The maximum latency of all completed writes (in ns).
+   */
+  public ChannelStatistics(long activeTime,
+                           long bytesRead,
+                           long bytesWritten,
+                           long readCount,
+                           long writeCount,
+                           long totalWriteLatency,
+                           long maxWriteLatency) {
+    this.activeTime = activeTime;
+    this.bytesRead = bytesRead;
+    this.bytesWritten = bytesWritten;
+    this.readCount = readCount;
+    this.writeCount = writeCount;
+    this.totalWriteLatency = totalWriteLatency;
+    this.maxWriteLatency = maxWriteLatency;
+  }
+
+  /**
+   * Returns the time the channel has been active for (in ns).
+   *
+   * @return The time the channel has been active for (in ns).
+   */
+  public long getActiveTime() {
+    return activeTime;
+  }
+
+  /**
+   * Returns the number of bytes received.
+   *
+   * @return The number of bytes received.
+   */
+  public long getBytesRead() {
+    return bytesRead;
+  }
+
+  /**
+   * Returns the number of bytes sent.
+   *
+   * @return The number of bytes sent.
+   */
+  public long getBytesWritten() {
+    return bytesWritten;
+  }
+
+  /**
+   * Returns the number of reads from the channel.
+   *
+   * @return The number of reads from the channel.
+   */
+  public long getReadCount() {
+    return readCount;
+  }
+
+  /**
+   * Returns the number of writes to the channel that have completed.
+   *
+   * @return The number of writes to the channel that have completed.
+   */
+  public long getWriteCount() {
+    return writeCount;
+  }
+
+  /**
+   * Returns the average number of bytes received per second while the channel was active.
+   *
+   * @return The average number of bytes received per second.
+   */
+  public double getReadThroughput() {
+    return activeTime == 0 ? 0.0 : bytesRead * 1_000_000_000.0 / activeTime;
+  }
+
+  /**
+   * Returns the average number of bytes sent per second while the channel was active.
+   *
+   * @return The average number of bytes sent per second.
+   */
+  public double getWriteThroughput() {
+    return activeTime == 0 ? 0.0 : bytesWritten * 1_000_000_000.0 / activeTime;
+  }
+
+  /**
+   * Returns the average time from a message being written to the channel to it being handed over
+   * to the operating system (in ns).
+   *
+   * @return The average write latency (in ns).
+   */
+  public long getAverageWriteLatency() {
+    return writeCount == 0 ? 0 : totalWriteLatency / writeCount;
+  }
+
+  /**
+   * Returns the maximum time from a message being written to the channel to it being handed over
+   * to the operating system (in ns).
+   *
+   * @return The maximum write latency (in ns).
+   */
+  public long getMaxWriteLatency() {
+    return maxWriteLatency;
+  }
+
+  @Override
+  public String toString() {
+    return "ChannelStatistics{"
+        + "activeTime=" + activeTime
+        + ", bytesRead=" + bytesRead
+        + ", bytesWritten=" + bytesWritten
+        + ", readCount=" + readCount
+        + ", writeCount=" + writeCount
+        + ", averageWriteLatency=" + getAverageWriteLatency()
+        + ", maxWriteLatency=" + maxWriteLatency
+        + '}';
+  }
+}
@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.contrib.communication.tcp;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.AttributeKey;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Counts the bytes read from and written to a channel and measures the latency of writes.
+ * <p>
+ * Instances are to be added first to a channel's pipeline, so that they see the encoded bytes, and
+ * register themselves as an attribute of the channel.
+ * Counters are updated on the channel's event loop only, but may be read from any thread.
+ * </p>
+ */
+public class ChannelStatisticsHandler
+    extends ChannelDuplexHandler {
+
+  /**
+   * The key of the channel attribute holding a channel's statistics handler.
+   */
+  private static final AttributeKey<ChannelStatisticsHandler> ATTRIBUTE_KEY
+      = AttributeKey.valueOf(ChannelStatisticsHandler.class.getName());
+  /**
+   * The time the channel became active (in ns), or zero.
+   */
+  private volatile long activeSince;
+  /**
+   * The time the channel became inactive (in ns), or zero.
+   */
+  private volatile long inactiveSince;
+  private final AtomicLong bytesRead = new AtomicLong();
+  private final AtomicLong bytesWritten = new AtomicLong();
+  private final AtomicLong readCount = new AtomicLong();
+  private final AtomicLong writeCount = new AtomicLong();
+  private final AtomicLong totalWriteLatency = new AtomicLong();
+  private final AtomicLong maxWriteLatency = new AtomicLong();
+
+  /**
+   * Returns the statistics handler registered with the given channel, if any.
+   *
+   * @param channel The channel.
+   * @return The statistics handler, or {@code null}, if none is registered with the channel.
+   */
+  @Nullable
+  public static ChannelStatisticsHandler of(@Nonnull Channel channel) {
+    return channel.attr(ATTRIBUTE_KEY).get();
+  }
+
+  @Override
+  public void handlerAdded(ChannelHandlerContext ctx) {
+    ctx.channel().attr(ATTRIBUTE_KEY).set(this);
+    if (ctx.channel().isActive()) {
+      activeSince = System.nanoTime();
+    }
+  }
+
+  @Override
+  public void channelActive(ChannelHandlerContext ctx)
+      throws Exception {
+    activeSince = System.nanoTime();
+    super.channelActive(ctx);
+  }
+
+  @Override
+  public void channelInactive(ChannelHandlerContext ctx)
+      throws Exception {
+    inactiveSince = System.nanoTime();
+    super.channelInactive(ctx);
+  }
+
+  @Override
+  public void channelRead(ChannelHandlerContext ctx, Object msg)
+      throws Exception {
+    if (msg instanceof ByteBuf) {
+      bytesRead.addAndGet(((ByteBuf) msg).readableBytes());
+    }
+    readCount.incrementAndGet();
+    super.channelRead(ctx, msg);
+  }
+
+  @Override
+  public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise)
+      throws Exception {
+    long byteCount = msg instanceof ByteBuf ? ((ByteBuf) msg).readableBytes() : 0;
+    long writeStart = System.nanoTime();
+    // A void promise does not accept listeners, so replace it with one that does.
+    ChannelPromise writePromise = promise.unvoid();
+    writePromise.addListener((ChannelFuture future) -> {
+      if (future.isSuccess()) {
+        onWriteCompleted(byteCount, System.nanoTime() - writeStart);
+      }
+    });
+    super.write(ctx, msg, writePromise);
+  }
+
+  /**
+   * Returns a snapshot of the counters.
+   *
+   * @return A snapshot of the counters.
+   */
+  @Nonnull
+  public ChannelStatistics getStatistics() {
+    long since = activeSince;
+    long until = inactiveSince;
+    long activeTime;
+    if (since == 0) {
+      activeTime = 0;
+    }
+    else if (until - since > 0) {
+      activeTime = until - since;
+    }
+    else {
+      activeTime = System.nanoTime() - since;
+    }
+    return new ChannelStatistics(activeTime,
+                                 bytesRead.get(),
+                                 bytesWritten.get(),
+                                 readCount.get(),
+                                 writeCount.get(),
+                                 totalWriteLatency.get(),
+                                 maxWriteLatency.get());
+  }
+
+  private void onWriteCompleted(long byteCount, long latency) {
+    bytesWritten.addAndGet(byteCount);
+    writeCount.incrementAndGet();
+    totalWriteLatency.addAndGet(latency);
+    maxWriteLatency.accumulateAndGet(latency, Math::max);
+  }
+}
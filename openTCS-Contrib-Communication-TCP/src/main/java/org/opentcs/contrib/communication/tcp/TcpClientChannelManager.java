@@ -13,10 +13,7 @@ import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
-import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.handler.timeout.IdleStateHandler;
 import io.netty.util.concurrent.ScheduledFuture;
@@ -25,6 +22,7 @@ import static java.util.Objects.requireNonNull;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import static org.opentcs.util.Assertions.checkState;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,6 +33,10 @@ import org.slf4j.LoggerFactory;
  * Note that the name of the {@link LoggingHandler} that this class optionally registers is this
  * class's fully qualified name.
  * </p>
+ * <p>
+ * Instances created with a {@link TcpTransport} share its event loop group with all other channel
+ * managers using it; instances created without one use an event loop group of their own.
+ * </p>
  *
  * @author Martin Grzenia (Fraunhofer IML)
  * @author Stefan Walter (Fraunhofer IML)
@@ -63,14 +65,18 @@ public class TcpClientChannelManager<O, I> {
    * The read timeout (in milliseconds).
    */
   private final int readTimeout;
+  /**
+   * The shared transport to use, or {@code null}, if this instance uses a transport of its own.
+   */
+  private final TcpTransport sharedTransport;
   /**
    * Bootstraps the channel.
    */
   private Bootstrap bootstrap;
   /**
-   * Manages the bootstrap's threads.
+   * Provides the bootstrap's threads.
    */
-  private EventLoopGroup workerGroup;
+  private TcpTransport transport;
   /**
    * Manages the current channel/connection.
    */
@@ -105,6 +111,29 @@ public class TcpClientChannelManager<O, I> {
     this.channelSupplier = requireNonNull(channelSupplier, "channelSupplier");
     this.readTimeout = readTimeout;
     this.loggingEnabled = enableLogging;
+    this.sharedTransport = null;
+  }
+
+  /**
+   * Creates a new instance.
+   *
+   * @param connEventListener A handler for incoming state telegrams.
+   * @param channelSupplier A supplier for unique channel handlers for this channel manager.
+   * @param readTimeout The read timeout (in milliseconds).
+   * @param enableLogging Enables or disables logging for this ChannelManager.
+   * @param transport The shared transport to use.
+   */
+  public TcpClientChannelManager(
+      @Nonnull ConnectionEventListener<I> connEventListener,
+      Supplier<List<ChannelHandler>> channelSupplier,
+      int readTimeout,
+      boolean enableLogging,
+      @Nonnull TcpTransport transport) {
+    this.connectionEventListener = requireNonNull(connEventListener, "connEventListener");
+    this.channelSupplier = requireNonNull(channelSupplier, "channelSupplier");
+    this.readTimeout = readTimeout;
+    this.loggingEnabled = enableLogging;
+    this.sharedTransport = requireNonNull(transport, "transport");
   }
 
   public void initialize() {
@@ -112,16 +141,18 @@ public class TcpClientChannelManager<O, I> {
       return;
     }
 
+    transport = sharedTransport != null ? sharedTransport : new TcpTransport(0, false);
     bootstrap = new Bootstrap();
-    workerGroup = new NioEventLoopGroup();
-    bootstrap.group(workerGroup);
-    bootstrap.channel(NioSocketChannel.class);//TCP
+    bootstrap.group(transport.getEventLoopGroup());
+    bootstrap.channel(transport.getSocketChannelClass());//TCP
+    bootstrap.option(ChannelOption.ALLOCATOR, transport.getAllocator());
     bootstrap.option(ChannelOption.SO_KEEPALIVE, true);
     bootstrap.option(ChannelOption.TCP_NODELAY, true);//无延时
     bootstrap.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 10000);//连接超时时间
     bootstrap.handler(new ChannelInitializer<SocketChannel>() {
       @Override
       protected void initChannel(SocketChannel ch) {
+        ch.pipeline().addLast(new ChannelStatisticsHandler());
         if (loggingEnabled) {
           ch.pipeline().addFirst(LOGGING_HANDLER_NAME,
               new LoggingHandler(TcpClientChannelManager.this.getClass()));
@@ -150,8 +181,10 @@ public class TcpClientChannelManager<O, I> {
 
     cancelConnect();
     disconnect();
-    workerGroup.shutdownGracefully();
-    workerGroup = null;
+    if (sharedTransport == null) {
+      transport.shutdown();
+    }
+    transport = null;
     bootstrap = null;
 
     initialized = false;
@@ -199,7 +232,9 @@ public class TcpClientChannelManager<O, I> {
     checkState(isInitialized(), "Not initialized");
     checkState(connectFuture == null, "Connection attempt already scheduled");
 
-    connectFuture = workerGroup.schedule(() -> connect(host, port), delay, TimeUnit.MILLISECONDS);
+    connectFuture = transport.getEventLoopGroup().schedule(() -> connect(host, port),
+                                                           delay,
+                                                           TimeUnit.MILLISECONDS);
   }
 
   /**
@@ -235,6 +270,22 @@ public class TcpClientChannelManager<O, I> {
     return channelFuture != null && channelFuture.channel().isActive();
   }
 
+  /**
+   * Returns the throughput and latency counters of the current connection.
+   *
+   * @return The counters of the current connection, or {@code null}, if no connection has been
+   * initiated.
+   */
+  @Nullable
+  public ChannelStatistics getChannelStatistics() {
+    ChannelFuture future = channelFuture;
+    if (future == null) {
+      return null;
+    }
+    ChannelStatisticsHandler handler = ChannelStatisticsHandler.of(future.channel());
+    return handler == null ? null : handler.getStatistics();
+  }
+
   /**
    * Encodes and sends a telegram to the peer, if connected.
    *
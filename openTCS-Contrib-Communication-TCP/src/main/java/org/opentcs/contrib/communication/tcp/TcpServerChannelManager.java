@@ -14,9 +14,7 @@ import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.handler.timeout.IdleStateHandler;
 import java.util.List;
@@ -24,6 +22,8 @@ import java.util.Map;
 import static java.util.Objects.requireNonNull;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import static org.opentcs.util.Assertions.checkArgument;
 import static org.opentcs.util.Assertions.checkState;
 import org.slf4j.Logger;
@@ -35,6 +35,10 @@ import org.slf4j.LoggerFactory;
  * Note that the name of the {@link LoggingHandler} that this class optionally registers is this
  * class's fully qualified name.
  * </p>
+ * <p>
+ * Instances created with a {@link TcpTransport} share its event loop group with all other channel
+ * managers using it; instances created without one use an event loop group of their own.
+ * </p>
  *
  * @author Martin Grzenia (Fraunhofer IML)
  * @author Stefan Walter (Fraunhofer IML)
@@ -51,10 +55,18 @@ public class TcpServerChannelManager<I, O> {
    * The name for logging handlers.
    */
   private static final String LOGGING_HANDLER_NAME = "ChannelLoggingHandler";
+  /**
+   * The shared transport to use, or {@code null}, if this instance uses a transport of its own.
+   */
+  private final TcpTransport sharedTransport;
   /**
    * Bootstraps the channel.
    */
   private ServerBootstrap bootstrap;
+  /**
+   * Provides the bootstrap's threads.
+   */
+  private TcpTransport transport;
   /**
    * The port to listen on.
    */
@@ -108,6 +120,35 @@ public class TcpServerChannelManager<I, O> {
     checkArgument(readTimeout >= 0, "readTimeout < 0: %s", readTimeout);
     this.readTimeout = readTimeout;
     this.loggingInitially = loggingInitially;
+    this.sharedTransport = null;
+  }
+
+  /**
+   * Creates a new instance.
+   *
+   * @param port The port on which to listen for incoming connections.
+   * @param clientEntries Entries for clients accepting connections via this channel manager.
+   * @param channelSupplier A supplier for lists of {@link ChannelHandler} instances that should be
+   * added to the pipeline of each new connection.
+   * @param readTimeout A timeout in milliseconds after which a connection should be closed if no
+   * data was received over it. May be zero to disable.
+   * @param loggingInitially Whether to turn on logging by default for new connections.
+   * @param transport The shared transport to use.
+   */
+  public TcpServerChannelManager(int port,
+                                 Map<Object, ClientEntry<I>> clientEntries,
+                                 Supplier<List<ChannelHandler>> channelSupplier,
+                                 int readTimeout,
+                                 boolean loggingInitially,
+                                 @Nonnull TcpTransport transport) {
+    checkArgument(port > 0, "port <= 0: %s", port);
+    this.port = port;
+    this.clientEntries = requireNonNull(clientEntries, "clientEntries");
+    this.channelSupplier = requireNonNull(channelSupplier, "channelSupplier");
+    checkArgument(readTimeout >= 0, "readTimeout < 0: %s", readTimeout);
+    this.readTimeout = readTimeout;
+    this.loggingInitially = loggingInitially;
+    this.sharedTransport = requireNonNull(transport, "transport");
   }
 
   public void initialize() {
@@ -115,15 +156,19 @@ public class TcpServerChannelManager<I, O> {
       return;
     }
 
+    transport = sharedTransport != null ? sharedTransport : new TcpTransport(0, false);
     bootstrap = new ServerBootstrap();
-    bootstrap.group(new NioEventLoopGroup(), new NioEventLoopGroup());
-    bootstrap.channel(NioServerSocketChannel.class);
+    bootstrap.group(transport.getEventLoopGroup());
+    bootstrap.channel(transport.getServerSocketChannelClass());
     bootstrap.option(ChannelOption.SO_BACKLOG, 1);
+    bootstrap.option(ChannelOption.ALLOCATOR, transport.getAllocator());
+    bootstrap.childOption(ChannelOption.ALLOCATOR, transport.getAllocator());
     bootstrap.childOption(ChannelOption.SO_KEEPALIVE, true);
     bootstrap.childOption(ChannelOption.TCP_NODELAY, true);
     bootstrap.childHandler(new ChannelInitializer<SocketChannel>() {
       @Override
       protected void initChannel(SocketChannel ch) {
+        ch.pipeline().addLast(new ChannelStatisticsHandler());
         if (loggingInitially) {
           ch.pipeline().addFirst(LOGGING_HANDLER_NAME,
                                  new LoggingHandler(TcpServerChannelManager.this.getClass()));
@@ -159,8 +204,11 @@ public class TcpServerChannelManager<I, O> {
       clientEntry.disconnect();
     }
     clientEntries.clear();
-    bootstrap.config().group().shutdownGracefully();
-    bootstrap.config().childGroup().shutdownGracefully();
+    if (sharedTransport == null) {
+      transport.shutdown();
+    }
+    transport = null;
+    bootstrap = null;
 
     initialized = false;
   }
@@ -222,6 +270,22 @@ public class TcpServerChannelManager<I, O> {
         && clientEntries.get(key).getChannel().isActive();
   }
 
+  /**
+   * Returns the throughput and latency counters of the connection to the given client.
+   *
+   * @param key The key associated with the client.
+   * @return The counters of the connection, or {@code null}, if the client is not connected.
+   */
+  @Nullable
+  public ChannelStatistics getChannelStatistics(Object key) {
+    ClientEntry<I> entry = clientEntries.get(key);
+    if (entry == null || entry.getChannel() == null) {
+      return null;
+    }
+    ChannelStatisticsHandler handler = ChannelStatisticsHandler.of(entry.getChannel());
+    return handler == null ? null : handler.getStatistics();
+  }
+
   /**
    * Encodes and sends a telegram to the peer, if connected.
    *
@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.contrib.communication.tcp;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import java.util.concurrent.ThreadFactory;
+import javax.annotation.Nonnull;
+import static org.opentcs.util.Assertions.checkArgument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Provides the event loop group, channel types and buffer allocator used by channel managers.
+ * <p>
+ * A single instance may (and should) be shared by any number of {@link TcpClientChannelManager}
+ * and {@link TcpServerChannelManager} instances, so that all of their connections are served by
+ * the same, fixed set of threads.
+ * </p>
+ */
+public class TcpTransport {
+
+  /**
+   * This class's Logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(TcpTransport.class);
+  /**
+   * The event loop group serving all channels.
+   */
+  private final EventLoopGroup eventLoopGroup;
+  /**
+   * The type of channels for outgoing connections.
+   */
+  private final Class<? extends SocketChannel> socketChannelClass;
+  /**
+   * The type of channels for accepting incoming connections.
+   */
+  private final Class<? extends ServerSocketChannel> serverSocketChannelClass;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param threadCount The number of event loop threads. May be zero to use Netty's default
+   * (twice the number of available processors).
+   * @param preferNativeTransport Whether to use the native epoll transport, if it is available on
+   * the current platform.
+   */
+  public TcpTransport(int threadCount, boolean preferNativeTransport) {
+    checkArgument(threadCount >= 0, "threadCount < 0: %s", threadCount);
+
+    // Use daemon threads, as a shared event loop group is usually never shut down explicitly.
+    ThreadFactory threadFactory = new DefaultThreadFactory("tcpTransport", true);
+    if (preferNativeTransport && Epoll.isAvailable()) {
+      eventLoopGroup = new EpollEventLoopGroup(threadCount, threadFactory);
+      socketChannelClass = EpollSocketChannel.class;
+      serverSocketChannelClass = EpollServerSocketChannel.class;
+    }
+    else {
+      if (preferNativeTransport) {
+        LOG.debug("Native transport not available, falling back to NIO.",
+                  Epoll.unavailabilityCause());
+      }
+      eventLoopGroup = new NioEventLoopGroup(threadCount, threadFactory);
+      socketChannelClass = NioSocketChannel.class;
+      serverSocketChannelClass = NioServerSocketChannel.class;
+    }
+    LOG.debug("Using {} event loop group with {} threads.",
+              eventLoopGroup.getClass().getSimpleName(),
+              threadCount == 0 ? "default number of" : threadCount);
+  }
+
+  /**
+   * Returns the event loop group serving all channels.
+   *
+   * @return The event loop group serving all channels.
+   */
+  @Nonnull
+  public EventLoopGroup getEventLoopGroup() {
+    return eventLoopGroup;
+  }
+
+  /**
+   * Returns the type of channels to be used for outgoing connections.
+   *
+   * @return The type of channels to be used for outgoing connections.
+   */
+  @Nonnull
+  public Class<? extends SocketChannel> getSocketChannelClass() {
+    return socketChannelClass;
+  }
+
+  /**
+   * Returns the type of channels to be used for accepting incoming connections.
+   *
+   * @return The type of channels to be used for accepting incoming connections.
+   */
+  @Nonnull
+  public Class<? extends ServerSocketChannel> getServerSocketChannelClass() {
+    return serverSocketChannelClass;
+  }
+
+  /**
+   * Returns the allocator for the channels' buffers.
+   *
+   * @return The allocator for the channels' buffers.
+   */
+  @Nonnull
+  public ByteBufAllocator getAllocator() {
+    return PooledByteBufAllocator.DEFAULT;
+  }
+
+  /**
+   * Shuts down the event loop group.
+   * Once this method has been called, the channel managers using this instance can no longer
+   * establish connections.
+   */
+  public void shutdown() {
+    eventLoopGroup.shutdownGracefully();
+  }
+}
@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.contrib.communication.tcp;
+
+import org.opentcs.configuration.ConfigurationEntry;
+import org.opentcs.configuration.ConfigurationPrefix;
+
+/**
+ * Provides methods to configure the shared {@link TcpTransport}.
+ */
+@ConfigurationPrefix(TcpTransportConfiguration.PREFIX)
+public interface TcpTransportConfiguration {
+
+  /**
+   * This configuration's prefix.
+   */
+  String PREFIX = "tcptransport";
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = {
+        "The number of threads serving the TCP connections of all communication adapters using the "
+        + "shared transport.",
+        "(Zero selects twice the number of available processors.)"
+      },
+      orderKey = "0_eventLoopThreads")
+  int eventLoopThreads();
+
+  @ConfigurationEntry(
+      type = "Boolean",
+      description = "Whether to use the native epoll transport on Linux, if it is available.",
+      orderKey = "1_preferNativeTransport")
+  boolean preferNativeTransport();
+}
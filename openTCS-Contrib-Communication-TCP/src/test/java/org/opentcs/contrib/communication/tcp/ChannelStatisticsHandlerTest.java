@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.contrib.communication.tcp;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ChannelStatisticsHandler}.
+ */
+public class ChannelStatisticsHandlerTest {
+
+  private ChannelStatisticsHandler handler;
+
+  private EmbeddedChannel channel;
+
+  @BeforeEach
+  public void setUp() {
+    handler = new ChannelStatisticsHandler();
+    channel = new EmbeddedChannel(handler);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    channel.finishAndReleaseAll();
+  }
+
+  @Test
+  public void registerWithChannel() {
+    assertThat(ChannelStatisticsHandler.of(channel), is(sameInstance(handler)));
+    assertThat(ChannelStatisticsHandler.of(new EmbeddedChannel()), is(nullValue()));
+  }
+
+  @Test
+  public void countBytesRead() {
+    channel.writeInbound(buffer("abc"));
+    channel.writeInbound(buffer("defgh"));
+    // Messages that are not buffers are counted, but do not contribute any bytes.
+    channel.writeInbound("telegram");
+
+    ChannelStatistics statistics = handler.getStatistics();
+    assertThat(statistics.getReadCount(), is(3L));
+    assertThat(statistics.getBytesRead(), is(8L));
+    assertThat(statistics.getBytesWritten(), is(0L));
+    assertThat(statistics.getWriteCount(), is(0L));
+  }
+
+  @Test
+  public void countCompletedWritesAndTheirLatency() {
+    channel.writeOutbound(buffer("abcd"));
+    channel.writeOutbound(buffer("ef"));
+
+    ChannelStatistics statistics = handler.getStatistics();
+    assertThat(statistics.getWriteCount(), is(2L));
+    assertThat(statistics.getBytesWritten(), is(6L));
+    assertThat(statistics.getMaxWriteLatency(), is(greaterThanOrEqualTo(0L)));
+    assertThat(statistics.getAverageWriteLatency(),
+               is(lessThanOrEqualTo(statistics.getMaxWriteLatency())));
+  }
+
+  @Test
+  public void countWritesWithVoidPromise() {
+    channel.writeAndFlush(buffer("abc"), channel.voidPromise());
+
+    assertThat(handler.getStatistics().getWriteCount(), is(1L));
+    assertThat(handler.getStatistics().getBytesWritten(), is(3L));
+  }
+
+  @Test
+  public void doNotCountWritesNotCompleted() {
+    channel.write(buffer("abc"));
+
+    assertThat(handler.getStatistics().getWriteCount(), is(0L));
+    assertThat(handler.getStatistics().getBytesWritten(), is(0L));
+
+    channel.flush();
+
+    assertThat(handler.getStatistics().getWriteCount(), is(1L));
+    assertThat(handler.getStatistics().getBytesWritten(), is(3L));
+  }
+
+  @Test
+  public void stopMeasuringActiveTimeWhenChannelBecomesInactive()
+      throws InterruptedException {
+    Thread.sleep(2);
+    assertThat(handler.getStatistics().getActiveTime(), is(greaterThan(0L)));
+
+    channel.close();
+    long activeTime = handler.getStatistics().getActiveTime();
+    Thread.sleep(2);
+
+    assertThat(handler.getStatistics().getActiveTime(), is(activeTime));
+  }
+
+  private static ByteBuf buffer(String content) {
+    return Unpooled.copiedBuffer(content, UTF_8);
+  }
+}
@@ -0,0 +1,183 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.contrib.communication.tcp;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for {@link TcpClientChannelManager}.
+ */
+public class TcpClientChannelManagerTest {
+
+  private static final long TIMEOUT = 5000;
+
+  private TcpTransport transport;
+
+  private ServerSocket serverSocket;
+
+  private BlockingQueue<Channel> activeChannels;
+
+  private List<Socket> peers;
+
+  private List<TcpClientChannelManager<ByteBuf, Object>> managers;
+
+  @BeforeEach
+  public void setUp()
+      throws IOException {
+    transport = new TcpTransport(1, false);
+    serverSocket = new ServerSocket(0, 10, InetAddress.getLoopbackAddress());
+    serverSocket.setSoTimeout((int) TIMEOUT);
+    activeChannels = new LinkedBlockingQueue<>();
+    peers = new ArrayList<>();
+    managers = new ArrayList<>();
+  }
+
+  @AfterEach
+  public void tearDown()
+      throws IOException {
+    for (TcpClientChannelManager<ByteBuf, Object> manager : managers) {
+      manager.terminate();
+    }
+    for (Socket peer : peers) {
+      peer.close();
+    }
+    serverSocket.close();
+    transport.shutdown();
+  }
+
+  @Test
+  public void useSharedEventLoopGroupAndPooledBuffers()
+      throws Exception {
+    Channel channel1 = connect(createManager(transport));
+    Channel channel2 = connect(createManager(transport));
+
+    assertThat(channel1.eventLoop().parent(), is(sameInstance(transport.getEventLoopGroup())));
+    assertThat(channel2.eventLoop().parent(), is(sameInstance(transport.getEventLoopGroup())));
+    assertThat(channel1.alloc(), is(sameInstance(PooledByteBufAllocator.DEFAULT)));
+    assertThat(channel2.alloc(), is(sameInstance(PooledByteBufAllocator.DEFAULT)));
+  }
+
+  @Test
+  public void keepSharedTransportRunningOnTermination()
+      throws Exception {
+    TcpClientChannelManager<ByteBuf, Object> manager = createManager(transport);
+    connect(manager);
+
+    manager.terminate();
+
+    assertThat(transport.getEventLoopGroup().isShuttingDown(), is(false));
+  }
+
+  @Test
+  public void shutDownOwnTransportOnTermination()
+      throws Exception {
+    TcpClientChannelManager<ByteBuf, Object> manager = createManager(null);
+    Channel channel = connect(manager);
+
+    assertThat(channel.eventLoop().parent(),
+               is(not(sameInstance(transport.getEventLoopGroup()))));
+
+    manager.terminate();
+
+    assertThat(channel.eventLoop().parent().isShuttingDown(), is(true));
+  }
+
+  @Test
+  public void provideStatisticsOfConnection()
+      throws Exception {
+    TcpClientChannelManager<ByteBuf, Object> manager = createManager(transport);
+    assertThat(manager.getChannelStatistics(), is(nullValue()));
+    connect(manager);
+
+    manager.send(Unpooled.copiedBuffer("abc", UTF_8));
+    InputStream in = peers.get(0).getInputStream();
+    for (int i = 0; i < 3; i++) {
+      in.read();
+    }
+
+    long deadline = System.currentTimeMillis() + TIMEOUT;
+    while (manager.getChannelStatistics().getWriteCount() == 0
+        && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(manager.getChannelStatistics().getWriteCount(), is(1L));
+    assertThat(manager.getChannelStatistics().getBytesWritten(), is(3L));
+  }
+
+  @SuppressWarnings("unchecked")
+  private TcpClientChannelManager<ByteBuf, Object> createManager(TcpTransport sharedTransport) {
+    ConnectionEventListener<Object> listener = mock(ConnectionEventListener.class);
+    Supplier<List<ChannelHandler>> channelSupplier
+        = () -> Arrays.asList(new ActiveChannelCollector(activeChannels));
+    TcpClientChannelManager<ByteBuf, Object> manager
+        = sharedTransport == null
+            ? new TcpClientChannelManager<>(listener, channelSupplier, 0, false)
+            : new TcpClientChannelManager<>(listener, channelSupplier, 0, false, sharedTransport);
+    manager.initialize();
+    managers.add(manager);
+    return manager;
+  }
+
+  private Channel connect(TcpClientChannelManager<ByteBuf, Object> manager)
+      throws Exception {
+    manager.connect(serverSocket.getInetAddress().getHostAddress(), serverSocket.getLocalPort());
+    peers.add(serverSocket.accept());
+    Channel channel = activeChannels.poll(TIMEOUT, TimeUnit.MILLISECONDS);
+    assertThat(channel, is(notNullValue()));
+    return channel;
+  }
+
+  /**
+   * Collects the channels that became active.
+   */
+  private static class ActiveChannelCollector
+      extends ChannelInboundHandlerAdapter {
+
+    private final BlockingQueue<Channel> activeChannels;
+
+    ActiveChannelCollector(BlockingQueue<Channel> activeChannels) {
+      this.activeChannels = activeChannels;
+    }
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx)
+        throws Exception {
+      activeChannels.add(ctx.channel());
+      super.channelActive(ctx);
+    }
+  }
+}
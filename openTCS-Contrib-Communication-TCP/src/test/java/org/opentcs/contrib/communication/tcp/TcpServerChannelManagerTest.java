@@ -0,0 +1,183 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.contrib.communication.tcp;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link TcpServerChannelManager}.
+ */
+public class TcpServerChannelManagerTest {
+
+  private static final long TIMEOUT = 5000;
+
+  private TcpTransport transport;
+
+  private BlockingQueue<Channel> activeChannels;
+
+  private List<Socket> clients;
+
+  private List<TcpServerChannelManager<Object, ByteBuf>> managers;
+
+  @BeforeEach
+  public void setUp() {
+    transport = new TcpTransport(1, false);
+    activeChannels = new LinkedBlockingQueue<>();
+    clients = new ArrayList<>();
+    managers = new ArrayList<>();
+  }
+
+  @AfterEach
+  public void tearDown()
+      throws IOException {
+    for (Socket client : clients) {
+      client.close();
+    }
+    for (TcpServerChannelManager<Object, ByteBuf> manager : managers) {
+      manager.terminate();
+    }
+    transport.shutdown();
+  }
+
+  @Test
+  public void useSharedEventLoopGroupAndPooledBuffers()
+      throws Exception {
+    Channel channel1 = connect(createManager(transport));
+    Channel channel2 = connect(createManager(transport));
+
+    assertThat(channel1.eventLoop().parent(), is(sameInstance(transport.getEventLoopGroup())));
+    assertThat(channel2.eventLoop().parent(), is(sameInstance(transport.getEventLoopGroup())));
+    assertThat(channel1.alloc(), is(sameInstance(PooledByteBufAllocator.DEFAULT)));
+    assertThat(channel2.alloc(), is(sameInstance(PooledByteBufAllocator.DEFAULT)));
+  }
+
+  @Test
+  public void registerStatisticsHandlerWithAcceptedChannels()
+      throws Exception {
+    Channel channel = connect(createManager(transport));
+
+    assertThat(ChannelStatisticsHandler.of(channel), is(notNullValue()));
+  }
+
+  @Test
+  public void keepSharedTransportRunningOnTermination()
+      throws Exception {
+    TcpServerChannelManager<Object, ByteBuf> manager = createManager(transport);
+    connect(manager);
+
+    manager.terminate();
+
+    assertThat(transport.getEventLoopGroup().isShuttingDown(), is(false));
+  }
+
+  @Test
+  public void shutDownOwnTransportOnTermination()
+      throws Exception {
+    TcpServerChannelManager<Object, ByteBuf> manager = createManager(null);
+    Channel channel = connect(manager);
+
+    assertThat(channel.eventLoop().parent(),
+               is(not(sameInstance(transport.getEventLoopGroup()))));
+
+    manager.terminate();
+
+    assertThat(channel.eventLoop().parent().isShuttingDown(), is(true));
+  }
+
+  private TcpServerChannelManager<Object, ByteBuf> createManager(TcpTransport sharedTransport)
+      throws IOException {
+    Supplier<List<ChannelHandler>> channelSupplier
+        = () -> Arrays.asList(new ActiveChannelCollector(activeChannels));
+    TcpServerChannelManager<Object, ByteBuf> manager
+        = sharedTransport == null
+            ? new TcpServerChannelManager<>(freePort(), new HashMap<>(), channelSupplier, 0, false)
+            : new TcpServerChannelManager<>(freePort(),
+                                            new HashMap<>(),
+                                            channelSupplier,
+                                            0,
+                                            false,
+                                            sharedTransport);
+    manager.initialize();
+    managers.add(manager);
+    return manager;
+  }
+
+  private Channel connect(TcpServerChannelManager<Object, ByteBuf> manager)
+      throws Exception {
+    // The server channel is bound asynchronously, so retry until it accepts connections.
+    long deadline = System.currentTimeMillis() + TIMEOUT;
+    while (true) {
+      try {
+        clients.add(new Socket(InetAddress.getLoopbackAddress(), manager.getPort()));
+        break;
+      }
+      catch (ConnectException exc) {
+        if (System.currentTimeMillis() > deadline) {
+          throw exc;
+        }
+        Thread.sleep(10);
+      }
+    }
+    Channel channel = activeChannels.poll(TIMEOUT, TimeUnit.MILLISECONDS);
+    assertThat(channel, is(notNullValue()));
+    return channel;
+  }
+
+  private static int freePort()
+      throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+
+  /**
+   * Collects the channels that became active.
+   */
+  private static class ActiveChannelCollector
+      extends ChannelInboundHandlerAdapter {
+
+    private final BlockingQueue<Channel> activeChannels;
+
+    ActiveChannelCollector(BlockingQueue<Channel> activeChannels) {
+      this.activeChannels = activeChannels;
+    }
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx)
+        throws Exception {
+      activeChannels.add(ctx.channel());
+      super.channelActive(ctx);
+    }
+  }
+}
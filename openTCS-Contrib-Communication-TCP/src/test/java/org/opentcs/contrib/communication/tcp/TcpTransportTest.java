@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.contrib.communication.tcp;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.concurrent.EventExecutor;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests for {@link TcpTransport}.
+ */
+public class TcpTransportTest {
+
+  private TcpTransport transport;
+
+  @AfterEach
+  public void tearDown() {
+    if (transport != null) {
+      transport.shutdown();
+    }
+  }
+
+  @Test
+  public void useNioTransportIfNativeTransportNotPreferred() {
+    transport = new TcpTransport(1, false);
+
+    assertThat(transport.getEventLoopGroup(), is(instanceOf(NioEventLoopGroup.class)));
+    assertThat(transport.getSocketChannelClass(), is(sameInstance(NioSocketChannel.class)));
+    assertThat(transport.getServerSocketChannelClass(),
+               is(sameInstance(NioServerSocketChannel.class)));
+  }
+
+  @Test
+  public void useNativeTransportIfPreferredAndAvailable() {
+    assumeTrue(Epoll.isAvailable(), "Native transport not available");
+
+    transport = new TcpTransport(1, true);
+
+    assertThat(transport.getEventLoopGroup(), is(instanceOf(EpollEventLoopGroup.class)));
+    assertThat(transport.getSocketChannelClass(), is(sameInstance(EpollSocketChannel.class)));
+    assertThat(transport.getServerSocketChannelClass(),
+               is(sameInstance(EpollServerSocketChannel.class)));
+  }
+
+  @Test
+  public void fallBackToNioTransportIfNativeTransportNotAvailable() {
+    assumeTrue(!Epoll.isAvailable(), "Native transport available");
+
+    transport = new TcpTransport(1, true);
+
+    assertThat(transport.getEventLoopGroup(), is(instanceOf(NioEventLoopGroup.class)));
+    assertThat(transport.getSocketChannelClass(), is(sameInstance(NioSocketChannel.class)));
+  }
+
+  @Test
+  public void createGivenNumberOfEventLoopThreads() {
+    transport = new TcpTransport(3, false);
+
+    int eventLoopCount = 0;
+    for (EventExecutor executor : transport.getEventLoopGroup()) {
+      eventLoopCount++;
+    }
+    assertThat(eventLoopCount, is(3));
+  }
+
+  @Test
+  public void useDaemonThreads()
+      throws InterruptedException, ExecutionException, TimeoutException {
+    transport = new TcpTransport(1, false);
+
+    boolean daemon = transport.getEventLoopGroup()
+        .submit(() -> Thread.currentThread().isDaemon())
+        .get(5, TimeUnit.SECONDS);
+    assertThat(daemon, is(true));
+  }
+
+  @Test
+  public void providePooledBuffers() {
+    transport = new TcpTransport(1, false);
+
+    assertThat(transport.getAllocator(), is(sameInstance(PooledByteBufAllocator.DEFAULT)));
+  }
+
+  @Test
+  public void rejectNegativeThreadCount() {
+    assertThrows(IllegalArgumentException.class, () -> new TcpTransport(-1, false));
+  }
+
+  @Test
+  public void shutDownEventLoopGroup() {
+    transport = new TcpTransport(1, false);
+
+    transport.shutdown();
+
+    assertThat(transport.getEventLoopGroup().isShuttingDown(), is(true));
+  }
+}
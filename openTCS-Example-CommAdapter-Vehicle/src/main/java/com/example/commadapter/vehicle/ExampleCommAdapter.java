@@ -40,7 +40,8 @@ import java.util.concurrent.ScheduledExecutorService;
 import javax.inject.Inject;
 import org.opentcs.contrib.communication.tcp.ConnectionEventListener;
 import org.opentcs.contrib.communication.tcp.TcpClientChannelManager;
-import org.opentcs.customizations.kernel.KernelExecutor;
+import org.opentcs.contrib.communication.tcp.TcpTransport;
+import org.opentcs.customizations.kernel.CommAdapterExecutor;
 import org.opentcs.data.model.Vehicle;
 import org.opentcs.data.order.DriveOrder;
 import org.opentcs.drivers.vehicle.BasicVehicleCommAdapter;
@@ -75,9 +76,13 @@ public class ExampleCommAdapter
    */
   private final ExampleAdapterComponentsFactory componentsFactory;
   /**
-   * The kernel's executor service.
+   * The executor to run this adapter's tasks on.
    */
-  private final ScheduledExecutorService kernelExecutor;
+  private final ScheduledExecutorService executor;
+  /**
+   * The shared transport for the connection to the vehicle.
+   */
+  private final TcpTransport tcpTransport;
   /**
    * Manages counting the ids for all {@link Request} telegrams.
    */
@@ -105,17 +110,20 @@ public class ExampleCommAdapter
    * @param vehicle The attached vehicle.
    * @param orderMapper The order mapper for movement commands.
    * @param componentsFactory The components factory.
-   * @param kernelExecutor The kernel's executor service.
+   * @param executor The executor to run this adapter's tasks on.
+   * @param tcpTransport The shared transport for the connection to the vehicle.
    */
   @Inject
   public ExampleCommAdapter(@Assisted Vehicle vehicle,
                             OrderMapper orderMapper,
                             ExampleAdapterComponentsFactory componentsFactory,
-                            @KernelExecutor ScheduledExecutorService kernelExecutor) {
-    super(new ExampleProcessModel(vehicle), 3, 2, LoadAction.CHARGE, kernelExecutor);
+                            @CommAdapterExecutor ScheduledExecutorService executor,
+                            TcpTransport tcpTransport) {
+    super(new ExampleProcessModel(vehicle), 3, 2, LoadAction.CHARGE, executor);
     this.orderMapper = requireNonNull(orderMapper, "orderMapper");
     this.componentsFactory = requireNonNull(componentsFactory, "componentsFactory");
-    this.kernelExecutor = requireNonNull(kernelExecutor, "kernelExecutor");
+    this.executor = requireNonNull(executor, "executor");
+    this.tcpTransport = requireNonNull(tcpTransport, "tcpTransport");
   }
 
   @Override
@@ -144,7 +152,8 @@ public class ExampleCommAdapter
     vehicleChannelManager = new TcpClientChannelManager<>(this,
                                                           this::getChannelHandlers,
                                                           getProcessModel().getVehicleIdleTimeout(),
-                                                          getProcessModel().isLoggingEnabled());
+                                                          getProcessModel().isLoggingEnabled(),
+                                                          tcpTransport);
     //Initialize the channel manager
     vehicleChannelManager.initialize();
     super.enable();
@@ -445,7 +454,7 @@ public class ExampleCommAdapter
     final StateResponse previousState = getProcessModel().getCurrentState();
     final StateResponse currentState = stateResponse;
 
-    kernelExecutor.submit(() -> {
+    executor.submit(() -> {
       // Update the vehicle's current state and remember the old one.
       getProcessModel().setPreviousState(previousState);
       getProcessModel().setCurrentState(currentState);
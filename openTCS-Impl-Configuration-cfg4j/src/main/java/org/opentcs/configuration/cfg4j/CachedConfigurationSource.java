@@ -41,6 +41,10 @@ public class CachedConfigurationSource
    * The cached properties.
    */
   private final AtomicReference<Properties> properties = new AtomicReference<>(new Properties());
+  /**
+   * Called when reloading changed the cached properties.
+   */
+  private final Runnable changeListener;
 
   /**
    * Creates a new instance.
@@ -49,20 +53,41 @@ public class CachedConfigurationSource
    * @param environment The configuration's environment.
    */
   public CachedConfigurationSource(ConfigurationSource delegate, Environment environment) {
+    this(delegate, environment, () -> {
+    });
+  }
+
+  /**
+   * Creates a new instance.
+   *
+   * @param delegate The {@link ConfigurationSource} to cache.
+   * @param environment The configuration's environment.
+   * @param changeListener Called when reloading changed the cached properties.
+   */
+  public CachedConfigurationSource(ConfigurationSource delegate,
+                                   Environment environment,
+                                   Runnable changeListener) {
     this.delegate = requireNonNull(delegate, "delegate");
     this.environment = requireNonNull(environment, "environment");
+    this.changeListener = requireNonNull(changeListener, "changeListener");
   }
 
   @Override
   public void reload() {
     try {
       delegate.reload();
-      properties.set(delegate.getConfiguration(this.environment));
+      Properties newProperties = delegate.getConfiguration(this.environment);
+      Properties oldProperties = properties.getAndSet(newProperties);
       LOG.debug("Reloaded properties : {}", properties);
+      if (newProperties.equals(oldProperties)) {
+        return;
+      }
     }
     catch (Exception e) {
       LOG.error("Error reloading properties from delegate source : keep old properties", e);
+      return;
     }
+    changeListener.run();
   }
 
   @Override
@@ -10,9 +10,14 @@ package org.opentcs.configuration.cfg4j;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import static java.util.Objects.requireNonNull;
 import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.cfg4j.provider.ConfigurationProvider;
 import org.cfg4j.provider.ConfigurationProviderBuilder;
 import org.cfg4j.source.ConfigurationSource;
@@ -21,12 +26,19 @@ import org.cfg4j.source.context.environment.DefaultEnvironment;
 import org.cfg4j.source.context.environment.Environment;
 import org.cfg4j.source.files.FilesConfigurationSource;
 import org.opentcs.configuration.ConfigurationBindingProvider;
+import org.opentcs.configuration.ConfigurationChangeListener;
 import static org.opentcs.util.Assertions.checkState;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * A configuration binding provider implementation using cfg4j.
+ * <p>
+ * Bindings provide their values from immutable snapshots, so reading a value is merely a lookup of
+ * an already converted value.
+ * The snapshots are replaced whenever the configuration is reloaded and its values have changed,
+ * with registered {@link ConfigurationChangeListener}s being notified afterwards.
+ * </p>
  *
  * @author Martin Grzenia (Fraunhofer IML)
  */
@@ -49,10 +61,22 @@ public class Cfg4jConfigurationBindingProvider
    * Supplementary configuration files.
    */
   private final Path[] supplementaryPaths;
+  /**
+   * Reloads the configuration periodically.
+   */
+  private final PeriodicalReloadStrategy reloadStrategy;
   /**
    * The (cfg4j) configuration provider.
    */
   private final ConfigurationProvider provider;
+  /**
+   * The bindings created so far, mapped by prefix and configuration interface.
+   */
+  private final Map<String, SnapshotBinding<?>> bindings = new HashMap<>();
+  /**
+   * The listeners to be notified about changed configuration values.
+   */
+  private final List<ConfigurationChangeListener> changeListeners = new CopyOnWriteArrayList<>();
 
   /**
    * Creates a new instance.
@@ -64,12 +88,63 @@ public class Cfg4jConfigurationBindingProvider
     this.defaultsPath = requireNonNull(defaultsPath, "baselineDefaultsPath");
     this.supplementaryPaths = requireNonNull(supplementaryPaths, "supplementaryPaths");
 
+    this.reloadStrategy = new PeriodicalReloadStrategy(reloadInterval());
     this.provider = buildProvider();
   }
 
   @Override
-  public <T> T get(String prefix, Class<T> type) {
-    return provider.bind(prefix, type);
+  public synchronized <T> T get(String prefix, Class<T> type) {
+    String key = prefix + ":" + type.getName();
+    SnapshotBinding<?> binding = bindings.get(key);
+    if (binding == null) {
+      binding = new SnapshotBinding<>(prefix, type, provider.bind(prefix, type));
+      bindings.put(key, binding);
+    }
+    return type.cast(binding.getProxy());
+  }
+
+  @Override
+  public void addChangeListener(ConfigurationChangeListener listener) {
+    changeListeners.add(requireNonNull(listener, "listener"));
+  }
+
+  @Override
+  public void removeChangeListener(ConfigurationChangeListener listener) {
+    changeListeners.remove(listener);
+  }
+
+  /**
+   * Stops reloading the configuration.
+   * Bindings keep providing the values read last.
+   */
+  public void shutdown() {
+    reloadStrategy.shutdown();
+  }
+
+  /**
+   * Refreshes the snapshots of all bindings and notifies listeners about the ones that changed.
+   */
+  private void refreshBindings() {
+    Set<String> changedPrefixes = new LinkedHashSet<>();
+    synchronized (this) {
+      for (SnapshotBinding<?> binding : bindings.values()) {
+        if (binding.refresh()) {
+          changedPrefixes.add(binding.getPrefix());
+        }
+      }
+    }
+
+    for (String prefix : changedPrefixes) {
+      LOG.info("Configuration values with prefix '{}' changed.", prefix);
+      for (ConfigurationChangeListener listener : changeListeners) {
+        try {
+          listener.configurationChanged(prefix);
+        }
+        catch (RuntimeException exc) {
+          LOG.warn("Exception notifying listener {} about changed configuration", listener, exc);
+        }
+      }
+    }
   }
 
   private ConfigurationProvider buildProvider() {
@@ -78,7 +153,7 @@ public class Cfg4jConfigurationBindingProvider
     return new ConfigurationProviderBuilder()
         .withConfigurationSource(buildSource(environment))
         .withEnvironment(environment)
-        .withReloadStrategy(new PeriodicalReloadStrategy(reloadInterval()))
+        .withReloadStrategy(reloadStrategy)
         .build();
   }
 
@@ -138,7 +213,9 @@ public class Cfg4jConfigurationBindingProvider
     ConfigurationSource mergedSource
         = new MergeConfigurationSource(sources.toArray(new ConfigurationSource[sources.size()]));
 
-    ConfigurationSource cachedSource = new CachedConfigurationSource(mergedSource, environment);
+    ConfigurationSource cachedSource = new CachedConfigurationSource(mergedSource,
+                                                                     environment,
+                                                                     this::refreshBindings);
 
     return cachedSource;
   }
@@ -87,6 +87,16 @@ public class PeriodicalReloadStrategy
     }
   }
 
+  /**
+   * Stops reloading the registered resources and waits for a reload in progress to finish.
+   */
+  public void shutdown() {
+    resources.clear();
+    if (!reloadTask.isTerminated()) {
+      reloadTask.terminateAndWait();
+    }
+  }
+
   /**
    * The task that's actually reloading the resources.
    */
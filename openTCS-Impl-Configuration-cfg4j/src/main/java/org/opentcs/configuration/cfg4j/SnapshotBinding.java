@@ -0,0 +1,210 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.configuration.cfg4j;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A binding for a configuration interface that provides its values from an immutable snapshot.
+ * <p>
+ * The snapshot is built by reading every configuration value from a (live) delegate binding once,
+ * so reading a value from this binding does not involve any property lookup or type conversion.
+ * When the configuration is reloaded, {@link #refresh()} builds a new snapshot and replaces the old
+ * one atomically.
+ * </p>
+ * <p>
+ * Values that cannot be read from the delegate (e.g. because they are missing in the configuration)
+ * are not reported before they are actually read from this binding, with the exception thrown by
+ * the delegate being rethrown then.
+ * </p>
+ *
+ * @param <T> The configuration interface.
+ */
+class SnapshotBinding<T>
+    implements InvocationHandler {
+
+  /**
+   * The prefix of the configuration values.
+   */
+  private final String prefix;
+  /**
+   * The configuration interface.
+   */
+  private final Class<T> type;
+  /**
+   * The binding to read configuration values from.
+   */
+  private final T delegate;
+  /**
+   * The interface's methods providing configuration values.
+   */
+  private final List<Method> entryMethods = new ArrayList<>();
+  /**
+   * The current snapshot, mapping the interface's methods to their values (or to the failures
+   * reading them).
+   */
+  private volatile Map<Method, Object> values;
+  /**
+   * The proxy implementing the configuration interface.
+   */
+  private final T proxy;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param prefix The prefix of the configuration values.
+   * @param type The configuration interface.
+   * @param delegate The binding to read configuration values from.
+   */
+  SnapshotBinding(String prefix, Class<T> type, T delegate) {
+    this.prefix = requireNonNull(prefix, "prefix");
+    this.type = requireNonNull(type, "type");
+    this.delegate = requireNonNull(delegate, "delegate");
+
+    for (Method method : type.getMethods()) {
+      if (Modifier.isAbstract(method.getModifiers())
+          && method.getParameterCount() == 0
+          && method.getReturnType() != void.class) {
+        entryMethods.add(method);
+      }
+    }
+    this.values = readValues();
+    this.proxy = type.cast(Proxy.newProxyInstance(type.getClassLoader(),
+                                                  new Class<?>[]{type},
+                                                  this));
+  }
+
+  /**
+   * Returns the prefix of the configuration values.
+   *
+   * @return The prefix of the configuration values.
+   */
+  public String getPrefix() {
+    return prefix;
+  }
+
+  /**
+   * Returns the implementation of the configuration interface to be used by clients.
+   *
+   * @return The implementation of the configuration interface.
+   */
+  public T getProxy() {
+    return proxy;
+  }
+
+  /**
+   * Replaces the current snapshot with one containing the delegate's current values.
+   *
+   * @return Whether any of the values changed.
+   */
+  public boolean refresh() {
+    Map<Method, Object> oldValues = values;
+    Map<Method, Object> newValues = readValues();
+    values = newValues;
+
+    for (Method method : entryMethods) {
+      if (!Objects.deepEquals(oldValues.get(method), newValues.get(method))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args)
+      throws Throwable {
+    Object value = values.get(method);
+    if (value instanceof ValueFailure) {
+      throw ((ValueFailure) value).getException();
+    }
+    if (value != null) {
+      return value;
+    }
+
+    if (method.getDeclaringClass() == Object.class) {
+      switch (method.getName()) {
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "toString":
+          return type.getSimpleName() + "(" + prefix + ")";
+        default:
+      }
+    }
+
+    // Neither a configuration entry nor a method of Object - let the delegate handle it.
+    try {
+      return method.invoke(delegate, args);
+    }
+    catch (InvocationTargetException exc) {
+      throw exc.getCause();
+    }
+  }
+
+  private Map<Method, Object> readValues() {
+    Map<Method, Object> result = new HashMap<>();
+    for (Method method : entryMethods) {
+      try {
+        result.put(method, method.invoke(delegate));
+      }
+      catch (InvocationTargetException exc) {
+        result.put(method, new ValueFailure(exc.getCause()));
+      }
+      catch (IllegalAccessException exc) {
+        throw new IllegalStateException("Could not read configuration value " + method, exc);
+      }
+    }
+    return Collections.unmodifiableMap(result);
+  }
+
+  /**
+   * Marks a value that could not be read from the delegate.
+   */
+  private static class ValueFailure {
+
+    /**
+     * The exception thrown when reading the value.
+     */
+    private final Throwable exception;
+
+    ValueFailure(Throwable exception) {
+      this.exception = requireNonNull(exception, "exception");
+    }
+
+    public Throwable getException() {
+      return exception;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof ValueFailure)) {
+        return false;
+      }
+      ValueFailure other = (ValueFailure) obj;
+      return exception.getClass() == other.exception.getClass()
+          && Objects.equals(exception.getMessage(), other.exception.getMessage());
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(exception.getClass(), exception.getMessage());
+    }
+  }
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.configuration.cfg4j;
+
+import java.util.Properties;
+import org.cfg4j.source.ConfigurationSource;
+import org.cfg4j.source.context.environment.DefaultEnvironment;
+import org.cfg4j.source.context.environment.Environment;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link CachedConfigurationSource}.
+ */
+public class CachedConfigurationSourceTest {
+
+  private ConfigurationSource delegate;
+
+  private Environment environment;
+
+  private Runnable changeListener;
+
+  private CachedConfigurationSource source;
+
+  @BeforeEach
+  public void setUp() {
+    delegate = mock(ConfigurationSource.class);
+    environment = new DefaultEnvironment();
+    changeListener = mock(Runnable.class);
+    when(delegate.getConfiguration(any(Environment.class)))
+        .thenReturn(properties("key", "value1"));
+    source = new CachedConfigurationSource(delegate, environment, changeListener);
+    source.init();
+  }
+
+  @Test
+  public void provideCachedPropertiesUntilReload() {
+    when(delegate.getConfiguration(any(Environment.class)))
+        .thenReturn(properties("key", "value2"));
+
+    assertThat(source.getConfiguration(environment), is(properties("key", "value1")));
+
+    source.reload();
+
+    assertThat(source.getConfiguration(environment), is(properties("key", "value2")));
+  }
+
+  @Test
+  public void notifyListenerAboutChangedProperties() {
+    when(delegate.getConfiguration(any(Environment.class)))
+        .thenReturn(properties("key", "value2"));
+
+    source.reload();
+
+    verify(changeListener).run();
+  }
+
+  @Test
+  public void doNotNotifyListenerAboutUnchangedProperties() {
+    // Equal properties, but not the same instance.
+    when(delegate.getConfiguration(any(Environment.class)))
+        .thenReturn(properties("key", "value1"));
+
+    source.reload();
+
+    verify(delegate).reload();
+    verify(changeListener, never()).run();
+  }
+
+  @Test
+  public void keepPropertiesIfReloadingFails() {
+    when(delegate.getConfiguration(any(Environment.class)))
+        .thenThrow(new IllegalStateException("Source not available"));
+
+    source.reload();
+
+    assertThat(source.getConfiguration(environment), is(properties("key", "value1")));
+    verify(changeListener, never()).run();
+  }
+
+  private static Properties properties(String key, String value) {
+    Properties properties = new Properties();
+    properties.setProperty(key, value);
+    return properties;
+  }
+}
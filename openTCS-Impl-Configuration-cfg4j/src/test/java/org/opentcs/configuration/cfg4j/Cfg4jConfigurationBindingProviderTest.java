@@ -0,0 +1,231 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.configuration.cfg4j;
+
+import java.io.IOException;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opentcs.configuration.ConfigurationChangeListener;
+
+/**
+ * Unit tests for {@link Cfg4jConfigurationBindingProvider}.
+ */
+public class Cfg4jConfigurationBindingProviderTest {
+
+  private static final String PROPKEY_RELOAD_INTERVAL = "opentcs.cfg4j.reload.interval";
+
+  private static final long TIMEOUT = 5000;
+
+  private Path directory;
+
+  private Path defaultsPath;
+
+  private Path overridesPath;
+
+  private List<String> changedPrefixes;
+
+  private List<Cfg4jConfigurationBindingProvider> providers;
+
+  @BeforeEach
+  public void setUp()
+      throws IOException {
+    directory = Files.createTempDirectory("Cfg4jConfigurationBindingProviderTest");
+    defaultsPath = directory.resolve("defaults.properties");
+    overridesPath = directory.resolve("overrides.properties");
+    write(defaultsPath,
+          "first.intValue = 1",
+          "first.stringValue = value",
+          "second.intValue = 2",
+          "second.stringValue = value");
+    write(overridesPath);
+    changedPrefixes = new CopyOnWriteArrayList<>();
+    providers = new ArrayList<>();
+    System.setProperty(PROPKEY_RELOAD_INTERVAL, "50");
+  }
+
+  @AfterEach
+  public void tearDown()
+      throws IOException {
+    // Stop reloading before deleting the files being reloaded.
+    for (Cfg4jConfigurationBindingProvider provider : providers) {
+      provider.shutdown();
+    }
+    System.clearProperty(PROPKEY_RELOAD_INTERVAL);
+    Files.deleteIfExists(defaultsPath);
+    Files.deleteIfExists(overridesPath);
+    Files.deleteIfExists(directory);
+  }
+
+  @Test
+  public void provideValuesFromAllFiles()
+      throws IOException {
+    write(overridesPath, "second.stringValue = overridden");
+    Cfg4jConfigurationBindingProvider provider = createProvider();
+
+    assertThat(provider.get("first", SampleConfiguration.class).intValue(), is(1));
+    assertThat(provider.get("first", SampleConfiguration.class).stringValue(), is("value"));
+    assertThat(provider.get("second", SampleConfiguration.class).intValue(), is(2));
+    assertThat(provider.get("second", SampleConfiguration.class).stringValue(),
+               is("overridden"));
+  }
+
+  @Test
+  public void provideSameInstanceBetweenReloads()
+      throws Exception {
+    Cfg4jConfigurationBindingProvider provider = createProvider();
+    provider.addChangeListener(changedPrefixes::add);
+    SampleConfiguration configuration = provider.get("first", SampleConfiguration.class);
+
+    assertThat(provider.get("first", SampleConfiguration.class), is(sameInstance(configuration)));
+
+    write(overridesPath, "first.intValue = 3");
+    awaitChange();
+
+    assertThat(configuration.intValue(), is(3));
+    assertThat(provider.get("first", SampleConfiguration.class), is(sameInstance(configuration)));
+  }
+
+  @Test
+  public void notifyListenersAboutChangedPrefixesOnly()
+      throws Exception {
+    Cfg4jConfigurationBindingProvider provider = createProvider();
+    provider.get("first", SampleConfiguration.class);
+    provider.get("second", SampleConfiguration.class);
+    provider.addChangeListener(changedPrefixes::add);
+
+    write(overridesPath, "second.stringValue = changed");
+    awaitChange();
+    // Give the provider the chance to (wrongly) report further changes.
+    Thread.sleep(200);
+
+    assertThat(changedPrefixes, contains("second"));
+    assertThat(provider.get("second", SampleConfiguration.class).stringValue(), is("changed"));
+  }
+
+  @Test
+  public void notifyListenersAboutBoundPrefixesOnly()
+      throws Exception {
+    Cfg4jConfigurationBindingProvider provider = createProvider();
+    provider.get("first", SampleConfiguration.class);
+    provider.addChangeListener(changedPrefixes::add);
+
+    write(overridesPath, "second.intValue = 3", "first.intValue = 4");
+    awaitChange();
+    Thread.sleep(200);
+
+    assertThat(changedPrefixes, contains("first"));
+  }
+
+  @Test
+  public void doNotNotifyRemovedListeners()
+      throws Exception {
+    Cfg4jConfigurationBindingProvider provider = createProvider();
+    provider.get("first", SampleConfiguration.class);
+    List<String> removedListenerPrefixes = new CopyOnWriteArrayList<>();
+    ConfigurationChangeListener removedListener = removedListenerPrefixes::add;
+    provider.addChangeListener(removedListener);
+    provider.addChangeListener(changedPrefixes::add);
+    provider.removeChangeListener(removedListener);
+
+    write(overridesPath, "first.intValue = 3");
+    awaitChange();
+
+    assertThat(removedListenerPrefixes, is(empty()));
+  }
+
+  @Test
+  public void failForMissingValueWhenBinding() {
+    Cfg4jConfigurationBindingProvider provider = createProvider();
+
+    assertThrows(NoSuchElementException.class,
+                 () -> provider.get("third", SampleConfiguration.class));
+  }
+
+  @Test
+  public void deferFailureForValueRemovedOnReloadUntilRead()
+      throws Exception {
+    Cfg4jConfigurationBindingProvider provider = createProvider();
+    provider.addChangeListener(changedPrefixes::add);
+    SampleConfiguration configuration = provider.get("first", SampleConfiguration.class);
+
+    write(defaultsPath,
+          "first.intValue = 1",
+          "second.intValue = 2",
+          "second.stringValue = value");
+    awaitChange();
+
+    assertThat(changedPrefixes, contains("first"));
+    assertThat(configuration.intValue(), is(1));
+    assertThrows(NoSuchElementException.class, () -> configuration.stringValue());
+    assertThat(provider.get("first", SampleConfiguration.class), is(sameInstance(configuration)));
+  }
+
+  @Test
+  public void provideValueAgainOnceItIsRestored()
+      throws Exception {
+    Cfg4jConfigurationBindingProvider provider = createProvider();
+    provider.addChangeListener(changedPrefixes::add);
+    SampleConfiguration configuration = provider.get("first", SampleConfiguration.class);
+
+    write(overridesPath, "first.intValue = notANumber");
+    awaitChange();
+    assertThrows(IllegalArgumentException.class, () -> configuration.intValue());
+
+    changedPrefixes.clear();
+    write(overridesPath, "first.intValue = 5");
+    awaitChange();
+
+    assertThat(changedPrefixes, contains("first"));
+    assertThat(configuration.intValue(), is(5));
+  }
+
+  private Cfg4jConfigurationBindingProvider createProvider() {
+    Cfg4jConfigurationBindingProvider provider
+        = new Cfg4jConfigurationBindingProvider(defaultsPath, overridesPath);
+    providers.add(provider);
+    return provider;
+  }
+
+  private void awaitChange()
+      throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TIMEOUT;
+    while (changedPrefixes.isEmpty() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+  }
+
+  private static void write(Path path, String... lines)
+      throws IOException {
+    Files.write(path, Arrays.asList(lines), UTF_8);
+  }
+
+  /**
+   * A configuration interface for testing.
+   */
+  public interface SampleConfiguration {
+
+    int intValue();
+
+    String stringValue();
+  }
+}
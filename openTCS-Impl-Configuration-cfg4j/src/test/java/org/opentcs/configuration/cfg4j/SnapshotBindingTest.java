@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.configuration.cfg4j;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link SnapshotBinding}.
+ */
+public class SnapshotBindingTest {
+
+  private SampleConfiguration delegate;
+
+  @BeforeEach
+  public void setUp() {
+    delegate = mock(SampleConfiguration.class);
+    when(delegate.intValue()).thenReturn(1);
+    when(delegate.stringValue()).thenReturn("value");
+    when(delegate.listValue()).thenReturn(Arrays.asList("a", "b"));
+  }
+
+  @Test
+  public void provideValuesFromSnapshot() {
+    SnapshotBinding<SampleConfiguration> binding = createBinding();
+    SampleConfiguration configuration = binding.getProxy();
+
+    assertThat(configuration.intValue(), is(1));
+    assertThat(configuration.stringValue(), is("value"));
+    assertThat(configuration.listValue(), is(Arrays.asList("a", "b")));
+
+    // Changes of the delegate's values do not become visible before the next refresh.
+    when(delegate.intValue()).thenReturn(2);
+    assertThat(configuration.intValue(), is(1));
+  }
+
+  @Test
+  public void readDelegateOncePerSnapshot() {
+    SampleConfiguration configuration = createBinding().getProxy();
+
+    for (int i = 0; i < 10; i++) {
+      configuration.intValue();
+    }
+
+    verify(delegate, times(1)).intValue();
+  }
+
+  @Test
+  public void replaceSnapshotOnRefresh() {
+    SnapshotBinding<SampleConfiguration> binding = createBinding();
+    when(delegate.intValue()).thenReturn(2);
+
+    assertThat(binding.refresh(), is(true));
+    assertThat(binding.getProxy().intValue(), is(2));
+  }
+
+  @Test
+  public void reportNoChangeForEqualValues() {
+    SnapshotBinding<SampleConfiguration> binding = createBinding();
+    // An equal list, but not the same instance.
+    when(delegate.listValue()).thenReturn(Arrays.asList("a", "b"));
+
+    assertThat(binding.refresh(), is(false));
+  }
+
+  @Test
+  public void reportChangeOfAnyValue() {
+    SnapshotBinding<SampleConfiguration> binding = createBinding();
+    when(delegate.listValue()).thenReturn(Arrays.asList("a", "c"));
+
+    assertThat(binding.refresh(), is(true));
+    assertThat(binding.refresh(), is(false));
+  }
+
+  @Test
+  public void rethrowFailureWhenReadingValue() {
+    when(delegate.stringValue()).thenThrow(new NoSuchElementException("stringValue missing"));
+    // Creating the binding must not fail, as the failing value may never be read.
+    SampleConfiguration configuration = createBinding().getProxy();
+
+    assertThat(configuration.intValue(), is(1));
+    NoSuchElementException exc
+        = assertThrows(NoSuchElementException.class, () -> configuration.stringValue());
+    assertThat(exc.getMessage(), is("stringValue missing"));
+  }
+
+  @Test
+  public void reportChangeWhenFailureIsResolved() {
+    when(delegate.stringValue()).thenThrow(new NoSuchElementException("stringValue missing"));
+    SnapshotBinding<SampleConfiguration> binding = createBinding();
+
+    // The same failure again is not a change.
+    assertThat(binding.refresh(), is(false));
+
+    doReturn("value").when(delegate).stringValue();
+    assertThat(binding.refresh(), is(true));
+    assertThat(binding.getProxy().stringValue(), is("value"));
+  }
+
+  @Test
+  public void implementObjectMethods() {
+    SampleConfiguration configuration = createBinding().getProxy();
+    SampleConfiguration otherConfiguration = createBinding().getProxy();
+
+    assertThat(configuration.equals(configuration), is(true));
+    assertThat(configuration.equals(otherConfiguration), is(false));
+    assertThat(configuration.hashCode(), is(System.identityHashCode(configuration)));
+    assertThat(configuration.toString(), containsString("sample"));
+  }
+
+  @Test
+  public void provideSameProxyAfterRefresh() {
+    SnapshotBinding<SampleConfiguration> binding = createBinding();
+    SampleConfiguration configuration = binding.getProxy();
+    when(delegate.intValue()).thenReturn(2);
+
+    binding.refresh();
+
+    assertThat(binding.getProxy(), is(sameInstance(configuration)));
+    assertThat(binding.getProxy(), is(not(sameInstance(delegate))));
+  }
+
+  private SnapshotBinding<SampleConfiguration> createBinding() {
+    return new SnapshotBinding<>("sample", SampleConfiguration.class, delegate);
+  }
+
+  /**
+   * A configuration interface for testing.
+   */
+  public interface SampleConfiguration {
+
+    int intValue();
+
+    String stringValue();
+
+    List<String> listValue();
+  }
+}
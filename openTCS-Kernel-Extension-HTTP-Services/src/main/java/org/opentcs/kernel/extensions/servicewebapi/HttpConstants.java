@@ -26,4 +26,8 @@ public interface HttpConstants {
    * Content type for JSON structures.
    */
   String CONTENT_TYPE_APPLICATION_JSON_UTF8 = "application/json; charset=utf-8";
+  /**
+   * Content type for server-sent event streams.
+   */
+  String CONTENT_TYPE_TEXT_EVENT_STREAM_UTF8 = "text/event-stream; charset=utf-8";
 }
@@ -12,16 +12,30 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import static java.util.Objects.requireNonNull;
+import java.util.function.Predicate;
 import javax.inject.Inject;
+import javax.servlet.http.HttpServletResponse;
 import org.opentcs.data.ObjectExistsException;
 import org.opentcs.data.ObjectUnknownException;
+import org.opentcs.data.TCSObject;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.TransportOrder;
 import org.opentcs.kernel.extensions.servicewebapi.HttpConstants;
 import org.opentcs.kernel.extensions.servicewebapi.RequestHandler;
 import org.opentcs.kernel.extensions.servicewebapi.v1.order.OrderHandler;
+import org.opentcs.kernel.extensions.servicewebapi.v1.order.binding.NamedTransport;
 import org.opentcs.kernel.extensions.servicewebapi.v1.order.binding.Transport;
 import org.opentcs.kernel.extensions.servicewebapi.v1.status.RequestStatusHandler;
 import org.opentcs.kernel.extensions.servicewebapi.v1.status.StatusEventDispatcher;
+import org.opentcs.kernel.extensions.servicewebapi.v1.status.binding.StatusMessage;
+import org.opentcs.kernel.extensions.servicewebapi.v1.status.filter.TransportOrderFilter;
+import org.opentcs.kernel.extensions.servicewebapi.v1.status.filter.VehicleFilter;
 import spark.QueryParamsMap;
 import spark.Request;
 import spark.Response;
@@ -42,6 +56,16 @@ public class V1RequestHandler
       = new ObjectMapper()
           .registerModule(new JavaTimeModule())
           .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+  /**
+   * The maximum time to wait for events (in ms) before sending a keep-alive comment to clients of
+   * an event stream.
+   */
+  private static final long EVENT_STREAM_KEEP_ALIVE_INTERVAL = 10000;
+  /**
+   * The comment sent to clients of an event stream when there haven't been any events.
+   */
+  private static final byte[] KEEP_ALIVE_COMMENT
+      = ": keep-alive\n\n".getBytes(StandardCharsets.UTF_8);
   /**
    * Collects interesting events and provides them for client requests.
    */
@@ -97,6 +121,8 @@ public class V1RequestHandler
   public void addRoutes(Service service) {
     requireNonNull(service, "service");
 
+    service.get("/events/stream",
+                this::handleGetEventStream);
     service.get("/events",
                 this::handleGetEvents);
     service.put("/vehicles/:NAME/integrationLevel",
@@ -111,6 +137,8 @@ public class V1RequestHandler
                  this::handlePostWithdrawalByOrder);
     service.post("/transportOrders/:NAME",
                  this::handlePostTransportOrder);
+    service.post("/transportOrders",
+                 this::handlePostTransportOrders);
     service.get("/transportOrders/:NAME",
                 this::handleGetTransportOrderByName);
     service.get("/transportOrders",
@@ -125,6 +153,53 @@ public class V1RequestHandler
                                                     timeout(request)));
   }
 
+  /**
+   * Streams events to the client as server-sent events until the client disconnects.
+   * <p>
+   * Every event is sent with its sequence number as the event ID, so a client that reconnects
+   * (providing the last ID received in the <code>Last-Event-ID</code> header) continues with the
+   * event following it.
+   * </p>
+   */
+  private Object handleGetEventStream(Request request, Response response)
+      throws IllegalArgumentException, IllegalStateException {
+    long nextSequenceNo = resumeSequenceNo(request);
+    Predicate<TCSObject<?>> objectFilter = eventObjectFilter(request);
+
+    HttpServletResponse rawResponse = response.raw();
+    rawResponse.setStatus(200);
+    rawResponse.setContentType(HttpConstants.CONTENT_TYPE_TEXT_EVENT_STREAM_UTF8);
+    rawResponse.setHeader("Cache-Control", "no-cache");
+
+    try {
+      rawResponse.flushBuffer();
+      // Unlike the response's writer, its output stream reports a closed connection to us.
+      OutputStream output = rawResponse.getOutputStream();
+      List<StatusMessage> messages = new ArrayList<>();
+      while (isInitialized()) {
+        nextSequenceNo = statusEventDispatcher.fetchEvents(nextSequenceNo,
+                                                           objectFilter,
+                                                           EVENT_STREAM_KEEP_ALIVE_INTERVAL,
+                                                           messages);
+        if (messages.isEmpty()) {
+          // Let the client (and any proxies in between) know the connection is still alive.
+          output.write(KEEP_ALIVE_COMMENT);
+        }
+        for (StatusMessage message : messages) {
+          output.write(("id: " + message.getSequenceNumber() + "\n"
+              + "data: " + objectMapper.writeValueAsString(message) + "\n\n")
+              .getBytes(StandardCharsets.UTF_8));
+        }
+        messages.clear();
+        output.flush();
+      }
+    }
+    catch (IOException exc) {
+      // The client has most likely closed the connection, so there is nothing left to do.
+    }
+    return "";
+  }
+
   private Object handlePostTransportOrder(Request request, Response response)
       throws ObjectUnknownException,
              ObjectExistsException,
@@ -135,6 +210,16 @@ public class V1RequestHandler
     return "";
   }
 
+  private Object handlePostTransportOrders(Request request, Response response)
+      throws ObjectUnknownException,
+             ObjectExistsException,
+             IllegalArgumentException,
+             IllegalStateException {
+    orderHandler.createOrders(Arrays.asList(fromJson(request.body(), NamedTransport[].class)));
+    response.type(HttpConstants.CONTENT_TYPE_TEXT_PLAIN_UTF8);
+    return "";
+  }
+
   private Object handlePostWithdrawalByOrder(Request request, Response response)
       throws ObjectUnknownException {
     orderHandler.withdrawByTransportOrder(request.params(":NAME"),
@@ -234,6 +319,30 @@ public class V1RequestHandler
     }
   }
 
+  private long resumeSequenceNo(Request request)
+      throws IllegalArgumentException {
+    String lastEventId = request.headers("Last-Event-ID");
+    if (lastEventId == null) {
+      return minSequenceNo(request);
+    }
+    try {
+      return Long.parseLong(lastEventId) + 1;
+    }
+    catch (NumberFormatException exc) {
+      throw new IllegalArgumentException("Malformed Last-Event-ID: " + lastEventId);
+    }
+  }
+
+  private Predicate<TCSObject<?>> eventObjectFilter(Request request) {
+    VehicleFilter vehicleFilter
+        = new VehicleFilter(valueIfKeyPresent(request.queryMap(), "procState"));
+    TransportOrderFilter orderFilter
+        = new TransportOrderFilter(valueIfKeyPresent(request.queryMap(), "intendedVehicle"));
+    return object -> object instanceof Vehicle
+        ? vehicleFilter.test((Vehicle) object)
+        : orderFilter.test((TransportOrder) object);
+  }
+
   private long maxSequenceNo(Request request)
       throws IllegalArgumentException {
     String param = request.queryParamOrDefault("maxSequenceNo", String.valueOf(Long.MAX_VALUE));
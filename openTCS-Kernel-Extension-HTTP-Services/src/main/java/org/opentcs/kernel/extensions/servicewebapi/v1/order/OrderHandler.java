@@ -29,6 +29,7 @@ import org.opentcs.data.ObjectUnknownException;
 import org.opentcs.data.model.Vehicle;
 import org.opentcs.data.order.TransportOrder;
 import org.opentcs.kernel.extensions.servicewebapi.v1.order.binding.Destination;
+import org.opentcs.kernel.extensions.servicewebapi.v1.order.binding.NamedTransport;
 import org.opentcs.kernel.extensions.servicewebapi.v1.order.binding.Property;
 import org.opentcs.kernel.extensions.servicewebapi.v1.order.binding.Transport;
 
@@ -83,12 +84,7 @@ public class OrderHandler {
     requireNonNull(name, "name");
     requireNonNull(order, "order");
 
-    TransportOrderCreationTO to
-        = new TransportOrderCreationTO(name, destinations(order))
-            .withIntendedVehicleName(order.getIntendedVehicle())
-            .withDependencyNames(new HashSet<>(order.getDependencies()))
-            .withDeadline(deadline(order))
-            .withProperties(properties(order.getProperties()));
+    TransportOrderCreationTO to = toCreationTO(name, order);
 
     try {
       kernelExecutor.submit(() -> {
@@ -107,6 +103,45 @@ public class OrderHandler {
     }
   }
 
+  /**
+   * Creates the given transport orders at once, so that either all or none of them are created,
+   * and triggers a single dispatch run afterwards.
+   *
+   * @param orders The transport orders to be created.
+   */
+  public void createOrders(List<NamedTransport> orders)
+      throws ObjectUnknownException,
+             ObjectExistsException,
+             KernelRuntimeException,
+             IllegalArgumentException,
+             IllegalStateException {
+    requireNonNull(orders, "orders");
+
+    List<TransportOrderCreationTO> tos = new ArrayList<>(orders.size());
+    for (NamedTransport order : orders) {
+      if (order.getName() == null) {
+        throw new IllegalArgumentException("Transport order without a name");
+      }
+      tos.add(toCreationTO(order.getName(), order));
+    }
+
+    try {
+      kernelExecutor.submit(() -> {
+        orderService.createTransportOrders(tos);
+        dispatcherService.dispatch();
+      }).get();
+    }
+    catch (InterruptedException exc) {
+      throw new IllegalStateException("Unexpectedly interrupted");
+    }
+    catch (ExecutionException exc) {
+      if (exc.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) exc.getCause();
+      }
+      throw new KernelRuntimeException(exc.getCause());
+    }
+  }
+
   public void withdrawByTransportOrder(String name, boolean immediate, boolean disableVehicle)
       throws ObjectUnknownException {
     requireNonNull(name, "name");
@@ -145,6 +180,14 @@ public class OrderHandler {
     });
   }
 
+  private TransportOrderCreationTO toCreationTO(String name, Transport order) {
+    return new TransportOrderCreationTO(name, destinations(order))
+        .withIntendedVehicleName(order.getIntendedVehicle())
+        .withDependencyNames(new HashSet<>(order.getDependencies()))
+        .withDeadline(deadline(order))
+        .withProperties(properties(order.getProperties()));
+  }
+
   private List<DestinationCreationTO> destinations(Transport order) {
     List<DestinationCreationTO> result = new ArrayList<>(order.getDestinations().size());
 
@@ -7,10 +7,16 @@
  */
 package org.opentcs.kernel.extensions.servicewebapi.v1.status;
 
-import java.util.Collection;
+import java.time.Instant;
+import java.util.List;
 import static java.util.Objects.requireNonNull;
-import java.util.SortedMap;
-import java.util.TreeMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+import javax.annotation.Nonnull;
 import javax.inject.Inject;
 import org.opentcs.components.Lifecycle;
 import org.opentcs.customizations.ApplicationEventBus;
@@ -31,6 +37,13 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Provides descriptions of recent events.
+ * <p>
+ * Events are kept in a ring buffer indexed by their sequence numbers, overwriting the oldest events
+ * once the configured capacity has been reached.
+ * Events are converted to status messages only when they are fetched.
+ * Clients waiting for events are parked without holding any lock, so they do not delay the
+ * threads emitting events.
+ * </p>
  *
  * @author Stefan Walter (Fraunhofer IML)
  */
@@ -51,13 +64,21 @@ public class StatusEventDispatcher
    */
   private final EventSource eventSource;
   /**
-   * The events collected.
+   * Guards the publication of events.
    */
-  private final SortedMap<Long, StatusMessage> events = new TreeMap<>();
+  private final Object publicationLock = new Object();
   /**
-   * The number of events collected so far.
+   * The threads of clients currently waiting for events.
    */
-  private long eventCount;
+  private final Set<Thread> waitingClients = ConcurrentHashMap.newKeySet();
+  /**
+   * The events collected, each at the index of its sequence number modulo the capacity.
+   */
+  private volatile AtomicReferenceArray<StatusEvent> events = new AtomicReferenceArray<>(0);
+  /**
+   * The number of events collected so far, which is also the next event's sequence number.
+   */
+  private volatile long eventCount;
   /**
    * Whether this instance is initialized.
    */
@@ -76,9 +97,9 @@ public class StatusEventDispatcher
       return;
     }
 
-    synchronized (events) {
+    synchronized (publicationLock) {
       eventCount = 0;
-      events.clear();
+      events = new AtomicReferenceArray<>(Math.max(1, configuration.statusEventsCapacity()));
     }
 
     eventSource.subscribe(this);
@@ -108,21 +129,23 @@ public class StatusEventDispatcher
       return;
     }
     TCSObject<?> object = ((TCSObjectEvent) event).getCurrentOrPreviousObjectState();
-    if (object instanceof TransportOrder) {
-      synchronized (events) {
-        addOrderStatusMessage((TransportOrder) object, eventCount);
-        eventCount++;
-        cleanUpEvents();
-        events.notifyAll();
-      }
+    if (!(object instanceof TransportOrder) && !(object instanceof Vehicle)) {
+      return;
     }
-    else if (object instanceof Vehicle) {
-      synchronized (events) {
-        addVehicleStatusMessage((Vehicle) object, eventCount);
-        eventCount++;
-        cleanUpEvents();
-        events.notifyAll();
+
+    synchronized (publicationLock) {
+      AtomicReferenceArray<StatusEvent> buffer = events;
+      if (buffer.length() == 0) {
+        return;
       }
+      long sequenceNumber = eventCount;
+      buffer.set(indexOf(sequenceNumber, buffer),
+                 new StatusEvent(sequenceNumber, object, Instant.now()));
+      eventCount = sequenceNumber + 1;
+    }
+
+    for (Thread waitingClient : waitingClients) {
+      LockSupport.unpark(waitingClient);
     }
   }
 
@@ -142,35 +165,151 @@ public class StatusEventDispatcher
     checkInRange(timeout, 0, Long.MAX_VALUE, "timeout");
 
     StatusMessageList result = new StatusMessageList();
-    synchronized (events) {
-      Collection<StatusMessage> messages = events.subMap(minSequenceNo, maxSequenceNo).values();
-      if (messages.isEmpty()) {
-        try {
-          events.wait(timeout);
+    awaitEvents(minSequenceNo, maxSequenceNo, object -> true, timeout, result.getStatusMessages());
+    return result;
+  }
+
+  /**
+   * Adds events with the given minimum sequence number and reporting objects accepted by the given
+   * filter to the given list, waiting at most <code>timeout</code> milliseconds for new events if
+   * there currently aren't any.
+   * <p>
+   * This method is intended to be called repeatedly, with every call continuing where the previous
+   * one stopped, e.g. for streaming events to a client.
+   * </p>
+   *
+   * @param minSequenceNo The minimum sequence number for accepted events.
+   * @param objectFilter Filters events by the (transport order or vehicle) objects they report.
+   * @param timeout The maximum time to wait for events (in ms) if there currently aren't any.
+   * @param messages The list to add the events to.
+   * @return The sequence number to continue with, i.e. the sequence number following the last
+   * event examined.
+   */
+  public long fetchEvents(long minSequenceNo,
+                          @Nonnull Predicate<TCSObject<?>> objectFilter,
+                          long timeout,
+                          @Nonnull List<StatusMessage> messages)
+      throws IllegalArgumentException {
+    checkInRange(minSequenceNo, 0, Long.MAX_VALUE, "minSequenceNo");
+    checkInRange(timeout, 0, Long.MAX_VALUE, "timeout");
+    requireNonNull(objectFilter, "objectFilter");
+    requireNonNull(messages, "messages");
+
+    return awaitEvents(minSequenceNo, Long.MAX_VALUE, objectFilter, timeout, messages);
+  }
+
+  private long awaitEvents(long minSequenceNo,
+                           long maxSequenceNo,
+                           Predicate<TCSObject<?>> objectFilter,
+                           long timeout,
+                           List<StatusMessage> messages) {
+    int initialSize = messages.size();
+    long nextSequenceNo = collectEvents(minSequenceNo, maxSequenceNo, objectFilter, messages);
+    if (messages.size() > initialSize || timeout == 0) {
+      return nextSequenceNo;
+    }
+
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+    Thread currentThread = Thread.currentThread();
+    // Register before checking for events again, so an event published in between wakes us up.
+    waitingClients.add(currentThread);
+    try {
+      while (true) {
+        nextSequenceNo = collectEvents(nextSequenceNo, maxSequenceNo, objectFilter, messages);
+        if (messages.size() > initialSize) {
+          break;
+        }
+        long remainingTime = deadline - System.nanoTime();
+        if (remainingTime <= 0) {
+          break;
         }
-        catch (InterruptedException exc) {
-          LOG.warn("Unexpectedly interrupted", exc);
+        LockSupport.parkNanos(this, remainingTime);
+        if (Thread.interrupted()) {
+          LOG.warn("Unexpectedly interrupted");
+          break;
         }
       }
-      messages = events.subMap(minSequenceNo, maxSequenceNo).values();
-      result.getStatusMessages().addAll(messages);
     }
-    return result;
+    finally {
+      waitingClients.remove(currentThread);
+    }
+    return nextSequenceNo;
   }
 
-  private void addOrderStatusMessage(TransportOrder order, long sequenceNumber) {
-    events.put(sequenceNumber, OrderStatusMessage.fromTransportOrder(order, sequenceNumber));
+  /**
+   * Adds status messages for the events within the given range to the given list.
+   *
+   * @param minSequenceNo The minimum sequence number for accepted events.
+   * @param maxSequenceNo The maximum sequence number for accepted events (exclusive).
+   * @param objectFilter Filters events by the objects they report.
+   * @param messages The list to add the status messages to.
+   * @return The sequence number following the last event examined.
+   */
+  private long collectEvents(long minSequenceNo,
+                             long maxSequenceNo,
+                             Predicate<TCSObject<?>> objectFilter,
+                             List<StatusMessage> messages) {
+    AtomicReferenceArray<StatusEvent> buffer = events;
+    long nextSequenceNo = eventCount;
+    long first = Math.max(minSequenceNo, nextSequenceNo - buffer.length());
+    long last = Math.min(maxSequenceNo, nextSequenceNo);
+    for (long sequenceNo = first; sequenceNo < last; sequenceNo++) {
+      StatusEvent event = buffer.get(indexOf(sequenceNo, buffer));
+      // The event may have been overwritten by a newer one in the meantime.
+      if (event != null
+          && event.sequenceNumber == sequenceNo
+          && objectFilter.test(event.object)) {
+        messages.add(event.toStatusMessage());
+      }
+    }
+    return Math.max(minSequenceNo, last);
   }
 
-  private void addVehicleStatusMessage(Vehicle vehicle, long sequenceNumber) {
-    events.put(sequenceNumber, VehicleStatusMessage.fromVehicle(vehicle, sequenceNumber));
+  private static int indexOf(long sequenceNumber, AtomicReferenceArray<StatusEvent> buffer) {
+    return (int) (sequenceNumber % buffer.length());
   }
 
-  private void cleanUpEvents() {
-    // XXX Sanitize maxEventCount
-    int maxEventCount = configuration.statusEventsCapacity();
-    while (events.size() > maxEventCount) {
-      events.remove(events.firstKey());
+  /**
+   * An event in the ring buffer.
+   */
+  private static class StatusEvent {
+
+    /**
+     * The event's sequence number.
+     */
+    private final long sequenceNumber;
+    /**
+     * The object's state reported by the event.
+     */
+    private final TCSObject<?> object;
+    /**
+     * The point of time at which the event was collected.
+     */
+    private final Instant creationTimeStamp;
+    /**
+     * The event's status message, once created.
+     */
+    private volatile StatusMessage statusMessage;
+
+    StatusEvent(long sequenceNumber, TCSObject<?> object, Instant creationTimeStamp) {
+      this.sequenceNumber = sequenceNumber;
+      this.object = object;
+      this.creationTimeStamp = creationTimeStamp;
+    }
+
+    StatusMessage toStatusMessage() {
+      StatusMessage result = statusMessage;
+      if (result == null) {
+        result = object instanceof TransportOrder
+            ? OrderStatusMessage.fromTransportOrder((TransportOrder) object,
+                                                    sequenceNumber,
+                                                    creationTimeStamp)
+            : VehicleStatusMessage.fromVehicle((Vehicle) object,
+                                               sequenceNumber,
+                                               creationTimeStamp);
+        statusMessage = result;
+      }
+      return result;
     }
   }
 }
@@ -8,6 +8,7 @@
 package org.opentcs.kernel.extensions.servicewebapi.v1.status;
 
 import java.util.ArrayList;
+import java.util.List;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
@@ -17,6 +18,8 @@ import static org.mockito.Mockito.when;
 import org.opentcs.data.TCSObjectEvent;
 import org.opentcs.data.order.TransportOrder;
 import org.opentcs.kernel.extensions.servicewebapi.ServiceWebApiConfiguration;
+import org.opentcs.kernel.extensions.servicewebapi.v1.status.binding.OrderStatusMessage;
+import org.opentcs.kernel.extensions.servicewebapi.v1.status.binding.StatusMessage;
 import org.opentcs.kernel.extensions.servicewebapi.v1.status.binding.StatusMessageList;
 import org.opentcs.util.event.EventSource;
 import org.opentcs.util.event.SimpleEventBus;
@@ -87,4 +90,105 @@ public class StatusEventDispatcherTest {
     assertThat(list.getStatusMessages().get(eventCount - 1).getSequenceNumber(),
                is((long) eventCount - 1));
   }
+
+  @Test
+  public void returnOnlyEventsWithinRequestedRange() {
+    when(configuration.statusEventsCapacity()).thenReturn(10);
+    statusEventDispatcher.initialize();
+
+    TransportOrder order = new TransportOrder("SomeOrder", new ArrayList<>());
+    for (int i = 0; i < 5; i++) {
+      statusEventDispatcher.onEvent(
+          new TCSObjectEvent(order, order, TCSObjectEvent.Type.OBJECT_MODIFIED)
+      );
+    }
+
+    StatusMessageList list = statusEventDispatcher.fetchEvents(1, 3, 1);
+    assertThat(list.getStatusMessages().size(), is(2));
+    assertThat(list.getStatusMessages().get(0).getSequenceNumber(), is(1L));
+    assertThat(list.getStatusMessages().get(1).getSequenceNumber(), is(2L));
+  }
+
+  @Test
+  public void returnEventArrivingWhileWaiting()
+      throws InterruptedException {
+    when(configuration.statusEventsCapacity()).thenReturn(10);
+    statusEventDispatcher.initialize();
+
+    TransportOrder order = new TransportOrder("SomeOrder", new ArrayList<>());
+    Thread publisher = new Thread(() -> {
+      try {
+        Thread.sleep(100);
+      }
+      catch (InterruptedException exc) {
+        Thread.currentThread().interrupt();
+      }
+      statusEventDispatcher.onEvent(
+          new TCSObjectEvent(order, order, TCSObjectEvent.Type.OBJECT_MODIFIED)
+      );
+    });
+    publisher.start();
+
+    long startTime = System.currentTimeMillis();
+    StatusMessageList list = statusEventDispatcher.fetchEvents(0, Long.MAX_VALUE, 10000);
+    publisher.join();
+    assertThat(list.getStatusMessages().size(), is(1));
+    assertThat(System.currentTimeMillis() - startTime < 10000, is(true));
+  }
+
+  @Test
+  public void returnOnlyEventsAcceptedByFilter() {
+    when(configuration.statusEventsCapacity()).thenReturn(10);
+    statusEventDispatcher.initialize();
+
+    TransportOrder order = new TransportOrder("SomeOrder", new ArrayList<>());
+    TransportOrder otherOrder = new TransportOrder("OtherOrder", new ArrayList<>());
+    statusEventDispatcher.onEvent(
+        new TCSObjectEvent(order, order, TCSObjectEvent.Type.OBJECT_MODIFIED)
+    );
+    statusEventDispatcher.onEvent(
+        new TCSObjectEvent(otherOrder, otherOrder, TCSObjectEvent.Type.OBJECT_MODIFIED)
+    );
+    statusEventDispatcher.onEvent(
+        new TCSObjectEvent(order, order, TCSObjectEvent.Type.OBJECT_MODIFIED)
+    );
+
+    List<StatusMessage> messages = new ArrayList<>();
+    long nextSequenceNo = statusEventDispatcher.fetchEvents(
+        0,
+        object -> object.getName().equals("OtherOrder"),
+        1,
+        messages
+    );
+    assertThat(messages.size(), is(1));
+    assertThat(messages.get(0).getSequenceNumber(), is(1L));
+    assertThat(((OrderStatusMessage) messages.get(0)).getOrderName(), is("OtherOrder"));
+    assertThat(nextSequenceNo, is(3L));
+  }
+
+  @Test
+  public void continueAfterEventsRejectedByFilter() {
+    when(configuration.statusEventsCapacity()).thenReturn(10);
+    statusEventDispatcher.initialize();
+
+    TransportOrder order = new TransportOrder("SomeOrder", new ArrayList<>());
+    for (int i = 0; i < 3; i++) {
+      statusEventDispatcher.onEvent(
+          new TCSObjectEvent(order, order, TCSObjectEvent.Type.OBJECT_MODIFIED)
+      );
+    }
+
+    List<StatusMessage> messages = new ArrayList<>();
+    long nextSequenceNo = statusEventDispatcher.fetchEvents(1, object -> false, 1, messages);
+    assertThat(messages, is(empty()));
+    assertThat(nextSequenceNo, is(3L));
+
+    statusEventDispatcher.onEvent(
+        new TCSObjectEvent(order, order, TCSObjectEvent.Type.OBJECT_MODIFIED)
+    );
+    nextSequenceNo = statusEventDispatcher.fetchEvents(nextSequenceNo, object -> true, 1, messages);
+    assertThat(messages.size(), is(1));
+    assertThat(messages.get(0).getSequenceNumber(), is(3L));
+    assertThat(nextSequenceNo, is(4L));
+  }
 }
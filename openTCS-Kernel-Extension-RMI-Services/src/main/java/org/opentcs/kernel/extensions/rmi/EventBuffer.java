@@ -7,26 +7,56 @@
  */
 package org.opentcs.kernel.extensions.rmi;
 
-import java.util.LinkedList;
 import java.util.List;
 import static java.util.Objects.requireNonNull;
 import java.util.function.Predicate;
 import javax.annotation.Nonnull;
 import static org.opentcs.util.Assertions.checkArgument;
+import org.opentcs.util.event.CoalescingEventQueue;
 import org.opentcs.util.event.EventHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Stores events and keeps them until a client fetches them.
+ * <p>
+ * In coalescing mode, a modification of an object is merged with a buffered creation or
+ * modification of the same object, so the client receives only the object's latest state and its
+ * state as of the last fetch.
+ * The merged event keeps the position of the buffered one.
+ * </p>
+ * <p>
+ * If a capacity is set and the buffer is full, the oldest buffered event is discarded for every
+ * new one.
+ * This keeps a client that stopped fetching events from occupying an ever-growing amount of
+ * memory until it is cleaned out.
+ * </p>
  *
  * @author Stefan Walter (Fraunhofer IML)
  */
 public class EventBuffer
     implements EventHandler {
 
+  /**
+   * Indicates that the number of buffered events is not limited.
+   */
+  public static final int UNLIMITED = 0;
+  /**
+   * This class's logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(EventBuffer.class);
   /**
    * The buffered events.
    */
-  private final List<Object> events = new LinkedList<>();
+  private final CoalescingEventQueue events;
+  /**
+   * The maximum number of buffered events, or {@link #UNLIMITED}.
+   */
+  private final int capacity;
+  /**
+   * The number of events discarded since the client last fetched events.
+   */
+  private long discardedEvents;
   /**
    * This buffer's event filter.
    */
@@ -42,7 +72,21 @@ public class EventBuffer
    * @param eventFilter This buffer's initial event filter.
    */
   public EventBuffer(@Nonnull Predicate<Object> eventFilter) {
+    this(eventFilter, false, UNLIMITED);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param eventFilter This buffer's initial event filter.
+   * @param coalescing Whether to merge modifications of objects with buffered events.
+   * @param capacity The maximum number of buffered events, or {@link #UNLIMITED}.
+   */
+  public EventBuffer(@Nonnull Predicate<Object> eventFilter, boolean coalescing, int capacity) {
     this.eventFilter = requireNonNull(eventFilter, "eventFilter");
+    this.events = new CoalescingEventQueue(coalescing);
+    checkArgument(capacity >= 0, "capacity < 0: %s", capacity);
+    this.capacity = capacity;
   }
 
   // Methods declared in interface EventListener start here
@@ -50,7 +94,10 @@ public class EventBuffer
   public void onEvent(Object event) {
     requireNonNull(event, "event");
     synchronized (events) {
-      if (eventFilter.test(event)) {
+      if (eventFilter.test(event) && !events.merge(event)) {
+        if (capacity != UNLIMITED && events.size() >= capacity) {
+          discardOldestEvent();
+        }
         events.add(event);
         // If the client is waiting for an event, wake it up, since there is one
         // now.
@@ -90,9 +137,11 @@ public class EventBuffer
           waitingClient = false;
         }
       }
-      List<Object> result = new LinkedList<>(events);
-      events.clear();
-      return result;
+      if (discardedEvents > 0) {
+        LOG.warn("Discarded {} events exceeding the event buffer's capacity.", discardedEvents);
+        discardedEvents = 0;
+      }
+      return events.drain();
     }
   }
 
@@ -119,4 +168,12 @@ public class EventBuffer
       this.eventFilter = requireNonNull(eventFilter);
     }
   }
+
+  private void discardOldestEvent() {
+    if (discardedEvents == 0) {
+      LOG.warn("Event buffer full, discarding oldest events until the client fetches events.");
+    }
+    events.poll();
+    discardedEvents++;
+  }
 }
@@ -109,6 +109,26 @@ public interface RmiKernelInterfaceConfiguration {
       orderKey = "2_sweeping")
   long clientSweepInterval();
 
+  @ConfigurationEntry(
+      type = "Boolean",
+      description = {
+        "Whether to merge modifications of an object with events for the same object still "
+        + "buffered for a client.",
+        "If enabled, clients receive only the latest state of every object (along with its state "
+        + "as of their last fetch) instead of all intermediate states."
+      },
+      orderKey = "3_events_0")
+  boolean coalesceEvents();
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = {
+        "The maximum number of events buffered for a single client.",
+        "When exceeded, the oldest buffered events are discarded. 0 means unlimited."
+      },
+      orderKey = "3_events_1")
+  int eventBufferCapacity();
+
   @ConfigurationEntry(
       type = "Boolean",
       description = "Whether to use SSL to encrypt connections.",
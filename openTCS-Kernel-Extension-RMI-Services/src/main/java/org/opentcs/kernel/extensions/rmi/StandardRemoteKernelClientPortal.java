@@ -194,8 +194,12 @@ public class StandardRemoteKernelClientPortal
       // Generate a new ID for the client.
       ClientID clientId = new ClientID(userName);
       // Add an entry for the newly connected client.
-      ClientEntry clientEntry = new ClientEntry(userName, account.getPermissions());
-      clientEntry.getEventBuffer().setEventFilter(eventFilter);
+      ClientEntry clientEntry
+          = new ClientEntry(userName,
+                            account.getPermissions(),
+                            new EventBuffer(eventFilter,
+                                            configuration.coalesceEvents(),
+                                            configuration.eventBufferCapacity()));
       userManager.getKnownClients().put(clientId, clientEntry);
       LOG.debug("New client named {} logged in", clientId.getClientName());
       return clientId;
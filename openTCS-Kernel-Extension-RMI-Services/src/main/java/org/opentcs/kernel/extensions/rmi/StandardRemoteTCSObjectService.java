@@ -20,6 +20,8 @@ import org.opentcs.customizations.kernel.KernelExecutor;
 import org.opentcs.data.ObjectHistory;
 import org.opentcs.data.TCSObject;
 import org.opentcs.data.TCSObjectReference;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.TransportOrder;
 
 /**
  * This class is the standard implementation of the {@link RemoteTCSObjectService} interface.
@@ -89,6 +91,21 @@ public abstract class StandardRemoteTCSObjectService
     return objectService.fetchObjects(clazz, predicate);
   }
 
+  @Override
+  public Set<TransportOrder> fetchTransportOrders(ClientID clientId, TransportOrder.State state) {
+    userManager.verifyCredentials(clientId, UserPermission.READ_DATA);
+
+    return objectService.fetchTransportOrders(state);
+  }
+
+  @Override
+  public Set<TransportOrder> fetchTransportOrders(ClientID clientId,
+                                                  TCSObjectReference<Vehicle> vehicleRef) {
+    userManager.verifyCredentials(clientId, UserPermission.READ_DATA);
+
+    return objectService.fetchTransportOrders(vehicleRef);
+  }
+
   @Override
   public void updateObjectProperty(ClientID clientId,
                                    TCSObjectReference<?> ref,
@@ -11,6 +11,7 @@ import java.rmi.NotBoundException;
 import java.rmi.RemoteException;
 import java.rmi.registry.Registry;
 import java.rmi.server.UnicastRemoteObject;
+import java.util.List;
 import static java.util.Objects.requireNonNull;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -179,6 +180,19 @@ public class StandardRemoteTransportOrderService
     }
   }
 
+  @Override
+  public List<TransportOrder> createTransportOrders(ClientID clientId,
+                                                    List<TransportOrderCreationTO> tos) {
+    userManager.verifyCredentials(clientId, UserPermission.MODIFY_ORDER);
+
+    try {
+      return kernelExecutor.submit(() -> transportOrderService.createTransportOrders(tos)).get();
+    }
+    catch (InterruptedException | ExecutionException exc) {
+      throw findSuitableExceptionFor(exc);
+    }
+  }
+
   @Override
   public void markOrderSequenceComplete(ClientID clientId, TCSObjectReference<OrderSequence> ref) {
     userManager.verifyCredentials(clientId, UserPermission.MODIFY_ORDER);
@@ -289,7 +289,7 @@ public class UserManager
     /**
      * The client's event buffer.
      */
-    private final EventBuffer eventBuffer = new EventBuffer(event -> false);
+    private final EventBuffer eventBuffer;
     /**
      * The client's alive flag.
      */
@@ -302,8 +302,20 @@ public class UserManager
      * @param perms The client's permissions.
      */
     public ClientEntry(String name, Set<UserPermission> perms) {
+      this(name, perms, new EventBuffer(event -> false));
+    }
+
+    /**
+     * Creates a new ClientEntry.
+     *
+     * @param name The client's name.
+     * @param perms The client's permissions.
+     * @param eventBuffer The client's event buffer.
+     */
+    public ClientEntry(String name, Set<UserPermission> perms, EventBuffer eventBuffer) {
       userName = requireNonNull(name, "name");
       permissions = requireNonNull(perms, "perms");
+      this.eventBuffer = requireNonNull(eventBuffer, "eventBuffer");
     }
 
     /**
@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.extensions.rmi;
+
+import java.util.List;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import org.junit.jupiter.api.*;
+import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.model.Point;
+
+/**
+ * Unit tests for {@link EventBuffer}.
+ */
+public class EventBufferTest {
+
+  private final Point point1 = new Point("point1");
+  private final Point point1Modified = point1.withProperty("key", "value1");
+  private final Point point1ModifiedAgain = point1.withProperty("key", "value2");
+  private final Point point2 = new Point("point2");
+
+  @Test
+  public void keepAllEventsIfNotCoalescing() {
+    EventBuffer eventBuffer = new EventBuffer(event -> true);
+
+    eventBuffer.onEvent(modification(point1Modified, point1));
+    eventBuffer.onEvent(modification(point1ModifiedAgain, point1Modified));
+
+    assertThat(eventBuffer.getEvents(0), hasSize(2));
+  }
+
+  @Test
+  public void mergeModificationsOfSameObjectIfCoalescing() {
+    EventBuffer eventBuffer = new EventBuffer(event -> true, true, EventBuffer.UNLIMITED);
+
+    eventBuffer.onEvent(modification(point1Modified, point1));
+    eventBuffer.onEvent(creation(point2));
+    eventBuffer.onEvent(modification(point1ModifiedAgain, point1Modified));
+
+    List<Object> events = eventBuffer.getEvents(0);
+    assertThat(events, hasSize(2));
+    TCSObjectEvent mergedEvent = (TCSObjectEvent) events.get(0);
+    assertThat(mergedEvent.getType(), is(TCSObjectEvent.Type.OBJECT_MODIFIED));
+    assertThat(mergedEvent.getPreviousObjectState(), sameInstance(point1));
+    assertThat(mergedEvent.getCurrentObjectState(), sameInstance(point1ModifiedAgain));
+  }
+
+  @Test
+  public void mergeModificationIntoCreationIfCoalescing() {
+    EventBuffer eventBuffer = new EventBuffer(event -> true, true, EventBuffer.UNLIMITED);
+
+    eventBuffer.onEvent(creation(point1));
+    eventBuffer.onEvent(modification(point1Modified, point1));
+
+    List<Object> events = eventBuffer.getEvents(0);
+    assertThat(events, hasSize(1));
+    TCSObjectEvent mergedEvent = (TCSObjectEvent) events.get(0);
+    assertThat(mergedEvent.getType(), is(TCSObjectEvent.Type.OBJECT_CREATED));
+    assertThat(mergedEvent.getCurrentObjectState(), sameInstance(point1Modified));
+  }
+
+  @Test
+  public void doNotMergeModificationsAcrossRemoval() {
+    EventBuffer eventBuffer = new EventBuffer(event -> true, true, EventBuffer.UNLIMITED);
+
+    eventBuffer.onEvent(modification(point1Modified, point1));
+    eventBuffer.onEvent(removal(point1Modified));
+    eventBuffer.onEvent(creation(point1));
+    eventBuffer.onEvent(modification(point1ModifiedAgain, point1));
+
+    assertThat(eventBuffer.getEvents(0), hasSize(3));
+  }
+
+  @Test
+  public void doNotMergeWithEventsAlreadyFetched() {
+    EventBuffer eventBuffer = new EventBuffer(event -> true, true, EventBuffer.UNLIMITED);
+
+    eventBuffer.onEvent(modification(point1Modified, point1));
+    eventBuffer.getEvents(0);
+    eventBuffer.onEvent(modification(point1ModifiedAgain, point1Modified));
+
+    List<Object> events = eventBuffer.getEvents(0);
+    assertThat(events, hasSize(1));
+    assertThat(((TCSObjectEvent) events.get(0)).getPreviousObjectState(),
+               sameInstance(point1Modified));
+  }
+
+  @Test
+  public void discardOldestEventsWhenExceedingCapacity() {
+    EventBuffer eventBuffer = new EventBuffer(event -> true, false, 2);
+
+    eventBuffer.onEvent("event1");
+    eventBuffer.onEvent("event2");
+    eventBuffer.onEvent("event3");
+
+    assertThat(eventBuffer.getEvents(0), contains("event2", "event3"));
+  }
+
+  @Test
+  public void doNotMergeWithDiscardedEvents() {
+    EventBuffer eventBuffer = new EventBuffer(event -> true, true, 1);
+
+    eventBuffer.onEvent(modification(point1Modified, point1));
+    eventBuffer.onEvent(creation(point2));
+    eventBuffer.onEvent(modification(point1ModifiedAgain, point1Modified));
+
+    List<Object> events = eventBuffer.getEvents(0);
+    assertThat(events, hasSize(1));
+    assertThat(((TCSObjectEvent) events.get(0)).getCurrentObjectState(),
+               sameInstance(point1ModifiedAgain));
+  }
+
+  private TCSObjectEvent creation(Point point) {
+    return new TCSObjectEvent(point, null, TCSObjectEvent.Type.OBJECT_CREATED);
+  }
+
+  private TCSObjectEvent removal(Point point) {
+    return new TCSObjectEvent(null, point, TCSObjectEvent.Type.OBJECT_REMOVED);
+  }
+
+  private TCSObjectEvent modification(Point currentState, Point previousState) {
+    return new TCSObjectEvent(currentState, previousState, TCSObjectEvent.Type.OBJECT_MODIFIED);
+  }
+}
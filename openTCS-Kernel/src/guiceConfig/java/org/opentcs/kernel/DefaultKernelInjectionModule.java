@@ -37,8 +37,12 @@ import org.opentcs.components.kernel.services.SchedulerService;
 import org.opentcs.components.kernel.services.TCSObjectService;
 import org.opentcs.components.kernel.services.TransportOrderService;
 import org.opentcs.components.kernel.services.VehicleService;
+import org.opentcs.configuration.ConfigurationBindingProvider;
+import org.opentcs.contrib.communication.tcp.TcpTransport;
+import org.opentcs.contrib.communication.tcp.TcpTransportConfiguration;
 import org.opentcs.customizations.ApplicationEventBus;
 import org.opentcs.customizations.ApplicationHome;
+import org.opentcs.customizations.kernel.CommAdapterExecutor;
 import org.opentcs.customizations.kernel.GlobalSyncObject;
 import org.opentcs.customizations.kernel.KernelExecutor;
 import org.opentcs.customizations.kernel.KernelInjectionModule;
@@ -53,6 +57,8 @@ import org.opentcs.kernel.peripherals.PeripheralCommAdapterRegistry;
 import org.opentcs.kernel.peripherals.PeripheralControllerFactory;
 import org.opentcs.kernel.peripherals.PeripheralEntryPool;
 import org.opentcs.kernel.persistence.ModelPersister;
+import org.opentcs.kernel.persistence.OrderJournal;
+import org.opentcs.kernel.persistence.OrderJournalConfiguration;
 import org.opentcs.kernel.persistence.XMLFileModelPersister;
 import org.opentcs.kernel.services.StandardDispatcherService;
 import org.opentcs.kernel.services.StandardNotificationService;
@@ -66,11 +72,14 @@ import org.opentcs.kernel.services.StandardSchedulerService;
 import org.opentcs.kernel.services.StandardTCSObjectService;
 import org.opentcs.kernel.services.StandardTransportOrderService;
 import org.opentcs.kernel.services.StandardVehicleService;
+import org.opentcs.kernel.vehicles.CommAdapterExecutorConfiguration;
+import org.opentcs.kernel.vehicles.CommAdapterExecutorProvider;
 import org.opentcs.kernel.vehicles.DefaultVehicleControllerPool;
 import org.opentcs.kernel.vehicles.LocalVehicleControllerPool;
 import org.opentcs.kernel.vehicles.VehicleCommAdapterRegistry;
 import org.opentcs.kernel.vehicles.VehicleControllerComponentsFactory;
 import org.opentcs.kernel.vehicles.VehicleControllerFactory;
+import org.opentcs.kernel.vehicles.VehicleTelemetryConfiguration;
 import org.opentcs.kernel.workingset.Model;
 import org.opentcs.kernel.workingset.NotificationBuffer;
 import org.opentcs.kernel.workingset.PeripheralJobPool;
@@ -79,6 +88,7 @@ import org.opentcs.kernel.workingset.TCSObjectPool;
 import org.opentcs.kernel.workingset.TransportOrderPool;
 import org.opentcs.util.event.EventBus;
 import org.opentcs.util.event.EventHandler;
+import org.opentcs.util.event.ShardedEventBus;
 import org.opentcs.util.event.SimpleEventBus;
 import org.opentcs.util.logging.UncaughtExceptionLogger;
 
@@ -94,6 +104,7 @@ public class DefaultKernelInjectionModule
   protected void configure() {
     configureEventHub();
     configureKernelExecutor();
+    configureTcpTransport();
 
     // Ensure that the application's home directory can be used everywhere.
     File applicationHome = new File(System.getProperty("opentcs.home", "."));
@@ -101,6 +112,10 @@ public class DefaultKernelInjectionModule
         .annotatedWith(ApplicationHome.class)
         .toInstance(applicationHome);
 
+    // Let components register for changes of configuration values.
+    bind(ConfigurationBindingProvider.class)
+        .toInstance(getConfigBindingProvider());
+
     // A single global synchronization object for the kernel.
     bind(Object.class)
         .annotatedWith(GlobalSyncObject.class)
@@ -205,6 +220,18 @@ public class DefaultKernelInjectionModule
     install(new FactoryModuleBuilder().build(VehicleControllerFactory.class));
     install(new FactoryModuleBuilder().build(VehicleControllerComponentsFactory.class));
 
+    bind(CommAdapterExecutorConfiguration.class)
+        .toInstance(getConfigBindingProvider().get(CommAdapterExecutorConfiguration.PREFIX,
+                                                   CommAdapterExecutorConfiguration.class));
+    bind(ScheduledExecutorService.class)
+        .annotatedWith(CommAdapterExecutor.class)
+        .toProvider(CommAdapterExecutorProvider.class);
+    extensionsBinderAllModes().addBinding()
+        .to(CommAdapterExecutorProvider.class);
+    bind(VehicleTelemetryConfiguration.class)
+        .toInstance(getConfigBindingProvider().get(VehicleTelemetryConfiguration.PREFIX,
+                                                   VehicleTelemetryConfiguration.class));
+
     bind(DefaultVehicleControllerPool.class)
         .in(Singleton.class);
     bind(VehicleControllerPool.class)
@@ -226,10 +253,36 @@ public class DefaultKernelInjectionModule
 
   private void configurePersistence() {
     bind(ModelPersister.class).to(XMLFileModelPersister.class);
+
+    bind(OrderJournalConfiguration.class)
+        .toInstance(getConfigBindingProvider().get(OrderJournalConfiguration.PREFIX,
+                                                   OrderJournalConfiguration.class));
+    bind(OrderJournal.class).in(Singleton.class);
   }
 
   private void configureEventHub() {
-    EventBus newEventBus = new SimpleEventBus();
+    EventBusConfiguration configuration
+        = getConfigBindingProvider().get(EventBusConfiguration.PREFIX,
+                                         EventBusConfiguration.class);
+    bind(EventBusConfiguration.class)
+        .toInstance(configuration);
+
+    EventBus newEventBus;
+    if (configuration.deliverAsynchronously()) {
+      ShardedEventBus shardedEventBus = new ShardedEventBus(configuration.shardCount(),
+                                                            configuration.queueCapacity(),
+                                                            configuration.backpressurePolicy(),
+                                                            configuration.maxBlockTime());
+      bind(ShardedEventBus.class)
+          .toInstance(shardedEventBus);
+      extensionsBinderAllModes().addBinding()
+          .to(EventBusMonitor.class)
+          .in(Singleton.class);
+      newEventBus = shardedEventBus;
+    }
+    else {
+      newEventBus = new SimpleEventBus();
+    }
     bind(EventHandler.class)
         .annotatedWith(ApplicationEventBus.class)
         .toInstance(newEventBus);
@@ -275,6 +328,17 @@ public class DefaultKernelInjectionModule
     bind(SslParameterSet.class).toInstance(sslParamSet);
   }
 
+  private void configureTcpTransport() {
+    TcpTransportConfiguration configuration
+        = getConfigBindingProvider().get(TcpTransportConfiguration.PREFIX,
+                                         TcpTransportConfiguration.class);
+    bind(TcpTransportConfiguration.class)
+        .toInstance(configuration);
+    bind(TcpTransport.class)
+        .toInstance(new TcpTransport(configuration.eventLoopThreads(),
+                                     configuration.preferNativeTransport()));
+  }
+
   private void configureKernelExecutor() {
     ScheduledExecutorService executor
         = new LoggingScheduledThreadPoolExecutor(
@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel;
+
+import org.opentcs.configuration.ConfigurationEntry;
+import org.opentcs.configuration.ConfigurationPrefix;
+import org.opentcs.util.event.ShardedEventBus;
+
+/**
+ * Provides methods to configure the kernel's application event bus.
+ */
+@ConfigurationPrefix(EventBusConfiguration.PREFIX)
+public interface EventBusConfiguration {
+
+  /**
+   * This configuration's prefix.
+   */
+  String PREFIX = "eventbus";
+
+  @ConfigurationEntry(
+      type = "Boolean",
+      description = {
+        "Whether to deliver events to subscribers asynchronously.",
+        "If enabled, every subscriber gets a bounded queue of events, which is drained by one of "
+        + "a set of dedicated threads, so slow subscribers do not delay the kernel.",
+        "If disabled, events are delivered to all subscribers on the thread emitting them."
+      },
+      orderKey = "0_asynchronous_0")
+  boolean deliverAsynchronously();
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = "The number of threads delivering events asynchronously.",
+      orderKey = "0_asynchronous_1")
+  int shardCount();
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = "The maximum number of events queued for a single subscriber.",
+      orderKey = "1_queue_0")
+  int queueCapacity();
+
+  @ConfigurationEntry(
+      type = "String",
+      description = {
+        "What to do when a subscriber's queue is full. Valid values:",
+        "'BLOCK': Block the thread emitting the event until there is space in the queue or the "
+        + "maximum block time has elapsed. Note that the emitting thread often holds the kernel's "
+        + "global lock, so other kernel threads may be delayed, too.",
+        "'DROP_OLDEST': Discard the oldest event in the queue.",
+        "'COALESCE': Merge modifications of an object with queued events for the same object, so "
+        + "subscribers receive only the object's latest state, and block if an event cannot be "
+        + "merged."
+      },
+      orderKey = "1_queue_1")
+  ShardedEventBus.BackpressurePolicy backpressurePolicy();
+
+  @ConfigurationEntry(
+      type = "Long",
+      description = {
+        "The maximum time to block the thread emitting an event when a subscriber's queue is full "
+        + "(in ms).",
+        "Once it has elapsed, the oldest event in the queue is discarded.",
+        "As this may happen for every event emitted, this value should be kept small."
+      },
+      orderKey = "1_queue_2")
+  long maxBlockTime();
+
+  @ConfigurationEntry(
+      type = "Long",
+      description = {
+        "The interval in which the statistics of the subscribers' queues are logged (in ms).",
+        "A value of 0 disables logging of the statistics."
+      },
+      orderKey = "2_statistics_0")
+  long statisticsLoggingInterval();
+}
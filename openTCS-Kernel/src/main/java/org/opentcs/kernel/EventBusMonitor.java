@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel;
+
+import java.util.List;
+import static java.util.Objects.requireNonNull;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import org.opentcs.components.kernel.KernelExtension;
+import org.opentcs.customizations.kernel.KernelExecutor;
+import org.opentcs.util.event.ShardedEventBus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Periodically logs the queue statistics of the application's event bus, and shuts the event bus
+ * down when the kernel terminates.
+ */
+class EventBusMonitor
+    implements KernelExtension {
+
+  /**
+   * This class's logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(EventBusMonitor.class);
+  /**
+   * The application's event bus.
+   */
+  private final ShardedEventBus eventBus;
+  /**
+   * The kernel executor.
+   */
+  private final ScheduledExecutorService kernelExecutor;
+  /**
+   * The event bus configuration.
+   */
+  private final EventBusConfiguration configuration;
+  /**
+   * The statistics logged most recently.
+   */
+  private String lastLoggedStatistics = "";
+  /**
+   * Periodically logs the queue statistics.
+   */
+  private ScheduledFuture<?> statisticsLoggingFuture;
+  /**
+   * Whether this instance is currently initialized.
+   */
+  private boolean initialized;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param eventBus The application's event bus.
+   * @param kernelExecutor The kernel executor.
+   * @param configuration The event bus configuration.
+   */
+  @Inject
+  EventBusMonitor(ShardedEventBus eventBus,
+                  @KernelExecutor ScheduledExecutorService kernelExecutor,
+                  EventBusConfiguration configuration) {
+    this.eventBus = requireNonNull(eventBus, "eventBus");
+    this.kernelExecutor = requireNonNull(kernelExecutor, "kernelExecutor");
+    this.configuration = requireNonNull(configuration, "configuration");
+  }
+
+  @Override
+  public void initialize() {
+    if (isInitialized()) {
+      return;
+    }
+
+    if (configuration.statisticsLoggingInterval() > 0) {
+      statisticsLoggingFuture = kernelExecutor.scheduleAtFixedRate(
+          this::logStatistics,
+          configuration.statisticsLoggingInterval(),
+          configuration.statisticsLoggingInterval(),
+          TimeUnit.MILLISECONDS
+      );
+    }
+
+    initialized = true;
+  }
+
+  @Override
+  public boolean isInitialized() {
+    return initialized;
+  }
+
+  @Override
+  public void terminate() {
+    if (!isInitialized()) {
+      return;
+    }
+
+    if (statisticsLoggingFuture != null) {
+      statisticsLoggingFuture.cancel(false);
+      statisticsLoggingFuture = null;
+    }
+    logStatistics();
+    LOG.debug("Shutting down event bus...");
+    eventBus.shutdown();
+
+    initialized = false;
+  }
+
+  private synchronized void logStatistics() {
+    List<ShardedEventBus.QueueStatistics> statistics = eventBus.getQueueStatistics();
+    String statisticsString = statistics.toString();
+    // Don't flood the log with statistics that have not changed.
+    if (statisticsString.equals(lastLoggedStatistics)) {
+      return;
+    }
+    lastLoggedStatistics = statisticsString;
+
+    for (ShardedEventBus.QueueStatistics queueStatistics : statistics) {
+      LOG.info("Event queue of {}: depth: {}, max. depth: {}, dropped: {}, coalesced: {}",
+               queueStatistics.getSubscriber(),
+               queueStatistics.getQueueDepth(),
+               queueStatistics.getMaxQueueDepth(),
+               queueStatistics.getDroppedEvents(),
+               queueStatistics.getCoalescedEvents());
+    }
+  }
+}
@@ -52,4 +52,25 @@ public interface KernelApplicationConfiguration {
       description = "Whether to implicitly update the router's topology when a path is (un)locked.",
       orderKey = "3_topologyUpdate")
   boolean updateRoutingTopologyOnPathLockChange();
+
+  @ConfigurationEntry(
+      type = "Comma-separated list of <object type>=<maximum number of entries>",
+      description = {
+        "The maximum number of history entries to keep per object, by object type (e.g. "
+        + "'TransportOrder=500,Vehicle=1000').",
+        "When this number is exceeded, the oldest entries are evicted.",
+        "The histories of objects of types not listed here are not limited."
+      },
+      orderKey = "4_objectHistory")
+  String objectHistoryCapacities();
+
+  @ConfigurationEntry(
+      type = "Boolean",
+      description = {
+        "Whether to keep a binary snapshot of the persisted model next to the model file.",
+        "If enabled, the model is loaded from the snapshot instead of being parsed from the model "
+        + "file as long as the model file has not been changed since the snapshot was written."
+      },
+      orderKey = "5_modelSnapshot")
+  boolean useModelSnapshot();
 }
@@ -29,6 +29,7 @@ import org.opentcs.kernel.extensions.controlcenter.vehicles.AttachmentManager;
 import org.opentcs.kernel.peripherals.LocalPeripheralControllerPool;
 import org.opentcs.kernel.peripherals.PeripheralAttachmentManager;
 import org.opentcs.kernel.persistence.ModelPersister;
+import org.opentcs.kernel.persistence.OrderJournal;
 import org.opentcs.kernel.vehicles.LocalVehicleControllerPool;
 import org.opentcs.kernel.workingset.Model;
 import org.opentcs.kernel.workingset.PeripheralJobPool;
@@ -109,6 +110,10 @@ class KernelStateOperating
    * The vehicle service.
    */
   private final InternalVehicleService vehicleService;
+  /**
+   * The journal of transport orders and order sequences.
+   */
+  private final OrderJournal orderJournal;
   /**
    * A handle for the cleaner task.
    */
@@ -140,6 +145,7 @@ class KernelStateOperating
    * @param attachmentManager The attachment manager to be used.
    * @param peripheralAttachmentManager The peripheral attachment manager to be used.
    * @param vehicleService The vehicle service to be used.
+   * @param orderJournal The order journal to be used.
    */
   @Inject
   KernelStateOperating(@GlobalSyncObject Object globalSyncObject,
@@ -160,7 +166,8 @@ class KernelStateOperating
                        @ActiveInOperatingMode Set<KernelExtension> extensions,
                        AttachmentManager attachmentManager,
                        PeripheralAttachmentManager peripheralAttachmentManager,
-                       InternalVehicleService vehicleService) {
+                       InternalVehicleService vehicleService,
+                       OrderJournal orderJournal) {
     super(globalSyncObject,
           objectPool,
           model,
@@ -184,6 +191,7 @@ class KernelStateOperating
     this.peripheralAttachmentManager = requireNonNull(peripheralAttachmentManager,
                                                       "peripheralAttachmentManager");
     this.vehicleService = requireNonNull(vehicleService, "vehicleService");
+    this.orderJournal = requireNonNull(orderJournal, "orderJournal");
   }
 
   // Implementation of interface Kernel starts here.
@@ -205,6 +213,9 @@ class KernelStateOperating
       vehicleService.updateVehicleOrderSequence(curVehicle.getReference(), null);
     }
 
+    // Restore journaled orders before any component may process them.
+    LOG.debug("Initializing order journal '{}'...", orderJournal);
+    orderJournal.initialize();
     LOG.debug("Initializing scheduler '{}'...", scheduler);
     scheduler.initialize();
     LOG.debug("Initializing router '{}'...", router);
@@ -254,6 +265,10 @@ class KernelStateOperating
     LOG.debug("Terminating operating state...");
     super.terminate();
 
+    // Stop journaling first, so orders are restored in the state they had during operation.
+    LOG.debug("Terminating order journal '{}'...", orderJournal);
+    orderJournal.terminate();
+
     // Terminate everything that may still use resources.
     for (KernelExtension extension : extensions) {
       LOG.debug("Terminating kernel extension '{}'...", extension);
@@ -297,6 +312,8 @@ class KernelStateOperating
 
     // Remove all orders and order sequences from the pool.
     orderPool.clear();
+    // Discard them from the journal, too, unless they are to be restored after a shutdown.
+    orderJournal.orderPoolCleared();
     // Remove all peripheral jobs from the pool.
     jobPool.clear();
 
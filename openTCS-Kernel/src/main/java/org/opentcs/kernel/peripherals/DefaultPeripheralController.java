@@ -27,7 +27,7 @@ import org.opentcs.drivers.peripherals.management.PeripheralProcessModelEvent;
 import static org.opentcs.util.Assertions.checkState;
 import org.opentcs.util.ExplainedBoolean;
 import org.opentcs.util.event.EventBus;
-import org.opentcs.util.event.EventHandler;
+import org.opentcs.util.event.SynchronousEventHandler;
 
 /**
  * Realizes a bidirectional connection between the kernel and a comm adapter controlling a
@@ -37,7 +37,7 @@ import org.opentcs.util.event.EventHandler;
  */
 public class DefaultPeripheralController
     implements PeripheralController,
-               EventHandler {
+               SynchronousEventHandler {
 
   /**
    * The location representing the peripheral device controlled by this controller/the comm adapter.
@@ -0,0 +1,247 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import static java.util.Objects.requireNonNull;
+import java.util.zip.CRC32;
+import static org.opentcs.util.Assertions.checkArgument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An append-only file of records, written via memory-mapped regions of the file.
+ * <p>
+ * Every record is stored with its length and a checksum, so a record that was only partially
+ * written (e.g. because the operating system crashed) is detected when reading the file.
+ * Reading stops at the first such record.
+ * </p>
+ * <p>
+ * Mapped regions are unmapped explicitly as soon as they are not needed any more, as some operating
+ * systems (e.g. Windows) do not allow deleting a file while regions of it are still mapped.
+ * </p>
+ */
+class JournalFile
+    implements AutoCloseable {
+
+  /**
+   * The number of bytes preceding every record's payload.
+   */
+  private static final int HEADER_LENGTH = 8;
+  /**
+   * This class's Logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(JournalFile.class);
+  /**
+   * The channel of the file.
+   */
+  private final FileChannel channel;
+  /**
+   * The minimum size of mapped regions.
+   */
+  private final int regionSize;
+  /**
+   * Computes record checksums.
+   */
+  private final CRC32 checksum = new CRC32();
+  /**
+   * The region records are currently appended to.
+   */
+  private MappedByteBuffer region;
+  /**
+   * The position of the current region in the file.
+   */
+  private long regionPosition;
+
+  /**
+   * Creates a new, empty journal file.
+   *
+   * @param path The path of the file.
+   * @param regionSize The minimum size of mapped regions (in bytes).
+   * @throws IOException If the file already exists or could not be created.
+   */
+  JournalFile(Path path, int regionSize)
+      throws IOException {
+    requireNonNull(path, "path");
+    checkArgument(regionSize > HEADER_LENGTH, "regionSize too small: %s", regionSize);
+
+    this.channel = FileChannel.open(path,
+                                    StandardOpenOption.CREATE_NEW,
+                                    StandardOpenOption.READ,
+                                    StandardOpenOption.WRITE);
+    this.regionSize = regionSize;
+    this.region = channel.map(FileChannel.MapMode.READ_WRITE, 0, regionSize);
+  }
+
+  /**
+   * Appends a record to this file.
+   *
+   * @param payload The record's payload.
+   * @throws IOException If a new region of the file could not be mapped.
+   */
+  public void append(byte[] payload)
+      throws IOException {
+    int recordLength = HEADER_LENGTH + payload.length;
+    if (region.remaining() < recordLength) {
+      region.force();
+      regionPosition += region.position();
+      unmap(region);
+      region = channel.map(FileChannel.MapMode.READ_WRITE,
+                           regionPosition,
+                           Math.max(regionSize, recordLength));
+    }
+    checksum.reset();
+    checksum.update(payload, 0, payload.length);
+    region.putInt(payload.length);
+    region.putInt((int) checksum.getValue());
+    region.put(payload);
+  }
+
+  /**
+   * Forces the records appended so far to the storage device.
+   */
+  public void force() {
+    region.force();
+  }
+
+  @Override
+  public void close()
+      throws IOException {
+    force();
+    unmap(region);
+    channel.close();
+  }
+
+  /**
+   * Unmaps the given region of a file.
+   * <p>
+   * As the Java API does not provide a way to do this, the cleaner of the buffer is invoked via
+   * reflection. If that fails, the region is left to be unmapped when the buffer is garbage
+   * collected.
+   * </p>
+   *
+   * @param buffer The buffer of the mapped region, which must not be accessed afterwards.
+   */
+  static void unmap(MappedByteBuffer buffer) {
+    try {
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      Method invokeCleaner;
+      try {
+        invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+      }
+      catch (NoSuchMethodException exc) {
+        invokeCleaner = null;
+      }
+
+      if (invokeCleaner != null) {
+        // Java 9 and later
+        Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+        theUnsafe.setAccessible(true);
+        invokeCleaner.invoke(theUnsafe.get(null), buffer);
+      }
+      else {
+        // Java 8
+        Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+        cleanerMethod.setAccessible(true);
+        Object cleaner = cleanerMethod.invoke(buffer);
+        if (cleaner != null) {
+          cleaner.getClass().getMethod("clean").invoke(cleaner);
+        }
+      }
+    }
+    catch (ReflectiveOperationException | RuntimeException exc) {
+      LOG.debug("Could not unmap file region, leaving it to garbage collection.", exc);
+    }
+  }
+
+  /**
+   * Writes the given records to a new file, replacing an existing file atomically.
+   *
+   * @param path The path of the file.
+   * @param payloads The records' payloads.
+   * @throws IOException If the file could not be written.
+   */
+  public static void writeRecords(Path path, Collection<byte[]> payloads)
+      throws IOException {
+    Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+    CRC32 checksum = new CRC32();
+    try (FileOutputStream fileOut = new FileOutputStream(tempPath.toFile());
+         DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+      for (byte[] payload : payloads) {
+        checksum.reset();
+        checksum.update(payload, 0, payload.length);
+        out.writeInt(payload.length);
+        out.writeInt((int) checksum.getValue());
+        out.write(payload);
+      }
+      out.flush();
+      fileOut.getFD().sync();
+    }
+    Files.move(tempPath,
+               path,
+               StandardCopyOption.REPLACE_EXISTING,
+               StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Reads all completely written records from the given file.
+   *
+   * @param path The path of the file.
+   * @return The records' payloads, in the order in which they were written.
+   * @throws IOException If the file could not be read.
+   */
+  public static List<byte[]> readRecords(Path path)
+      throws IOException {
+    List<byte[]> result = new ArrayList<>();
+    CRC32 checksum = new CRC32();
+    long remainingBytes = Files.size(path);
+    try (InputStream fileIn = Files.newInputStream(path);
+         DataInputStream in = new DataInputStream(new BufferedInputStream(fileIn))) {
+      while (true) {
+        int length = in.readInt();
+        if (length <= 0 || length > remainingBytes - HEADER_LENGTH) {
+          // The unused remainder of the last mapped region, or a corrupt record.
+          break;
+        }
+        remainingBytes -= HEADER_LENGTH + length;
+        int expectedChecksum = in.readInt();
+        byte[] payload = new byte[length];
+        in.readFully(payload);
+        checksum.reset();
+        checksum.update(payload, 0, payload.length);
+        if ((int) checksum.getValue() != expectedChecksum) {
+          break;
+        }
+        result.add(payload);
+      }
+    }
+    catch (EOFException exc) {
+      // A record that was not written completely, or simply the end of the file.
+    }
+    return result;
+  }
+}
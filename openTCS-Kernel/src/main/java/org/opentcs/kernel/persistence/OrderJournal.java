@@ -0,0 +1,586 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.persistence;
+
+import static com.google.common.base.Preconditions.checkState;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.inject.Inject;
+import org.opentcs.access.Kernel;
+import org.opentcs.access.KernelStateTransitionEvent;
+import org.opentcs.components.Lifecycle;
+import org.opentcs.customizations.ApplicationEventBus;
+import org.opentcs.customizations.ApplicationHome;
+import org.opentcs.customizations.kernel.GlobalSyncObject;
+import org.opentcs.data.TCSObject;
+import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.order.OrderSequence;
+import org.opentcs.data.order.TransportOrder;
+import org.opentcs.kernel.workingset.TransportOrderPool;
+import org.opentcs.util.event.EventSource;
+import org.opentcs.util.event.SynchronousEventHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Journals all changes to transport orders and order sequences and restores them on
+ * initialization.
+ * <p>
+ * Changes are recorded by serializing the states of orders and sequences reported via
+ * {@link TCSObjectEvent}s and appending them to a journal file.
+ * Events are only queued by the thread emitting them; records are written by a separate thread,
+ * which forces them to the storage device according to the configured policy.
+ * Once a configured number of records has been written, a snapshot containing only the latest
+ * record of every order and sequence is written and a new journal file is started.
+ * </p>
+ * <p>
+ * Files are numbered by generation.
+ * A snapshot contains the states recorded in all journal files of preceding generations, so
+ * restoring orders and sequences requires reading only the latest snapshot and the journal files
+ * of the same or later generations.
+ * </p>
+ */
+public class OrderJournal
+    implements SynchronousEventHandler,
+               Lifecycle {
+
+  /**
+   * This class's Logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(OrderJournal.class);
+  /**
+   * The pattern of journal file names.
+   */
+  private static final Pattern JOURNAL_FILE_PATTERN = Pattern.compile("journal-(\\d+)\\.log");
+  /**
+   * The pattern of snapshot file names.
+   */
+  private static final Pattern SNAPSHOT_FILE_PATTERN = Pattern.compile("snapshot-(\\d+)\\.dat");
+  /**
+   * The type of records containing an object's state.
+   */
+  private static final byte RECORD_TYPE_STATE = 1;
+  /**
+   * The type of records indicating an object's removal.
+   */
+  private static final byte RECORD_TYPE_REMOVAL = 2;
+  /**
+   * Signals the writer thread to stop.
+   */
+  private static final Object STOP_SIGNAL = new Object();
+  /**
+   * A global object to be used for synchronization within the kernel.
+   */
+  private final Object globalSyncObject;
+  /**
+   * The transport order pool.
+   */
+  private final TransportOrderPool orderPool;
+  /**
+   * Where we register for application events.
+   */
+  private final EventSource eventSource;
+  /**
+   * This class's configuration.
+   */
+  private final OrderJournalConfiguration configuration;
+  /**
+   * The directory containing the journal and snapshot files.
+   */
+  private final Path journalDirectory;
+  /**
+   * The events to be written to the journal, and possibly the signal to stop.
+   */
+  private final BlockingQueue<Object> pendingEvents = new LinkedBlockingQueue<>();
+  /**
+   * The latest record for every journaled object, by object name.
+   * Accessed by the writer thread only, once it has been started.
+   */
+  private final Map<String, byte[]> latestRecords = new LinkedHashMap<>();
+  /**
+   * The thread writing records.
+   */
+  private Thread writerThread;
+  /**
+   * Whether events are currently being journaled.
+   */
+  private volatile boolean journaling;
+  /**
+   * The current journal file.
+   */
+  private JournalFile journalFile;
+  /**
+   * The generation of the current journal file.
+   */
+  private long generation;
+  /**
+   * The number of records written to the current journal file.
+   */
+  private int recordCount;
+  /**
+   * Whether records have been written since they were last forced.
+   */
+  private boolean unforcedRecords;
+  /**
+   * The point of time at which records were last forced.
+   */
+  private long lastForceTime;
+  /**
+   * Whether the kernel is shutting down, in which case journaled orders and sequences are kept when
+   * the order pool is cleared.
+   */
+  private volatile boolean kernelShuttingDown;
+  /**
+   * Whether this instance is initialized.
+   */
+  private boolean initialized;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param globalSyncObject The kernel threads' global synchronization object.
+   * @param orderPool The transport order pool.
+   * @param eventSource Where this instance registers for application events.
+   * @param homeDirectory The application's home directory.
+   * @param configuration This class's configuration.
+   */
+  @Inject
+  public OrderJournal(@GlobalSyncObject Object globalSyncObject,
+                      TransportOrderPool orderPool,
+                      @ApplicationEventBus EventSource eventSource,
+                      @ApplicationHome File homeDirectory,
+                      OrderJournalConfiguration configuration) {
+    this.globalSyncObject = requireNonNull(globalSyncObject, "globalSyncObject");
+    this.orderPool = requireNonNull(orderPool, "orderPool");
+    this.eventSource = requireNonNull(eventSource, "eventSource");
+    this.configuration = requireNonNull(configuration, "configuration");
+    this.journalDirectory = requireNonNull(homeDirectory, "homeDirectory").toPath()
+        .resolve("data")
+        .resolve("journal");
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * If journaling is enabled, restores the journaled orders and sequences in the order pool and
+   * starts journaling changes.
+   * </p>
+   *
+   * @throws IllegalStateException If the journal could not be read or a new journal could not be
+   * started.
+   */
+  @Override
+  public void initialize()
+      throws IllegalStateException {
+    if (isInitialized()) {
+      return;
+    }
+
+    kernelShuttingDown = false;
+
+    if (configuration.enable()) {
+      List<OrderSequence> sequences = new ArrayList<>();
+      List<TransportOrder> orders = new ArrayList<>();
+      latestRecords.clear();
+      try {
+        Files.createDirectories(journalDirectory);
+        generation = recover();
+        startNextGeneration();
+      }
+      catch (IOException exc) {
+        throw new IllegalStateException("Could not initialize order journal", exc);
+      }
+      for (byte[] record : latestRecords.values()) {
+        TCSObject<?> object = readState(record);
+        if (object instanceof OrderSequence) {
+          sequences.add((OrderSequence) object);
+        }
+        else if (object instanceof TransportOrder) {
+          orders.add((TransportOrder) object);
+        }
+      }
+      LOG.info("Restoring {} order sequences and {} transport orders...",
+               sequences.size(),
+               orders.size());
+
+      journaling = true;
+      writerThread = new Thread(this::writeRecords, "orderJournalWriter");
+      writerThread.setDaemon(true);
+      writerThread.start();
+      eventSource.subscribe(this);
+
+      synchronized (globalSyncObject) {
+        orderPool.restoreOrderSequencesAndTransportOrders(sequences, orders);
+      }
+    }
+
+    initialized = true;
+  }
+
+  @Override
+  public boolean isInitialized() {
+    return initialized;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Stops journaling changes, after all pending records have been written.
+   * </p>
+   */
+  @Override
+  public void terminate() {
+    if (!isInitialized()) {
+      return;
+    }
+
+    if (writerThread != null) {
+      eventSource.unsubscribe(this);
+      pendingEvents.add(STOP_SIGNAL);
+      try {
+        writerThread.join();
+      }
+      catch (InterruptedException exc) {
+        Thread.currentThread().interrupt();
+        LOG.warn("Interrupted while waiting for the journal writer to finish.");
+      }
+      writerThread = null;
+    }
+
+    initialized = false;
+  }
+
+  /**
+   * Notifies this journal that all transport orders and order sequences have been removed from the
+   * order pool, as happens when the kernel leaves operating mode.
+   * <p>
+   * Unless the kernel is shutting down, the journaled orders and sequences are discarded, too, so
+   * they do not reappear the next time the kernel enters operating mode.
+   * If it is shutting down, they are kept, so they are restored when it is started again.
+   * </p>
+   *
+   * @throws IllegalStateException If this journal is still initialized, or if the journaled orders
+   * and sequences could not be discarded.
+   */
+  public void orderPoolCleared()
+      throws IllegalStateException {
+    checkState(!isInitialized(), "Order journal is still initialized.");
+    if (!configuration.enable() || kernelShuttingDown) {
+      return;
+    }
+
+    LOG.debug("Discarding journaled order sequences and transport orders...");
+    latestRecords.clear();
+    try {
+      // Start a generation with an empty snapshot, which deletes the files of previous generations.
+      startNextGeneration();
+    }
+    catch (IOException exc) {
+      throw new IllegalStateException("Could not discard journaled orders", exc);
+    }
+    finally {
+      if (journalFile != null) {
+        closeJournalFile();
+      }
+    }
+  }
+
+  @Override
+  public void onEvent(Object event) {
+    if (event instanceof KernelStateTransitionEvent) {
+      kernelShuttingDown
+          = ((KernelStateTransitionEvent) event).getEnteredState() == Kernel.State.SHUTDOWN;
+      return;
+    }
+    if (!journaling || !(event instanceof TCSObjectEvent)) {
+      return;
+    }
+
+    TCSObject<?> object = ((TCSObjectEvent) event).getCurrentOrPreviousObjectState();
+    if (object instanceof TransportOrder || object instanceof OrderSequence) {
+      pendingEvents.add(event);
+    }
+  }
+
+  private void writeRecords() {
+    List<Object> batch = new ArrayList<>();
+    boolean stopped = false;
+    try {
+      while (!stopped) {
+        Object firstEvent = pendingEvents.poll(configuration.syncInterval(),
+                                               TimeUnit.MILLISECONDS);
+        if (firstEvent != null) {
+          batch.add(firstEvent);
+          pendingEvents.drainTo(batch);
+        }
+        for (Object event : batch) {
+          if (event == STOP_SIGNAL) {
+            stopped = true;
+          }
+          else {
+            writeRecord((TCSObjectEvent) event);
+          }
+        }
+        batch.clear();
+
+        if (shouldForce()) {
+          journalFile.force();
+          unforcedRecords = false;
+          lastForceTime = System.currentTimeMillis();
+        }
+        if (recordCount >= configuration.snapshotRecordThreshold()) {
+          startNextGeneration();
+        }
+      }
+    }
+    catch (IOException exc) {
+      LOG.error("Error writing order journal, no further changes will be journaled.", exc);
+    }
+    catch (InterruptedException exc) {
+      LOG.warn("Interrupted, no further changes will be journaled.");
+    }
+    finally {
+      journaling = false;
+      pendingEvents.clear();
+      closeJournalFile();
+    }
+  }
+
+  private void closeJournalFile() {
+    try {
+      journalFile.close();
+    }
+    catch (IOException exc) {
+      LOG.warn("Error closing order journal file.", exc);
+    }
+    journalFile = null;
+  }
+
+  private boolean shouldForce() {
+    if (!unforcedRecords) {
+      return false;
+    }
+    switch (configuration.syncPolicy()) {
+      case BATCH:
+        return true;
+      case INTERVAL:
+        return System.currentTimeMillis() - lastForceTime >= configuration.syncInterval();
+      default:
+        return false;
+    }
+  }
+
+  private void writeRecord(TCSObjectEvent event)
+      throws IOException {
+    byte[] record;
+    if (event.getType() == TCSObjectEvent.Type.OBJECT_REMOVED) {
+      String name = event.getPreviousObjectState().getName();
+      record = createRemovalRecord(name);
+      latestRecords.remove(name);
+    }
+    else {
+      TCSObject<?> object = event.getCurrentObjectState();
+      record = createStateRecord(object);
+      latestRecords.put(object.getName(), record);
+    }
+    journalFile.append(record);
+    recordCount++;
+    unforcedRecords = true;
+  }
+
+  /**
+   * Reads the latest snapshot and all subsequent journal files into {@link #latestRecords}.
+   *
+   * @return The latest generation found.
+   * @throws IOException If reading a file fails.
+   */
+  private long recover()
+      throws IOException {
+    Map<Long, Path> journalFiles = new TreeMap<>();
+    Path snapshotFile = null;
+    long snapshotGeneration = 0;
+    long latestGeneration = 0;
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(journalDirectory)) {
+      for (Path file : files) {
+        String fileName = file.getFileName().toString();
+        Matcher journalMatcher = JOURNAL_FILE_PATTERN.matcher(fileName);
+        Matcher snapshotMatcher = SNAPSHOT_FILE_PATTERN.matcher(fileName);
+        if (journalMatcher.matches()) {
+          long fileGeneration = Long.parseLong(journalMatcher.group(1));
+          journalFiles.put(fileGeneration, file);
+          latestGeneration = Math.max(latestGeneration, fileGeneration);
+        }
+        else if (snapshotMatcher.matches()) {
+          long fileGeneration = Long.parseLong(snapshotMatcher.group(1));
+          if (snapshotFile == null || fileGeneration > snapshotGeneration) {
+            snapshotFile = file;
+            snapshotGeneration = fileGeneration;
+          }
+          latestGeneration = Math.max(latestGeneration, fileGeneration);
+        }
+      }
+    }
+
+    if (snapshotFile != null) {
+      LOG.debug("Reading snapshot {}...", snapshotFile);
+      applyRecords(JournalFile.readRecords(snapshotFile));
+    }
+    for (Map.Entry<Long, Path> entry : journalFiles.entrySet()) {
+      if (entry.getKey() >= snapshotGeneration) {
+        LOG.debug("Reading journal {}...", entry.getValue());
+        applyRecords(JournalFile.readRecords(entry.getValue()));
+      }
+    }
+    return latestGeneration;
+  }
+
+  private void applyRecords(List<byte[]> records) {
+    for (byte[] record : records) {
+      try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+        byte recordType = in.readByte();
+        String name = in.readUTF();
+        if (recordType == RECORD_TYPE_STATE) {
+          latestRecords.put(name, record);
+        }
+        else if (recordType == RECORD_TYPE_REMOVAL) {
+          latestRecords.remove(name);
+        }
+      }
+      catch (IOException exc) {
+        LOG.warn("Ignoring malformed journal record.", exc);
+      }
+    }
+  }
+
+  /**
+   * Starts a new journal file and writes a snapshot of the latest records for the new generation,
+   * then deletes the files of previous generations.
+   *
+   * @throws IOException If writing any file fails.
+   */
+  private void startNextGeneration()
+      throws IOException {
+    generation++;
+    if (journalFile != null) {
+      journalFile.close();
+    }
+    journalFile = new JournalFile(journalDirectory.resolve("journal-" + generation + ".log"),
+                                  configuration.mappedRegionSize());
+    recordCount = 0;
+    unforcedRecords = false;
+    lastForceTime = System.currentTimeMillis();
+
+    JournalFile.writeRecords(journalDirectory.resolve("snapshot-" + generation + ".dat"),
+                             latestRecords.values());
+
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(journalDirectory)) {
+      for (Path file : files) {
+        String fileName = file.getFileName().toString();
+        Matcher journalMatcher = JOURNAL_FILE_PATTERN.matcher(fileName);
+        Matcher snapshotMatcher = SNAPSHOT_FILE_PATTERN.matcher(fileName);
+        if ((journalMatcher.matches() && Long.parseLong(journalMatcher.group(1)) < generation)
+            || (snapshotMatcher.matches()
+                && Long.parseLong(snapshotMatcher.group(1)) < generation)) {
+          deleteFile(file);
+        }
+      }
+    }
+  }
+
+  /**
+   * Deletes the given file of a previous generation.
+   * <p>
+   * A failure to do so (e.g. because some other process still has the file open) is only logged,
+   * as the file is not needed any more. Deleting it is retried when the next generation is started.
+   * </p>
+   *
+   * @param file The file.
+   */
+  private void deleteFile(Path file) {
+    try {
+      Files.delete(file);
+    }
+    catch (IOException exc) {
+      LOG.warn("Could not delete outdated journal file {}, will retry later.", file, exc);
+    }
+  }
+
+  /**
+   * Creates a record containing the given object's state.
+   * A record consists of the record's type and the object's name, followed by the serialized
+   * object.
+   *
+   * @param object The object.
+   * @return The record.
+   * @throws IOException If the object could not be serialized.
+   */
+  private static byte[] createStateRecord(TCSObject<?> object)
+      throws IOException {
+    ByteArrayOutputStream bytesOut = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytesOut)) {
+      out.writeByte(RECORD_TYPE_STATE);
+      out.writeUTF(object.getName());
+      try (ObjectOutputStream objectOut = new ObjectOutputStream(out)) {
+        objectOut.writeObject(object);
+      }
+    }
+    return bytesOut.toByteArray();
+  }
+
+  /**
+   * Creates a record indicating the removal of the object with the given name.
+   * A record consists of the record's type and the object's name.
+   *
+   * @param name The object's name.
+   * @return The record.
+   * @throws IOException If the name could not be written.
+   */
+  private static byte[] createRemovalRecord(String name)
+      throws IOException {
+    ByteArrayOutputStream bytesOut = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytesOut)) {
+      out.writeByte(RECORD_TYPE_REMOVAL);
+      out.writeUTF(name);
+    }
+    return bytesOut.toByteArray();
+  }
+
+  private static TCSObject<?> readState(byte[] record) {
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+      in.readByte();
+      in.readUTF();
+      try (ObjectInputStream objectIn = new ObjectInputStream(in)) {
+        return (TCSObject<?>) objectIn.readObject();
+      }
+    }
+    catch (IOException | ClassNotFoundException | ClassCastException exc) {
+      LOG.warn("Ignoring unreadable journal record.", exc);
+      return null;
+    }
+  }
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.persistence;
+
+import org.opentcs.configuration.ConfigurationEntry;
+import org.opentcs.configuration.ConfigurationPrefix;
+
+/**
+ * Provides methods to configure the {@link OrderJournal}.
+ */
+@ConfigurationPrefix(OrderJournalConfiguration.PREFIX)
+public interface OrderJournalConfiguration {
+
+  /**
+   * This configuration's prefix.
+   */
+  String PREFIX = "orderjournal";
+
+  @ConfigurationEntry(
+      type = "Boolean",
+      description = {
+        "Whether to journal transport orders and order sequences.",
+        "If enabled, journaled orders and sequences are restored when the kernel enters operating "
+        + "mode after a restart.",
+        "They are discarded when the kernel switches from operating to modelling mode."
+      },
+      orderKey = "0_enable")
+  boolean enable();
+
+  @ConfigurationEntry(
+      type = "String",
+      description = {
+        "When to force journal records to the storage device. Valid values:",
+        "'BATCH': After every batch of records written, i.e. records written while a preceding "
+        + "batch was being forced are forced together.",
+        "'INTERVAL': Periodically, at the interval set via 'syncInterval'.",
+        "'NONE': Leave this to the operating system.",
+        "(Records are never lost due to the kernel crashing, but records not forced, yet, may be "
+        + "lost due to the operating system crashing or a power loss.)"
+      },
+      orderKey = "1_sync_0")
+  SyncPolicy syncPolicy();
+
+  @ConfigurationEntry(
+      type = "Long",
+      description = "The interval at which journal records are forced with the 'INTERVAL' policy "
+          + "(in ms).",
+      orderKey = "1_sync_1")
+  long syncInterval();
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = {
+        "The number of journal records after which a compacted snapshot of all orders and "
+        + "sequences is written and the journal is started anew.",
+        "(Lower values reduce the time required for restoring orders, higher values reduce the "
+        + "overhead of writing snapshots.)"
+      },
+      orderKey = "2_snapshot")
+  int snapshotRecordThreshold();
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = "The size of the regions of the journal file that are mapped into memory for "
+          + "writing (in bytes).",
+      orderKey = "3_mappedRegionSize")
+  int mappedRegionSize();
+
+  /**
+   * The policies for forcing journal records to the storage device.
+   */
+  enum SyncPolicy {
+    /**
+     * Records are forced after every batch of records written.
+     */
+    BATCH,
+    /**
+     * Records are forced periodically.
+     */
+    INTERVAL,
+    /**
+     * Records are not forced explicitly.
+     */
+    NONE;
+  }
+}
@@ -0,0 +1,638 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.persistence;
+
+import java.awt.Color;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.CRC32;
+import org.opentcs.access.to.model.BlockCreationTO;
+import org.opentcs.access.to.model.LocationCreationTO;
+import org.opentcs.access.to.model.LocationTypeCreationTO;
+import org.opentcs.access.to.model.PathCreationTO;
+import org.opentcs.access.to.model.PlantModelCreationTO;
+import org.opentcs.access.to.model.PointCreationTO;
+import org.opentcs.access.to.model.VehicleCreationTO;
+import org.opentcs.access.to.model.VisualLayoutCreationTO;
+import org.opentcs.access.to.peripherals.PeripheralOperationCreationTO;
+import org.opentcs.data.model.Block;
+import org.opentcs.data.model.Couple;
+import org.opentcs.data.model.Path.Layout.ConnectionType;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Triple;
+import org.opentcs.data.model.visualization.Layer;
+import org.opentcs.data.model.visualization.LayerGroup;
+import org.opentcs.data.model.visualization.LocationRepresentation;
+import org.opentcs.data.peripherals.PeripheralOperation;
+
+/**
+ * Reads and writes binary snapshots of plant models.
+ * <p>
+ * A snapshot starts with a header containing a magic number, the version of the snapshot format
+ * and the checksum of the model file the snapshot was created from.
+ * It is followed by a table of all distinct strings used in the model, so that every string is
+ * stored only once, and the model's elements, which refer to strings by their index in the table.
+ * Integers are stored with a variable length and collections are prefixed with their sizes.
+ * Snapshots are read from memory-mapped files.
+ * The mappings are released explicitly once a file has been read, as a mapped file cannot be
+ * replaced or deleted on some operating systems (e.g. Windows) as long as it is mapped.
+ * </p>
+ * <p>
+ * A snapshot contains the same data as the model file it was created from, i.e. it does not
+ * contain groups or more than one visual layout.
+ * </p>
+ */
+class PlantModelSnapshot {
+
+  /**
+   * The magic number every snapshot file starts with.
+   */
+  static final int MAGIC_NUMBER = 0x4F54434D;
+  /**
+   * The version of the snapshot format written.
+   * Needs to be increased whenever the format is changed.
+   */
+  static final int FORMAT_VERSION = 1;
+
+  /**
+   * Prevents instantiation.
+   */
+  private PlantModelSnapshot() {
+  }
+
+  /**
+   * Computes the checksum of the given file, which is to be stored in and compared with snapshots
+   * created from it.
+   *
+   * @param path The path of the file.
+   * @return The file's checksum.
+   * @throws IOException If the file could not be read.
+   */
+  public static long checksum(Path path)
+      throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      try {
+        CRC32 checksum = new CRC32();
+        checksum.update(buffer);
+        // Include the file's size, making collisions between changed files even less likely.
+        return (channel.size() << 32) | checksum.getValue();
+      }
+      finally {
+        JournalFile.unmap(buffer);
+      }
+    }
+  }
+
+  /**
+   * Writes a snapshot of the given model to a new file, replacing an existing file atomically.
+   *
+   * @param path The path of the snapshot file.
+   * @param model The model.
+   * @param sourceChecksum The checksum of the model file the model was read from.
+   * @throws IOException If the file could not be written.
+   */
+  public static void write(Path path, PlantModelCreationTO model, long sourceChecksum)
+      throws IOException {
+    Encoder body = new Encoder();
+    body.writeModel(model);
+    Encoder stringTable = new Encoder();
+    stringTable.writeStringTable(body.stringTable);
+
+    Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+    try (FileOutputStream fileOut = new FileOutputStream(tempPath.toFile());
+         DataOutputStream out = new DataOutputStream(fileOut)) {
+      out.writeInt(MAGIC_NUMBER);
+      out.writeInt(FORMAT_VERSION);
+      out.writeLong(sourceChecksum);
+      stringTable.writeTo(out);
+      body.writeTo(out);
+      out.flush();
+      fileOut.getFD().sync();
+    }
+    Files.move(tempPath,
+               path,
+               StandardCopyOption.REPLACE_EXISTING,
+               StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Reads a model from the given snapshot file.
+   *
+   * @param path The path of the snapshot file.
+   * @param sourceChecksum The checksum of the model file the snapshot is expected to have been
+   * created from.
+   * @return The model, or an empty optional, if the snapshot was created from a different model
+   * file or with a different version of the snapshot format.
+   * @throws IOException If the file could not be read or is not a valid snapshot.
+   */
+  public static Optional<PlantModelCreationTO> read(Path path, long sourceChecksum)
+      throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      try {
+        return read(path, buffer, sourceChecksum);
+      }
+      finally {
+        // Decoded strings are copied from the buffer, so nothing refers to it any more.
+        JournalFile.unmap(buffer);
+      }
+    }
+  }
+
+  private static Optional<PlantModelCreationTO> read(Path path,
+                                                     ByteBuffer buffer,
+                                                     long sourceChecksum)
+      throws IOException {
+    try {
+      if (buffer.getInt() != MAGIC_NUMBER) {
+        throw new IOException("Not a model snapshot: " + path);
+      }
+      if (buffer.getInt() != FORMAT_VERSION || buffer.getLong() != sourceChecksum) {
+        return Optional.empty();
+      }
+      Decoder decoder = new Decoder(buffer);
+      decoder.readStringTable();
+      PlantModelCreationTO model = decoder.readModel();
+      if (buffer.hasRemaining()) {
+        throw new IOException("Unexpected data at the end of model snapshot: " + path);
+      }
+      return Optional.of(model);
+    }
+    catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException
+               | ArithmeticException exc) {
+      throw new IOException("Invalid model snapshot: " + path, exc);
+    }
+  }
+
+  /**
+   * Encodes model elements, collecting the strings used in them.
+   */
+  private static class Encoder
+      extends ByteArrayOutputStream {
+
+    /**
+     * The strings written so far, in the order of their indices.
+     */
+    private final List<String> stringTable = new ArrayList<>();
+    /**
+     * The strings written so far, mapped to their indices.
+     */
+    private final Map<String, Integer> stringIndices = new HashMap<>();
+
+    Encoder() {
+      super(64 * 1024);
+    }
+
+    void writeStringTable(List<String> strings) {
+      writeSize(strings.size());
+      for (String string : strings) {
+        byte[] bytes = string.getBytes(UTF_8);
+        writeSize(bytes.length);
+        write(bytes, 0, bytes.length);
+      }
+    }
+
+    void writeModel(PlantModelCreationTO model) {
+      writeString(model.getName());
+      writeProperties(model.getProperties());
+
+      writeSize(model.getPoints().size());
+      for (PointCreationTO point : model.getPoints()) {
+        writeString(point.getName());
+        writeProperties(point.getProperties());
+        writeTriple(point.getPosition());
+        writeDouble(point.getVehicleOrientationAngle());
+        writeString(point.getType().name());
+        writeCouple(point.getLayout().getPosition());
+        writeCouple(point.getLayout().getLabelOffset());
+        writeInt(point.getLayout().getLayerId());
+      }
+
+      writeSize(model.getPaths().size());
+      for (PathCreationTO path : model.getPaths()) {
+        writeString(path.getName());
+        writeProperties(path.getProperties());
+        writeString(path.getSrcPointName());
+        writeString(path.getDestPointName());
+        writeLong(path.getLength());
+        writeInt(path.getMaxVelocity());
+        writeInt(path.getMaxReverseVelocity());
+        writeSize(path.getPeripheralOperations().size());
+        for (PeripheralOperationCreationTO operation : path.getPeripheralOperations()) {
+          writeString(operation.getOperation());
+          writeString(operation.getLocationName());
+          writeString(operation.getExecutionTrigger().name());
+          writeBoolean(operation.isCompletionRequired());
+        }
+        writeBoolean(path.isLocked());
+        writeString(path.getLayout().getConnectionType().name());
+        writeSize(path.getLayout().getControlPoints().size());
+        for (Couple controlPoint : path.getLayout().getControlPoints()) {
+          writeCouple(controlPoint);
+        }
+        writeInt(path.getLayout().getLayerId());
+      }
+
+      writeSize(model.getVehicles().size());
+      for (VehicleCreationTO vehicle : model.getVehicles()) {
+        writeString(vehicle.getName());
+        writeProperties(vehicle.getProperties());
+        writeInt(vehicle.getLength());
+        writeInt(vehicle.getEnergyLevelCritical());
+        writeInt(vehicle.getEnergyLevelGood());
+        writeInt(vehicle.getEnergyLevelFullyRecharged());
+        writeInt(vehicle.getEnergyLevelSufficientlyRecharged());
+        writeInt(vehicle.getMaxVelocity());
+        writeInt(vehicle.getMaxReverseVelocity());
+        writeColor(vehicle.getLayout().getRouteColor());
+      }
+
+      writeSize(model.getLocationTypes().size());
+      for (LocationTypeCreationTO locationType : model.getLocationTypes()) {
+        writeString(locationType.getName());
+        writeProperties(locationType.getProperties());
+        writeStrings(locationType.getAllowedOperations());
+        writeStrings(locationType.getAllowedPeripheralOperations());
+        writeString(locationType.getLayout().getLocationRepresentation().name());
+      }
+
+      writeSize(model.getLocations().size());
+      for (LocationCreationTO location : model.getLocations()) {
+        writeString(location.getName());
+        writeProperties(location.getProperties());
+        writeString(location.getTypeName());
+        writeTriple(location.getPosition());
+        writeSize(location.getLinks().size());
+        for (Map.Entry<String, Set<String>> link : location.getLinks().entrySet()) {
+          writeString(link.getKey());
+          writeStrings(link.getValue());
+        }
+        writeBoolean(location.isLocked());
+        writeCouple(location.getLayout().getPosition());
+        writeCouple(location.getLayout().getLabelOffset());
+        writeString(location.getLayout().getLocationRepresentation().name());
+        writeInt(location.getLayout().getLayerId());
+      }
+
+      writeSize(model.getBlocks().size());
+      for (BlockCreationTO block : model.getBlocks()) {
+        writeString(block.getName());
+        writeProperties(block.getProperties());
+        writeString(block.getType().name());
+        writeStrings(block.getMemberNames());
+        writeColor(block.getLayout().getColor());
+      }
+
+      VisualLayoutCreationTO visualLayout = model.getVisualLayout();
+      writeString(visualLayout.getName());
+      writeProperties(visualLayout.getProperties());
+      writeDouble(visualLayout.getScaleX());
+      writeDouble(visualLayout.getScaleY());
+      writeSize(visualLayout.getLayers().size());
+      for (Layer layer : visualLayout.getLayers()) {
+        writeInt(layer.getId());
+        writeInt(layer.getOrdinal());
+        writeBoolean(layer.isVisible());
+        writeString(layer.getName());
+        writeInt(layer.getGroupId());
+      }
+      writeSize(visualLayout.getLayerGroups().size());
+      for (LayerGroup layerGroup : visualLayout.getLayerGroups()) {
+        writeInt(layerGroup.getId());
+        writeString(layerGroup.getName());
+        writeBoolean(layerGroup.isVisible());
+      }
+    }
+
+    private void writeProperties(Map<String, String> properties) {
+      writeSize(properties.size());
+      for (Map.Entry<String, String> property : properties.entrySet()) {
+        writeString(property.getKey());
+        writeString(property.getValue());
+      }
+    }
+
+    private void writeStrings(Collection<String> values) {
+      writeSize(values.size());
+      for (String value : values) {
+        writeString(value);
+      }
+    }
+
+    private void writeString(String value) {
+      Integer index = stringIndices.get(value);
+      if (index == null) {
+        index = stringTable.size();
+        stringTable.add(value);
+        stringIndices.put(value, index);
+      }
+      writeSize(index);
+    }
+
+    private void writeTriple(Triple triple) {
+      writeLong(triple.getX());
+      writeLong(triple.getY());
+      writeLong(triple.getZ());
+    }
+
+    private void writeCouple(Couple couple) {
+      writeLong(couple.getX());
+      writeLong(couple.getY());
+    }
+
+    private void writeColor(Color color) {
+      writeInt(color.getRGB());
+    }
+
+    private void writeBoolean(boolean value) {
+      write(value ? 1 : 0);
+    }
+
+    private void writeDouble(double value) {
+      long bits = Double.doubleToLongBits(value);
+      for (int shift = 56; shift >= 0; shift -= 8) {
+        write((int) (bits >>> shift));
+      }
+    }
+
+    private void writeInt(int value) {
+      writeLong(value);
+    }
+
+    private void writeLong(long value) {
+      // Zigzag encoding, so that small negative values are stored with few bytes, too.
+      writeUnsigned((value << 1) ^ (value >> 63));
+    }
+
+    private void writeSize(int size) {
+      writeUnsigned(size);
+    }
+
+    private void writeUnsigned(long value) {
+      while ((value & ~0x7FL) != 0) {
+        write((int) ((value & 0x7F) | 0x80));
+        value >>>= 7;
+      }
+      write((int) value);
+    }
+  }
+
+  /**
+   * Decodes model elements.
+   */
+  private static class Decoder {
+
+    /**
+     * The buffer to read from.
+     */
+    private final ByteBuffer buffer;
+    /**
+     * The table of strings the model elements refer to.
+     */
+    private String[] stringTable;
+
+    Decoder(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    void readStringTable() {
+      stringTable = new String[readSize()];
+      for (int i = 0; i < stringTable.length; i++) {
+        byte[] bytes = new byte[readSize()];
+        buffer.get(bytes);
+        stringTable[i] = new String(bytes, UTF_8);
+      }
+    }
+
+    PlantModelCreationTO readModel() {
+      PlantModelCreationTO model = new PlantModelCreationTO(readString())
+          .withProperties(readProperties());
+
+      List<PointCreationTO> points = new ArrayList<>();
+      for (int i = readSize(); i > 0; i--) {
+        points.add(
+            new PointCreationTO(readString())
+                .withProperties(readProperties())
+                .withPosition(readTriple())
+                .withVehicleOrientationAngle(readDouble())
+                .withType(Point.Type.valueOf(readString()))
+                .withLayout(new PointCreationTO.Layout(readCouple(), readCouple(), readInt()))
+        );
+      }
+
+      List<PathCreationTO> paths = new ArrayList<>();
+      for (int i = readSize(); i > 0; i--) {
+        String name = readString();
+        Map<String, String> properties = readProperties();
+        PathCreationTO path = new PathCreationTO(name, readString(), readString())
+            .withProperties(properties)
+            .withLength(readLong())
+            .withMaxVelocity(readInt())
+            .withMaxReverseVelocity(readInt());
+        List<PeripheralOperationCreationTO> operations = new ArrayList<>();
+        for (int j = readSize(); j > 0; j--) {
+          operations.add(
+              new PeripheralOperationCreationTO(readString(), readString())
+                  .withExecutionTrigger(PeripheralOperation.ExecutionTrigger.valueOf(readString()))
+                  .withCompletionRequired(readBoolean())
+          );
+        }
+        boolean locked = readBoolean();
+        ConnectionType connectionType = ConnectionType.valueOf(readString());
+        List<Couple> controlPoints = new ArrayList<>();
+        for (int j = readSize(); j > 0; j--) {
+          controlPoints.add(readCouple());
+        }
+        paths.add(
+            path.withPeripheralOperations(operations)
+                .withLocked(locked)
+                .withLayout(new PathCreationTO.Layout(connectionType, controlPoints, readInt()))
+        );
+      }
+
+      List<VehicleCreationTO> vehicles = new ArrayList<>();
+      for (int i = readSize(); i > 0; i--) {
+        vehicles.add(
+            new VehicleCreationTO(readString())
+                .withProperties(readProperties())
+                .withLength(readInt())
+                .withEnergyLevelCritical(readInt())
+                .withEnergyLevelGood(readInt())
+                .withEnergyLevelFullyRecharged(readInt())
+                .withEnergyLevelSufficientlyRecharged(readInt())
+                .withMaxVelocity(readInt())
+                .withMaxReverseVelocity(readInt())
+                .withLayout(new VehicleCreationTO.Layout(readColor()))
+        );
+      }
+
+      List<LocationTypeCreationTO> locationTypes = new ArrayList<>();
+      for (int i = readSize(); i > 0; i--) {
+        locationTypes.add(
+            new LocationTypeCreationTO(readString())
+                .withProperties(readProperties())
+                .withAllowedOperations(readStrings(new ArrayList<>()))
+                .withAllowedPeripheralOperations(readStrings(new ArrayList<>()))
+                .withLayout(new LocationTypeCreationTO.Layout(
+                    LocationRepresentation.valueOf(readString())
+                ))
+        );
+      }
+
+      List<LocationCreationTO> locations = new ArrayList<>();
+      for (int i = readSize(); i > 0; i--) {
+        String name = readString();
+        Map<String, String> properties = readProperties();
+        LocationCreationTO location = new LocationCreationTO(name, readString(), readTriple())
+            .withProperties(properties);
+        int linkCount = readSize();
+        Map<String, Set<String>> links = new HashMap<>(linkCount * 2);
+        for (int j = linkCount; j > 0; j--) {
+          links.put(readString(), readStrings(new HashSet<>()));
+        }
+        locations.add(
+            location.withLinks(links)
+                .withLocked(readBoolean())
+                .withLayout(new LocationCreationTO.Layout(readCouple(),
+                                                          readCouple(),
+                                                          LocationRepresentation.valueOf(
+                                                              readString()
+                                                          ),
+                                                          readInt()))
+        );
+      }
+
+      List<BlockCreationTO> blocks = new ArrayList<>();
+      for (int i = readSize(); i > 0; i--) {
+        blocks.add(
+            new BlockCreationTO(readString())
+                .withProperties(readProperties())
+                .withType(Block.Type.valueOf(readString()))
+                .withMemberNames(readStrings(new HashSet<>()))
+                .withLayout(new BlockCreationTO.Layout(readColor()))
+        );
+      }
+
+      VisualLayoutCreationTO visualLayout = new VisualLayoutCreationTO(readString())
+          .withProperties(readProperties())
+          .withScaleX(readDouble())
+          .withScaleY(readDouble());
+      List<Layer> layers = new ArrayList<>();
+      for (int i = readSize(); i > 0; i--) {
+        layers.add(new Layer(readInt(), readInt(), readBoolean(), readString(), readInt()));
+      }
+      List<LayerGroup> layerGroups = new ArrayList<>();
+      for (int i = readSize(); i > 0; i--) {
+        layerGroups.add(new LayerGroup(readInt(), readString(), readBoolean()));
+      }
+
+      return model
+          .withPoints(points)
+          .withPaths(paths)
+          .withVehicles(vehicles)
+          .withLocationTypes(locationTypes)
+          .withLocations(locations)
+          .withBlocks(blocks)
+          .withVisualLayout(visualLayout.withLayers(layers).withLayerGroups(layerGroups));
+    }
+
+    private Map<String, String> readProperties() {
+      int size = readSize();
+      Map<String, String> result = new HashMap<>(size * 2);
+      for (int i = size; i > 0; i--) {
+        result.put(readString(), readString());
+      }
+      return result;
+    }
+
+    private <C extends Collection<String>> C readStrings(C result) {
+      for (int i = readSize(); i > 0; i--) {
+        result.add(readString());
+      }
+      return result;
+    }
+
+    private String readString() {
+      return stringTable[Math.toIntExact(readUnsigned())];
+    }
+
+    private Triple readTriple() {
+      return new Triple(readLong(), readLong(), readLong());
+    }
+
+    private Couple readCouple() {
+      return new Couple(readLong(), readLong());
+    }
+
+    private Color readColor() {
+      return new Color(readInt(), true);
+    }
+
+    private boolean readBoolean() {
+      byte value = buffer.get();
+      if (value != 0 && value != 1) {
+        throw new IllegalArgumentException("Not a boolean value: " + value);
+      }
+      return value == 1;
+    }
+
+    private double readDouble() {
+      return buffer.getDouble();
+    }
+
+    private int readInt() {
+      return Math.toIntExact(readLong());
+    }
+
+    private long readLong() {
+      long value = readUnsigned();
+      return (value >>> 1) ^ -(value & 1);
+    }
+
+    private int readSize() {
+      long size = readUnsigned();
+      if (size > buffer.remaining()) {
+        // Every element of a collection takes up at least one byte.
+        throw new IllegalArgumentException("Invalid size: " + size);
+      }
+      return (int) size;
+    }
+
+    private long readUnsigned() {
+      long result = 0;
+      for (int shift = 0; shift < 64; shift += 7) {
+        byte next = buffer.get();
+        result |= (long) (next & 0x7F) << shift;
+        if ((next & 0x80) == 0) {
+          return result;
+        }
+      }
+      throw new IllegalArgumentException("Malformed variable-length integer");
+    }
+  }
+}
@@ -19,6 +19,7 @@ import static java.util.Optional.ofNullable;
 import javax.inject.Inject;
 import org.opentcs.access.to.model.PlantModelCreationTO;
 import org.opentcs.customizations.ApplicationHome;
+import org.opentcs.kernel.KernelApplicationConfiguration;
 import static org.opentcs.util.Assertions.checkState;
 import org.opentcs.util.FileSystems;
 import org.opentcs.util.persistence.ModelParser;
@@ -28,6 +29,12 @@ import org.slf4j.LoggerFactory;
 /**
  * A ModelPersister implementation realizing persistence of models with XML
  * files.
+ * <p>
+ * If configured to do so, a binary snapshot of the model is kept next to the XML file and used for
+ * loading the model as long as the XML file has not been changed since the snapshot was written.
+ * The snapshot is written whenever the model has been parsed from the XML file, so it always
+ * contains the same data as the XML file.
+ * </p>
  *
  * @author Stefan Walter (Fraunhofer IML)
  * @author Tobias Marquardt (Fraunhofer IML)
@@ -43,6 +50,10 @@ public class XMLFileModelPersister
    * The name of the model file in the model directory.
    */
   private static final String MODEL_FILE_NAME = "model.xml";
+  /**
+   * The name of the model snapshot file in the model directory.
+   */
+  private static final String SNAPSHOT_FILE_NAME = "model.snapshot";
   /**
    * The directory path for the persisted model.
    */
@@ -51,24 +62,36 @@ public class XMLFileModelPersister
    * The model file.
    */
   private final File modelFile;
+  /**
+   * The model snapshot file.
+   */
+  private final File snapshotFile;
   /**
    * Reads and writes models into xml files.
    */
   private final ModelParser modelParser;
+  /**
+   * The kernel application's configuration.
+   */
+  private final KernelApplicationConfiguration configuration;
 
   /**
    * Creates a new XMLFileModelPersister.
    *
    * @param directory The application's home directory.
    * @param modelParser Reads and writes into the xml file.
+   * @param configuration The kernel application's configuration.
    */
   @Inject
   public XMLFileModelPersister(@ApplicationHome File directory,
-                               ModelParser modelParser) {
+                               ModelParser modelParser,
+                               KernelApplicationConfiguration configuration) {
     this.modelParser = requireNonNull(modelParser, "modelParser");
+    this.configuration = requireNonNull(configuration, "configuration");
     this.dataDirectory = new File(requireNonNull(directory, "directory"), "data");
 
     this.modelFile = new File(dataDirectory, MODEL_FILE_NAME);
+    this.snapshotFile = new File(dataDirectory, SNAPSHOT_FILE_NAME);
   }
 
   @Override
@@ -77,7 +100,7 @@ public class XMLFileModelPersister
     if (!hasSavedModel()) {
       return Optional.empty();
     }
-    return Optional.of(readXMLModelName(modelFile));
+    return Optional.of(readModelName());
   }
 
   @Override
@@ -99,6 +122,8 @@ public class XMLFileModelPersister
         createBackup();
       }
 
+      // The snapshot will be recreated from the written model file when the model is read.
+      Files.deleteIfExists(snapshotFile.toPath());
       modelParser.writeModel(model, modelFile);
     }
     catch (IOException exc) {
@@ -115,7 +140,7 @@ public class XMLFileModelPersister
     }
 
     // Read the model from the file.
-    return readXMLModel(modelFile);
+    return configuration.useModelSnapshot() ? readModelUsingSnapshot() : readXMLModel(modelFile);
   }
 
   @Override
@@ -184,6 +209,7 @@ public class XMLFileModelPersister
     }
     try {
       createBackup();
+      Files.deleteIfExists(snapshotFile.toPath());
       if (!FileSystems.deleteRecursively(modelFile)) {
         throw new IOException("Cannot delete " + modelFile.getPath());
       }
@@ -194,17 +220,59 @@ public class XMLFileModelPersister
   }
 
   /**
-   * Reads a model's name from a given InputStream.
+   * Reads the model's name, from the snapshot file if possible.
    *
-   * @param modelFile The file containing the model.
-   * @throws IOException If an exception occured while loading
+   * @return The model's name.
+   * @throws IllegalStateException If the model file could not be read.
    */
-  private String readXMLModelName(File modelFile)
+  private String readModelName()
       throws IllegalStateException {
-    return ofNullable(emptyToNull(readXMLModel(modelFile).getName()))
+    return ofNullable(emptyToNull(readModel().getName()))
         .orElse("ModelNameMissing");
   }
 
+  /**
+   * Reads the model from the snapshot file if it was written for the current model file, or from
+   * the model file, writing a new snapshot file.
+   *
+   * @return The model.
+   * @throws IllegalStateException If the model file could not be read.
+   */
+  private PlantModelCreationTO readModelUsingSnapshot()
+      throws IllegalStateException {
+    long modelChecksum;
+    try {
+      modelChecksum = PlantModelSnapshot.checksum(modelFile.toPath());
+    }
+    catch (IOException exc) {
+      throw new IllegalStateException("Exception reading model file", exc);
+    }
+
+    if (snapshotFile.isFile()) {
+      try {
+        Optional<PlantModelCreationTO> model
+            = PlantModelSnapshot.read(snapshotFile.toPath(), modelChecksum);
+        if (model.isPresent()) {
+          LOG.debug("Read model from snapshot file {}.", snapshotFile.getPath());
+          return model.get();
+        }
+        LOG.debug("Snapshot file {} is outdated.", snapshotFile.getPath());
+      }
+      catch (IOException exc) {
+        LOG.warn("Exception reading snapshot file, reading model file instead", exc);
+      }
+    }
+
+    PlantModelCreationTO model = readXMLModel(modelFile);
+    try {
+      PlantModelSnapshot.write(snapshotFile.toPath(), model, modelChecksum);
+    }
+    catch (IOException exc) {
+      LOG.warn("Exception writing snapshot file", exc);
+    }
+    return model;
+  }
+
   /**
    * Reads a model from a given InputStream.
    *
@@ -19,6 +19,8 @@ import org.opentcs.data.ObjectHistory;
 import org.opentcs.data.ObjectUnknownException;
 import org.opentcs.data.TCSObject;
 import org.opentcs.data.TCSObjectReference;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.TransportOrder;
 
 /**
  * Delegate method calls to the {@link TCSObjectService} implementation.
@@ -67,6 +69,18 @@ public abstract class AbstractTCSObjectService
     return getObjectService().fetchObjects(clazz, predicate);
   }
 
+  @Override
+  public Set<TransportOrder> fetchTransportOrders(@Nonnull TransportOrder.State state)
+      throws KernelRuntimeException {
+    return getObjectService().fetchTransportOrders(state);
+  }
+
+  @Override
+  public Set<TransportOrder> fetchTransportOrders(@Nonnull TCSObjectReference<Vehicle> vehicleRef)
+      throws KernelRuntimeException {
+    return getObjectService().fetchTransportOrders(vehicleRef);
+  }
+
   @Override
   public void updateObjectProperty(TCSObjectReference<?> ref,
                                    String key,
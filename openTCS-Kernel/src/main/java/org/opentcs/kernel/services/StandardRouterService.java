@@ -7,6 +7,7 @@
  */
 package org.opentcs.kernel.services;
 
+import java.util.Collections;
 import static java.util.Objects.requireNonNull;
 import javax.inject.Inject;
 import org.opentcs.access.Kernel;
@@ -83,10 +84,12 @@ public class StandardRouterService
   public void updatePathLock(TCSObjectReference<Path> ref, boolean locked)
       throws ObjectUnknownException {
     synchronized (globalSyncObject) {
-      model.setPathLocked(ref, locked);
+      Path path = model.setPathLocked(ref, locked);
       if (kernel.getState() == Kernel.State.OPERATING
           && configuration.updateRoutingTopologyOnPathLockChange()) {
-        updateRoutingTopology();
+        // Only the edges for this single path changed, so let the router update incrementally.
+        router.topologyChanged(Collections.singleton(path));
+        dispatcher.topologyChanged();
       }
     }
   }
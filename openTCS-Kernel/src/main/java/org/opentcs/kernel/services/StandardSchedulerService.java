@@ -12,7 +12,6 @@ import javax.inject.Inject;
 import org.opentcs.access.SchedulerAllocationState;
 import org.opentcs.components.kernel.Scheduler;
 import org.opentcs.components.kernel.services.SchedulerService;
-import org.opentcs.customizations.kernel.GlobalSyncObject;
 
 /**
  * This class is the standard implementation of the {@link SchedulerService} interface.
@@ -22,10 +21,6 @@ import org.opentcs.customizations.kernel.GlobalSyncObject;
 public class StandardSchedulerService
     implements SchedulerService {
 
-  /**
-   * A global object to be used for synchronization within the kernel.
-   */
-  private final Object globalSyncObject;
   /**
    * The scheduler.
    */
@@ -34,20 +29,17 @@ public class StandardSchedulerService
   /**
    * Creates a new instance.
    *
-   * @param globalSyncObject The kernel threads' global synchronization object.
    * @param scheduler The scheduler.
    */
   @Inject
-  public StandardSchedulerService(@GlobalSyncObject Object globalSyncObject,
-                                  Scheduler scheduler) {
-    this.globalSyncObject = requireNonNull(globalSyncObject, "globalSyncObject");
+  public StandardSchedulerService(Scheduler scheduler) {
     this.scheduler = requireNonNull(scheduler, "scheduler");
   }
 
   @Override
   public SchedulerAllocationState fetchSchedulerAllocations() {
-    synchronized (globalSyncObject) {
-      return new SchedulerAllocationState(scheduler.getAllocations());
-    }
+    // The scheduler guards its allocations itself, so don't hold the global sync object while it
+    // acquires its own locks.
+    return new SchedulerAllocationState(scheduler.getAllocations());
   }
 }
@@ -20,6 +20,8 @@ import org.opentcs.data.ObjectHistory;
 import org.opentcs.data.ObjectUnknownException;
 import org.opentcs.data.TCSObject;
 import org.opentcs.data.TCSObjectReference;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.TransportOrder;
 import org.opentcs.kernel.workingset.TCSObjectPool;
 
 /**
@@ -86,6 +88,20 @@ public class StandardTCSObjectService
     }
   }
 
+  @Override
+  public Set<TransportOrder> fetchTransportOrders(@Nonnull TransportOrder.State state) {
+    synchronized (getGlobalSyncObject()) {
+      return getGlobalObjectPool().getTransportOrders(state);
+    }
+  }
+
+  @Override
+  public Set<TransportOrder> fetchTransportOrders(@Nonnull TCSObjectReference<Vehicle> vehicleRef) {
+    synchronized (getGlobalSyncObject()) {
+      return getGlobalObjectPool().getTransportOrders(vehicleRef);
+    }
+  }
+
   @Override
   public void updateObjectProperty(TCSObjectReference<?> ref, String key, @Nullable String value)
       throws ObjectUnknownException {
@@ -165,6 +165,14 @@ public class StandardTransportOrderService
     }
   }
 
+  @Override
+  public List<TransportOrder> createTransportOrders(List<TransportOrderCreationTO> tos)
+      throws ObjectUnknownException, ObjectExistsException {
+    synchronized (globalSyncObject) {
+      return orderPool.createTransportOrders(tos);
+    }
+  }
+
   @Override
   public void markOrderSequenceComplete(TCSObjectReference<OrderSequence> ref)
       throws ObjectUnknownException {
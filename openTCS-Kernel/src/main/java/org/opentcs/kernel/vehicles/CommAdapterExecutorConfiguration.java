@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.vehicles;
+
+import org.opentcs.configuration.ConfigurationEntry;
+import org.opentcs.configuration.ConfigurationPrefix;
+
+/**
+ * Provides methods to configure the executors of vehicle communication adapters.
+ */
+@ConfigurationPrefix(CommAdapterExecutorConfiguration.PREFIX)
+public interface CommAdapterExecutorConfiguration {
+
+  /**
+   * This configuration's prefix.
+   */
+  String PREFIX = "commadapterexecutor";
+
+  @ConfigurationEntry(
+      type = "Boolean",
+      description = {
+        "Whether to give every communication adapter a serial executor of its own instead of "
+        + "letting all of them use the kernel executor.",
+        "If enabled, the adapters' executors share a pool of threads, and vehicle controllers "
+        + "process the adapters' updates on the kernel executor, in batches and in the order they "
+        + "were reported."
+      },
+      orderKey = "0_dedicatedExecutors")
+  boolean dedicatedExecutors();
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = {
+        "The number of threads shared by the communication adapters' executors.",
+        "(Zero selects the number of available processors.)"
+      },
+      orderKey = "1_poolSize")
+  int poolSize();
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = "The maximum number of tasks a communication adapter's executor executes in a "
+          + "row before yielding its thread to other adapters.",
+      orderKey = "2_taskBatchSize")
+  int taskBatchSize();
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = "The maximum number of a communication adapter's updates a vehicle controller "
+          + "processes in a row on the kernel executor before yielding it to other tasks.",
+      orderKey = "3_updateBatchSize")
+  int updateBatchSize();
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = {
+        "The number of a communication adapter's updates pending processing above which a vehicle "
+        + "controller reports its adapter to be overloading the kernel.",
+        "(Updates are never discarded or delayed on the adapter's side, as that could stall the "
+        + "adapter while the kernel is waiting for it.)"
+      },
+      orderKey = "4_updateQueueCapacity")
+  int updateQueueCapacity();
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.vehicles;
+
+import static java.util.Objects.requireNonNull;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import org.opentcs.common.SerialScheduledExecutorService;
+import org.opentcs.components.kernel.KernelExtension;
+import org.opentcs.customizations.kernel.CommAdapterExecutor;
+import org.opentcs.customizations.kernel.KernelExecutor;
+import org.opentcs.util.logging.UncaughtExceptionLogger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Provides the executors for vehicle communication adapters, i.e. for injections of
+ * {@link CommAdapterExecutor}-annotated {@code ScheduledExecutorService}s.
+ * <p>
+ * If dedicated executors are enabled, every call yields a new serial executor, with all of these
+ * sharing a single pool of threads; otherwise every call yields the kernel executor.
+ * </p>
+ * <p>
+ * Registered as a kernel extension, the pool's threads are stopped when the kernel terminates.
+ * </p>
+ */
+@Singleton
+public class CommAdapterExecutorProvider
+    implements Provider<ScheduledExecutorService>,
+               KernelExtension {
+
+  /**
+   * This class's logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(CommAdapterExecutorProvider.class);
+  /**
+   * This class's configuration.
+   */
+  private final CommAdapterExecutorConfiguration configuration;
+  /**
+   * The kernel executor.
+   */
+  private final ScheduledExecutorService kernelExecutor;
+  /**
+   * The pool shared by all serial executors.
+   */
+  private ExecutorService pool;
+  /**
+   * The scheduler timing delayed and periodic tasks of all serial executors.
+   */
+  private ScheduledExecutorService timer;
+  /**
+   * Whether this instance is initialized.
+   */
+  private boolean initialized;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param configuration This class's configuration.
+   * @param kernelExecutor The kernel executor.
+   */
+  @Inject
+  public CommAdapterExecutorProvider(CommAdapterExecutorConfiguration configuration,
+                                     @KernelExecutor ScheduledExecutorService kernelExecutor) {
+    this.configuration = requireNonNull(configuration, "configuration");
+    this.kernelExecutor = requireNonNull(kernelExecutor, "kernelExecutor");
+  }
+
+  @Override
+  public synchronized void initialize() {
+    initialized = true;
+  }
+
+  @Override
+  public synchronized boolean isInitialized() {
+    return initialized;
+  }
+
+  @Override
+  public synchronized void terminate() {
+    if (pool != null) {
+      LOG.debug("Shutting down pool for comm adapter executors.");
+      timer.shutdownNow();
+      pool.shutdownNow();
+      timer = null;
+      pool = null;
+    }
+    initialized = false;
+  }
+
+  @Override
+  public synchronized ScheduledExecutorService get() {
+    if (!configuration.dedicatedExecutors()) {
+      return kernelExecutor;
+    }
+
+    if (pool == null) {
+      int poolSize = configuration.poolSize() > 0
+          ? configuration.poolSize()
+          : Runtime.getRuntime().availableProcessors();
+      LOG.debug("Creating pool with {} threads for comm adapter executors.", poolSize);
+      pool = Executors.newFixedThreadPool(poolSize, threadFactory("commAdapterExecutor-"));
+      timer = Executors.newSingleThreadScheduledExecutor(threadFactory("commAdapterTimer-"));
+    }
+    return new SerialScheduledExecutorService(pool, timer, configuration.taskBatchSize());
+  }
+
+  private static ThreadFactory threadFactory(String namePrefix) {
+    AtomicInteger threadNumber = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, namePrefix + threadNumber.incrementAndGet());
+      thread.setDaemon(true);
+      thread.setUncaughtExceptionHandler(new UncaughtExceptionLogger(false));
+      return thread;
+    };
+  }
+}
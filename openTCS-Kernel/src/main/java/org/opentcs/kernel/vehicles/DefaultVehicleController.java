@@ -23,6 +23,7 @@ import static java.util.Objects.requireNonNull;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
@@ -34,6 +35,7 @@ import org.opentcs.components.kernel.services.DispatcherService;
 import org.opentcs.components.kernel.services.InternalVehicleService;
 import org.opentcs.components.kernel.services.NotificationService;
 import org.opentcs.customizations.ApplicationEventBus;
+import org.opentcs.customizations.kernel.KernelExecutor;
 import org.opentcs.data.ObjectUnknownException;
 import org.opentcs.data.TCSObjectEvent;
 import org.opentcs.data.TCSObjectReference;
@@ -60,7 +62,7 @@ import static org.opentcs.util.Assertions.checkArgument;
 import static org.opentcs.util.Assertions.checkState;
 import org.opentcs.util.ExplainedBoolean;
 import org.opentcs.util.event.EventBus;
-import org.opentcs.util.event.EventHandler;
+import org.opentcs.util.event.SynchronousEventHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -73,7 +75,7 @@ import org.slf4j.LoggerFactory;
 public class DefaultVehicleController
     implements VehicleController,
                PropertyChangeListener,
-               EventHandler {
+               SynchronousEventHandler {
 
   /**
    * This class's Logger.
@@ -163,6 +165,15 @@ public class DefaultVehicleController
    * resources at a time (which can cause deadlocks).
    */
   private volatile boolean waitingForAllocation;
+  /**
+   * Coalesces high-frequency telemetry updates from the communication adapter.
+   */
+  private final TelemetryCoalescer telemetryCoalescer;
+  /**
+   * Hands updates from the communication adapter over to the kernel executor, or {@code null}, if
+   * they are processed on the thread reporting them.
+   */
+  private final ProcessModelEventRelay processModelEventRelay;
 
   /**
    * Creates a new instance associated with the given vehicle.
@@ -175,6 +186,9 @@ public class DefaultVehicleController
    * @param scheduler The scheduler managing resource allocations.
    * @param eventBus The event bus this instance should register with and send events to.
    * @param componentsFactory A factory for various components related to a vehicle controller.
+   * @param telemetryConfiguration The configuration for forwarding vehicle telemetry.
+   * @param kernelExecutor The kernel executor.
+   * @param executorConfiguration The configuration of the communication adapters' executors.
    */
   @Inject
   public DefaultVehicleController(@Assisted @Nonnull Vehicle vehicle,
@@ -184,7 +198,10 @@ public class DefaultVehicleController
                                   @Nonnull DispatcherService dispatcherService,
                                   @Nonnull Scheduler scheduler,
                                   @Nonnull @ApplicationEventBus EventBus eventBus,
-                                  @Nonnull VehicleControllerComponentsFactory componentsFactory) {
+                                  @Nonnull VehicleControllerComponentsFactory componentsFactory,
+                                  @Nonnull VehicleTelemetryConfiguration telemetryConfiguration,
+                                  @Nonnull @KernelExecutor ScheduledExecutorService kernelExecutor,
+                                  @Nonnull CommAdapterExecutorConfiguration executorConfiguration) {
     this.vehicle = requireNonNull(vehicle, "vehicle");
     this.commAdapter = requireNonNull(adapter, "adapter");
     this.vehicleService = requireNonNull(vehicleService, "vehicleService");
@@ -195,6 +212,16 @@ public class DefaultVehicleController
     requireNonNull(componentsFactory, "componentsFactory");
     this.peripheralInteractor
         = componentsFactory.createPeripheralInteractor(vehicle.getReference());
+    this.telemetryCoalescer = new TelemetryCoalescer(telemetryConfiguration,
+                                                     kernelExecutor,
+                                                     this::processProcessModelEvent);
+    this.processModelEventRelay = executorConfiguration.dedicatedExecutors()
+        ? new ProcessModelEventRelay(vehicle.getName(),
+                                     kernelExecutor,
+                                     this::handleProcessModelEvent,
+                                     executorConfiguration.updateBatchSize(),
+                                     executorConfiguration.updateQueueCapacity())
+        : null;
   }
 
   @Override
@@ -252,6 +279,10 @@ public class DefaultVehicleController
     peripheralInteractor.terminate();
 
     commAdapter.getProcessModel().removePropertyChangeListener(this);
+    if (processModelEventRelay != null) {
+      processModelEventRelay.clear();
+    }
+    telemetryCoalescer.clear();
     // Reset the vehicle's position.
     updatePosition(null, null);
     vehicleService.updateVehiclePrecisePosition(vehicle.getReference(), null);
@@ -271,7 +302,14 @@ public class DefaultVehicleController
       return;
     }
 
-    handleProcessModelEvent(evt);
+    if (processModelEventRelay != null) {
+      // With the adapter running on an executor of its own, process its updates on the kernel
+      // executor, in the order they were reported.
+      processModelEventRelay.relay(evt);
+    }
+    else {
+      handleProcessModelEvent(evt);
+    }
   }
 
   @Override
@@ -739,8 +777,16 @@ public class DefaultVehicleController
     dispatcherService.withdrawByVehicle(vehicle.getReference(), false);
   }
 
-  @SuppressWarnings("unchecked")
   private void handleProcessModelEvent(PropertyChangeEvent evt) {
+    if (telemetryCoalescer.offer(evt)) {
+      return;
+    }
+
+    processProcessModelEvent(evt);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void processProcessModelEvent(PropertyChangeEvent evt) {
     eventBus.onEvent(new ProcessModelEvent(evt.getPropertyName(),
                                            commAdapter.createTransferableProcessModel()));
 
@@ -30,8 +30,8 @@ import org.opentcs.data.order.TransportOrder;
 import org.opentcs.data.peripherals.PeripheralJob;
 import org.opentcs.data.peripherals.PeripheralOperation;
 import org.opentcs.drivers.vehicle.MovementCommand;
-import org.opentcs.util.event.EventHandler;
 import org.opentcs.util.event.EventSource;
+import org.opentcs.util.event.SynchronousEventHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,7 +42,7 @@ import org.slf4j.LoggerFactory;
  * @author Martin Grzenia (Fraunhofer IML)
  */
 public class PeripheralInteractor
-    implements EventHandler,
+    implements SynchronousEventHandler,
                Lifecycle {
 
   /**
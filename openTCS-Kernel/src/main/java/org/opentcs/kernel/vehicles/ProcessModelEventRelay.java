@@ -0,0 +1,211 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.vehicles;
+
+import java.beans.PropertyChangeEvent;
+import java.util.HashMap;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.opentcs.drivers.vehicle.VehicleProcessModel;
+import static org.opentcs.util.Assertions.checkArgument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hands updates of a communication adapter's process model over to the kernel executor.
+ * <p>
+ * Updates are processed in the order they were relayed, in batches of limited size, so that a
+ * single busy adapter cannot monopolize the kernel executor.
+ * Relaying never blocks: Adapters typically report updates while holding their own monitor, which
+ * the kernel executor may be waiting for, so a full queue is only reported, not enforced.
+ * </p>
+ * <p>
+ * To keep the queue from growing with high-frequency telemetry, an update of a vehicle's precise
+ * position, orientation angle or energy level replaces a pending update of the same attribute, as
+ * long as no update of another attribute has been relayed in between.
+ * Updates thus never overtake each other, and only superseded telemetry is discarded.
+ * </p>
+ */
+class ProcessModelEventRelay {
+
+  /**
+   * This class's logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(ProcessModelEventRelay.class);
+  /**
+   * The names of the attributes whose pending updates may be replaced by later ones.
+   */
+  private static final Set<String> TELEMETRY_ATTRIBUTES
+      = Set.of(VehicleProcessModel.Attribute.PRECISE_POSITION.name(),
+               VehicleProcessModel.Attribute.ORIENTATION_ANGLE.name(),
+               VehicleProcessModel.Attribute.ENERGY_LEVEL.name());
+  /**
+   * The name of the vehicle whose updates are relayed.
+   */
+  private final String vehicleName;
+  /**
+   * The kernel executor.
+   */
+  private final Executor kernelExecutor;
+  /**
+   * Processes the relayed updates.
+   */
+  private final Consumer<PropertyChangeEvent> handler;
+  /**
+   * The maximum number of updates to be processed in a row.
+   */
+  private final int batchSize;
+  /**
+   * The number of pending updates above which the queue is considered full.
+   */
+  private final int capacity;
+  /**
+   * The updates pending processing.
+   */
+  private final Queue<PendingUpdate> events = new ConcurrentLinkedQueue<>();
+  /**
+   * The pending telemetry updates that may still be replaced, mapped to their attributes' names.
+   */
+  private final Map<String, PendingUpdate> replaceableUpdates = new HashMap<>();
+  /**
+   * The number of updates pending processing.
+   */
+  private final AtomicInteger eventCount = new AtomicInteger();
+  /**
+   * Whether processing of pending updates has been submitted to the kernel executor.
+   */
+  private final AtomicBoolean drainScheduled = new AtomicBoolean();
+  /**
+   * Whether the queue's capacity has been exceeded since it was last drained completely.
+   */
+  private volatile boolean overloaded;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param vehicleName The name of the vehicle whose updates are relayed.
+   * @param kernelExecutor The kernel executor.
+   * @param handler Processes the relayed updates.
+   * @param batchSize The maximum number of updates to be processed in a row.
+   * @param capacity The number of pending updates above which the queue is considered full.
+   */
+  ProcessModelEventRelay(String vehicleName,
+                         Executor kernelExecutor,
+                         Consumer<PropertyChangeEvent> handler,
+                         int batchSize,
+                         int capacity) {
+    this.vehicleName = requireNonNull(vehicleName, "vehicleName");
+    this.kernelExecutor = requireNonNull(kernelExecutor, "kernelExecutor");
+    this.handler = requireNonNull(handler, "handler");
+    checkArgument(batchSize > 0, "batchSize <= 0: %s", batchSize);
+    this.batchSize = batchSize;
+    this.capacity = capacity;
+  }
+
+  /**
+   * Relays the given update to the kernel executor.
+   *
+   * @param evt The update.
+   */
+  public void relay(PropertyChangeEvent evt) {
+    synchronized (replaceableUpdates) {
+      if (TELEMETRY_ATTRIBUTES.contains(evt.getPropertyName())) {
+        PendingUpdate pendingUpdate = replaceableUpdates.get(evt.getPropertyName());
+        if (pendingUpdate != null) {
+          pendingUpdate.event = evt;
+          return;
+        }
+        pendingUpdate = new PendingUpdate(evt);
+        replaceableUpdates.put(evt.getPropertyName(), pendingUpdate);
+        events.add(pendingUpdate);
+      }
+      else {
+        // Telemetry relayed after this update must not be merged into updates preceding it.
+        replaceableUpdates.clear();
+        events.add(new PendingUpdate(evt));
+      }
+    }
+    if (eventCount.incrementAndGet() > capacity && !overloaded) {
+      overloaded = true;
+      LOG.warn("{}: More than {} updates pending processing, comm adapter overloading the kernel.",
+               vehicleName,
+               capacity);
+    }
+    scheduleDrain();
+  }
+
+  /**
+   * Discards all pending updates.
+   */
+  public void clear() {
+    synchronized (replaceableUpdates) {
+      replaceableUpdates.clear();
+    }
+    while (events.poll() != null) {
+      eventCount.decrementAndGet();
+    }
+  }
+
+  private void scheduleDrain() {
+    if (drainScheduled.compareAndSet(false, true)) {
+      kernelExecutor.execute(this::drain);
+    }
+  }
+
+  private void drain() {
+    for (int i = 0; i < batchSize; i++) {
+      PendingUpdate pendingUpdate = events.poll();
+      if (pendingUpdate == null) {
+        break;
+      }
+      eventCount.decrementAndGet();
+      PropertyChangeEvent evt;
+      synchronized (replaceableUpdates) {
+        // Once being processed, an update must not be replaced any more.
+        replaceableUpdates.remove(pendingUpdate.event.getPropertyName(), pendingUpdate);
+        evt = pendingUpdate.event;
+      }
+      try {
+        handler.accept(evt);
+      }
+      catch (RuntimeException exc) {
+        LOG.warn("{}: Exception processing update {}", vehicleName, evt.getPropertyName(), exc);
+      }
+    }
+
+    drainScheduled.set(false);
+    if (events.isEmpty()) {
+      overloaded = false;
+    }
+    else {
+      scheduleDrain();
+    }
+  }
+
+  /**
+   * An update pending processing.
+   */
+  private static class PendingUpdate {
+
+    /**
+     * The update, which may be replaced by a later one of the same attribute.
+     */
+    private PropertyChangeEvent event;
+
+    PendingUpdate(PropertyChangeEvent event) {
+      this.event = event;
+    }
+  }
+}
@@ -0,0 +1,284 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.vehicles;
+
+import java.beans.PropertyChangeEvent;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import static java.util.Objects.requireNonNull;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import org.opentcs.data.model.Triple;
+import org.opentcs.drivers.vehicle.VehicleProcessModel;
+
+/**
+ * Coalesces high-frequency updates of a single vehicle's precise position, orientation angle and
+ * energy level.
+ * <p>
+ * An update of one of these attributes is passed on immediately only if it differs sufficiently
+ * from the value passed on last and the attribute's coalescing window has elapsed since then.
+ * Otherwise the update is held back, replacing any update of the same attribute held back before.
+ * Held back updates that differ sufficiently are passed on at the end of the coalescing window;
+ * all held back updates are passed on before any update of another attribute of
+ * {@link VehicleProcessModel} is processed, so the kernel never sees, e.g., a position or state
+ * change before the telemetry preceding it.
+ * </p>
+ */
+class TelemetryCoalescer {
+
+  /**
+   * The names of the attributes whose updates are passed on only after held back updates.
+   */
+  private static final Set<String> ORDERED_ATTRIBUTES = new HashSet<>();
+
+  static {
+    for (VehicleProcessModel.Attribute attribute : VehicleProcessModel.Attribute.values()) {
+      ORDERED_ATTRIBUTES.add(attribute.name());
+    }
+  }
+
+  /**
+   * The executor for passing on held back updates at the end of coalescing windows.
+   */
+  private final ScheduledExecutorService executor;
+  /**
+   * Processes the updates passed on.
+   */
+  private final Consumer<PropertyChangeEvent> handler;
+  /**
+   * Provides the current time (in ns).
+   */
+  private final LongSupplier clock;
+  /**
+   * The coalescing channels, mapped to the names of the attributes they handle.
+   */
+  private final Map<String, Channel> channels = new LinkedHashMap<>();
+
+  /**
+   * Creates a new instance.
+   *
+   * @param configuration This class's configuration.
+   * @param executor The executor for passing on held back updates at the end of coalescing
+   * windows.
+   * @param handler Processes the updates passed on.
+   */
+  TelemetryCoalescer(VehicleTelemetryConfiguration configuration,
+                     ScheduledExecutorService executor,
+                     Consumer<PropertyChangeEvent> handler) {
+    this(configuration, executor, handler, System::nanoTime);
+  }
+
+  /**
+   * Creates a new instance.
+   *
+   * @param configuration This class's configuration.
+   * @param executor The executor for passing on held back updates at the end of coalescing
+   * windows.
+   * @param handler Processes the updates passed on.
+   * @param clock Provides the current time (in ns).
+   */
+  TelemetryCoalescer(VehicleTelemetryConfiguration configuration,
+                     ScheduledExecutorService executor,
+                     Consumer<PropertyChangeEvent> handler,
+                     LongSupplier clock) {
+    requireNonNull(configuration, "configuration");
+    this.executor = requireNonNull(executor, "executor");
+    this.handler = requireNonNull(handler, "handler");
+    this.clock = requireNonNull(clock, "clock");
+
+    if (configuration.coalesce()) {
+      double minDistance = configuration.precisePositionMinDistance();
+      channels.put(VehicleProcessModel.Attribute.PRECISE_POSITION.name(),
+                   new Channel(configuration.precisePositionWindow(),
+                               (oldValue, newValue) -> distance((Triple) oldValue,
+                                                                (Triple) newValue)
+                                   >= minDistance));
+      double minAngleChange = configuration.orientationAngleMinChange();
+      channels.put(VehicleProcessModel.Attribute.ORIENTATION_ANGLE.name(),
+                   new Channel(configuration.orientationAngleWindow(),
+                               (oldValue, newValue) -> angleDifference((Double) oldValue,
+                                                                       (Double) newValue)
+                                   >= minAngleChange));
+      int minEnergyChange = configuration.energyLevelMinChange();
+      channels.put(VehicleProcessModel.Attribute.ENERGY_LEVEL.name(),
+                   new Channel(configuration.energyLevelWindow(),
+                               (oldValue, newValue) -> Math.abs((Integer) newValue
+                                   - (Integer) oldValue) >= minEnergyChange));
+    }
+  }
+
+  /**
+   * Offers the given update to this coalescer.
+   * <p>
+   * If the update is to be passed on immediately, all updates held back are passed on to the
+   * handler before this method returns, and the caller is expected to process the given update
+   * itself.
+   * </p>
+   *
+   * @param evt The update.
+   * @return {@code true} if, and only if, the update was held back.
+   */
+  public boolean offer(PropertyChangeEvent evt) {
+    Channel channel = channels.get(evt.getPropertyName());
+    if (channel != null) {
+      return channel.offer(evt);
+    }
+    if (!channels.isEmpty() && ORDERED_ATTRIBUTES.contains(evt.getPropertyName())) {
+      flush();
+    }
+    return false;
+  }
+
+  /**
+   * Passes on all updates held back.
+   */
+  public void flush() {
+    for (Channel channel : channels.values()) {
+      channel.flush();
+    }
+  }
+
+  /**
+   * Discards all updates held back and forgets the values passed on last.
+   */
+  public void clear() {
+    for (Channel channel : channels.values()) {
+      channel.clear();
+    }
+  }
+
+  private static double distance(Triple oldValue, Triple newValue) {
+    if (oldValue == null || newValue == null) {
+      return oldValue == newValue ? 0.0 : Double.POSITIVE_INFINITY;
+    }
+    double dx = newValue.getX() - oldValue.getX();
+    double dy = newValue.getY() - oldValue.getY();
+    double dz = newValue.getZ() - oldValue.getZ();
+    return Math.sqrt(dx * dx + dy * dy + dz * dz);
+  }
+
+  private static double angleDifference(Double oldValue, Double newValue) {
+    if (oldValue == null || newValue == null || oldValue.isNaN() || newValue.isNaN()) {
+      return Objects.equals(oldValue, newValue) ? 0.0 : Double.POSITIVE_INFINITY;
+    }
+    double difference = Math.abs(newValue - oldValue) % 360.0;
+    return Math.min(difference, 360.0 - difference);
+  }
+
+  /**
+   * Tells whether a new value differs sufficiently from an old one.
+   */
+  private interface ChangeThreshold {
+
+    boolean isExceeded(Object oldValue, Object newValue);
+  }
+
+  /**
+   * Coalesces the updates of a single attribute.
+   */
+  private class Channel {
+
+    /**
+     * The coalescing window (in ns).
+     */
+    private final long window;
+    /**
+     * Tells whether a new value differs sufficiently from the one passed on last.
+     */
+    private final ChangeThreshold threshold;
+    /**
+     * Whether an update has been passed on since the last reset.
+     */
+    private boolean published;
+    /**
+     * The value passed on last.
+     */
+    private Object lastValue;
+    /**
+     * The time at which the last update was passed on (in ns).
+     */
+    private long lastTime;
+    /**
+     * The latest update held back, or {@code null}.
+     */
+    private PropertyChangeEvent pending;
+    /**
+     * The task passing on the held back update at the end of the coalescing window, or
+     * {@code null}.
+     */
+    private ScheduledFuture<?> scheduledFlush;
+
+    Channel(long window, ChangeThreshold threshold) {
+      this.window = TimeUnit.MILLISECONDS.toNanos(window);
+      this.threshold = threshold;
+    }
+
+    boolean offer(PropertyChangeEvent evt) {
+      synchronized (this) {
+        boolean significant = !published || threshold.isExceeded(lastValue, evt.getNewValue());
+        long now = clock.getAsLong();
+        if (significant && (!published || now - lastTime >= window)) {
+          cancelScheduledFlush();
+          pending = null;
+          markPublished(evt, now);
+          return false;
+        }
+
+        pending = evt;
+        if (significant && scheduledFlush == null) {
+          scheduledFlush = executor.schedule(this::flush,
+                                             lastTime + window - now,
+                                             TimeUnit.NANOSECONDS);
+        }
+        return true;
+      }
+    }
+
+    void flush() {
+      // Take the held back update while holding the lock, but pass it on without holding it, as
+      // the handler synchronizes with the kernel.
+      PropertyChangeEvent evt;
+      synchronized (this) {
+        cancelScheduledFlush();
+        evt = pending;
+        if (evt == null) {
+          return;
+        }
+        pending = null;
+        markPublished(evt, clock.getAsLong());
+      }
+      handler.accept(evt);
+    }
+
+    synchronized void clear() {
+      cancelScheduledFlush();
+      pending = null;
+      published = false;
+      lastValue = null;
+    }
+
+    private void markPublished(PropertyChangeEvent evt, long now) {
+      published = true;
+      lastValue = evt.getNewValue();
+      lastTime = now;
+    }
+
+    private void cancelScheduledFlush() {
+      if (scheduledFlush != null) {
+        scheduledFlush.cancel(false);
+        scheduledFlush = null;
+      }
+    }
+  }
+}
@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.vehicles;
+
+import org.opentcs.configuration.ConfigurationEntry;
+import org.opentcs.configuration.ConfigurationPrefix;
+
+/**
+ * Provides methods to configure how vehicle controllers forward high-frequency vehicle telemetry
+ * to the kernel.
+ */
+@ConfigurationPrefix(VehicleTelemetryConfiguration.PREFIX)
+public interface VehicleTelemetryConfiguration {
+
+  /**
+   * This configuration's prefix.
+   */
+  String PREFIX = "vehicletelemetry";
+
+  @ConfigurationEntry(
+      type = "Boolean",
+      description = {
+        "Whether to coalesce updates of vehicles' precise positions, orientation angles and energy "
+        + "levels before forwarding them to the kernel.",
+        "If enabled, such an update is forwarded only if it differs sufficiently from the one "
+        + "forwarded last, and at most once per coalescing window. Updates held back are forwarded "
+        + "with their latest value at the end of the window or before any other update of the "
+        + "same vehicle (e.g. of its position or state), whichever comes first."
+      },
+      orderKey = "0_coalesce")
+  boolean coalesce();
+
+  @ConfigurationEntry(
+      type = "Long",
+      description = "The coalescing window for updates of a vehicle's precise position (in ms).",
+      orderKey = "1_precisePosition_0")
+  long precisePositionWindow();
+
+  @ConfigurationEntry(
+      type = "Long",
+      description = "The minimum distance to the precise position forwarded last for an update to "
+          + "be forwarded (in mm).",
+      orderKey = "1_precisePosition_1")
+  long precisePositionMinDistance();
+
+  @ConfigurationEntry(
+      type = "Long",
+      description = "The coalescing window for updates of a vehicle's orientation angle (in ms).",
+      orderKey = "2_orientationAngle_0")
+  long orientationAngleWindow();
+
+  @ConfigurationEntry(
+      type = "Double",
+      description = "The minimum difference to the orientation angle forwarded last for an update "
+          + "to be forwarded (in degrees).",
+      orderKey = "2_orientationAngle_1")
+  double orientationAngleMinChange();
+
+  @ConfigurationEntry(
+      type = "Long",
+      description = "The coalescing window for updates of a vehicle's energy level (in ms).",
+      orderKey = "3_energyLevel_0")
+  long energyLevelWindow();
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = "The minimum difference to the energy level forwarded last for an update to be "
+          + "forwarded (in percent).",
+      orderKey = "3_energyLevel_1")
+  int energyLevelMinChange();
+}
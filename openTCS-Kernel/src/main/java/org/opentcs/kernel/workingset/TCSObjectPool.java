@@ -7,15 +7,18 @@
  */
 package org.opentcs.kernel.workingset;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Objects;
 import static java.util.Objects.requireNonNull;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
@@ -26,6 +29,9 @@ import org.opentcs.data.ObjectUnknownException;
 import org.opentcs.data.TCSObject;
 import org.opentcs.data.TCSObjectEvent;
 import org.opentcs.data.TCSObjectReference;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.TransportOrder;
+import org.opentcs.kernel.KernelApplicationConfiguration;
 import static org.opentcs.util.Assertions.checkArgument;
 import org.opentcs.util.UniqueStringGenerator;
 import org.opentcs.util.event.EventHandler;
@@ -49,6 +55,21 @@ public class TCSObjectPool {
    * The objects contained in this pool, mapped by their names.
    */
   private final Map<String, TCSObject<?>> objectsByName = new ConcurrentHashMap<>();
+  /**
+   * The objects contained in this pool, mapped by their (exact) classes and names.
+   */
+  private final Map<Class<?>, Map<String, TCSObject<?>>> objectsByClass
+      = new ConcurrentHashMap<>();
+  /**
+   * The names of the transport orders contained in this pool, mapped by the orders' states.
+   */
+  private final Map<TransportOrder.State, Set<String>> orderNamesByState
+      = new ConcurrentHashMap<>();
+  /**
+   * The names of the transport orders contained in this pool, mapped by the names of the orders'
+   * intended and processing vehicles.
+   */
+  private final Map<String, Set<String>> orderNamesByVehicle = new ConcurrentHashMap<>();
   /**
    * The generator providing unique names for objects in this pool.
    */
@@ -57,15 +78,42 @@ public class TCSObjectPool {
    * A handler we should emit object events to.
    */
   private final EventHandler eventHandler;
+  /**
+   * The maximum number of history entries to keep per object, by simple class name.
+   */
+  private final Map<String, Integer> historyCapacities;
 
   /**
    * Creates a new instance that uses the given event handler.
    *
    * @param eventHandler The event handler to publish events to.
+   * @param configuration The kernel application's configuration.
    */
   @Inject
-  public TCSObjectPool(@ApplicationEventBus EventHandler eventHandler) {
+  public TCSObjectPool(@ApplicationEventBus EventHandler eventHandler,
+                       KernelApplicationConfiguration configuration) {
+    this(eventHandler, parseHistoryCapacities(configuration.objectHistoryCapacities()));
+  }
+
+  /**
+   * Creates a new instance that uses the given event handler and does not limit object histories.
+   *
+   * @param eventHandler The event handler to publish events to.
+   */
+  public TCSObjectPool(EventHandler eventHandler) {
+    this(eventHandler, new HashMap<>());
+  }
+
+  /**
+   * Creates a new instance that uses the given event handler.
+   *
+   * @param eventHandler The event handler to publish events to.
+   * @param historyCapacities The maximum number of history entries to keep per object, by simple
+   * class name.
+   */
+  TCSObjectPool(EventHandler eventHandler, Map<String, Integer> historyCapacities) {
     this.eventHandler = requireNonNull(eventHandler, "eventHandler");
+    this.historyCapacities = requireNonNull(historyCapacities, "historyCapacities");
   }
 
   /**
@@ -82,25 +130,27 @@ public class TCSObjectPool {
     if (objectsByName.containsKey(newObject.getName())) {
       throw new ObjectExistsException("Object name " + newObject.getName() + " already exists.");
     }
-    objectsByName.put(newObject.getName(), newObject);
+    putObject(newObject);
     objectNameGenerator.addString(newObject.getName());
   }
 
   /**
    * Uses the given object to replace an object in the pool with same name.
+   * If the history of objects of the given type is limited, the replacing object's history is
+   * limited accordingly.
    *
    * @param <E> Type of the object.
    * @param object The replacing object.
    * @return The replacing object.
    */
+  @SuppressWarnings("unchecked")
   public <E extends TCSObject<E>> E replaceObject(E object) {
     requireNonNull(object, "object");
     checkArgument(objectsByName.containsKey(object.getName()),
                   "Object named '%s' does not exist",
                   object.getName());
 
-    objectsByName.put(object.getName(), object);
-    return object;
+    return (E) putObject(object);
   }
 
   /**
@@ -303,15 +353,9 @@ public class TCSObjectPool {
   public <T extends TCSObject<T>> Set<T> getObjects(Class<T> clazz, Pattern regexp) {
     requireNonNull(clazz, "clazz");
 
-    Set<T> result = new HashSet<>();
-    for (TCSObject<?> curObject : objectsByName.values()) {
-      if (clazz.isInstance(curObject)
-          && (regexp == null
-              || regexp.matcher(curObject.getName()).matches())) {
-        result.add(clazz.cast(curObject));
-      }
-    }
-    return result;
+    return streamObjects(clazz)
+        .filter(obj -> regexp == null || regexp.matcher(obj.getName()).matches())
+        .collect(Collectors.toSet());
   }
 
   /**
@@ -328,13 +372,44 @@ public class TCSObjectPool {
     requireNonNull(clazz, "clazz");
     requireNonNull(predicate, "predicate");
 
-    return objectsByName.values().stream()
-        .filter(obj -> clazz.isInstance(obj))
-        .map(obj -> clazz.cast(obj))
+    return streamObjects(clazz)
         .filter(predicate)
         .collect(Collectors.toSet());
   }
 
+  /**
+   * Returns the transport orders in the given state.
+   *
+   * @param state The state of the transport orders to be returned.
+   * @return The transport orders in the given state. If no such orders exist, the returned set is
+   * empty.
+   */
+  @Nonnull
+  public Set<TransportOrder> getTransportOrders(@Nonnull TransportOrder.State state) {
+    requireNonNull(state, "state");
+
+    return resolveTransportOrders(orderNamesByState.getOrDefault(state, Collections.emptySet()))
+        .filter(order -> order.hasState(state))
+        .collect(Collectors.toSet());
+  }
+
+  /**
+   * Returns the transport orders the given vehicle is intended to process or is processing.
+   *
+   * @param vehicleRef A reference to the vehicle.
+   * @return The transport orders with the given vehicle as their intended or processing vehicle.
+   * If no such orders exist, the returned set is empty.
+   */
+  @Nonnull
+  public Set<TransportOrder> getTransportOrders(@Nonnull TCSObjectReference<Vehicle> vehicleRef) {
+    requireNonNull(vehicleRef, "vehicleRef");
+
+    return resolveTransportOrders(orderNamesByVehicle.getOrDefault(vehicleRef.getName(),
+                                                                   Collections.emptySet()))
+        .filter(order -> referencesVehicle(order, vehicleRef.getName()))
+        .collect(Collectors.toSet());
+  }
+
   /**
    * Checks if this pool contains an object with the given name.
    *
@@ -360,7 +435,7 @@ public class TCSObjectPool {
       throws ObjectUnknownException {
     requireNonNull(ref, "ref");
 
-    TCSObject<?> rmObject = objectsByName.remove(ref.getName());
+    TCSObject<?> rmObject = removeObjectByName(ref.getName());
     if (rmObject == null) {
       throw new ObjectUnknownException(ref);
     }
@@ -380,7 +455,7 @@ public class TCSObjectPool {
 
     Set<TCSObject<?>> result = new HashSet<>();
     for (String curName : objectNames) {
-      TCSObject<?> removedObject = objectsByName.remove(curName);
+      TCSObject<?> removedObject = removeObjectByName(curName);
       if (removedObject != null) {
         result.add(removedObject);
         objectNameGenerator.removeString(removedObject.getName());
@@ -411,8 +486,7 @@ public class TCSObjectPool {
               ref.getName(),
               key,
               value);
-    object = object.withProperty(key, value);
-    objectsByName.put(object.getName(), object);
+    object = putObject(object.withProperty(key, value));
     emitObjectEvent(object, previousState, TCSObjectEvent.Type.OBJECT_MODIFIED);
   }
 
@@ -433,8 +507,7 @@ public class TCSObjectPool {
     }
     TCSObject<?> previousState = object;
     LOG.debug("Appending history entry to object named '{}': {}", ref.getName(), entry);
-    object = object.withHistoryEntry(entry);
-    objectsByName.put(object.getName(), object);
+    object = putObject(object.withHistoryEntry(entry));
     emitObjectEvent(object, previousState, TCSObjectEvent.Type.OBJECT_MODIFIED);
   }
 
@@ -453,8 +526,7 @@ public class TCSObjectPool {
       throw new ObjectUnknownException("No object with name " + ref.getName());
     }
     TCSObject<?> previousState = object;
-    object = object.withProperties(new HashMap<>());
-    objectsByName.put(object.getName(), object);
+    object = putObject(object.withProperties(new HashMap<>()));
     emitObjectEvent(object, previousState, TCSObjectEvent.Type.OBJECT_MODIFIED);
   }
 
@@ -477,6 +549,166 @@ public class TCSObjectPool {
     return objectsByName.isEmpty();
   }
 
+  /**
+   * Returns a stream of all objects that are instances of the given class.
+   * Only the objects of matching classes are visited.
+   *
+   * @param <T> The objects' type.
+   * @param clazz The class of the objects.
+   * @return A stream of all objects that are instances of the given class.
+   */
+  private <T> Stream<T> streamObjects(Class<T> clazz) {
+    return objectsByClass.entrySet().stream()
+        .filter(entry -> clazz.isAssignableFrom(entry.getKey()))
+        .flatMap(entry -> entry.getValue().values().stream())
+        .map(obj -> clazz.cast(obj));
+  }
+
+  private Stream<TransportOrder> resolveTransportOrders(Set<String> orderNames) {
+    Map<String, TCSObject<?>> orders
+        = objectsByClass.getOrDefault(TransportOrder.class, Collections.emptyMap());
+    return orderNames.stream()
+        .map(name -> orders.get(name))
+        .filter(obj -> obj instanceof TransportOrder)
+        .map(obj -> (TransportOrder) obj);
+  }
+
+  /**
+   * Adds the given object to this pool or replaces the object with the same name, updating all
+   * indexes.
+   *
+   * @param object The object.
+   * @return The object actually added, with its history limited according to its type.
+   */
+  private TCSObject<?> putObject(TCSObject<?> object) {
+    object = withLimitedHistory(object);
+    TCSObject<?> previous = objectsByName.put(object.getName(), object);
+    if (previous != null && previous.getClass() != object.getClass()) {
+      removeFromIndexes(previous);
+    }
+    objectsByClass.computeIfAbsent(object.getClass(), clazz -> new ConcurrentHashMap<>())
+        .put(object.getName(), object);
+    if (previous instanceof TransportOrder) {
+      removeFromOrderIndexes((TransportOrder) previous);
+    }
+    if (object instanceof TransportOrder) {
+      addToOrderIndexes((TransportOrder) object);
+    }
+    return object;
+  }
+
+  private TCSObject<?> withLimitedHistory(TCSObject<?> object) {
+    Integer capacity = historyCapacities.get(object.getClass().getSimpleName());
+    if (capacity == null || object.getHistory().getMaxEntries() == capacity) {
+      return object;
+    }
+    return object.withHistory(object.getHistory().withMaxEntries(capacity));
+  }
+
+  /**
+   * Parses history capacities given as a comma-separated list of
+   * <code>&lt;object type&gt;=&lt;maximum number of entries&gt;</code> pairs.
+   *
+   * @param capacities The capacities to parse.
+   * @return The maximum number of history entries by simple class name.
+   * @throws IllegalArgumentException If the given string is not well-formed.
+   */
+  static Map<String, Integer> parseHistoryCapacities(String capacities)
+      throws IllegalArgumentException {
+    requireNonNull(capacities, "capacities");
+
+    Map<String, Integer> result = new HashMap<>();
+    for (String pair : capacities.split(",")) {
+      if (pair.trim().isEmpty()) {
+        continue;
+      }
+      String[] keyAndValue = pair.split("=");
+      checkArgument(keyAndValue.length == 2, "Malformed history capacity: '%s'", pair);
+      int capacity;
+      try {
+        capacity = Integer.parseInt(keyAndValue[1].trim());
+      }
+      catch (NumberFormatException exc) {
+        throw new IllegalArgumentException("Malformed history capacity: '" + pair + "'", exc);
+      }
+      checkArgument(capacity > 0, "History capacity not positive: '%s'", pair);
+      result.put(keyAndValue[0].trim(), capacity);
+    }
+    return result;
+  }
+
+  /**
+   * Removes the object with the given name from this pool, updating all indexes.
+   *
+   * @param name The name of the object.
+   * @return The removed object, or <code>null</code>, if no such object exists in this pool.
+   */
+  @Nullable
+  private TCSObject<?> removeObjectByName(String name) {
+    TCSObject<?> removed = objectsByName.remove(name);
+    if (removed != null) {
+      removeFromIndexes(removed);
+    }
+    return removed;
+  }
+
+  private void removeFromIndexes(TCSObject<?> object) {
+    Map<String, TCSObject<?>> objects = objectsByClass.get(object.getClass());
+    if (objects != null) {
+      objects.remove(object.getName());
+    }
+    if (object instanceof TransportOrder) {
+      removeFromOrderIndexes((TransportOrder) object);
+    }
+  }
+
+  private void addToOrderIndexes(TransportOrder order) {
+    addToIndex(orderNamesByState, order.getState(), order.getName());
+    for (String vehicleName : vehicleNames(order)) {
+      addToIndex(orderNamesByVehicle, vehicleName, order.getName());
+    }
+  }
+
+  private void removeFromOrderIndexes(TransportOrder order) {
+    removeFromIndex(orderNamesByState, order.getState(), order.getName());
+    for (String vehicleName : vehicleNames(order)) {
+      removeFromIndex(orderNamesByVehicle, vehicleName, order.getName());
+    }
+  }
+
+  private static <K> void addToIndex(Map<K, Set<String>> index, K key, String name) {
+    index.compute(key, (k, names) -> {
+      Set<String> result = names == null ? ConcurrentHashMap.newKeySet() : names;
+      result.add(name);
+      return result;
+    });
+  }
+
+  private static <K> void removeFromIndex(Map<K, Set<String>> index, K key, String name) {
+    index.computeIfPresent(key, (k, names) -> {
+      names.remove(name);
+      return names.isEmpty() ? null : names;
+    });
+  }
+
+  private static Set<String> vehicleNames(TransportOrder order) {
+    Set<String> result = new HashSet<>();
+    if (order.getIntendedVehicle() != null) {
+      result.add(order.getIntendedVehicle().getName());
+    }
+    if (order.getProcessingVehicle() != null) {
+      result.add(order.getProcessingVehicle().getName());
+    }
+    return result;
+  }
+
+  private static boolean referencesVehicle(TransportOrder order, String vehicleName) {
+    return (order.getIntendedVehicle() != null
+            && Objects.equals(order.getIntendedVehicle().getName(), vehicleName))
+        || (order.getProcessingVehicle() != null
+            && Objects.equals(order.getProcessingVehicle().getName(), vehicleName));
+  }
+
   /**
    * Emits an event for the given object with the given type.
    *
@@ -8,9 +8,14 @@
 package org.opentcs.kernel.workingset;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import static java.util.Objects.requireNonNull;
 import java.util.Set;
@@ -28,10 +33,12 @@ import org.opentcs.data.TCSObject;
 import org.opentcs.data.TCSObjectEvent;
 import org.opentcs.data.TCSObjectReference;
 import org.opentcs.data.model.Location;
+import org.opentcs.data.model.Path;
 import org.opentcs.data.model.Point;
 import org.opentcs.data.model.Vehicle;
 import org.opentcs.data.order.DriveOrder;
 import org.opentcs.data.order.OrderSequence;
+import org.opentcs.data.order.Route;
 import org.opentcs.data.order.TransportOrder;
 import static org.opentcs.util.Assertions.checkArgument;
 import org.slf4j.Logger;
@@ -117,30 +124,81 @@ public class TransportOrderPool {
    */
   public TransportOrder createTransportOrder(TransportOrderCreationTO to)
       throws ObjectUnknownException, ObjectExistsException, IllegalArgumentException {
-    TransportOrder newOrder = new TransportOrder(nameFor(to),
-                                                 toDriveOrders(to.getDestinations()))
-        .withCreationTime(Instant.now())
-        .withPeripheralReservationToken(to.getPeripheralReservationToken())
-        .withIntendedVehicle(toVehicleReference(to.getIntendedVehicleName()))
-        .withType(to.getType())
-        .withDeadline(to.getDeadline())
-        .withDispensable(to.isDispensable())
-        .withWrappingSequence(getWrappingSequence(to))
-        .withDependencies(getDependencies(to))
-        .withProperties(to.getProperties());
-    objectPool.addObject(newOrder);
-    objectPool.emitObjectEvent(newOrder, null, TCSObjectEvent.Type.OBJECT_CREATED);
-
-    if (newOrder.getWrappingSequence() != null) {
-      OrderSequence sequence = objectPool.getObject(OrderSequence.class,
-                                                    newOrder.getWrappingSequence());
-      OrderSequence prevSeq = sequence;
-      sequence = objectPool.replaceObject(sequence.withOrder(newOrder.getReference()));
-      objectPool.emitObjectEvent(sequence, prevSeq, TCSObjectEvent.Type.OBJECT_MODIFIED);
+    return createTransportOrders(Collections.singletonList(to)).get(0);
+  }
+
+  /**
+   * Adds new transport orders to the pool.
+   * This method implicitly adds the transport orders to their wrapping sequences, if any.
+   * <p>
+   * Transport orders are created in the given order, so every transport order may refer to the ones
+   * preceding it, e.g. as a dependency.
+   * If any of the transport orders cannot be created, none of them are.
+   * Events for the new transport orders and the modified order sequences are emitted only after all
+   * of them have been created.
+   * </p>
+   *
+   * @param tos The transfer objects from which to create the new transport orders.
+   * @return The newly created transport orders, in the given order.
+   * @throws ObjectExistsException If an object with any new object's name already exists.
+   * @throws ObjectUnknownException If any object referenced in the TOs does not exist.
+   * @throws IllegalArgumentException If any order is supposed to be part of an order sequence, but
+   * the sequence is already complete, the categories of the two differ or the intended vehicles of
+   * the two differ.
+   */
+  public List<TransportOrder> createTransportOrders(@Nonnull List<TransportOrderCreationTO> tos)
+      throws ObjectUnknownException, ObjectExistsException, IllegalArgumentException {
+    requireNonNull(tos, "tos");
+
+    List<TransportOrder> newOrders = new ArrayList<>(tos.size());
+    // The states of the modified order sequences before adding any transport orders to them.
+    Map<TCSObjectReference<OrderSequence>, OrderSequence> prevSequences = new LinkedHashMap<>();
+    try {
+      for (TransportOrderCreationTO to : tos) {
+        TransportOrder newOrder = new TransportOrder(nameFor(to),
+                                                     toDriveOrders(to.getDestinations()))
+            .withCreationTime(Instant.now())
+            .withPeripheralReservationToken(to.getPeripheralReservationToken())
+            .withIntendedVehicle(toVehicleReference(to.getIntendedVehicleName()))
+            .withType(to.getType())
+            .withDeadline(to.getDeadline())
+            .withDispensable(to.isDispensable())
+            .withWrappingSequence(getWrappingSequence(to))
+            .withDependencies(getDependencies(to))
+            .withProperties(to.getProperties());
+        objectPool.addObject(newOrder);
+        newOrders.add(newOrder);
+
+        if (newOrder.getWrappingSequence() != null) {
+          OrderSequence sequence = objectPool.getObject(OrderSequence.class,
+                                                        newOrder.getWrappingSequence());
+          prevSequences.putIfAbsent(sequence.getReference(), sequence);
+          objectPool.replaceObject(sequence.withOrder(newOrder.getReference()));
+        }
+      }
+    }
+    catch (RuntimeException exc) {
+      // Roll back, so the pool's contents are as if none of the transport orders were created.
+      for (TransportOrder newOrder : newOrders) {
+        objectPool.removeObject(newOrder.getReference());
+      }
+      for (OrderSequence prevSeq : prevSequences.values()) {
+        objectPool.replaceObject(prevSeq);
+      }
+      throw exc;
     }
 
-    // Return the newly created transport order.
-    return newOrder;
+    for (TransportOrder newOrder : newOrders) {
+      objectPool.emitObjectEvent(newOrder, null, TCSObjectEvent.Type.OBJECT_CREATED);
+    }
+    for (OrderSequence prevSeq : prevSequences.values()) {
+      objectPool.emitObjectEvent(objectPool.getObject(OrderSequence.class, prevSeq.getReference()),
+                                 prevSeq,
+                                 TCSObjectEvent.Type.OBJECT_MODIFIED);
+    }
+
+    // Return the newly created transport orders.
+    return newOrders;
   }
 
   /**
@@ -463,6 +521,116 @@ public class TransportOrderPool {
     }
   }
 
+  /**
+   * Adds the given order sequences and transport orders, e.g. restored from persistent storage,
+   * to this pool.
+   * As their processing cannot be resumed, orders that were being processed or withdrawn are marked
+   * as failed, and references to processing vehicles are removed.
+   * Orders intended for vehicles that do not exist are marked as failed, too, as are orders with
+   * destinations or routes referring to points, paths or locations that are not (or no longer)
+   * part of the current plant model.
+   *
+   * @param sequences The order sequences.
+   * @param orders The transport orders.
+   */
+  public void restoreOrderSequencesAndTransportOrders(
+      @Nonnull Collection<OrderSequence> sequences,
+      @Nonnull Collection<TransportOrder> orders) {
+    requireNonNull(sequences, "sequences");
+    requireNonNull(orders, "orders");
+
+    for (OrderSequence sequence : sequences) {
+      if (objectPool.contains(sequence.getName())) {
+        LOG.warn("Not restoring order sequence {}, an object with this name exists.",
+                 sequence.getName());
+        continue;
+      }
+      OrderSequence restoredSequence = sequence.withProcessingVehicle(null);
+      objectPool.addObject(restoredSequence);
+      objectPool.emitObjectEvent(restoredSequence, null, TCSObjectEvent.Type.OBJECT_CREATED);
+    }
+    for (TransportOrder order : orders) {
+      if (objectPool.contains(order.getName())) {
+        LOG.warn("Not restoring transport order {}, an object with this name exists.",
+                 order.getName());
+        continue;
+      }
+      TransportOrder restoredOrder = order.withProcessingVehicle(null);
+      if (restoredOrder.hasState(TransportOrder.State.BEING_PROCESSED)
+          || restoredOrder.hasState(TransportOrder.State.WITHDRAWN)) {
+        LOG.info("Marking restored transport order {} as failed, its processing was interrupted.",
+                 restoredOrder.getName());
+        restoredOrder = restoredOrder.withState(TransportOrder.State.FAILED);
+      }
+      else if (!restoredOrder.getState().isFinalState()
+          && restoredOrder.getIntendedVehicle() != null
+          && objectPool.getObjectOrNull(Vehicle.class,
+                                        restoredOrder.getIntendedVehicle()) == null) {
+        LOG.warn("Marking restored transport order {} as failed, intended vehicle {} is unknown.",
+                 restoredOrder.getName(),
+                 restoredOrder.getIntendedVehicle().getName());
+        restoredOrder = restoredOrder.withState(TransportOrder.State.FAILED);
+      }
+      else if (!restoredOrder.getState().isFinalState()) {
+        String unknownObjectName = findObjectNotInModel(restoredOrder);
+        if (unknownObjectName != null) {
+          LOG.warn("Marking restored transport order {} as failed, {} is not in the plant model.",
+                   restoredOrder.getName(),
+                   unknownObjectName);
+          restoredOrder = restoredOrder.withState(TransportOrder.State.FAILED);
+        }
+      }
+      objectPool.addObject(restoredOrder);
+      objectPool.emitObjectEvent(restoredOrder, null, TCSObjectEvent.Type.OBJECT_CREATED);
+    }
+  }
+
+  /**
+   * Checks whether the destinations and the routes of the given transport order's drive orders
+   * refer to objects in the current plant model.
+   *
+   * @param order The transport order.
+   * @return The name of the first object that is referred to but not in the plant model, or
+   * {@code null}, if all referred objects are in the plant model.
+   */
+  @Nullable
+  private String findObjectNotInModel(TransportOrder order) {
+    for (DriveOrder driveOrder : order.getAllDriveOrders()) {
+      TCSObjectReference<?> destination = driveOrder.getDestination().getDestination();
+      if (!isInModel(destination.getReferentClass(), destination.getName())) {
+        return destination.getName();
+      }
+      if (driveOrder.getRoute() == null) {
+        continue;
+      }
+      for (Route.Step step : driveOrder.getRoute().getSteps()) {
+        if (step.getSourcePoint() != null
+            && !isInModel(Point.class, step.getSourcePoint().getName())) {
+          return step.getSourcePoint().getName();
+        }
+        if (!isInModel(Point.class, step.getDestinationPoint().getName())) {
+          return step.getDestinationPoint().getName();
+        }
+        if (step.getPath() != null && !isPathInModel(step.getPath())) {
+          return step.getPath().getName();
+        }
+      }
+    }
+    return null;
+  }
+
+  private boolean isInModel(Class<?> clazz, String name) {
+    return clazz.isInstance(objectPool.getObjectOrNull(name));
+  }
+
+  private boolean isPathInModel(Path path) {
+    // The path must still connect the same points, too.
+    Path modelPath = objectPool.getObjectOrNull(Path.class, path.getName());
+    return modelPath != null
+        && Objects.equals(modelPath.getSourcePoint(), path.getSourcePoint())
+        && Objects.equals(modelPath.getDestinationPoint(), path.getDestinationPoint());
+  }
+
   private Set<TCSObjectReference<TransportOrder>> getDependencies(TransportOrderCreationTO to)
       throws ObjectUnknownException {
     Set<TCSObjectReference<TransportOrder>> result = new HashSet<>();
@@ -32,6 +32,7 @@ import org.opentcs.kernel.extensions.controlcenter.vehicles.AttachmentManager;
 import org.opentcs.kernel.peripherals.LocalPeripheralControllerPool;
 import org.opentcs.kernel.peripherals.PeripheralAttachmentManager;
 import org.opentcs.kernel.persistence.ModelPersister;
+import org.opentcs.kernel.persistence.OrderJournal;
 import org.opentcs.kernel.vehicles.LocalVehicleControllerPool;
 import org.opentcs.kernel.workingset.Model;
 import org.opentcs.kernel.workingset.PeripheralJobPool;
@@ -180,6 +181,7 @@ public class KernelStateOperatingTest {
                                         extensions,
                                         attachmentManager,
                                         mock(PeripheralAttachmentManager.class),
-                                        vehicleService));
+                                        vehicleService,
+                                        mock(OrderJournal.class)));
   }
 }
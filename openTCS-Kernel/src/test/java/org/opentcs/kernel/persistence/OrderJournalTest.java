@@ -0,0 +1,259 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.opentcs.access.Kernel;
+import org.opentcs.access.KernelStateTransitionEvent;
+import org.opentcs.components.kernel.ObjectNameProvider;
+import org.opentcs.data.TCSObject;
+import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.DriveOrder;
+import org.opentcs.data.order.OrderSequence;
+import org.opentcs.data.order.TransportOrder;
+import org.opentcs.kernel.workingset.TCSObjectPool;
+import org.opentcs.kernel.workingset.TransportOrderPool;
+import org.opentcs.util.event.SimpleEventBus;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link OrderJournal}.
+ */
+public class OrderJournalTest {
+
+  @TempDir
+  File homeDirectory;
+
+  private OrderJournalConfiguration configuration;
+  private SimpleEventBus eventBus;
+  private TCSObjectPool objectPool;
+  private OrderJournal journal;
+
+  @BeforeEach
+  public void setUp() {
+    configuration = mock(OrderJournalConfiguration.class);
+    when(configuration.enable()).thenReturn(true);
+    when(configuration.syncPolicy()).thenReturn(OrderJournalConfiguration.SyncPolicy.BATCH);
+    when(configuration.syncInterval()).thenReturn(10L);
+    when(configuration.snapshotRecordThreshold()).thenReturn(1000);
+    when(configuration.mappedRegionSize()).thenReturn(4096);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    journal.terminate();
+  }
+
+  @Test
+  public void restoreJournaledOrdersAndSequences() {
+    startKernel();
+    addObject(new OrderSequence("sequence1"));
+    TransportOrder order1 = addObject(createOrder("order1"));
+    replaceObject(order1.withState(TransportOrder.State.DISPATCHABLE));
+    addObject(createOrder("order2"));
+    restartKernel();
+
+    assertThat(objectPool.getObjectOrNull(OrderSequence.class, "sequence1"), is(notNullValue()));
+    assertThat(objectPool.getObject(TransportOrder.class, "order1").getState(),
+               is(TransportOrder.State.DISPATCHABLE));
+    assertThat(objectPool.getObject(TransportOrder.class, "order2").getState(),
+               is(TransportOrder.State.RAW));
+  }
+
+  @Test
+  public void doNotRestoreRemovedOrders() {
+    startKernel();
+    TransportOrder order1 = addObject(createOrder("order1"));
+    addObject(createOrder("order2"));
+    removeObject(order1);
+    restartKernel();
+
+    assertThat(objectPool.getObjectOrNull(TransportOrder.class, "order1"), is(nullValue()));
+    assertThat(objectPool.getObjectOrNull(TransportOrder.class, "order2"), is(notNullValue()));
+  }
+
+  @Test
+  public void markOrdersWithInterruptedProcessingAsFailed() {
+    startKernel();
+    TransportOrder order1 = addObject(createOrder("order1"));
+    replaceObject(order1.withState(TransportOrder.State.BEING_PROCESSED));
+    restartKernel();
+
+    assertThat(objectPool.getObject(TransportOrder.class, "order1").getState(),
+               is(TransportOrder.State.FAILED));
+  }
+
+  @Test
+  public void markOrdersForUnknownVehiclesAsFailed() {
+    startKernel();
+    addObject(createOrder("order1")
+        .withIntendedVehicle(new Vehicle("vehicle1").getReference()));
+    restartKernel();
+
+    assertThat(objectPool.getObject(TransportOrder.class, "order1").getState(),
+               is(TransportOrder.State.FAILED));
+  }
+
+  @Test
+  public void markOrdersWithUnknownDestinationsAsFailed() {
+    startKernel();
+    addObject(new TransportOrder("order1",
+                                 List.of(new DriveOrder(new DriveOrder.Destination(
+                                     new Point("point2").getReference())))));
+    addObject(createOrder("order2"));
+    restartKernel();
+
+    assertThat(objectPool.getObject(TransportOrder.class, "order1").getState(),
+               is(TransportOrder.State.FAILED));
+    assertThat(objectPool.getObject(TransportOrder.class, "order2").getState(),
+               is(TransportOrder.State.RAW));
+  }
+
+  @Test
+  public void restoreOrdersFromSnapshotAndSubsequentJournal()
+      throws IOException {
+    when(configuration.snapshotRecordThreshold()).thenReturn(5);
+    startKernel();
+    for (int i = 0; i < 20; i++) {
+      TransportOrder order = addObject(createOrder("order" + i));
+      if (i % 2 == 0) {
+        removeObject(order);
+      }
+    }
+    restartKernel();
+
+    assertThat(objectPool.getObjects(TransportOrder.class).size(), is(10));
+    assertThat(objectPool.getObjectOrNull(TransportOrder.class, "order19"), is(notNullValue()));
+    // Files of previous generations are deleted once a new generation has been started.
+    assertThat(journalFileNames(), hasSize(2));
+  }
+
+  @Test
+  public void ignorePartiallyWrittenRecord()
+      throws IOException {
+    startKernel();
+    addObject(createOrder("order1"));
+    addObject(createOrder("order2"));
+    journal.terminate();
+
+    // Damage the last record, as if writing it had been interrupted.
+    Path journalFile = journalDirectory().resolve("journal-1.log");
+    List<byte[]> records = JournalFile.readRecords(journalFile);
+    long lastRecordEnd = records.stream().mapToLong(record -> 8 + record.length).sum();
+    try (RandomAccessFile file = new RandomAccessFile(journalFile.toFile(), "rw")) {
+      file.seek(lastRecordEnd - 1);
+      int lastByte = file.read();
+      file.seek(lastRecordEnd - 1);
+      file.write(lastByte ^ 0xff);
+    }
+    startKernel();
+
+    assertThat(objectPool.getObjectOrNull(TransportOrder.class, "order1"), is(notNullValue()));
+    assertThat(objectPool.getObjectOrNull(TransportOrder.class, "order2"), is(nullValue()));
+  }
+
+  @Test
+  public void discardJournaledOrdersWhenLeavingOperatingMode() {
+    startKernel();
+    addObject(new OrderSequence("sequence1"));
+    addObject(createOrder("order1"));
+    leaveOperatingMode(Kernel.State.MODELLING);
+    startKernel();
+
+    assertThat(objectPool.getObjectOrNull(OrderSequence.class, "sequence1"), is(nullValue()));
+    assertThat(objectPool.getObjectOrNull(TransportOrder.class, "order1"), is(nullValue()));
+  }
+
+  @Test
+  public void keepJournaledOrdersWhenShuttingDown() {
+    startKernel();
+    addObject(createOrder("order1"));
+    leaveOperatingMode(Kernel.State.SHUTDOWN);
+    startKernel();
+
+    assertThat(objectPool.getObjectOrNull(TransportOrder.class, "order1"), is(notNullValue()));
+  }
+
+  private void startKernel() {
+    eventBus = new SimpleEventBus();
+    objectPool = new TCSObjectPool(eventBus);
+    objectPool.addObject(new Point("point1"));
+    journal = new OrderJournal(new Object(),
+                               new TransportOrderPool(objectPool, mock(ObjectNameProvider.class)),
+                               eventBus,
+                               homeDirectory,
+                               configuration);
+    journal.initialize();
+  }
+
+  private void restartKernel() {
+    journal.terminate();
+    startKernel();
+  }
+
+  private void leaveOperatingMode(Kernel.State enteredState) {
+    eventBus.onEvent(new KernelStateTransitionEvent(Kernel.State.OPERATING, enteredState, false));
+    journal.terminate();
+    journal.orderPoolCleared();
+  }
+
+  private TransportOrder createOrder(String name) {
+    Point destination = new Point("point1");
+    return new TransportOrder(name,
+                              List.of(new DriveOrder(new DriveOrder.Destination(
+                                  destination.getReference()))));
+  }
+
+  private <T extends TCSObject<T>> T addObject(T object) {
+    objectPool.addObject(object);
+    objectPool.emitObjectEvent(object, null, TCSObjectEvent.Type.OBJECT_CREATED);
+    return object;
+  }
+
+  private <T extends TCSObject<T>> T replaceObject(T object) {
+    TCSObject<?> previousState = objectPool.getObject(object.getReference());
+    T newState = objectPool.replaceObject(object);
+    objectPool.emitObjectEvent(newState, previousState, TCSObjectEvent.Type.OBJECT_MODIFIED);
+    return newState;
+  }
+
+  private void removeObject(TCSObject<?> object) {
+    TCSObject<?> previousState = objectPool.removeObject(object.getReference());
+    objectPool.emitObjectEvent(null, previousState, TCSObjectEvent.Type.OBJECT_REMOVED);
+  }
+
+  private Path journalDirectory() {
+    return homeDirectory.toPath().resolve("data").resolve("journal");
+  }
+
+  private List<String> journalFileNames()
+      throws IOException {
+    try (Stream<Path> files = Files.list(journalDirectory())) {
+      return files.map(file -> file.getFileName().toString()).collect(Collectors.toList());
+    }
+  }
+}
@@ -0,0 +1,275 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.persistence;
+
+import java.awt.Color;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.opentcs.access.to.model.BlockCreationTO;
+import org.opentcs.access.to.model.LocationCreationTO;
+import org.opentcs.access.to.model.LocationTypeCreationTO;
+import org.opentcs.access.to.model.PathCreationTO;
+import org.opentcs.access.to.model.PlantModelCreationTO;
+import org.opentcs.access.to.model.PointCreationTO;
+import org.opentcs.access.to.model.VehicleCreationTO;
+import org.opentcs.access.to.model.VisualLayoutCreationTO;
+import org.opentcs.access.to.peripherals.PeripheralOperationCreationTO;
+import org.opentcs.data.model.Couple;
+import org.opentcs.data.model.Path.Layout.ConnectionType;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Triple;
+import org.opentcs.data.model.visualization.Layer;
+import org.opentcs.data.model.visualization.LayerGroup;
+import org.opentcs.data.model.visualization.LocationRepresentation;
+import org.opentcs.kernel.KernelApplicationConfiguration;
+import org.opentcs.util.FileSystems;
+import org.opentcs.util.persistence.ModelParser;
+import org.opentcs.util.persistence.v004.V004ModelStreamWriter;
+
+/**
+ * Unit tests for {@link PlantModelSnapshot}.
+ */
+public class PlantModelSnapshotTest {
+
+  private Path directory;
+  private Path modelPath;
+  private Path snapshotPath;
+  private ModelParser modelParser;
+
+  @BeforeEach
+  public void setUp()
+      throws IOException {
+    directory = Files.createTempDirectory("PlantModelSnapshotTest");
+    modelPath = directory.resolve("model.xml");
+    snapshotPath = directory.resolve("model.snapshot");
+    modelParser = new ModelParser();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    FileSystems.deleteRecursively(directory.toFile());
+  }
+
+  @Test
+  public void readSameModelAsFromModelFile()
+      throws IOException {
+    modelParser.writeModel(createModel(1000), modelPath.toFile());
+    PlantModelCreationTO modelFromFile = modelParser.readModel(modelPath.toFile());
+    long checksum = PlantModelSnapshot.checksum(modelPath);
+
+    PlantModelSnapshot.write(snapshotPath, modelFromFile, checksum);
+    PlantModelCreationTO modelFromSnapshot = PlantModelSnapshot.read(snapshotPath, checksum).get();
+
+    assertThat(toXml(modelFromSnapshot), is(toXml(modelFromFile)));
+    assertThat(modelFromSnapshot.getProperties(), is(modelFromFile.getProperties()));
+    assertThat(modelFromSnapshot.getVisualLayout().getScaleX(),
+               is(modelFromFile.getVisualLayout().getScaleX()));
+  }
+
+  @Test
+  public void keepValuesNotWrittenToModelFile()
+      throws IOException {
+    PlantModelCreationTO model = createModel(10)
+        .withLocation(new LocationCreationTO("Location-with-z", "Transfer station",
+                                             new Triple(1, -2, 3)));
+
+    PlantModelSnapshot.write(snapshotPath, model, 42);
+    PlantModelCreationTO result = PlantModelSnapshot.read(snapshotPath, 42).get();
+
+    assertThat(result.getPoints().get(3).getPosition().getZ(), is(-3000L));
+    assertThat(result.getLocations().get(1).getPosition().getZ(), is(3L));
+    assertThat(result.getVehicles().get(0).getLayout().getRouteColor(),
+               is(new Color(0x80FF0000, true)));
+  }
+
+  @Test
+  public void replaceSnapshotAfterReadingIt()
+      throws IOException {
+    PlantModelSnapshot.write(snapshotPath, createModel(10), 42);
+    PlantModelSnapshot.checksum(snapshotPath);
+    PlantModelSnapshot.read(snapshotPath, 42);
+
+    PlantModelSnapshot.write(snapshotPath, createModel(20), 43);
+
+    assertThat(PlantModelSnapshot.read(snapshotPath, 43).get().getPoints().size(), is(20));
+  }
+
+  @Test
+  public void ignoreSnapshotOfDifferentModelFile()
+      throws IOException {
+    PlantModelSnapshot.write(snapshotPath, createModel(10), 42);
+
+    assertThat(PlantModelSnapshot.read(snapshotPath, 43), is(Optional.empty()));
+  }
+
+  @Test
+  public void ignoreSnapshotOfDifferentFormatVersion()
+      throws IOException {
+    PlantModelSnapshot.write(snapshotPath, createModel(10), 42);
+    try (RandomAccessFile file = new RandomAccessFile(snapshotPath.toFile(), "rw")) {
+      file.seek(4);
+      file.writeInt(PlantModelSnapshot.FORMAT_VERSION + 1);
+    }
+
+    assertThat(PlantModelSnapshot.read(snapshotPath, 42), is(Optional.empty()));
+  }
+
+  @Test
+  public void rejectTruncatedSnapshot()
+      throws IOException {
+    PlantModelSnapshot.write(snapshotPath, createModel(10), 42);
+    try (RandomAccessFile file = new RandomAccessFile(snapshotPath.toFile(), "rw")) {
+      file.setLength(file.length() - 10);
+    }
+
+    assertThrows(IOException.class, () -> PlantModelSnapshot.read(snapshotPath, 42));
+  }
+
+  @Test
+  public void rejectFileNotBeingSnapshot()
+      throws IOException {
+    modelParser.writeModel(createModel(10), modelPath.toFile());
+
+    assertThrows(IOException.class, () -> PlantModelSnapshot.read(modelPath, 42));
+  }
+
+  @Test
+  public void changeChecksumWithModelFile()
+      throws IOException {
+    modelParser.writeModel(createModel(10), modelPath.toFile());
+    long checksum = PlantModelSnapshot.checksum(modelPath);
+    modelParser.writeModel(createModel(11), modelPath.toFile());
+
+    assertThat(PlantModelSnapshot.checksum(modelPath) == checksum, is(false));
+  }
+
+  @Test
+  public void persisterReadsModelFromSnapshotUntilModelFileChanges()
+      throws IOException {
+    KernelApplicationConfiguration configuration = mock(KernelApplicationConfiguration.class);
+    when(configuration.useModelSnapshot()).thenReturn(true);
+    XMLFileModelPersister persister
+        = new XMLFileModelPersister(directory.toFile(), modelParser, configuration);
+    File snapshotFile = directory.resolve("data").resolve("model.snapshot").toFile();
+
+    persister.saveModel(createModel(10));
+    assertThat(snapshotFile.exists(), is(false));
+    assertThat(persister.readModel().getPoints().size(), is(10));
+    assertThat(snapshotFile.exists(), is(true));
+
+    assertThat(persister.readModel().getPoints().size(), is(10));
+
+    modelParser.writeModel(createModel(20),
+                           directory.resolve("data").resolve("model.xml").toFile());
+    assertThat(persister.readModel().getPoints().size(), is(20));
+  }
+
+  private String toXml(PlantModelCreationTO model)
+      throws IOException {
+    StringWriter writer = new StringWriter();
+    new V004ModelStreamWriter().write(model, writer);
+    return writer.toString();
+  }
+
+  private PlantModelCreationTO createModel(int pointCount) {
+    List<PointCreationTO> points = new ArrayList<>();
+    List<PathCreationTO> paths = new ArrayList<>();
+    for (int i = 0; i < pointCount; i++) {
+      points.add(
+          new PointCreationTO("Point-" + i)
+              .withPosition(new Triple(i * 1000L, -i * 500L, -i * 1000L))
+              .withType(i % 3 == 0 ? Point.Type.PARK_POSITION : Point.Type.HALT_POSITION)
+              .withVehicleOrientationAngle(i % 2 == 0 ? Double.NaN : i)
+              .withProperty("point-key", "point-value-" + (i % 4))
+              .withLayout(new PointCreationTO.Layout(new Couple(i * 50L, -i * 25L),
+                                                     new Couple(-10, -20),
+                                                     i % 2))
+      );
+      paths.add(
+          new PathCreationTO("Path-" + i, "Point-" + i, "Point-" + ((i + 1) % pointCount))
+              .withLength(1000L + i)
+              .withMaxVelocity(1000)
+              .withMaxReverseVelocity(i % 2 == 0 ? 0 : 500)
+              .withLocked(i % 5 == 0)
+              .withProperty("path-key", "Äpfel & <Birnen>")
+              .withPeripheralOperations(Arrays.asList(
+                  new PeripheralOperationCreationTO("Open door", "Door-" + i)
+                      .withCompletionRequired(true)
+              ))
+              .withLayout(new PathCreationTO.Layout(ConnectionType.POLYPATH,
+                                                    Arrays.asList(new Couple(i, -i),
+                                                                  new Couple(2 * i, 0)),
+                                                    0))
+      );
+    }
+
+    return new PlantModelCreationTO("Model with " + pointCount + " points")
+        .withPoints(points)
+        .withPaths(paths)
+        .withVehicles(Arrays.asList(
+            new VehicleCreationTO("Vehicle-01")
+                .withLength(1200)
+                .withEnergyLevelGood(80)
+                .withMaxVelocity(1500)
+                .withMaxReverseVelocity(300)
+                .withLayout(new VehicleCreationTO.Layout(new Color(0x80FF0000, true)))
+        ))
+        .withLocationTypes(Arrays.asList(
+            new LocationTypeCreationTO("Transfer station")
+                .withAllowedOperations(Arrays.asList("Unload cargo", "Load cargo"))
+                .withAllowedPeripheralOperations(Arrays.asList("Open door"))
+                .withProperty("type-key", "type-value")
+                .withLayout(new LocationTypeCreationTO.Layout(
+                    LocationRepresentation.LOAD_TRANSFER_GENERIC
+                ))
+        ))
+        .withLocations(Arrays.asList(
+            new LocationCreationTO("Storage-01", "Transfer station", new Triple(100, 200, 0))
+                .withLink("Point-0", new HashSet<>(Arrays.asList("Load cargo", "Unload cargo")))
+                .withLink("Point-1", new HashSet<>())
+                .withLocked(true)
+                .withLayout(new LocationCreationTO.Layout(new Couple(100, 200),
+                                                          new Couple(-10, -20),
+                                                          LocationRepresentation.DEFAULT,
+                                                          1))
+        ))
+        .withBlocks(Arrays.asList(
+            new BlockCreationTO("Block-01")
+                .withMemberNames(new HashSet<>(Arrays.asList("Point-1", "Path-0")))
+                .withLayout(new BlockCreationTO.Layout(Color.BLUE))
+        ))
+        .withVisualLayout(
+            new VisualLayoutCreationTO("VLayout-01")
+                .withScaleX(25.0)
+                .withScaleY(40.0)
+                .withProperty("layout-key", "layout-value")
+                .withLayers(Arrays.asList(new Layer(0, 0, true, "Layer 0", 0),
+                                          new Layer(1, 1, false, "Layer 1", 1)))
+                .withLayerGroups(Arrays.asList(new LayerGroup(0, "Group 0", true),
+                                               new LayerGroup(1, "Group 1", false)))
+        )
+        .withProperty("model-key", "model-value");
+  }
+}
@@ -19,6 +19,7 @@ import org.opentcs.TestEnvironment;
 import org.opentcs.access.to.model.PlantModelCreationTO;
 import org.opentcs.access.to.model.PointCreationTO;
 import org.opentcs.access.to.model.VehicleCreationTO;
+import org.opentcs.kernel.KernelApplicationConfiguration;
 import org.opentcs.util.persistence.ModelParser;
 
 /**
@@ -61,7 +62,8 @@ public class XMLFileModelPersisterTest {
       throws IOException {
     modelParser = mock(ModelParser.class);
     persister = new XMLFileModelPersister(TestEnvironment.getKernelHomeDirectory(),
-                                          modelParser);
+                                          modelParser,
+                                          mock(KernelApplicationConfiguration.class));
     modelCaptor = ArgumentCaptor.forClass(PlantModelCreationTO.class);
     fileCaptor = ArgumentCaptor.forClass(File.class);
   }
@@ -13,6 +13,7 @@ package org.opentcs.kernel.vehicles;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
 import org.junit.*;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -128,7 +129,10 @@ public class DefaultVehicleControllerTest {
                                                         mock(DispatcherService.class),
                                                         scheduler,
                                                         eventBus,
-                                                        componentsFactory);
+                                                        componentsFactory,
+                                                        mock(VehicleTelemetryConfiguration.class),
+                                                        mock(ScheduledExecutorService.class),
+                                                        mock(CommAdapterExecutorConfiguration.class));
     stdVehicleController.initialize();
   }
 
@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.vehicles;
+
+import java.beans.PropertyChangeEvent;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import org.junit.jupiter.api.*;
+import org.opentcs.drivers.vehicle.VehicleProcessModel.Attribute;
+
+/**
+ * Unit tests for {@link ProcessModelEventRelay}.
+ */
+public class ProcessModelEventRelayTest {
+
+  private Queue<Runnable> executorTasks;
+  private List<Object> handledValues;
+  private ProcessModelEventRelay relay;
+
+  @BeforeEach
+  public void setUp() {
+    executorTasks = new LinkedList<>();
+    handledValues = new ArrayList<>();
+    relay = new ProcessModelEventRelay("vehicle1",
+                                       executorTasks::add,
+                                       evt -> handledValues.add(evt.getNewValue()),
+                                       100,
+                                       100);
+  }
+
+  @Test
+  public void replacePendingTelemetryOfSameAttribute() {
+    relay.relay(update(Attribute.ENERGY_LEVEL, 50));
+    relay.relay(update(Attribute.ORIENTATION_ANGLE, 90.0));
+    relay.relay(update(Attribute.ENERGY_LEVEL, 49));
+    relay.relay(update(Attribute.ENERGY_LEVEL, 48));
+    runExecutorTasks();
+
+    assertThat(handledValues, contains(48, 90.0));
+  }
+
+  @Test
+  public void neverLetTelemetryOvertakeOtherUpdates() {
+    relay.relay(update(Attribute.ENERGY_LEVEL, 50));
+    relay.relay(update(Attribute.STATE, "EXECUTING"));
+    relay.relay(update(Attribute.ENERGY_LEVEL, 49));
+    relay.relay(update(Attribute.ENERGY_LEVEL, 48));
+    runExecutorTasks();
+
+    assertThat(handledValues, contains(50, "EXECUTING", 48));
+  }
+
+  @Test
+  public void keepTelemetryAlreadyProcessed() {
+    relay.relay(update(Attribute.ENERGY_LEVEL, 50));
+    runExecutorTasks();
+    relay.relay(update(Attribute.ENERGY_LEVEL, 49));
+    runExecutorTasks();
+
+    assertThat(handledValues, contains(50, 49));
+  }
+
+  private void runExecutorTasks() {
+    for (Runnable task = executorTasks.poll(); task != null; task = executorTasks.poll()) {
+      task.run();
+    }
+  }
+
+  private PropertyChangeEvent update(Attribute attribute, Object value) {
+    return new PropertyChangeEvent(this, attribute.name(), null, value);
+  }
+}
@@ -0,0 +1,189 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.vehicles;
+
+import java.beans.PropertyChangeEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.opentcs.data.model.Triple;
+import org.opentcs.drivers.vehicle.VehicleProcessModel.Attribute;
+
+/**
+ * Unit tests for {@link TelemetryCoalescer}.
+ */
+public class TelemetryCoalescerTest {
+
+  private static final long WINDOW = 60000;
+
+  private VehicleTelemetryConfiguration configuration;
+  private ScheduledExecutorService executor;
+  private List<Object> handledValues;
+  private long now;
+
+  @BeforeEach
+  public void setUp() {
+    configuration = mock(VehicleTelemetryConfiguration.class);
+    when(configuration.coalesce()).thenReturn(true);
+    when(configuration.precisePositionWindow()).thenReturn(WINDOW);
+    when(configuration.precisePositionMinDistance()).thenReturn(10L);
+    when(configuration.orientationAngleWindow()).thenReturn(0L);
+    when(configuration.orientationAngleMinChange()).thenReturn(5.0);
+    when(configuration.energyLevelWindow()).thenReturn(WINDOW);
+    when(configuration.energyLevelMinChange()).thenReturn(1);
+    executor = Executors.newSingleThreadScheduledExecutor();
+    handledValues = new ArrayList<>();
+    now = 0;
+  }
+
+  @AfterEach
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void passOnAllUpdatesIfDisabled() {
+    when(configuration.coalesce()).thenReturn(false);
+    TelemetryCoalescer coalescer = createCoalescer();
+
+    assertThat(coalescer.offer(precisePosition(0)), is(false));
+    assertThat(coalescer.offer(precisePosition(1)), is(false));
+    assertThat(coalescer.offer(energyLevel(50)), is(false));
+    assertThat(coalescer.offer(energyLevel(50)), is(false));
+  }
+
+  @Test
+  public void holdBackUpdatesWithinWindow() {
+    TelemetryCoalescer coalescer = createCoalescer();
+
+    assertThat(coalescer.offer(precisePosition(0)), is(false));
+    advance(WINDOW / 2);
+    assertThat(coalescer.offer(precisePosition(100)), is(true));
+    advance(WINDOW);
+    assertThat(coalescer.offer(precisePosition(200)), is(false));
+    assertThat(handledValues, is(empty()));
+  }
+
+  @Test
+  public void holdBackUpdatesBelowChangeThreshold() {
+    TelemetryCoalescer coalescer = createCoalescer();
+
+    assertThat(coalescer.offer(precisePosition(0)), is(false));
+    advance(2 * WINDOW);
+    assertThat(coalescer.offer(precisePosition(9)), is(true));
+    assertThat(coalescer.offer(orientationAngle(10.0)), is(false));
+    assertThat(coalescer.offer(orientationAngle(14.0)), is(true));
+    assertThat(coalescer.offer(orientationAngle(16.0)), is(false));
+  }
+
+  @Test
+  public void compareOrientationAnglesAcrossZero() {
+    TelemetryCoalescer coalescer = createCoalescer();
+
+    assertThat(coalescer.offer(orientationAngle(358.0)), is(false));
+    assertThat(coalescer.offer(orientationAngle(-358.0)), is(true));
+    assertThat(coalescer.offer(orientationAngle(Double.NaN)), is(false));
+    assertThat(coalescer.offer(orientationAngle(Double.NaN)), is(true));
+  }
+
+  @Test
+  public void passOnLatestHeldBackUpdatesBeforeOrderedUpdate() {
+    TelemetryCoalescer coalescer = createCoalescer();
+    coalescer.offer(precisePosition(0));
+    coalescer.offer(energyLevel(50));
+    coalescer.offer(precisePosition(5));
+    coalescer.offer(precisePosition(7));
+    coalescer.offer(energyLevel(49));
+
+    assertThat(coalescer.offer(event(Attribute.POSITION, "Point-1")), is(false));
+
+    assertThat(handledValues, contains(new Triple(7, 0, 0), 49));
+  }
+
+  @Test
+  public void keepHoldingBackUpdatesOnAdapterSpecificUpdate() {
+    TelemetryCoalescer coalescer = createCoalescer();
+    coalescer.offer(precisePosition(0));
+    coalescer.offer(precisePosition(5));
+
+    assertThat(coalescer.offer(new PropertyChangeEvent(this, "VELOCITY_HISTORY", null, null)),
+               is(false));
+
+    assertThat(handledValues, is(empty()));
+  }
+
+  @Test
+  public void passOnHeldBackUpdateAtEndOfWindow()
+      throws InterruptedException {
+    when(configuration.precisePositionWindow()).thenReturn(50L);
+    CountDownLatch latch = new CountDownLatch(1);
+    TelemetryCoalescer coalescer
+        = new TelemetryCoalescer(configuration,
+                                 executor,
+                                 evt -> {
+                                   handledValues.add(evt.getNewValue());
+                                   latch.countDown();
+                                 });
+    coalescer.offer(precisePosition(0));
+    coalescer.offer(precisePosition(50));
+    coalescer.offer(precisePosition(60));
+
+    assertThat(latch.await(10, TimeUnit.SECONDS), is(true));
+    assertThat(handledValues, contains(new Triple(60, 0, 0)));
+  }
+
+  @Test
+  public void discardHeldBackUpdatesOnClear() {
+    TelemetryCoalescer coalescer = createCoalescer();
+    coalescer.offer(precisePosition(0));
+    coalescer.offer(precisePosition(5));
+
+    coalescer.clear();
+    coalescer.flush();
+
+    assertThat(handledValues, is(empty()));
+    assertThat(coalescer.offer(precisePosition(5)), is(false));
+  }
+
+  private TelemetryCoalescer createCoalescer() {
+    return new TelemetryCoalescer(configuration,
+                                  executor,
+                                  evt -> handledValues.add(evt.getNewValue()),
+                                  () -> now);
+  }
+
+  private void advance(long millis) {
+    now += TimeUnit.MILLISECONDS.toNanos(millis);
+  }
+
+  private PropertyChangeEvent precisePosition(long x) {
+    return event(Attribute.PRECISE_POSITION, new Triple(x, 0, 0));
+  }
+
+  private PropertyChangeEvent orientationAngle(double angle) {
+    return event(Attribute.ORIENTATION_ANGLE, angle);
+  }
+
+  private PropertyChangeEvent energyLevel(int level) {
+    return event(Attribute.ENERGY_LEVEL, level);
+  }
+
+  private PropertyChangeEvent event(Attribute attribute, Object newValue) {
+    return new PropertyChangeEvent(this, attribute.name(), null, newValue);
+  }
+}
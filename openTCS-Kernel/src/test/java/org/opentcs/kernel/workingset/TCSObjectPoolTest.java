@@ -11,9 +11,11 @@
  */
 package org.opentcs.kernel.workingset;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.regex.Pattern;
 import org.junit.*;
@@ -21,9 +23,12 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import org.opentcs.data.ObjectExistsException;
+import org.opentcs.data.ObjectHistory;
 import org.opentcs.data.TCSObjectEvent;
 import org.opentcs.data.model.Path;
 import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.TransportOrder;
 import org.opentcs.util.event.EventBus;
 import org.opentcs.util.event.SimpleEventBus;
 
@@ -201,4 +206,102 @@ public class TCSObjectPoolTest {
     // A misnamed/duplicate object
     pool.addObject(new Point("Path-00002"));
   }
+
+  @Test
+  public void shouldReturnTransportOrdersByState() {
+    TransportOrder order1 = new TransportOrder("Order-00001", new ArrayList<>());
+    pool.addObject(order1);
+    TransportOrder order2 = new TransportOrder("Order-00002", new ArrayList<>());
+    pool.addObject(order2);
+    order2 = pool.replaceObject(order2.withState(TransportOrder.State.ACTIVE));
+
+    Set<TransportOrder> rawOrders = pool.getTransportOrders(TransportOrder.State.RAW);
+    Set<TransportOrder> activeOrders = pool.getTransportOrders(TransportOrder.State.ACTIVE);
+
+    assertEquals(1, rawOrders.size());
+    assertTrue(rawOrders.contains(order1));
+    assertEquals(1, activeOrders.size());
+    assertTrue(activeOrders.contains(order2));
+  }
+
+  @Test
+  public void shouldReturnTransportOrdersByIntendedOrProcessingVehicle() {
+    Vehicle vehicle1 = new Vehicle("Vehicle-00001");
+    Vehicle vehicle2 = new Vehicle("Vehicle-00002");
+    TransportOrder order1 = new TransportOrder("Order-00001", new ArrayList<>())
+        .withIntendedVehicle(vehicle1.getReference());
+    pool.addObject(order1);
+    TransportOrder order2 = new TransportOrder("Order-00002", new ArrayList<>());
+    pool.addObject(order2);
+    order2 = pool.replaceObject(order2.withProcessingVehicle(vehicle1.getReference()));
+    TransportOrder order3 = new TransportOrder("Order-00003", new ArrayList<>())
+        .withIntendedVehicle(vehicle2.getReference());
+    pool.addObject(order3);
+
+    Set<TransportOrder> orders = pool.getTransportOrders(vehicle1.getReference());
+
+    assertEquals(2, orders.size());
+    assertTrue(orders.contains(order1));
+    assertTrue(orders.contains(order2));
+  }
+
+  @Test
+  public void shouldNotReturnRemovedTransportOrders() {
+    Vehicle vehicle = new Vehicle("Vehicle-00001");
+    TransportOrder order = new TransportOrder("Order-00001", new ArrayList<>())
+        .withIntendedVehicle(vehicle.getReference());
+    pool.addObject(order);
+
+    pool.removeObject(order.getReference());
+
+    assertTrue(pool.getTransportOrders(TransportOrder.State.RAW).isEmpty());
+    assertTrue(pool.getTransportOrders(vehicle.getReference()).isEmpty());
+    assertTrue(pool.getObjects(TransportOrder.class).isEmpty());
+  }
+
+  @Test
+  public void shouldReturnReplacedObjectsByClass() {
+    Point point = new Point("Point-00001");
+    pool.addObject(point);
+    Point modifiedPoint = pool.replaceObject(point.withProperty("key", "value"));
+
+    Set<Point> points = pool.getObjects(Point.class);
+
+    assertEquals(1, points.size());
+    assertTrue(points.contains(modifiedPoint));
+    assertTrue(pool.getObjects(Path.class).isEmpty());
+  }
+
+  @Test
+  public void shouldLimitHistoriesOfConfiguredObjectTypes() {
+    pool = new TCSObjectPool(new SimpleEventBus(),
+                             TCSObjectPool.parseHistoryCapacities("Point=2"));
+    Point point = new Point("Point-00001");
+    pool.addObject(point);
+    Path path = new Path("Path-00001", point.getReference(), point.getReference());
+    pool.addObject(path);
+    for (int i = 0; i < 3; i++) {
+      pool.appendObjectHistoryEntry(point.getReference(), new ObjectHistory.Entry("code" + i));
+      pool.appendObjectHistoryEntry(path.getReference(), new ObjectHistory.Entry("code" + i));
+    }
+
+    assertEquals(2, pool.getObject(point.getReference()).getHistory().getEntries().size());
+    assertEquals(3, pool.getObject(path.getReference()).getHistory().getEntries().size());
+  }
+
+  @Test
+  public void shouldParseHistoryCapacities() {
+    Map<String, Integer> capacities
+        = TCSObjectPool.parseHistoryCapacities(" TransportOrder = 500, Vehicle=1000 ,");
+
+    assertEquals(2, capacities.size());
+    assertEquals(Integer.valueOf(500), capacities.get("TransportOrder"));
+    assertEquals(Integer.valueOf(1000), capacities.get("Vehicle"));
+    assertTrue(TCSObjectPool.parseHistoryCapacities("").isEmpty());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldThrowIfHistoryCapacityIsMalformed() {
+    TCSObjectPool.parseHistoryCapacities("TransportOrder=many");
+  }
 }
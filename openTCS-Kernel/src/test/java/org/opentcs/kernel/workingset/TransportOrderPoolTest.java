@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.workingset;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import org.opentcs.access.to.order.DestinationCreationTO;
+import org.opentcs.access.to.order.OrderSequenceCreationTO;
+import org.opentcs.access.to.order.TransportOrderCreationTO;
+import org.opentcs.components.kernel.ObjectNameProvider;
+import org.opentcs.data.ObjectExistsException;
+import org.opentcs.data.ObjectUnknownException;
+import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.order.OrderSequence;
+import org.opentcs.data.order.TransportOrder;
+import org.opentcs.util.event.SimpleEventBus;
+
+/**
+ * Unit tests for {@link TransportOrderPool}.
+ */
+public class TransportOrderPoolTest {
+
+  private TCSObjectPool objectPool;
+
+  private TransportOrderPool orderPool;
+
+  private List<TCSObjectEvent> events;
+
+  @BeforeEach
+  public void setUp() {
+    SimpleEventBus eventBus = new SimpleEventBus();
+    events = new ArrayList<>();
+    eventBus.subscribe(event -> {
+      if (event instanceof TCSObjectEvent) {
+        events.add((TCSObjectEvent) event);
+      }
+    });
+    objectPool = new TCSObjectPool(eventBus);
+    orderPool = new TransportOrderPool(objectPool, mock(ObjectNameProvider.class));
+    objectPool.addObject(new Point("point1"));
+  }
+
+  @Test
+  public void createAllOrdersOfBatch() {
+    List<TransportOrder> orders = orderPool.createTransportOrders(
+        Arrays.asList(orderTO("order1"), orderTO("order2"))
+    );
+
+    assertThat(orders, hasSize(2));
+    assertThat(objectPool.getObjectOrNull(TransportOrder.class, "order1"), is(notNullValue()));
+    assertThat(objectPool.getObjectOrNull(TransportOrder.class, "order2"), is(notNullValue()));
+    assertThat(events, hasSize(2));
+  }
+
+  @Test
+  public void allowDependenciesOnOrdersEarlierInBatch() {
+    orderPool.createTransportOrders(
+        Arrays.asList(orderTO("order1"),
+                      orderTO("order2").withDependencyNames(Collections.singleton("order1")))
+    );
+
+    TransportOrder order1 = objectPool.getObject(TransportOrder.class, "order1");
+    TransportOrder order2 = objectPool.getObject(TransportOrder.class, "order2");
+    assertThat(order2.getDependencies(), contains(order1.getReference()));
+  }
+
+  @Test
+  public void createNoOrdersIfAnyOrderIsInvalid() {
+    assertThrows(ObjectUnknownException.class,
+                 () -> orderPool.createTransportOrders(
+                     Arrays.asList(orderTO("order1"),
+                                   new TransportOrderCreationTO(
+                                       "order2",
+                                       Collections.singletonList(
+                                           new DestinationCreationTO("unknownPoint", "NOP")
+                                       )
+                                   ))
+                 ));
+
+    assertThat(objectPool.getObjectOrNull(TransportOrder.class, "order1"), is(nullValue()));
+    assertThat(events, is(empty()));
+  }
+
+  @Test
+  public void createNoOrdersIfNamesInBatchCollide() {
+    assertThrows(ObjectExistsException.class,
+                 () -> orderPool.createTransportOrders(
+                     Arrays.asList(orderTO("order1"), orderTO("order1"))
+                 ));
+
+    assertThat(objectPool.getObjectOrNull(TransportOrder.class, "order1"), is(nullValue()));
+    assertThat(events, is(empty()));
+  }
+
+  @Test
+  public void emitSingleModificationPerOrderSequence() {
+    OrderSequence sequence = orderPool.createOrderSequence(new OrderSequenceCreationTO("seq1"));
+    events.clear();
+
+    orderPool.createTransportOrders(
+        Arrays.asList(orderTO("order1").withWrappingSequence("seq1"),
+                      orderTO("order2").withWrappingSequence("seq1"))
+    );
+
+    assertThat(objectPool.getObject(OrderSequence.class, "seq1").getOrders(), hasSize(2));
+    assertThat(events, hasSize(3));
+    TCSObjectEvent sequenceEvent = events.get(2);
+    assertThat(sequenceEvent.getType(), is(TCSObjectEvent.Type.OBJECT_MODIFIED));
+    assertThat(((OrderSequence) sequenceEvent.getPreviousObjectState()).getOrders(),
+               is(sequence.getOrders()));
+    assertThat(((OrderSequence) sequenceEvent.getCurrentObjectState()).getOrders(), hasSize(2));
+  }
+
+  @Test
+  public void restoreOrderSequencesIfAnyOrderIsInvalid() {
+    orderPool.createOrderSequence(new OrderSequenceCreationTO("seq1"));
+
+    assertThrows(ObjectExistsException.class,
+                 () -> orderPool.createTransportOrders(
+                     Arrays.asList(orderTO("order1").withWrappingSequence("seq1"),
+                                   orderTO("seq1"))
+                 ));
+
+    assertThat(objectPool.getObject(OrderSequence.class, "seq1").getOrders(), is(empty()));
+  }
+
+  private TransportOrderCreationTO orderTO(String name) {
+    return new TransportOrderCreationTO(
+        name,
+        Collections.singletonList(new DestinationCreationTO("point1", "NOP"))
+    );
+  }
+}
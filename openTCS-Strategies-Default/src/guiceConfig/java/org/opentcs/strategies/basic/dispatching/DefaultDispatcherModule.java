@@ -15,6 +15,7 @@ import javax.inject.Singleton;
 import org.opentcs.customizations.kernel.KernelInjectionModule;
 import org.opentcs.data.model.Vehicle;
 import org.opentcs.data.order.TransportOrder;
+import org.opentcs.strategies.basic.dispatching.phase.assignment.CandidateRouteCache;
 import org.opentcs.strategies.basic.dispatching.phase.parking.DefaultParkingPositionSupplier;
 import org.opentcs.strategies.basic.dispatching.phase.parking.ParkingPositionSupplier;
 import org.opentcs.strategies.basic.dispatching.phase.recharging.DefaultRechargePositionSupplier;
@@ -102,6 +103,9 @@ public class DefaultDispatcherModule
     bind(OrderReservationPool.class)
         .in(Singleton.class);
 
+    bind(CandidateRouteCache.class)
+        .in(Singleton.class);
+
     bind(ParkingPositionSupplier.class)
         .to(DefaultParkingPositionSupplier.class)
         .in(Singleton.class);
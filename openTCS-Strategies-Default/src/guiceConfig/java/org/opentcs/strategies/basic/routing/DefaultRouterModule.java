@@ -16,7 +16,9 @@ import org.opentcs.strategies.basic.routing.edgeevaluator.EdgeEvaluatorExplicitP
 import org.opentcs.strategies.basic.routing.edgeevaluator.EdgeEvaluatorHops;
 import org.opentcs.strategies.basic.routing.edgeevaluator.EdgeEvaluatorTravelTime;
 import org.opentcs.strategies.basic.routing.edgeevaluator.ExplicitPropertiesConfiguration;
+import org.opentcs.strategies.basic.routing.jgrapht.AltPointRouterFactory;
 import org.opentcs.strategies.basic.routing.jgrapht.BellmanFordPointRouterFactory;
+import org.opentcs.strategies.basic.routing.jgrapht.CostMatrixPointRouterFactory;
 import org.opentcs.strategies.basic.routing.jgrapht.DefaultModelGraphMapper;
 import org.opentcs.strategies.basic.routing.jgrapht.DijkstraPointRouterFactory;
 import org.opentcs.strategies.basic.routing.jgrapht.FloydWarshallPointRouterFactory;
@@ -71,6 +73,14 @@ public class DefaultRouterModule
         bind(PointRouterFactory.class)
             .to(FloydWarshallPointRouterFactory.class);
         break;
+      case ALT:
+        bind(PointRouterFactory.class)
+            .to(AltPointRouterFactory.class);
+        break;
+      case COST_MATRIX:
+        bind(PointRouterFactory.class)
+            .to(CostMatrixPointRouterFactory.class);
+        break;
       default:
         LOG.warn("Unhandled algorithm selected ({}), falling back to Dijkstra's algorithm.",
                  spConfiguration.algorithm());
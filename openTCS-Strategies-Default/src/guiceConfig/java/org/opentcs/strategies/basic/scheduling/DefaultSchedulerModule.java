@@ -29,6 +29,10 @@ public class DefaultSchedulerModule
   }
 
   private void configureSchedulerDependencies() {
+    bind(DefaultSchedulerConfiguration.class)
+        .toInstance(getConfigBindingProvider().get(DefaultSchedulerConfiguration.PREFIX,
+                                                   DefaultSchedulerConfiguration.class));
+
     bind(ReservationPool.class).in(Singleton.class);
 
     Multibinder<Scheduler.Module> moduleBinder = schedulerModuleBinder();
@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.dispatching;
+
+import static java.util.Objects.requireNonNull;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Wraps a dispatch task (usually a {@link FullDispatchTask}) and collapses bursts of dispatch
+ * requests into single runs.
+ * <p>
+ * Any number of requests made while a run is pending (i.e. scheduled, but not yet started)
+ * result in that one pending run.
+ * Requests made while a run is in progress result in at most one follow-up run.
+ * </p>
+ */
+public class CoalescingDispatchTask
+    implements Runnable {
+
+  /**
+   * This class's logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(CoalescingDispatchTask.class);
+  /**
+   * The actual dispatch task.
+   */
+  private final Runnable dispatchTask;
+  /**
+   * Indicates whether a run has been scheduled but not yet started.
+   */
+  private final AtomicBoolean runPending = new AtomicBoolean();
+  /**
+   * The number of dispatch runs requested.
+   */
+  private final AtomicLong requestedRuns = new AtomicLong();
+  /**
+   * The number of dispatch runs actually executed.
+   */
+  private final AtomicLong executedRuns = new AtomicLong();
+  /**
+   * The number of dispatch runs requested when the statistics were last logged.
+   */
+  private final AtomicLong lastLoggedRequestedRuns = new AtomicLong();
+
+  /**
+   * Creates a new instance.
+   *
+   * @param dispatchTask The actual dispatch task.
+   */
+  public CoalescingDispatchTask(Runnable dispatchTask) {
+    this.dispatchTask = requireNonNull(dispatchTask, "dispatchTask");
+  }
+
+  /**
+   * Registers a request for a dispatch run.
+   *
+   * @return {@code true} if the caller needs to schedule this task for execution, or
+   * {@code false} if the request is covered by a run that is already pending.
+   */
+  public boolean requestRun() {
+    requestedRuns.incrementAndGet();
+    return runPending.compareAndSet(false, true);
+  }
+
+  @Override
+  public void run() {
+    // Reset the flag before actually dispatching, so any request made while this run is in
+    // progress results in (exactly one) follow-up run.
+    runPending.set(false);
+    executedRuns.incrementAndGet();
+    dispatchTask.run();
+    LOG.debug("Dispatch runs requested: {}, executed: {}", getRequestedRuns(), getExecutedRuns());
+  }
+
+  /**
+   * Logs the numbers of requested and executed dispatch runs, unless no runs have been requested
+   * since they were last logged.
+   */
+  public void logStatistics() {
+    long requested = getRequestedRuns();
+    if (lastLoggedRequestedRuns.getAndSet(requested) == requested) {
+      return;
+    }
+    long executed = getExecutedRuns();
+    LOG.info("Dispatch runs requested: {}, executed: {}, saved: {}",
+             requested,
+             executed,
+             requested - executed);
+  }
+
+  /**
+   * Returns the number of dispatch runs requested since this instance was created.
+   *
+   * @return The number of dispatch runs requested.
+   */
+  public long getRequestedRuns() {
+    return requestedRuns.get();
+  }
+
+  /**
+   * Returns the number of dispatch runs executed since this instance was created.
+   *
+   * @return The number of dispatch runs executed.
+   */
+  public long getExecutedRuns() {
+    return executedRuns.get();
+  }
+}
@@ -21,6 +21,7 @@ import org.opentcs.customizations.ApplicationEventBus;
 import org.opentcs.customizations.kernel.KernelExecutor;
 import org.opentcs.data.model.Vehicle;
 import org.opentcs.data.order.TransportOrder;
+import org.opentcs.strategies.basic.dispatching.phase.assignment.CandidateRouteCache;
 import static org.opentcs.strategies.basic.dispatching.DefaultDispatcherConfiguration.RerouteTrigger.TOPOLOGY_CHANGE;
 import org.opentcs.util.event.EventSource;
 import org.slf4j.Logger;
@@ -65,17 +66,30 @@ public class DefaultDispatcher
 
   private final FullDispatchTask fullDispatchTask;
 
+  /**
+   * Wraps the full dispatch task for coalescing dispatch requests.
+   */
+  private final CoalescingDispatchTask coalescingDispatchTask;
+
   private final Provider<PeriodicVehicleRedispatchingTask> periodicDispatchTaskProvider;
 
   private final DefaultDispatcherConfiguration configuration;
 
   private final RerouteUtil rerouteUtil;
+  /**
+   * Keeps routes computed for vehicle/transport order pairs between dispatch runs.
+   */
+  private final CandidateRouteCache candidateRouteCache;
   /**
    *
    */
   private ImplicitDispatchTrigger implicitDispatchTrigger;
 
   private ScheduledFuture<?> periodicDispatchTaskFuture;
+  /**
+   * Periodically logs the numbers of requested and executed dispatch runs.
+   */
+  private ScheduledFuture<?> statisticsLoggingFuture;
   /**
    * Indicates whether this component is enabled.
    */
@@ -94,6 +108,7 @@ public class DefaultDispatcher
    * @param periodicDispatchTaskProvider Provides the periodic vehicle redospatching task.
    * @param configuration The dispatcher configuration.
    * @param rerouteUtil The reroute util.
+   * @param candidateRouteCache Keeps routes computed for vehicle/transport order pairs.
    */
   @Inject
   public DefaultDispatcher(OrderReservationPool orderReservationPool,
@@ -105,7 +120,8 @@ public class DefaultDispatcher
                            FullDispatchTask fullDispatchTask,
                            Provider<PeriodicVehicleRedispatchingTask> periodicDispatchTaskProvider,
                            DefaultDispatcherConfiguration configuration,
-                           RerouteUtil rerouteUtil) {
+                           RerouteUtil rerouteUtil,
+                           CandidateRouteCache candidateRouteCache) {
     this.orderReservationPool = requireNonNull(orderReservationPool, "orderReservationPool");
     this.transportOrderUtil = requireNonNull(transportOrderUtil, "transportOrderUtil");
     this.transportOrderService = requireNonNull(transportOrderService, "transportOrderService");
@@ -113,10 +129,12 @@ public class DefaultDispatcher
     this.eventSource = requireNonNull(eventSource, "eventSource");
     this.kernelExecutor = requireNonNull(kernelExecutor, "kernelExecutor");
     this.fullDispatchTask = requireNonNull(fullDispatchTask, "fullDispatchTask");
+    this.coalescingDispatchTask = new CoalescingDispatchTask(fullDispatchTask);
     this.periodicDispatchTaskProvider = requireNonNull(periodicDispatchTaskProvider,
                                                        "periodicDispatchTaskProvider");
     this.configuration = requireNonNull(configuration, "configuration");
     this.rerouteUtil = requireNonNull(rerouteUtil, "rerouteUtil");
+    this.candidateRouteCache = requireNonNull(candidateRouteCache, "candidateRouteCache");
   }
 
   @Override
@@ -144,6 +162,16 @@ public class DefaultDispatcher
         TimeUnit.MILLISECONDS
     );
 
+    if (configuration.coalesceDispatchRequests()
+        && configuration.dispatchStatisticsLoggingInterval() > 0) {
+      statisticsLoggingFuture = kernelExecutor.scheduleAtFixedRate(
+          coalescingDispatchTask::logStatistics,
+          configuration.dispatchStatisticsLoggingInterval(),
+          configuration.dispatchStatisticsLoggingInterval(),
+          TimeUnit.MILLISECONDS
+      );
+    }
+
     initialized = true;
   }
 
@@ -158,11 +186,20 @@ public class DefaultDispatcher
     periodicDispatchTaskFuture.cancel(false);
     periodicDispatchTaskFuture = null;
 
+    if (statisticsLoggingFuture != null) {
+      statisticsLoggingFuture.cancel(false);
+      statisticsLoggingFuture = null;
+    }
+
     eventSource.unsubscribe(implicitDispatchTrigger);
     implicitDispatchTrigger = null;
 
     fullDispatchTask.terminate();
 
+    if (configuration.coalesceDispatchRequests()) {
+      coalescingDispatchTask.logStatistics();
+    }
+
     initialized = false;
   }
 
@@ -173,6 +210,17 @@ public class DefaultDispatcher
 
   @Override
   public void dispatch() {
+    if (configuration.coalesceDispatchRequests()) {
+      if (coalescingDispatchTask.requestRun()) {
+        LOG.debug("Scheduling coalescing dispatch task...");
+        kernelExecutor.submit(coalescingDispatchTask);
+      }
+      else {
+        LOG.debug("Dispatch task already pending, not scheduling another one.");
+      }
+      return;
+    }
+
     LOG.debug("Scheduling dispatch task...");
     // Schedule this to be executed by the kernel executor.
     kernelExecutor.submit(fullDispatchTask);
@@ -208,6 +256,8 @@ public class DefaultDispatcher
 
   @Override
   public void topologyChanged() {
+    candidateRouteCache.topologyChanged();
+
     if (configuration.rerouteTrigger() == TOPOLOGY_CHANGE) {
       LOG.debug("Scheduling reroute task...");
       kernelExecutor.submit(() -> {
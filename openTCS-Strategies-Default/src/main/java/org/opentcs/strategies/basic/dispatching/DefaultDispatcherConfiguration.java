@@ -76,6 +76,26 @@ public interface DefaultDispatcherConfiguration {
       orderKey = "0_assign_special_0")
   long deadlineAtRiskPeriod();
 
+  @ConfigurationEntry(
+      type = "Boolean",
+      description = {
+        "Whether to keep routes computed for vehicle/transport order pairs between dispatch runs.",
+        "If true, routes are only recomputed if the vehicle's position, the transport order or "
+        + "the routing topology changed."
+      },
+      orderKey = "0_assign_special_1")
+  boolean cacheCandidateRoutes();
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = {
+        "The number of threads used for computing routes for assignment candidates in parallel.",
+        "With a value of 1 or less, routes are computed sequentially on the kernel executor.",
+        "Regardless of this value, the actual assignment decisions are made sequentially."
+      },
+      orderKey = "0_assign_special_2")
+  int candidateComputationParallelism();
+
   @ConfigurationEntry(
       type = "Boolean",
       description = "Whether orders to the current position with no operation should be assigned.",
@@ -152,6 +172,25 @@ public interface DefaultDispatcherConfiguration {
       orderKey = "9_misc")
   long idleVehicleRedispatchingInterval();
 
+  @ConfigurationEntry(
+      type = "Boolean",
+      description = {
+        "Whether to coalesce dispatch requests.",
+        "If true, any number of requests made while a dispatch run is pending or in progress "
+        + "result in at most one follow-up run."
+      },
+      orderKey = "9_misc_1")
+  boolean coalesceDispatchRequests();
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = {
+        "The interval (in ms) in which to log the numbers of requested and executed dispatch runs.",
+        "Only applies if dispatch requests are coalesced. 0 disables logging."
+      },
+      orderKey = "9_misc_2")
+  long dispatchStatisticsLoggingInterval();
+
   enum RerouteTrigger {
     NONE,
     DRIVE_ORDER_FINISHED,
@@ -158,8 +158,7 @@ public class TransportOrderUtil
    * marking them as DISPATCHABLE.
    */
   public void markNewDispatchableOrders() {
-    transportOrderService.fetchObjects(TransportOrder.class).stream()
-        .filter(order -> order.hasState(TransportOrder.State.ACTIVE))
+    transportOrderService.fetchTransportOrders(TransportOrder.State.ACTIVE).stream()
         .filter(order -> !hasUnfinishedDependencies(order))
         .forEach(order -> updateTransportOrderState(order.getReference(),
                                                     TransportOrder.State.DISPATCHABLE));
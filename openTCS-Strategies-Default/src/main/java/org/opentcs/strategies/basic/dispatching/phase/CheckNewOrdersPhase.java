@@ -77,7 +77,7 @@ public class CheckNewOrdersPhase
 
   @Override
   public void run() {
-    objectService.fetchObjects(TransportOrder.class, this::inRawState).stream()
+    objectService.fetchTransportOrders(TransportOrder.State.RAW).stream()
         .forEach(order -> checkRawTransportOrder(order));
   }
 
@@ -100,8 +100,4 @@ public class CheckNewOrdersPhase
                                                    TransportOrder.State.DISPATCHABLE);
     }
   }
-
-  private boolean inRawState(TransportOrder order) {
-    return order.hasState(TransportOrder.State.RAW);
-  }
 }
@@ -8,15 +8,17 @@
 package org.opentcs.strategies.basic.dispatching.phase.assignment;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import static java.util.Objects.requireNonNull;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import org.opentcs.components.kernel.Router;
@@ -24,12 +26,14 @@ import org.opentcs.components.kernel.services.TCSObjectService;
 import org.opentcs.data.ObjectHistory;
 import org.opentcs.data.model.Point;
 import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.DriveOrder;
 import org.opentcs.data.order.TransportOrder;
 import static org.opentcs.data.order.TransportOrderHistoryCodes.ORDER_ASSIGNED_TO_VEHICLE;
 import static org.opentcs.data.order.TransportOrderHistoryCodes.ORDER_DISPATCHING_DEFERRED;
 import static org.opentcs.data.order.TransportOrderHistoryCodes.ORDER_DISPATCHING_RESUMED;
 import static org.opentcs.data.order.TransportOrderHistoryCodes.ORDER_RESERVED_FOR_VEHICLE;
 import org.opentcs.strategies.basic.dispatching.AssignmentCandidate;
+import org.opentcs.strategies.basic.dispatching.DefaultDispatcherConfiguration;
 import org.opentcs.strategies.basic.dispatching.OrderReservationPool;
 import org.opentcs.strategies.basic.dispatching.Phase;
 import org.opentcs.strategies.basic.dispatching.TransportOrderUtil;
@@ -108,6 +112,19 @@ public class AssignFreeOrdersPhase
   private final CompositeAssignmentCandidateSelectionFilter assignmentCandidateSelectionFilter;
 
   private final TransportOrderUtil transportOrderUtil;
+  /**
+   * Keeps routes computed for vehicle/transport order pairs between runs.
+   */
+  private final CandidateRouteCache candidateRouteCache;
+  /**
+   * The dispatcher configuration.
+   */
+  private final DefaultDispatcherConfiguration configuration;
+  /**
+   * The pool used for computing assignment candidates in parallel, or {@code null}, if candidates
+   * are computed sequentially.
+   */
+  private ForkJoinPool candidateComputationPool;
 
   /**
    * Indicates whether this component is initialized.
@@ -128,7 +145,9 @@ public class AssignFreeOrdersPhase
       IsFreelyDispatchableToAnyVehicle isFreelyDispatchableToAnyVehicle,
       CompositeTransportOrderSelectionFilter transportOrderSelectionFilter,
       CompositeAssignmentCandidateSelectionFilter assignmentCandidateSelectionFilter,
-      TransportOrderUtil transportOrderUtil) {
+      TransportOrderUtil transportOrderUtil,
+      CandidateRouteCache candidateRouteCache,
+      DefaultDispatcherConfiguration configuration) {
     this.router = requireNonNull(router, "router");
     this.objectService = requireNonNull(objectService, "objectService");
     this.orderReservationPool = requireNonNull(orderReservationPool, "orderReservationPool");
@@ -147,6 +166,8 @@ public class AssignFreeOrdersPhase
     this.assignmentCandidateSelectionFilter = requireNonNull(assignmentCandidateSelectionFilter,
                                                              "assignmentCandidateSelectionFilter");
     this.transportOrderUtil = requireNonNull(transportOrderUtil, "transportOrderUtil");
+    this.candidateRouteCache = requireNonNull(candidateRouteCache, "candidateRouteCache");
+    this.configuration = requireNonNull(configuration, "configuration");
   }
 
   @Override
@@ -154,6 +175,12 @@ public class AssignFreeOrdersPhase
     if (isInitialized()) {
       return;
     }
+    if (configuration.cacheCandidateRoutes()) {
+      candidateRouteCache.initialize();
+    }
+    if (configuration.candidateComputationParallelism() > 1) {
+      candidateComputationPool = new ForkJoinPool(configuration.candidateComputationParallelism());
+    }
     initialized = true;
   }
 
@@ -167,6 +194,11 @@ public class AssignFreeOrdersPhase
     if (!isInitialized()) {
       return;
     }
+    candidateRouteCache.terminate();
+    if (candidateComputationPool != null) {
+      candidateComputationPool.shutdown();
+      candidateComputationPool = null;
+    }
     initialized = false;
   }
 
@@ -190,17 +222,23 @@ public class AssignFreeOrdersPhase
     // Select only dispatchable orders first, then apply the composite filter, handle
     // the orders that can be tried as usual and mark the others as filtered (if they aren't, yet).
     Map<Boolean, List<OrderFilterResult>> ordersSplitByFilter
-        = objectService.fetchObjects(TransportOrder.class, isFreelyDispatchableToAnyVehicle)
-            .stream()
+        = objectService.fetchTransportOrders(TransportOrder.State.DISPATCHABLE).stream()
+            .filter(isFreelyDispatchableToAnyVehicle)
             .map(order -> new OrderFilterResult(order, transportOrderSelectionFilter.apply(order)))
             .collect(Collectors.partitioningBy(filterResult -> !filterResult.isFiltered()));
 
     markNewlyFilteredOrders(ordersSplitByFilter.get(Boolean.FALSE));
 
-    tryAssignments(availableVehicles,
-                   ordersSplitByFilter.get(Boolean.TRUE).stream()
-                       .map(OrderFilterResult::getOrder)
-                       .collect(Collectors.toList()));
+    Collection<TransportOrder> availableOrders = ordersSplitByFilter.get(Boolean.TRUE).stream()
+        .map(OrderFilterResult::getOrder)
+        .collect(Collectors.toList());
+
+    if (candidateRouteCache.isInitialized()) {
+      // Forget about routes for vehicles and orders that are no longer relevant.
+      candidateRouteCache.retainAll(availableVehicles, availableOrders);
+    }
+
+    tryAssignments(availableVehicles, availableOrders);
   }
 
   private void tryAssignments(Collection<Vehicle> availableVehicles,
@@ -245,11 +283,8 @@ public class AssignFreeOrdersPhase
   }
 
   private Optional<ObjectHistory.Entry> lastRelevantDeferredHistoryEntry(TransportOrder order) {
-    return order.getHistory().getEntries().stream()
-        .filter(entry -> equalsAny(entry.getEventCode(),
-                                   ORDER_DISPATCHING_DEFERRED,
-                                   ORDER_DISPATCHING_RESUMED))
-        .reduce((firstEntry, secondEntry) -> secondEntry)
+    return order.getHistory()
+        .getLastEntry(ORDER_DISPATCHING_DEFERRED, ORDER_DISPATCHING_RESUMED)
         .filter(entry -> entry.getEventCode().equals(ORDER_DISPATCHING_DEFERRED));
   }
 
@@ -284,11 +319,6 @@ public class AssignFreeOrdersPhase
     );
   }
 
-  private boolean equalsAny(String string, String... others) {
-    return Arrays.asList(others).stream()
-        .anyMatch(other -> string.equals(other));
-  }
-
   private void tryAssignOrder(Vehicle vehicle,
                               Collection<TransportOrder> availableOrders,
                               AssignmentState assignmentState) {
@@ -296,13 +326,15 @@ public class AssignFreeOrdersPhase
 
     Point vehiclePosition = objectService.fetchObject(Point.class, vehicle.getCurrentPosition());
 
+    List<TransportOrder> candidateOrders = availableOrders.stream()
+        .filter(order -> (!assignmentState.wasAssignedToVehicle(order)
+                          && orderAssignableToVehicle(order, vehicle)))
+        .collect(Collectors.toList());
+
     Map<Boolean, List<CandidateFilterResult>> ordersSplitByFilter
-        = availableOrders.stream()
-            .filter(order -> (!assignmentState.wasAssignedToVehicle(order)
-                              && orderAssignableToVehicle(order, vehicle)))
-            .map(order -> computeCandidate(vehicle, vehiclePosition, order))
-            .filter(optCandidate -> optCandidate.isPresent())
-            .map(optCandidate -> optCandidate.get())
+        = computeCandidates(candidateOrders,
+                            order -> computeCandidate(vehicle, vehiclePosition, order))
+            .stream()
             .map(candidate -> new CandidateFilterResult(candidate, assignmentCandidateSelectionFilter.apply(candidate)))
             .collect(Collectors.partitioningBy(filterResult -> !filterResult.isFiltered()));
 
@@ -322,16 +354,20 @@ public class AssignFreeOrdersPhase
                                 AssignmentState assignmentState) {
     LOG.debug("Trying to find vehicle for transport order '{}'...", order.getName());
 
+    Map<Vehicle, Point> candidateVehiclePositions = availableVehicles.stream()
+        .filter(vehicle -> (!assignmentState.wasAssignedToOrder(vehicle)
+                            && orderAssignableToVehicle(order, vehicle)))
+        .collect(Collectors.toMap(
+            vehicle -> vehicle,
+            vehicle -> objectService.fetchObject(Point.class, vehicle.getCurrentPosition()),
+            (position1, position2) -> position1,
+            LinkedHashMap::new
+        ));
+
     Map<Boolean, List<CandidateFilterResult>> ordersSplitByFilter
-        = availableVehicles.stream()
-            .filter(vehicle -> (!assignmentState.wasAssignedToOrder(vehicle)
-                                && orderAssignableToVehicle(order, vehicle)))
-            .map(vehicle -> computeCandidate(vehicle,
-                                             objectService.fetchObject(Point.class,
-                                                                       vehicle.getCurrentPosition()),
-                                             order))
-            .filter(optCandidate -> optCandidate.isPresent())
-            .map(optCandidate -> optCandidate.get())
+        = computeCandidates(candidateVehiclePositions.entrySet(),
+                            entry -> computeCandidate(entry.getKey(), entry.getValue(), order))
+            .stream()
             .map(candidate -> new CandidateFilterResult(candidate, assignmentCandidateSelectionFilter.apply(candidate)))
             .collect(Collectors.partitioningBy(filterResult -> !filterResult.isFiltered()));
 
@@ -387,10 +423,44 @@ public class AssignFreeOrdersPhase
     );
   }
 
+  /**
+   * Computes assignment candidates for the given inputs, in parallel if configured to do so.
+   * The order of the returned candidates corresponds to the order of the given inputs, so the
+   * result is the same regardless of the computation being done in parallel or not.
+   *
+   * @param <T> The type of the inputs.
+   * @param inputs The inputs to compute candidates for.
+   * @param computation Computes a candidate for a single input.
+   * @return The computed candidates.
+   */
+  private <T> List<AssignmentCandidate> computeCandidates(
+      Collection<T> inputs,
+      Function<T, Optional<AssignmentCandidate>> computation) {
+    if (candidateComputationPool == null || inputs.size() < 2) {
+      return inputs.stream()
+          .map(computation)
+          .filter(Optional::isPresent)
+          .map(Optional::get)
+          .collect(Collectors.toList());
+    }
+
+    // Parallel streams executed from within a fork-join pool's task use that pool.
+    return candidateComputationPool.submit(
+        () -> inputs.parallelStream()
+            .map(computation)
+            .filter(Optional::isPresent)
+            .map(Optional::get)
+            .collect(Collectors.toList())
+    ).join();
+  }
+
   private Optional<AssignmentCandidate> computeCandidate(Vehicle vehicle,
                                                          Point vehiclePosition,
                                                          TransportOrder order) {
-    return router.getRoute(vehicle, vehiclePosition, order)
+    Optional<List<DriveOrder>> route = candidateRouteCache.isInitialized()
+        ? candidateRouteCache.getRoute(vehicle, vehiclePosition, order)
+        : router.getRoute(vehicle, vehiclePosition, order);
+    return route
         .map(driveOrders -> new AssignmentCandidate(vehicle, order, driveOrders));
   }
 
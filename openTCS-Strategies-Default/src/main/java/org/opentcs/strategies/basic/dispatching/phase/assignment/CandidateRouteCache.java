@@ -0,0 +1,331 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.dispatching.phase.assignment;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import static java.util.Objects.requireNonNull;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import javax.inject.Inject;
+import org.opentcs.components.Lifecycle;
+import org.opentcs.components.kernel.Router;
+import org.opentcs.customizations.ApplicationEventBus;
+import org.opentcs.data.TCSObject;
+import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.model.Location;
+import org.opentcs.data.model.LocationType;
+import org.opentcs.data.model.Path;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.DriveOrder;
+import org.opentcs.data.order.TransportOrder;
+import org.opentcs.util.event.EventSource;
+import org.opentcs.util.event.SynchronousEventHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the routes computed for vehicle/transport order pairs between dispatch runs.
+ * <p>
+ * A cached route is reused as long as the vehicle's position and properties, the transport
+ * order's future destinations and the routing topology did not change since it was computed.
+ * Changes to the routing topology are detected via {@link TCSObjectEvent}s for points, paths,
+ * locations and location types and via explicit calls to {@link #topologyChanged()}.
+ * </p>
+ */
+public class CandidateRouteCache
+    implements SynchronousEventHandler,
+               Lifecycle {
+
+  /**
+   * This class's logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(CandidateRouteCache.class);
+  /**
+   * The router computing routes for cache misses.
+   */
+  private final Router router;
+  /**
+   * Where we register for application events.
+   */
+  private final EventSource eventSource;
+  /**
+   * The cached routes, mapped by vehicle name and transport order name.
+   */
+  private final Map<String, Map<String, CachedRoute>> routesByVehicle = new ConcurrentHashMap<>();
+  /**
+   * Incremented with every change of the routing topology.
+   */
+  private final AtomicLong topologyGeneration = new AtomicLong();
+  /**
+   * The number of lookups that could be served from the cache.
+   */
+  private final AtomicLong hits = new AtomicLong();
+  /**
+   * The number of lookups that required a route computation.
+   */
+  private final AtomicLong misses = new AtomicLong();
+  /**
+   * Indicates whether this component is initialized.
+   */
+  private boolean initialized;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param router The router computing routes for cache misses.
+   * @param eventSource Where this instance registers for application events.
+   */
+  @Inject
+  public CandidateRouteCache(Router router,
+                             @ApplicationEventBus EventSource eventSource) {
+    this.router = requireNonNull(router, "router");
+    this.eventSource = requireNonNull(eventSource, "eventSource");
+  }
+
+  @Override
+  public void initialize() {
+    if (isInitialized()) {
+      return;
+    }
+
+    clear();
+    eventSource.subscribe(this);
+
+    initialized = true;
+  }
+
+  @Override
+  public boolean isInitialized() {
+    return initialized;
+  }
+
+  @Override
+  public void terminate() {
+    if (!isInitialized()) {
+      return;
+    }
+
+    eventSource.unsubscribe(this);
+    LOG.debug("Route cache hits: {}, misses: {}", hits.get(), misses.get());
+    clear();
+
+    initialized = false;
+  }
+
+  @Override
+  public void onEvent(Object event) {
+    if (!(event instanceof TCSObjectEvent)) {
+      return;
+    }
+
+    TCSObjectEvent objectEvent = (TCSObjectEvent) event;
+    TCSObject<?> object = objectEvent.getCurrentOrPreviousObjectState();
+    if (object instanceof Vehicle) {
+      if (objectEvent.getType() == TCSObjectEvent.Type.OBJECT_REMOVED) {
+        routesByVehicle.remove(object.getName());
+      }
+    }
+    else if (object instanceof TransportOrder) {
+      if (objectEvent.getType() == TCSObjectEvent.Type.OBJECT_REMOVED) {
+        routesByVehicle.values().forEach(routes -> routes.remove(object.getName()));
+      }
+    }
+    else if (affectsTopology(objectEvent)) {
+      topologyChanged();
+    }
+  }
+
+  /**
+   * Returns the route for the given vehicle and transport order, computing it only if there is no
+   * valid cached one.
+   *
+   * @param vehicle The vehicle.
+   * @param sourcePoint The point at which the route starts (usually the vehicle's position).
+   * @param order The transport order.
+   * @return The route, as returned by {@link Router#getRoute(Vehicle, Point, TransportOrder)}.
+   */
+  public Optional<List<DriveOrder>> getRoute(Vehicle vehicle,
+                                             Point sourcePoint,
+                                             TransportOrder order) {
+    requireNonNull(vehicle, "vehicle");
+    requireNonNull(sourcePoint, "sourcePoint");
+    requireNonNull(order, "order");
+
+    // Read the generation before computing, so a topology change during computation invalidates
+    // the entry.
+    long generation = topologyGeneration.get();
+    List<DriveOrder.Destination> destinations = futureDestinations(order);
+    Map<String, CachedRoute> routes
+        = routesByVehicle.computeIfAbsent(vehicle.getName(), name -> new ConcurrentHashMap<>());
+
+    CachedRoute cachedRoute = routes.get(order.getName());
+    if (cachedRoute != null
+        && cachedRoute.isValidFor(generation, vehicle, sourcePoint, destinations)) {
+      hits.incrementAndGet();
+      return cachedRoute.getRoute();
+    }
+
+    misses.incrementAndGet();
+    Optional<List<DriveOrder>> route = router.getRoute(vehicle, sourcePoint, order);
+    routes.put(order.getName(),
+               new CachedRoute(generation, vehicle, sourcePoint, destinations, route));
+    return route;
+  }
+
+  /**
+   * Discards cached routes for all vehicles and transport orders not in the given collections.
+   *
+   * @param vehicles The vehicles whose routes should be kept.
+   * @param orders The transport orders whose routes should be kept.
+   */
+  public void retainAll(Collection<Vehicle> vehicles, Collection<TransportOrder> orders) {
+    requireNonNull(vehicles, "vehicles");
+    requireNonNull(orders, "orders");
+
+    Set<String> vehicleNames = vehicles.stream().map(Vehicle::getName).collect(Collectors.toSet());
+    Set<String> orderNames = orders.stream()
+        .map(TransportOrder::getName)
+        .collect(Collectors.toSet());
+
+    routesByVehicle.keySet().retainAll(vehicleNames);
+    routesByVehicle.values().forEach(routes -> routes.keySet().retainAll(orderNames));
+  }
+
+  /**
+   * Invalidates all cached routes because the routing topology changed.
+   */
+  public void topologyChanged() {
+    LOG.debug("Routing topology changed, discarding cached routes.");
+    clear();
+  }
+
+  /**
+   * Discards all cached routes.
+   */
+  public void clear() {
+    topologyGeneration.incrementAndGet();
+    routesByVehicle.clear();
+  }
+
+  /**
+   * Returns the number of lookups that could be served from the cache.
+   *
+   * @return The number of lookups that could be served from the cache.
+   */
+  public long getHits() {
+    return hits.get();
+  }
+
+  /**
+   * Returns the number of lookups that required a route computation.
+   *
+   * @return The number of lookups that required a route computation.
+   */
+  public long getMisses() {
+    return misses.get();
+  }
+
+  private boolean affectsTopology(TCSObjectEvent event) {
+    TCSObject<?> object = event.getCurrentOrPreviousObjectState();
+    if (!(object instanceof Point
+          || object instanceof Path
+          || object instanceof Location
+          || object instanceof LocationType)) {
+      return false;
+    }
+    if (event.getType() != TCSObjectEvent.Type.OBJECT_MODIFIED) {
+      return true;
+    }
+
+    if (object instanceof Point) {
+      // Points are modified whenever a vehicle occupies them, which is irrelevant for routing.
+      Point oldPoint = (Point) event.getPreviousObjectState();
+      Point newPoint = (Point) event.getCurrentObjectState();
+      return oldPoint.getType() != newPoint.getType()
+          || !Objects.equals(oldPoint.getIncomingPaths(), newPoint.getIncomingPaths())
+          || !Objects.equals(oldPoint.getOutgoingPaths(), newPoint.getOutgoingPaths())
+          || !Objects.equals(oldPoint.getAttachedLinks(), newPoint.getAttachedLinks())
+          || !Objects.equals(oldPoint.getProperties(), newPoint.getProperties());
+    }
+    if (object instanceof Location) {
+      // Locations are modified whenever the state of an attached peripheral device changes,
+      // which is irrelevant for routing.
+      Location oldLocation = (Location) event.getPreviousObjectState();
+      Location newLocation = (Location) event.getCurrentObjectState();
+      return !Objects.equals(oldLocation.getType(), newLocation.getType())
+          || !Objects.equals(oldLocation.getAttachedLinks(), newLocation.getAttachedLinks());
+    }
+    return true;
+  }
+
+  private static List<DriveOrder.Destination> futureDestinations(TransportOrder order) {
+    return order.getFutureDriveOrders().stream()
+        .map(DriveOrder::getDestination)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * A cached route along with the data it was computed for.
+   */
+  private static class CachedRoute {
+
+    /**
+     * The topology generation the route was computed for.
+     */
+    private final long topologyGeneration;
+    /**
+     * The properties of the vehicle the route was computed for.
+     */
+    private final Map<String, String> vehicleProperties;
+    /**
+     * The name of the point the route was computed from.
+     */
+    private final String sourcePointName;
+    /**
+     * The destinations the route was computed for.
+     */
+    private final List<DriveOrder.Destination> destinations;
+    /**
+     * The route.
+     */
+    private final Optional<List<DriveOrder>> route;
+
+    CachedRoute(long topologyGeneration,
+                Vehicle vehicle,
+                Point sourcePoint,
+                List<DriveOrder.Destination> destinations,
+                Optional<List<DriveOrder>> route) {
+      this.topologyGeneration = topologyGeneration;
+      this.vehicleProperties = vehicle.getProperties();
+      this.sourcePointName = sourcePoint.getName();
+      this.destinations = destinations;
+      this.route = route;
+    }
+
+    public Optional<List<DriveOrder>> getRoute() {
+      return route;
+    }
+
+    public boolean isValidFor(long topologyGeneration,
+                              Vehicle vehicle,
+                              Point sourcePoint,
+                              List<DriveOrder.Destination> destinations) {
+      return this.topologyGeneration == topologyGeneration
+          && Objects.equals(sourcePointName, sourcePoint.getName())
+          && Objects.equals(vehicleProperties, vehicle.getProperties())
+          && Objects.equals(this.destinations, destinations);
+    }
+  }
+}
@@ -18,6 +18,8 @@ import static java.util.Objects.requireNonNull;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import javax.inject.Inject;
 import org.opentcs.components.kernel.Router;
 import org.opentcs.components.kernel.routing.GroupMapper;
@@ -25,6 +27,7 @@ import org.opentcs.components.kernel.services.TCSObjectService;
 import org.opentcs.data.TCSObjectReference;
 import org.opentcs.data.model.Location;
 import org.opentcs.data.model.LocationType;
+import org.opentcs.data.model.Path;
 import org.opentcs.data.model.Point;
 import org.opentcs.data.model.Vehicle;
 import org.opentcs.data.order.DriveOrder;
@@ -37,6 +40,11 @@ import org.slf4j.LoggerFactory;
 
 /**
  * A basic {@link Router} implementation.
+ * <p>
+ * Point routers are published as immutable snapshots, so routing queries never block.
+ * On topology changes, a new snapshot is created while queries are still answered using the
+ * previous one, which is then replaced atomically.
+ * </p>
  *
  * @author Stefan Walter (Fraunhofer IML)
  */
@@ -68,13 +76,19 @@ public class DefaultRouter
    */
   private final Map<Vehicle, List<DriveOrder>> routesByVehicle = new ConcurrentHashMap<>();
   /**
-   * The point routers by vehicle routing group.
+   * The current snapshot of point routers by vehicle routing group.
    */
-  private final Map<String, PointRouter> pointRoutersByVehicleGroup = new ConcurrentHashMap<>();
+  private final AtomicReference<PointRouterSnapshot> pointRouterSnapshot
+      = new AtomicReference<>(new PointRouterSnapshot(0, new HashMap<>()));
+  /**
+   * Serializes the creation of new point router snapshots on topology changes.
+   * Routing queries never acquire this lock.
+   */
+  private final Object topologyUpdateLock = new Object();
   /**
    * Indicates whether this component is enabled.
    */
-  private boolean initialized;
+  private volatile boolean initialized;
 
   /**
    * Creates a new instance.
@@ -121,15 +135,39 @@ public class DefaultRouter
 
     synchronized (this) {
       routesByVehicle.clear();
-      pointRoutersByVehicleGroup.clear();
+      synchronized (topologyUpdateLock) {
+        PointRouterSnapshot oldSnapshot = pointRouterSnapshot.get();
+        pointRouterSnapshot.set(new PointRouterSnapshot(oldSnapshot.getTopologyVersion() + 1,
+                                                        new HashMap<>()));
+      }
       initialized = false;
     }
   }
 
   @Override
   public void topologyChanged() {
-    synchronized (this) {
-      pointRoutersByVehicleGroup.clear();
+    synchronized (topologyUpdateLock) {
+      publishPointRouters(vehicle -> pointRouterFactory.createPointRouter(vehicle));
+    }
+  }
+
+  @Override
+  public void topologyChanged(Set<Path> paths) {
+    requireNonNull(paths, "paths");
+
+    if (!configuration.incrementalTopologyUpdates()) {
+      topologyChanged();
+      return;
+    }
+
+    synchronized (topologyUpdateLock) {
+      PointRouterSnapshot snapshot = pointRouterSnapshot.get();
+      publishPointRouters(vehicle -> {
+        PointRouter pointRouter = snapshot.getPointRouter(routingGroupMapper.apply(vehicle));
+        return pointRouter == null
+            ? pointRouterFactory.createPointRouter(vehicle)
+            : pointRouterFactory.updatePointRouter(pointRouter, vehicle, paths);
+      });
     }
   }
 
@@ -137,29 +175,23 @@ public class DefaultRouter
   public Set<Vehicle> checkRoutability(TransportOrder order) {
     requireNonNull(order, "order");
 
-    synchronized (this) {
-      Set<Vehicle> result = new HashSet<>();
-      List<DriveOrder> driveOrderList = order.getFutureDriveOrders();
-      DriveOrder[] driveOrders
-          = driveOrderList.toArray(new DriveOrder[driveOrderList.size()]);
-
-      // Since point routers get reset on topology changes, make sure there are point routers for 
-      // all routing groups.
-      createMissingPointRouters();
-
-      for (Map.Entry<String, PointRouter> curEntry : pointRoutersByVehicleGroup.entrySet()) {
-        // Get all points at the first location at which a vehicle of the current
-        // type can execute the desired operation and check if an acceptable route
-        // originating in one of them exists.
-        for (Point curStartPoint : getDestinationPoints(driveOrders[0])) {
-          if (isRoutable(curStartPoint, driveOrders, 1, curEntry.getValue())) {
-            result.addAll(getVehiclesByRoutingGroup(curEntry.getKey()));
-            break;
-          }
+    Set<Vehicle> result = new HashSet<>();
+    List<DriveOrder> driveOrderList = order.getFutureDriveOrders();
+    DriveOrder[] driveOrders
+        = driveOrderList.toArray(new DriveOrder[driveOrderList.size()]);
+
+    for (Map.Entry<String, PointRouter> curEntry : getPointRoutersForAllGroups().entrySet()) {
+      // Get all points at the first location at which a vehicle of the current
+      // type can execute the desired operation and check if an acceptable route
+      // originating in one of them exists.
+      for (Point curStartPoint : getDestinationPoints(driveOrders[0])) {
+        if (isRoutable(curStartPoint, driveOrders, 1, curEntry.getValue())) {
+          result.addAll(getVehiclesByRoutingGroup(curEntry.getKey()));
+          break;
         }
       }
-      return result;
     }
+    return result;
   }
 
   @Override
@@ -170,17 +202,10 @@ public class DefaultRouter
     requireNonNull(sourcePoint, "sourcePoint");
     requireNonNull(transportOrder, "transportOrder");
 
-    synchronized (this) {
-      List<DriveOrder> driveOrderList = transportOrder.getFutureDriveOrders();
-      DriveOrder[] driveOrders = driveOrderList.toArray(new DriveOrder[driveOrderList.size()]);
-      PointRouter pointRouter = getPointRouterForVehicle(vehicle);
-      OrderRouteParameterStruct params = new OrderRouteParameterStruct(driveOrders, pointRouter);
-      OrderRouteResultStruct resultStruct = new OrderRouteResultStruct(driveOrderList.size());
-      computeCheapestOrderRoute(sourcePoint, params, 0, resultStruct);
-      return (resultStruct.bestCosts == Long.MAX_VALUE)
-          ? Optional.empty()
-          : Optional.of(Arrays.asList(resultStruct.bestRoute));
-    }
+    PointRouter pointRouter = getPointRouterForVehicle(vehicle);
+    List<DriveOrder> driveOrderList = transportOrder.getFutureDriveOrders();
+    DriveOrder[] driveOrders = driveOrderList.toArray(new DriveOrder[driveOrderList.size()]);
+    return computeCheapestOrderRoute(sourcePoint, driveOrders, pointRouter);
   }
 
   @Override
@@ -191,20 +216,18 @@ public class DefaultRouter
     requireNonNull(sourcePoint, "sourcePoint");
     requireNonNull(destinationPoint, "destinationPoint");
 
-    synchronized (this) {
-      PointRouter pointRouter = getPointRouterForVehicle(vehicle);
-      long costs = pointRouter.getCosts(sourcePoint, destinationPoint);
-      if (costs == INFINITE_COSTS) {
-        return Optional.empty();
-      }
-      List<Route.Step> steps = pointRouter.getRouteSteps(sourcePoint, destinationPoint);
-      if (steps.isEmpty()) {
-        // If the list of steps is empty, we're already at the destination point
-        // Create a single step without a path.
-        steps.add(new Route.Step(null, null, sourcePoint, Vehicle.Orientation.UNDEFINED, 0));
-      }
-      return Optional.of(new Route(steps, costs));
+    PointRouter pointRouter = getPointRouterForVehicle(vehicle);
+    long costs = pointRouter.getCosts(sourcePoint, destinationPoint);
+    if (costs == INFINITE_COSTS) {
+      return Optional.empty();
+    }
+    List<Route.Step> steps = pointRouter.getRouteSteps(sourcePoint, destinationPoint);
+    if (steps.isEmpty()) {
+      // If the list of steps is empty, we're already at the destination point
+      // Create a single step without a path.
+      steps.add(new Route.Step(null, null, sourcePoint, Vehicle.Orientation.UNDEFINED, 0));
     }
+    return Optional.of(new Route(steps, costs));
   }
 
   @Override
@@ -215,9 +238,7 @@ public class DefaultRouter
     requireNonNull(sourcePoint, "sourcePoint");
     requireNonNull(destinationPoint, "destinationPoint");
 
-    synchronized (this) {
-      return getPointRouterForVehicle(vehicle).getCosts(sourcePoint, destinationPoint);
-    }
+    return getPointRouterForVehicle(vehicle).getCosts(sourcePoint, destinationPoint);
   }
 
   @Override
@@ -228,53 +249,78 @@ public class DefaultRouter
     requireNonNull(srcPointRef, "srcPointRef");
     requireNonNull(dstPointRef, "dstPointRef");
 
-    synchronized (this) {
-      return getPointRouterForVehicle(vehicle).getCosts(srcPointRef, dstPointRef);
-    }
+    return getPointRouterForVehicle(vehicle).getCosts(srcPointRef, dstPointRef);
   }
 
   @Override
   public void selectRoute(Vehicle vehicle, List<DriveOrder> driveOrders) {
     requireNonNull(vehicle, "vehicle");
 
-    synchronized (this) {
-      if (driveOrders == null) {
-        // XXX Should we remember the vehicle's current position, maybe?
-        routesByVehicle.remove(vehicle);
-      }
-      else {
-        routesByVehicle.put(vehicle, driveOrders);
-      }
+    if (driveOrders == null) {
+      // XXX Should we remember the vehicle's current position, maybe?
+      routesByVehicle.remove(vehicle);
+    }
+    else {
+      routesByVehicle.put(vehicle, driveOrders);
     }
   }
 
   @Override
   public Map<Vehicle, List<DriveOrder>> getSelectedRoutes() {
-    synchronized (this) {
-      return new HashMap<>(routesByVehicle);
-    }
+    return new HashMap<>(routesByVehicle);
   }
 
   @Override
   public Set<Point> getTargetedPoints() {
-    synchronized (this) {
-      Set<Point> result = new HashSet<>();
-      for (List<DriveOrder> curOrderList : routesByVehicle.values()) {
-        DriveOrder finalOrder = curOrderList.get(curOrderList.size() - 1);
-        result.add(finalOrder.getRoute().getFinalDestinationPoint());
-      }
-      return result;
+    Set<Point> result = new HashSet<>();
+    for (List<DriveOrder> curOrderList : routesByVehicle.values()) {
+      DriveOrder finalOrder = curOrderList.get(curOrderList.size() - 1);
+      result.add(finalOrder.getRoute().getFinalDestinationPoint());
     }
+    return result;
   }
 
-  private void createMissingPointRouters() {
-    Map<String, Vehicle> distinctRoutingGroups = new HashMap<>();
+  /**
+   * Creates point routers for all routing groups currently in use and publishes them as a new
+   * snapshot.
+   * Until the new snapshot is published, routing queries are answered using the previous one.
+   * Must be called while holding {@link #topologyUpdateLock}.
+   *
+   * @param pointRouterProvider Provides the point router for a vehicle's routing group.
+   */
+  private void publishPointRouters(Function<Vehicle, PointRouter> pointRouterProvider) {
+    long timeBefore = System.currentTimeMillis();
+    long newVersion = pointRouterSnapshot.get().getTopologyVersion() + 1;
+
+    Map<String, PointRouter> pointRouters = new HashMap<>();
     for (Vehicle vehicle : objectService.fetchObjects(Vehicle.class)) {
-      distinctRoutingGroups.putIfAbsent(routingGroupMapper.apply(vehicle), vehicle);
+      String routingGroup = routingGroupMapper.apply(vehicle);
+      if (!pointRouters.containsKey(routingGroup)) {
+        pointRouters.put(routingGroup, pointRouterProvider.apply(vehicle));
+      }
     }
 
-    // Lazily create point routers if they don't exist.
-    distinctRoutingGroups.forEach((routingGroup, vehicle) -> getPointRouterForVehicle(vehicle));
+    pointRouterSnapshot.set(new PointRouterSnapshot(newVersion, pointRouters));
+    LOG.debug("Published point routers for topology version {} ({} routing groups) in {} ms.",
+              newVersion,
+              pointRouters.size(),
+              System.currentTimeMillis() - timeBefore);
+  }
+
+  /**
+   * Returns point routers for the routing groups of all vehicles, creating missing ones.
+   *
+   * @return The point routers, mapped by routing group.
+   */
+  private Map<String, PointRouter> getPointRoutersForAllGroups() {
+    Map<String, PointRouter> result = new HashMap<>();
+    for (Vehicle vehicle : objectService.fetchObjects(Vehicle.class)) {
+      String routingGroup = routingGroupMapper.apply(vehicle);
+      if (!result.containsKey(routingGroup)) {
+        result.put(routingGroup, getPointRouterForVehicle(vehicle));
+      }
+    }
+    return result;
   }
 
   /**
@@ -285,12 +331,38 @@ public class DefaultRouter
    */
   private PointRouter getPointRouterForVehicle(Vehicle vehicle) {
     String routingGroup = routingGroupMapper.apply(vehicle);
-    if (!pointRoutersByVehicleGroup.containsKey(routingGroup)) {
-      pointRoutersByVehicleGroup.put(routingGroup,
-                                     pointRouterFactory.createPointRouter(vehicle));
+    PointRouterSnapshot snapshot = pointRouterSnapshot.get();
+    PointRouter pointRouter = snapshot.getPointRouter(routingGroup);
+    if (pointRouter != null) {
+      return pointRouter;
     }
 
-    return pointRoutersByVehicleGroup.get(routingGroup);
+    // There is no point router for this routing group, yet (e.g. because the vehicle's routing
+    // group was changed), so create one and add it to the snapshot.
+    while (true) {
+      long topologyVersion = snapshot.getTopologyVersion();
+      pointRouter = pointRouterFactory.createPointRouter(vehicle);
+
+      snapshot = pointRouterSnapshot.get();
+      // Only publish the new point router if the topology did not change while creating it.
+      while (snapshot.getTopologyVersion() == topologyVersion) {
+        PointRouter existingPointRouter = snapshot.getPointRouter(routingGroup);
+        if (existingPointRouter != null) {
+          return existingPointRouter;
+        }
+        if (pointRouterSnapshot.compareAndSet(snapshot,
+                                              snapshot.withPointRouter(routingGroup,
+                                                                       pointRouter))) {
+          return pointRouter;
+        }
+        snapshot = pointRouterSnapshot.get();
+      }
+
+      PointRouter existingPointRouter = snapshot.getPointRouter(routingGroup);
+      if (existingPointRouter != null) {
+        return existingPointRouter;
+      }
+    }
   }
 
   /**
@@ -335,77 +407,106 @@ public class DefaultRouter
   }
 
   /**
-   * Compute the cheapest route along a list of drive orders/checkpoints.
+   * Computes the cheapest route along a list of drive orders/checkpoints.
+   * <p>
+   * The candidate points of all drive orders form layers of a graph, in which the cheapest
+   * sequence of points is determined by dynamic programming, working backwards from the last
+   * drive order and using only the costs provided by the point router.
+   * Route steps are retrieved only for the cheapest sequence.
+   * Among sequences with equal costs, the first one in the order of a depth-first enumeration of
+   * the candidate points is selected.
+   * </p>
    *
-   * @param startPoint The current checkpoint which to start at.
-   * @param params A struct describing parameters for the route to be computed.
-   * @param hopIndex The current index in the list of drive orders/checkpoints.
-   * @param result A struct for keeping the (partial) result in.
+   * @param startPoint The point at which to start.
+   * @param driveOrders The drive orders to be processed.
+   * @param pointRouter The point router to use.
+   * @return The drive orders with their routes, or an empty optional, if there is no route.
    */
-  private void computeCheapestOrderRoute(Point startPoint,
-                                         OrderRouteParameterStruct params,
-                                         int hopIndex,
-                                         OrderRouteResultStruct result) {
+  private Optional<List<DriveOrder>> computeCheapestOrderRoute(Point startPoint,
+                                                               DriveOrder[] driveOrders,
+                                                               PointRouter pointRouter) {
     assert startPoint != null;
-    assert params != null;
-    assert result != null;
-    // If we haven't reached the final drive order in the list, yet...
-    if (hopIndex < params.driveOrders.length) {
-      // ...try every possible destination point of the current drive order as
-      // the next checkpoint and recursively route from there.
-      final long currentRouteCosts = result.currentCosts;
-      Set<Point> destPoints = getDestinationPoints(params.driveOrders[hopIndex]);
-      // If the set of destination points contains the starting point, keep only
-      // that one. This is just a shortcut - it is the cheapest way to go.
-      if (!configuration.routeToCurrentPosition() && destPoints.contains(startPoint)) {
-        LOG.debug("Shortcutting route to {}", startPoint);
-        destPoints.clear();
-        destPoints.add(startPoint);
-      }
-      boolean routable = false;
-      for (Point curDestPoint : destPoints) {
-        final long hopCosts = params.pointRouter.getCosts(startPoint, curDestPoint);
-        if (hopCosts == INFINITE_COSTS) {
-          continue;
-        }
-        // Get the list of steps for the route of the current drive order.
-        List<Route.Step> steps = params.pointRouter.getRouteSteps(startPoint, curDestPoint);
-        if (steps.isEmpty()) {
-          // If the list of steps returned is empty, we're already at the
-          // destination point of the drive order - create a single step
-          // without a path.
-          steps = new ArrayList<>(1);
-          steps.add(new Route.Step(null,
-                                   null,
-                                   startPoint,
-                                   Vehicle.Orientation.UNDEFINED,
-                                   0));
+    assert driveOrders != null;
+    assert pointRouter != null;
+
+    // Layer 0 contains only the start point, layer i + 1 the candidate points of drive order i.
+    List<List<Point>> layers = new ArrayList<>(driveOrders.length + 1);
+    List<Set<Point>> layerSets = new ArrayList<>(driveOrders.length + 1);
+    layers.add(Arrays.asList(startPoint));
+    layerSets.add(new HashSet<>(layers.get(0)));
+    for (DriveOrder driveOrder : driveOrders) {
+      Set<Point> destPoints = getDestinationPoints(driveOrder);
+      layers.add(new ArrayList<>(destPoints));
+      layerSets.add(destPoints);
+    }
+
+    // For every point in every layer: the costs of the cheapest route from that point through the
+    // following layers, the index of the next point on that route and the costs to get there.
+    long[][] remainingCosts = new long[layers.size()][];
+    int[][] nextPoints = new int[layers.size()][];
+    long[][] hopCosts = new long[layers.size()][];
+
+    boolean routeToCurrentPosition = configuration.routeToCurrentPosition();
+    int lastLayer = layers.size() - 1;
+    remainingCosts[lastLayer] = new long[layers.get(lastLayer).size()];
+    for (int layer = lastLayer - 1; layer >= 0; layer--) {
+      List<Point> points = layers.get(layer);
+      List<Point> nextLayerPoints = layers.get(layer + 1);
+      remainingCosts[layer] = new long[points.size()];
+      nextPoints[layer] = new int[points.size()];
+      hopCosts[layer] = new long[points.size()];
+
+      for (int i = 0; i < points.size(); i++) {
+        Point point = points.get(i);
+        // If the next layer contains the current point, staying there is the cheapest way to go.
+        boolean shortcut = !routeToCurrentPosition
+            && layerSets.get(layer + 1).contains(point);
+        remainingCosts[layer][i] = INFINITE_COSTS;
+        nextPoints[layer][i] = -1;
+
+        for (int j = 0; j < nextLayerPoints.size(); j++) {
+          Point nextPoint = nextLayerPoints.get(j);
+          if (remainingCosts[layer + 1][j] == INFINITE_COSTS
+              || (shortcut && !nextPoint.equals(point))) {
+            continue;
+          }
+          long costs = pointRouter.getCosts(point, nextPoint);
+          if (costs == INFINITE_COSTS) {
+            continue;
+          }
+          if (costs + remainingCosts[layer + 1][j] < remainingCosts[layer][i]) {
+            remainingCosts[layer][i] = costs + remainingCosts[layer + 1][j];
+            nextPoints[layer][i] = j;
+            hopCosts[layer][i] = costs;
+          }
         }
-        // Create a route from the list of steps gathered.
-        Route hopRoute = new Route(steps, hopCosts);
-        // Copy the current drive order, add the computed route to it and
-        // place it in the result struct.
-        DriveOrder hopOrder = params.driveOrders[hopIndex].withRoute(hopRoute);
-        result.currentRoute[hopIndex] = hopOrder;
-        // Calculate the costs for the route so far, too.
-        result.currentCosts = currentRouteCosts + hopRoute.getCosts();
-        computeCheapestOrderRoute(curDestPoint, params, hopIndex + 1, result);
-        // Remember that we did find at least one route that works.
-        routable = true;
-      }
-      if (!routable) {
-        // Setting currentCosts is not strictly necessary for this algorithm,
-        // but might help with debugging.
-        result.currentCosts = Long.MAX_VALUE;
       }
     }
-    // If we have reached the final drive order, ...
-    else // If the route computed is cheaper than the best route found so far,
-    // replace the latter.
-    if (result.currentCosts < result.bestCosts) {
-      System.arraycopy(result.currentRoute, 0, result.bestRoute, 0, result.currentRoute.length);
-      result.bestCosts = result.currentCosts;
+
+    if (remainingCosts[0][0] == INFINITE_COSTS) {
+      return Optional.empty();
+    }
+
+    // Build the routes for the cheapest sequence of points only.
+    List<DriveOrder> result = new ArrayList<>(driveOrders.length);
+    int pointIndex = 0;
+    for (int layer = 0; layer < lastLayer; layer++) {
+      Point point = layers.get(layer).get(pointIndex);
+      int nextPointIndex = nextPoints[layer][pointIndex];
+      Point nextPoint = layers.get(layer + 1).get(nextPointIndex);
+
+      List<Route.Step> steps = pointRouter.getRouteSteps(point, nextPoint);
+      if (steps.isEmpty()) {
+        // If the list of steps returned is empty, we're already at the destination point of the
+        // drive order - create a single step without a path.
+        steps = new ArrayList<>(1);
+        steps.add(new Route.Step(null, null, point, Vehicle.Orientation.UNDEFINED, 0));
+      }
+      result.add(driveOrders[layer].withRoute(new Route(steps, hopCosts[layer][pointIndex])));
+      pointIndex = nextPointIndex;
     }
+
+    return Optional.of(result);
   }
 
   /**
@@ -479,69 +580,4 @@ public class DefaultRouter
     }
     return result;
   }
-
-  /**
-   * Contains parameters for a route to be computed.
-   */
-  private static final class OrderRouteParameterStruct {
-
-    /**
-     * The drive orders containing the route's checkpoints.
-     */
-    private final DriveOrder[] driveOrders;
-    /**
-     * The point router for the vehicle type.
-     */
-    private final PointRouter pointRouter;
-
-    /**
-     * Creates a new OrderRouteParameterStruct.
-     *
-     * @param driveOrders A list of drive orders to be processed as checkpoints
-     * of the route to be computed.
-     * @param pointRouter The point router for the vehicle type.
-     */
-    public OrderRouteParameterStruct(DriveOrder[] driveOrders,
-                                     PointRouter pointRouter) {
-      this.driveOrders = requireNonNull(driveOrders, "driveOrders");
-      this.pointRouter = requireNonNull(pointRouter, "pointRouter");
-    }
-  }
-
-  /**
-   * A struct supporting cheapest route calculation.
-   */
-  private static final class OrderRouteResultStruct {
-
-    /**
-     * The (possibly partial) route currently being examined.
-     */
-    private DriveOrder[] currentRoute;
-    /**
-     * The costs of the route currently being examined.
-     */
-    private long currentCosts;
-    /**
-     * The best route found so far.
-     */
-    private DriveOrder[] bestRoute;
-    /**
-     * The costs of the best route found so far.
-     */
-    private long bestCosts;
-
-    /**
-     * Creates a new OrderRouteResultStruct.
-     *
-     * @param driveOrderCount The number of <code>DriveOrder</code>s in the
-     * <code>TransportOrder</code> for which this struct is to store the
-     * routing result.
-     */
-    public OrderRouteResultStruct(int driveOrderCount) {
-      currentRoute = new DriveOrder[driveOrderCount];
-      currentCosts = 0;
-      bestRoute = new DriveOrder[driveOrderCount];
-      bestCosts = Long.MAX_VALUE;
-    }
-  }
 }
@@ -28,4 +28,11 @@ public interface DefaultRouterConfiguration {
       description = "Whether to compute a route even if the vehicle is already at the destination.")
   boolean routeToCurrentPosition();
 
+  @ConfigurationEntry(
+      type = "Boolean",
+      description = {
+        "Whether to update routing tables incrementally when only single paths change (e.g. when "
+        + "they are locked or unlocked), instead of recomputing them completely."})
+  boolean incrementalTopologyUpdates();
+
 }
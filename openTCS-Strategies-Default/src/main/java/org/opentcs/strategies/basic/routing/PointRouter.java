@@ -15,6 +15,10 @@ import org.opentcs.data.order.Route;
 
 /**
  * Computes routes between points.
+ * <p>
+ * Instances are not modified after their creation and must be safe for concurrent use by multiple
+ * threads.
+ * </p>
  *
  * @author Stefan Walter (Fraunhofer IML)
  */
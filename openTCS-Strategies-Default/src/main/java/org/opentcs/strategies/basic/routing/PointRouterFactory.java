@@ -7,6 +7,8 @@
  */
 package org.opentcs.strategies.basic.routing;
 
+import java.util.Set;
+import org.opentcs.data.model.Path;
 import org.opentcs.data.model.Vehicle;
 
 /**
@@ -23,4 +25,22 @@ public interface PointRouterFactory {
    * @return The point router.
    */
   PointRouter createPointRouter(Vehicle vehicle);
+
+  /**
+   * Creates a point router for the given vehicle based on an existing one, for a routing topology
+   * that differs from the one the existing point router was created for only with regard to the
+   * given paths.
+   * <p>
+   * The existing point router is not modified.
+   * The default implementation ignores it and simply creates a new point router.
+   * </p>
+   *
+   * @param pointRouter The existing point router.
+   * @param vehicle The vehicle.
+   * @param paths The paths that changed, in their current states.
+   * @return The point router.
+   */
+  default PointRouter updatePointRouter(PointRouter pointRouter, Vehicle vehicle, Set<Path> paths) {
+    return createPointRouter(vehicle);
+  }
 }
@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * An immutable set of point routers, mapped by routing group, that were created for one version of
+ * the routing topology.
+ */
+class PointRouterSnapshot {
+
+  /**
+   * The version of the routing topology the point routers were created for.
+   */
+  private final long topologyVersion;
+  /**
+   * The point routers by routing group.
+   */
+  private final Map<String, PointRouter> pointRoutersByGroup;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param topologyVersion The version of the routing topology the point routers were created for.
+   * @param pointRoutersByGroup The point routers by routing group.
+   */
+  PointRouterSnapshot(long topologyVersion, @Nonnull Map<String, PointRouter> pointRoutersByGroup) {
+    this.topologyVersion = topologyVersion;
+    this.pointRoutersByGroup
+        = Collections.unmodifiableMap(new HashMap<>(requireNonNull(pointRoutersByGroup,
+                                                                   "pointRoutersByGroup")));
+  }
+
+  /**
+   * Returns the version of the routing topology the point routers were created for.
+   *
+   * @return The version of the routing topology.
+   */
+  public long getTopologyVersion() {
+    return topologyVersion;
+  }
+
+  /**
+   * Returns the point routers by routing group.
+   *
+   * @return The point routers by routing group.
+   */
+  @Nonnull
+  public Map<String, PointRouter> getPointRoutersByGroup() {
+    return pointRoutersByGroup;
+  }
+
+  /**
+   * Returns the point router for the given routing group.
+   *
+   * @param routingGroup The routing group.
+   * @return The point router for the given routing group, or {@code null}, if this snapshot does
+   * not contain one.
+   */
+  @Nullable
+  public PointRouter getPointRouter(@Nonnull String routingGroup) {
+    return pointRoutersByGroup.get(routingGroup);
+  }
+
+  /**
+   * Creates a copy of this snapshot that additionally contains the given point router.
+   *
+   * @param routingGroup The routing group.
+   * @param pointRouter The point router for the routing group.
+   * @return A copy of this snapshot that additionally contains the given point router.
+   */
+  @Nonnull
+  public PointRouterSnapshot withPointRouter(@Nonnull String routingGroup,
+                                             @Nonnull PointRouter pointRouter) {
+    requireNonNull(routingGroup, "routingGroup");
+    requireNonNull(pointRouter, "pointRouter");
+
+    Map<String, PointRouter> pointRouters = new HashMap<>(pointRoutersByGroup);
+    pointRouters.put(routingGroup, pointRouter);
+    return new PointRouterSnapshot(topologyVersion, pointRouters);
+  }
+}
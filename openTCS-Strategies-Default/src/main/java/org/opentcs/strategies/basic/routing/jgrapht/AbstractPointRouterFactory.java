@@ -43,6 +43,10 @@ public abstract class AbstractPointRouterFactory
    * Maps the plant model to a graph.
    */
   private final ModelGraphMapper mapper;
+  /**
+   * Updates graphs for changed paths.
+   */
+  private final ModelGraphUpdater graphUpdater;
 
   /**
    * Creates a new instance.
@@ -54,6 +58,7 @@ public abstract class AbstractPointRouterFactory
                                     @Nonnull ModelGraphMapper mapper) {
     this.objectService = requireNonNull(objectService, "objectService");
     this.mapper = requireNonNull(mapper, "mapper");
+    this.graphUpdater = new ModelGraphUpdater(objectService, mapper);
   }
 
   @Override
@@ -67,18 +72,52 @@ public abstract class AbstractPointRouterFactory
                                                            objectService.fetchObjects(Path.class),
                                                            vehicle);
 
-    PointRouter router = new ShortestPathPointRouter(createShortestPathAlgorithm(graph), points);
+    PointRouter router = createPrimedPointRouter(graph, points);
+
+    LOG.debug("Created point router for {} in {} milliseconds.",
+              vehicle.getName(),
+              System.currentTimeMillis() - timeStampBefore);
+
+    return router;
+  }
+
+  @Override
+  public PointRouter updatePointRouter(PointRouter pointRouter, Vehicle vehicle, Set<Path> paths) {
+    requireNonNull(pointRouter, "pointRouter");
+    requireNonNull(vehicle, "vehicle");
+    requireNonNull(paths, "paths");
+
+    if (!(pointRouter instanceof ShortestPathPointRouter)
+        || ((ShortestPathPointRouter) pointRouter).getGraph() == null) {
+      return createPointRouter(vehicle);
+    }
+
+    long timeStampBefore = System.currentTimeMillis();
+
+    // Reuse the existing graph's edges and weights for all paths that did not change.
+    Graph<String, Edge> graph
+        = graphUpdater.updateGraph(((ShortestPathPointRouter) pointRouter).getGraph(),
+                                   paths,
+                                   vehicle);
+    PointRouter router = createPrimedPointRouter(graph, objectService.fetchObjects(Point.class));
+
+    LOG.debug("Updated point router for {} in {} milliseconds.",
+              vehicle.getName(),
+              System.currentTimeMillis() - timeStampBefore);
+
+    return router;
+  }
+
+  private PointRouter createPrimedPointRouter(Graph<String, Edge> graph, Set<Point> points) {
+    PointRouter router = new ShortestPathPointRouter(createShortestPathAlgorithm(graph),
+                                                     graph,
+                                                     points);
     // Make a single request for a route from one point to a different one to make sure the
     // point router is primed. (Some implementations are initialized lazily.)
     if (points.size() >= 2) {
       Iterator<Point> pointIter = points.iterator();
       router.getRouteSteps(pointIter.next(), pointIter.next());
     }
-
-    LOG.debug("Created point router for {} in {} milliseconds.",
-              vehicle.getName(),
-              System.currentTimeMillis() - timeStampBefore);
-
     return router;
   }
 
@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing.jgrapht;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import org.jgrapht.Graph;
+import org.jgrapht.GraphPath;
+import org.jgrapht.alg.interfaces.AStarAdmissibleHeuristic;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.SingleSourcePaths;
+import org.jgrapht.alg.shortestpath.ALTAdmissibleHeuristic;
+import org.jgrapht.alg.shortestpath.AStarShortestPath;
+import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
+import org.opentcs.components.kernel.routing.Edge;
+import org.opentcs.components.kernel.services.TCSObjectService;
+import org.opentcs.strategies.basic.routing.PointRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates {@link PointRouter} instances based on the A* algorithm with a heuristic using
+ * precomputed distances to and from a set of landmarks (ALT: A*, landmarks, triangle inequality).
+ * <p>
+ * Landmarks are selected via farthest-point selection on the weighted graph, i.e. each landmark is
+ * the vertex farthest away from all previously selected ones.
+ * As the heuristic is derived from actual graph distances, it is consistent for any (non-negative)
+ * edge weights, so routes have the same costs as routes computed with Dijkstra's algorithm.
+ * </p>
+ * <p>
+ * The heuristic is computed once per graph and shared by all queries, while each query uses its own
+ * instance of the A* algorithm (which keeps per-query state), so the created point routers may be
+ * used by multiple threads concurrently.
+ * </p>
+ */
+public class AltPointRouterFactory
+    extends AbstractPointRouterFactory {
+
+  /**
+   * This class's Logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(AltPointRouterFactory.class);
+  /**
+   * The configuration.
+   */
+  private final ShortestPathConfiguration configuration;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param objectService The object service providing model data.
+   * @param mapper Maps the plant model to a graph.
+   * @param configuration The configuration.
+   */
+  @Inject
+  public AltPointRouterFactory(@Nonnull TCSObjectService objectService,
+                               @Nonnull ModelGraphMapper mapper,
+                               @Nonnull ShortestPathConfiguration configuration) {
+    super(objectService, mapper);
+    this.configuration = requireNonNull(configuration, "configuration");
+  }
+
+  @Override
+  protected ShortestPathAlgorithm<String, Edge> createShortestPathAlgorithm(
+      Graph<String, Edge> graph) {
+    Set<String> landmarks = selectLandmarks(graph, configuration.altLandmarkCount());
+    if (landmarks.isEmpty()) {
+      // The heuristic requires at least one landmark, which an empty graph cannot provide.
+      return new DijkstraShortestPath<>(graph);
+    }
+
+    LOG.debug("Selected landmarks: {}", landmarks);
+    return new AltShortestPath(graph, new ALTAdmissibleHeuristic<>(graph, landmarks));
+  }
+
+  /**
+   * Selects the given number of landmarks from the given graph's vertices.
+   * <p>
+   * The first landmark is the vertex farthest away from an arbitrary (but deterministically
+   * chosen) vertex; every following landmark is the vertex whose distance to the closest of the
+   * already selected landmarks is the greatest. Vertices that cannot be reached from any of the
+   * selected landmarks are preferred, as they are not covered by any landmark, yet.
+   * </p>
+   *
+   * @param graph The graph.
+   * @param count The maximum number of landmarks to select.
+   * @return The selected landmarks.
+   */
+  static Set<String> selectLandmarks(Graph<String, Edge> graph, int count) {
+    Set<String> landmarks = new LinkedHashSet<>();
+    List<String> vertices = graph.vertexSet().stream().sorted().collect(Collectors.toList());
+    if (vertices.isEmpty() || count < 1) {
+      return landmarks;
+    }
+
+    DijkstraShortestPath<String, Edge> dijkstra = new DijkstraShortestPath<>(graph);
+    // For every vertex, the distance to the closest landmark selected so far.
+    Map<String, Double> minDistances = new HashMap<>();
+    vertices.forEach(vertex -> minDistances.put(vertex, Double.POSITIVE_INFINITY));
+
+    String start = farthestVertex(vertices, dijkstra.getPaths(vertices.get(0)));
+    if (start == null) {
+      start = vertices.get(0);
+    }
+    while (landmarks.size() < count) {
+      String landmark = landmarks.isEmpty() ? start : farthestVertex(vertices, minDistances);
+      if (landmark == null) {
+        break;
+      }
+      landmarks.add(landmark);
+
+      SingleSourcePaths<String, Edge> paths = dijkstra.getPaths(landmark);
+      for (String vertex : vertices) {
+        minDistances.merge(vertex, paths.getWeight(vertex), Math::min);
+      }
+    }
+
+    return landmarks;
+  }
+
+  private static String farthestVertex(List<String> vertices,
+                                       SingleSourcePaths<String, Edge> paths) {
+    Map<String, Double> distances = new HashMap<>();
+    for (String vertex : vertices) {
+      double distance = paths.getWeight(vertex);
+      // Ignore unreachable vertices here so we start with a landmark in the source's component.
+      distances.put(vertex, Double.isInfinite(distance) ? 0.0 : distance);
+    }
+    return farthestVertex(vertices, distances);
+  }
+
+  private static String farthestVertex(List<String> vertices, Map<String, Double> distances) {
+    String result = null;
+    double maxDistance = -1.0;
+    for (String vertex : vertices) {
+      double distance = distances.get(vertex);
+      // Landmarks have a distance of zero to themselves, so they are never selected again.
+      if (distance > maxDistance && distance > 0.0) {
+        result = vertex;
+        maxDistance = distance;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Computes shortest paths with a new {@link AStarShortestPath} instance for every query, all of
+   * them sharing the same (immutable) heuristic.
+   */
+  private static class AltShortestPath
+      implements ShortestPathAlgorithm<String, Edge> {
+
+    /**
+     * The graph.
+     */
+    private final Graph<String, Edge> graph;
+    /**
+     * The heuristic with the precomputed landmark distances.
+     */
+    private final AStarAdmissibleHeuristic<String> heuristic;
+
+    AltShortestPath(Graph<String, Edge> graph, AStarAdmissibleHeuristic<String> heuristic) {
+      this.graph = requireNonNull(graph, "graph");
+      this.heuristic = requireNonNull(heuristic, "heuristic");
+    }
+
+    @Override
+    public GraphPath<String, Edge> getPath(String source, String sink) {
+      return new AStarShortestPath<>(graph, heuristic).getPath(source, sink);
+    }
+
+    @Override
+    public double getPathWeight(String source, String sink) {
+      GraphPath<String, Edge> path = getPath(source, sink);
+      return path == null ? Double.POSITIVE_INFINITY : path.getWeight();
+    }
+
+    @Override
+    public SingleSourcePaths<String, Edge> getPaths(String source) {
+      // A* is a point-to-point algorithm; Dijkstra is the better choice for single-source paths.
+      return new DijkstraShortestPath<>(graph).getPaths(source);
+    }
+  }
+}
@@ -0,0 +1,491 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing.jgrapht;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import static java.util.Objects.requireNonNull;
+import java.util.Set;
+import java.util.stream.IntStream;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.jgrapht.Graph;
+import org.opentcs.components.kernel.routing.Edge;
+import org.opentcs.data.TCSObjectReference;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.Route;
+import org.opentcs.strategies.basic.routing.PointRouter;
+import static org.opentcs.util.Assertions.checkArgument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A point router that precomputes the costs and routes between all pairs of points.
+ * <p>
+ * The graph is stored in compressed sparse row (CSR) arrays with points mapped to int indices.
+ * The costs of the shortest routes between all pairs of points are computed by running Dijkstra's
+ * algorithm once for every source point and are kept in a dense matrix, along with a matrix of the
+ * last edge of each route.
+ * Looking up costs is thus a constant-time array access without any allocations, and route steps
+ * are retrieved by following the last-edge pointers back to the source point.
+ * </p>
+ * <p>
+ * When only a few paths change (e.g. because they are locked or unlocked), a new instance can be
+ * derived from an existing one via {@link #update(Graph, Iterable, Set)}, in which only the rows
+ * of the matrices affected by the changed edges are recomputed.
+ * </p>
+ * <p>
+ * Note that the matrices require memory quadratic in the number of points (12 bytes per pair of
+ * points).
+ * </p>
+ */
+public class CostMatrixPointRouter
+    implements PointRouter {
+
+  /**
+   * Marks a matrix entry for which no edge exists.
+   */
+  private static final int NO_EDGE = -1;
+  /**
+   * This class's logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(CostMatrixPointRouter.class);
+  /**
+   * Orders points by their names.
+   */
+  private static final Comparator<Point> POINT_NAME_ORDER = Comparator.comparing(Point::getName);
+  /**
+   * The graph the matrices were computed for.
+   */
+  private final Graph<String, Edge> graph;
+  /**
+   * The number of points/vertices.
+   */
+  private final int pointCount;
+  /**
+   * The points, by index.
+   */
+  private final Point[] points;
+  /**
+   * The point indices, by point name.
+   */
+  private final Map<String, Integer> indicesByName;
+  /**
+   * The edges, by index.
+   */
+  private final Edge[] edges;
+  /**
+   * The source point index of each edge.
+   */
+  private final int[] edgeSources;
+  /**
+   * The target point index of each edge.
+   */
+  private final int[] edgeTargets;
+  /**
+   * The costs of the shortest routes, with the entry for source {@code s} and destination
+   * {@code d} at index {@code s * pointCount + d}.
+   */
+  private final LongBuffer costs;
+  /**
+   * The index of the last edge of the shortest routes, indexed like {@link #costs}.
+   */
+  private final IntBuffer lastEdges;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param graph The graph to compute routes in.
+   * @param points The points of the plant model.
+   * @param offHeap Whether to store the cost and edge matrices outside of the Java heap.
+   */
+  public CostMatrixPointRouter(@Nonnull Graph<String, Edge> graph,
+                               @Nonnull Iterable<Point> points,
+                               boolean offHeap) {
+    this(graph, points, offHeap, null, new HashSet<>());
+  }
+
+  /**
+   * Creates a new instance, reusing the rows of the given previous instance's matrices that are
+   * not affected by the changed paths.
+   *
+   * @param graph The graph to compute routes in.
+   * @param points The points of the plant model.
+   * @param offHeap Whether to store the cost and edge matrices outside of the Java heap.
+   * @param previous The previous instance, or {@code null}.
+   * @param changedPathNames The names of the paths whose edges differ between the previous
+   * instance's graph and the given one.
+   */
+  private CostMatrixPointRouter(@Nonnull Graph<String, Edge> graph,
+                                @Nonnull Iterable<Point> points,
+                                boolean offHeap,
+                                @Nullable CostMatrixPointRouter previous,
+                                @Nonnull Set<String> changedPathNames) {
+    this.graph = requireNonNull(graph, "graph");
+    requireNonNull(points, "points");
+    requireNonNull(changedPathNames, "changedPathNames");
+
+    List<Point> pointList = new ArrayList<>();
+    points.forEach(pointList::add);
+    Collections.sort(pointList, POINT_NAME_ORDER);
+
+    this.pointCount = pointList.size();
+    this.points = pointList.toArray(new Point[pointCount]);
+    this.indicesByName = new HashMap<>();
+    for (int i = 0; i < pointCount; i++) {
+      indicesByName.put(this.points[i].getName(), i);
+    }
+
+    long matrixSize = (long) pointCount * pointCount;
+    checkArgument(matrixSize * Long.BYTES <= Integer.MAX_VALUE,
+                  "Too many points for a cost matrix: %s",
+                  pointCount);
+
+    // Translate the graph to CSR arrays.
+    List<Edge> edgeList = new ArrayList<>(graph.edgeSet());
+    int edgeCount = edgeList.size();
+    this.edges = new Edge[edgeCount];
+    this.edgeSources = new int[edgeCount];
+    this.edgeTargets = new int[edgeCount];
+    double[] edgeWeights = new double[edgeCount];
+    int[] edgeOffsets = new int[pointCount + 1];
+
+    for (Edge edge : edgeList) {
+      edgeOffsets[indicesByName.get(graph.getEdgeSource(edge)) + 1]++;
+    }
+    for (int i = 0; i < pointCount; i++) {
+      edgeOffsets[i + 1] += edgeOffsets[i];
+    }
+    int[] nextSlots = new int[pointCount];
+    System.arraycopy(edgeOffsets, 0, nextSlots, 0, pointCount);
+    for (Edge edge : edgeList) {
+      int source = indicesByName.get(graph.getEdgeSource(edge));
+      int slot = nextSlots[source]++;
+      edges[slot] = edge;
+      edgeSources[slot] = source;
+      edgeTargets[slot] = indicesByName.get(graph.getEdgeTarget(edge));
+      edgeWeights[slot] = graph.getEdgeWeight(edge);
+    }
+
+    this.costs = offHeap
+        ? ByteBuffer.allocateDirect((int) matrixSize * Long.BYTES).asLongBuffer()
+        : LongBuffer.allocate((int) matrixSize);
+    this.lastEdges = offHeap
+        ? ByteBuffer.allocateDirect((int) matrixSize * Integer.BYTES).asIntBuffer()
+        : IntBuffer.allocate((int) matrixSize);
+
+    boolean[] rowsToCompute = new boolean[pointCount];
+    if (previous != null && Arrays.equals(previous.points, this.points, POINT_NAME_ORDER)) {
+      markAffectedRows(previous, changedPathNames, edgeWeights, rowsToCompute);
+    }
+    else {
+      Arrays.fill(rowsToCompute, true);
+    }
+
+    // The rows of the matrices are independent of each other, so compute them in parallel.
+    IntStream.range(0, pointCount).parallel()
+        .filter(source -> rowsToCompute[source])
+        .forEach(source -> computeRow(source, edgeOffsets, edgeWeights));
+  }
+
+  /**
+   * Returns a new instance for the given graph, which differs from this instance's graph only with
+   * regard to the edges for the given paths.
+   * Only the rows of the matrices affected by the changed edges are recomputed; all other rows are
+   * copied from this instance.
+   * This instance is not modified.
+   *
+   * @param newGraph The new graph.
+   * @param points The points of the plant model.
+   * @param changedPathNames The names of the paths whose edges changed.
+   * @return The new instance.
+   */
+  @Nonnull
+  public CostMatrixPointRouter update(@Nonnull Graph<String, Edge> newGraph,
+                                      @Nonnull Iterable<Point> points,
+                                      @Nonnull Set<String> changedPathNames) {
+    return new CostMatrixPointRouter(newGraph, points, costs.isDirect(), this, changedPathNames);
+  }
+
+  /**
+   * Returns the graph the matrices were computed for.
+   *
+   * @return The graph the matrices were computed for.
+   */
+  @Nonnull
+  public Graph<String, Edge> getGraph() {
+    return graph;
+  }
+
+  @Override
+  public List<Route.Step> getRouteSteps(Point srcPoint, Point destPoint) {
+    requireNonNull(srcPoint, "srcPoint");
+    requireNonNull(destPoint, "destPoint");
+
+    if (Objects.equals(srcPoint.getName(), destPoint.getName())) {
+      return new ArrayList<>();
+    }
+
+    Integer source = indicesByName.get(srcPoint.getName());
+    Integer destination = indicesByName.get(destPoint.getName());
+    if (source == null
+        || destination == null
+        || costs.get(source * pointCount + destination) == INFINITE_COSTS) {
+      return null;
+    }
+
+    // Collect the edges by following the last-edge pointers from the destination to the source.
+    List<Integer> edgeIndices = new ArrayList<>();
+    int current = destination;
+    while (current != source) {
+      int edgeIndex = lastEdges.get(source * pointCount + current);
+      edgeIndices.add(edgeIndex);
+      current = edgeSources[edgeIndex];
+    }
+    Collections.reverse(edgeIndices);
+
+    List<Route.Step> result = new ArrayList<>(edgeIndices.size());
+    int routeIndex = 0;
+    for (int edgeIndex : edgeIndices) {
+      Edge edge = edges[edgeIndex];
+      Point sourcePoint = points[edgeSources[edgeIndex]];
+      Point targetPoint = points[edgeTargets[edgeIndex]];
+
+      result.add(new Route.Step(edge.getPath(),
+                                sourcePoint,
+                                targetPoint,
+                                orientation(edge, sourcePoint),
+                                routeIndex));
+      routeIndex++;
+    }
+
+    return result;
+  }
+
+  @Override
+  public long getCosts(TCSObjectReference<Point> srcPointRef,
+                       TCSObjectReference<Point> destPointRef) {
+    requireNonNull(srcPointRef, "srcPointRef");
+    requireNonNull(destPointRef, "destPointRef");
+
+    if (Objects.equals(srcPointRef.getName(), destPointRef.getName())) {
+      return 0;
+    }
+
+    Integer source = indicesByName.get(srcPointRef.getName());
+    Integer destination = indicesByName.get(destPointRef.getName());
+    if (source == null || destination == null) {
+      return INFINITE_COSTS;
+    }
+
+    return costs.get(source * pointCount + destination);
+  }
+
+  /**
+   * Copies the rows of the previous instance's matrices that are not affected by the changed
+   * paths and marks all others as to be computed.
+   * <p>
+   * A row is affected if the shortest path tree it represents contains an edge that was removed
+   * or changed, or if an added or changed edge provides a shortcut for it.
+   * If neither is the case, the row's costs are still attainable and cannot be undercut, as the
+   * costs of the previous row satisfy the triangle inequality for every edge of the new graph.
+   * </p>
+   *
+   * @param previous The previous instance.
+   * @param changedPathNames The names of the paths whose edges changed.
+   * @param edgeWeights The CSR edge weights.
+   * @param rowsToCompute Marks the rows that need to be computed.
+   */
+  private void markAffectedRows(CostMatrixPointRouter previous,
+                                Set<String> changedPathNames,
+                                double[] edgeWeights,
+                                boolean[] rowsToCompute) {
+    // Map the previous edge indices to the current ones. Edges of unchanged paths are shared
+    // between the graphs, while edges of changed paths are not mapped.
+    Map<Edge, Integer> edgeIndices = new IdentityHashMap<>();
+    for (int i = 0; i < edges.length; i++) {
+      edgeIndices.put(edges[i], i);
+    }
+    int[] currentEdgeIndices = new int[previous.edges.length];
+    for (int i = 0; i < previous.edges.length; i++) {
+      Integer edgeIndex = changedPathNames.contains(previous.edges[i].getPath().getName())
+          ? null
+          : edgeIndices.get(previous.edges[i]);
+      currentEdgeIndices[i] = edgeIndex == null ? NO_EDGE : edgeIndex;
+    }
+
+    List<Integer> newEdgeIndices = new ArrayList<>();
+    for (int i = 0; i < edges.length; i++) {
+      if (changedPathNames.contains(edges[i].getPath().getName())) {
+        newEdgeIndices.add(i);
+      }
+    }
+
+    int affectedRows = 0;
+    for (int source = 0; source < pointCount; source++) {
+      int rowOffset = source * pointCount;
+      boolean affected = false;
+      for (int destination = 0; destination < pointCount && !affected; destination++) {
+        int previousEdge = previous.lastEdges.get(rowOffset + destination);
+        affected = previousEdge != NO_EDGE && currentEdgeIndices[previousEdge] == NO_EDGE;
+      }
+      for (int i = 0; i < newEdgeIndices.size() && !affected; i++) {
+        int edge = newEdgeIndices.get(i);
+        long costsToEdgeSource = previous.costs.get(rowOffset + edgeSources[edge]);
+        long costsToEdgeTarget = previous.costs.get(rowOffset + edgeTargets[edge]);
+        // The stored costs are rounded down, so be conservative when comparing them.
+        affected = costsToEdgeSource != INFINITE_COSTS
+            && (costsToEdgeTarget == INFINITE_COSTS
+                || costsToEdgeSource + edgeWeights[edge] < costsToEdgeTarget + 1);
+      }
+
+      if (affected) {
+        rowsToCompute[source] = true;
+        affectedRows++;
+      }
+      else {
+        for (int destination = 0; destination < pointCount; destination++) {
+          costs.put(rowOffset + destination, previous.costs.get(rowOffset + destination));
+          int previousEdge = previous.lastEdges.get(rowOffset + destination);
+          lastEdges.put(rowOffset + destination,
+                        previousEdge == NO_EDGE ? NO_EDGE : currentEdgeIndices[previousEdge]);
+        }
+      }
+    }
+
+    LOG.debug("Recomputing {} of {} rows for changed paths {}.",
+              affectedRows,
+              pointCount,
+              changedPathNames);
+  }
+
+  /**
+   * Computes the costs and last edges of the shortest routes from the given source point to all
+   * other points using Dijkstra's algorithm.
+   *
+   * @param source The index of the source point.
+   * @param edgeOffsets The CSR edge offsets.
+   * @param edgeWeights The CSR edge weights.
+   */
+  private void computeRow(int source, int[] edgeOffsets, double[] edgeWeights) {
+    double[] distances = new double[pointCount];
+    int[] rowLastEdges = new int[pointCount];
+    boolean[] settled = new boolean[pointCount];
+    Arrays.fill(distances, Double.POSITIVE_INFINITY);
+    Arrays.fill(rowLastEdges, NO_EDGE);
+    distances[source] = 0.0;
+
+    VertexHeap heap = new VertexHeap(edgeTargets.length + 1);
+    heap.add(0.0, source);
+    while (!heap.isEmpty()) {
+      int vertex = heap.pollVertex();
+      if (settled[vertex]) {
+        continue;
+      }
+      settled[vertex] = true;
+
+      for (int edge = edgeOffsets[vertex]; edge < edgeOffsets[vertex + 1]; edge++) {
+        int target = edgeTargets[edge];
+        double distance = distances[vertex] + edgeWeights[edge];
+        if (!settled[target] && distance < distances[target]) {
+          distances[target] = distance;
+          rowLastEdges[target] = edge;
+          heap.add(distance, target);
+        }
+      }
+    }
+
+    int rowOffset = source * pointCount;
+    for (int destination = 0; destination < pointCount; destination++) {
+      costs.put(rowOffset + destination,
+                distances[destination] == Double.POSITIVE_INFINITY
+                ? INFINITE_COSTS
+                : (long) distances[destination]);
+      lastEdges.put(rowOffset + destination, rowLastEdges[destination]);
+    }
+  }
+
+  private Vehicle.Orientation orientation(Edge edge, Point graphSourcePoint) {
+    return Objects.equals(edge.getPath().getSourcePoint(), graphSourcePoint.getReference())
+        ? Vehicle.Orientation.FORWARD
+        : Vehicle.Orientation.BACKWARD;
+  }
+
+  /**
+   * A binary min-heap of vertices keyed by distance, based on primitive arrays.
+   * Vertices may be contained multiple times; outdated entries are skipped by the caller.
+   */
+  private static class VertexHeap {
+
+    private final double[] keys;
+    private final int[] vertices;
+    private int size;
+
+    VertexHeap(int capacity) {
+      keys = new double[capacity];
+      vertices = new int[capacity];
+    }
+
+    boolean isEmpty() {
+      return size == 0;
+    }
+
+    void add(double key, int vertex) {
+      int index = size++;
+      while (index > 0) {
+        int parent = (index - 1) >>> 1;
+        if (keys[parent] <= key) {
+          break;
+        }
+        keys[index] = keys[parent];
+        vertices[index] = vertices[parent];
+        index = parent;
+      }
+      keys[index] = key;
+      vertices[index] = vertex;
+    }
+
+    int pollVertex() {
+      int result = vertices[0];
+      size--;
+      double key = keys[size];
+      int vertex = vertices[size];
+      int index = 0;
+      while (true) {
+        int child = 2 * index + 1;
+        if (child >= size) {
+          break;
+        }
+        if (child + 1 < size && keys[child + 1] < keys[child]) {
+          child++;
+        }
+        if (key <= keys[child]) {
+          break;
+        }
+        keys[index] = keys[child];
+        vertices[index] = vertices[child];
+        index = child;
+      }
+      keys[index] = key;
+      vertices[index] = vertex;
+      return result;
+    }
+  }
+}
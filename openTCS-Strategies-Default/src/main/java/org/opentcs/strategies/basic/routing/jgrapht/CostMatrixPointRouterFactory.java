@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing.jgrapht;
+
+import static java.util.Objects.requireNonNull;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import org.jgrapht.Graph;
+import org.opentcs.components.kernel.routing.Edge;
+import org.opentcs.components.kernel.services.TCSObjectService;
+import org.opentcs.data.model.Path;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.strategies.basic.routing.PointRouter;
+import org.opentcs.strategies.basic.routing.PointRouterFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates {@link CostMatrixPointRouter} instances.
+ */
+public class CostMatrixPointRouterFactory
+    implements PointRouterFactory {
+
+  /**
+   * This class's Logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(CostMatrixPointRouterFactory.class);
+  /**
+   * The object service providing the model data.
+   */
+  private final TCSObjectService objectService;
+  /**
+   * Maps the plant model to a graph.
+   */
+  private final ModelGraphMapper mapper;
+  /**
+   * The configuration.
+   */
+  private final ShortestPathConfiguration configuration;
+  /**
+   * Updates graphs for changed paths.
+   */
+  private final ModelGraphUpdater graphUpdater;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param objectService The object service providing model data.
+   * @param mapper Maps the plant model to a graph.
+   * @param configuration The configuration.
+   */
+  @Inject
+  public CostMatrixPointRouterFactory(@Nonnull TCSObjectService objectService,
+                                      @Nonnull ModelGraphMapper mapper,
+                                      @Nonnull ShortestPathConfiguration configuration) {
+    this.objectService = requireNonNull(objectService, "objectService");
+    this.mapper = requireNonNull(mapper, "mapper");
+    this.configuration = requireNonNull(configuration, "configuration");
+    this.graphUpdater = new ModelGraphUpdater(objectService, mapper);
+  }
+
+  @Override
+  public PointRouter createPointRouter(Vehicle vehicle) {
+    requireNonNull(vehicle, "vehicle");
+
+    long timeStampBefore = System.currentTimeMillis();
+
+    Set<Point> points = objectService.fetchObjects(Point.class);
+    Graph<String, Edge> graph = mapper.translateModel(points,
+                                                      objectService.fetchObjects(Path.class),
+                                                      vehicle);
+
+    PointRouter router = new CostMatrixPointRouter(graph,
+                                                   points,
+                                                   configuration.costMatrixOffHeap());
+
+    LOG.debug("Created point router for {} in {} milliseconds.",
+              vehicle.getName(),
+              System.currentTimeMillis() - timeStampBefore);
+
+    return router;
+  }
+
+  @Override
+  public PointRouter updatePointRouter(PointRouter pointRouter, Vehicle vehicle, Set<Path> paths) {
+    requireNonNull(pointRouter, "pointRouter");
+    requireNonNull(vehicle, "vehicle");
+    requireNonNull(paths, "paths");
+
+    if (!(pointRouter instanceof CostMatrixPointRouter)) {
+      return createPointRouter(vehicle);
+    }
+
+    long timeStampBefore = System.currentTimeMillis();
+
+    CostMatrixPointRouter previousRouter = (CostMatrixPointRouter) pointRouter;
+    Graph<String, Edge> graph = graphUpdater.updateGraph(previousRouter.getGraph(), paths, vehicle);
+    PointRouter router = previousRouter.update(graph,
+                                               objectService.fetchObjects(Point.class),
+                                               paths.stream()
+                                                   .map(Path::getName)
+                                                   .collect(Collectors.toSet()));
+
+    LOG.debug("Updated point router for {} in {} milliseconds.",
+              vehicle.getName(),
+              System.currentTimeMillis() - timeStampBefore);
+
+    return router;
+  }
+}
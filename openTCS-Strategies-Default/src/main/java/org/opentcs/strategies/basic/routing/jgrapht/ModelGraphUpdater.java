@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing.jgrapht;
+
+import static java.util.Objects.requireNonNull;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DirectedWeightedMultigraph;
+import org.opentcs.components.kernel.routing.Edge;
+import org.opentcs.components.kernel.services.TCSObjectService;
+import org.opentcs.data.model.Path;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Vehicle;
+import static org.opentcs.util.Assertions.checkArgument;
+
+/**
+ * Derives graphs for changed paths from existing graphs, without translating the whole plant
+ * model again.
+ */
+class ModelGraphUpdater {
+
+  /**
+   * The object service providing the model data.
+   */
+  private final TCSObjectService objectService;
+  /**
+   * Maps the plant model to a graph.
+   */
+  private final ModelGraphMapper mapper;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param objectService The object service providing model data.
+   * @param mapper Maps the plant model to a graph.
+   */
+  ModelGraphUpdater(@Nonnull TCSObjectService objectService,
+                    @Nonnull ModelGraphMapper mapper) {
+    this.objectService = requireNonNull(objectService, "objectService");
+    this.mapper = requireNonNull(mapper, "mapper");
+  }
+
+  /**
+   * Returns a copy of the given graph in which the edges for the given paths are replaced with
+   * edges for the paths' current states.
+   * The given graph is not modified.
+   *
+   * @param graph The graph.
+   * @param paths The paths that changed, in their current states.
+   * @param vehicle The vehicle for which the graph was built.
+   * @return The updated copy of the graph.
+   * @throws IllegalArgumentException If any of the given paths is connected to a point that is not
+   * part of the graph.
+   */
+  @Nonnull
+  public Graph<String, Edge> updateGraph(@Nonnull Graph<String, Edge> graph,
+                                         @Nonnull Set<Path> paths,
+                                         @Nonnull Vehicle vehicle)
+      throws IllegalArgumentException {
+    requireNonNull(graph, "graph");
+    requireNonNull(paths, "paths");
+    requireNonNull(vehicle, "vehicle");
+
+    Set<String> pathNames = paths.stream().map(Path::getName).collect(Collectors.toSet());
+
+    Graph<String, Edge> result = new DirectedWeightedMultigraph<>(Edge.class);
+    graph.vertexSet().forEach(result::addVertex);
+    for (Edge edge : graph.edgeSet()) {
+      if (!pathNames.contains(edge.getPath().getName())) {
+        addEdge(result, graph, edge);
+      }
+    }
+
+    // Let the mapper translate only the changed paths, so their edges are added (or left out) and
+    // weighted exactly as they would be when translating the whole plant model.
+    Set<Point> points = paths.stream()
+        .flatMap(path -> Stream.of(path.getSourcePoint(), path.getDestinationPoint()))
+        .map(pointRef -> objectService.fetchObject(Point.class, pointRef))
+        .collect(Collectors.toSet());
+    Graph<String, Edge> pathGraph = mapper.translateModel(points, paths, vehicle);
+    for (Edge edge : pathGraph.edgeSet()) {
+      checkArgument(result.containsVertex(pathGraph.getEdgeSource(edge))
+                    && result.containsVertex(pathGraph.getEdgeTarget(edge)),
+                    "Path %s is connected to a point unknown to the graph.",
+                    edge.getPath().getName());
+      addEdge(result, pathGraph, edge);
+    }
+
+    return result;
+  }
+
+  private void addEdge(Graph<String, Edge> target, Graph<String, Edge> source, Edge edge) {
+    target.addEdge(source.getEdgeSource(edge), source.getEdgeTarget(edge), edge);
+    target.setEdgeWeight(edge, source.getEdgeWeight(edge));
+  }
+}
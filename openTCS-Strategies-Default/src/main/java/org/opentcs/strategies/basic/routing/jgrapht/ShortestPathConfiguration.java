@@ -30,7 +30,12 @@ public interface ShortestPathConfiguration {
         "The routing algorithm to be used. Valid values:",
         "'DIJKSTRA': Routes are computed using Dijkstra's algorithm.",
         "'BELLMAN_FORD': Routes are computed using the Bellman-Ford algorithm.",
-        "'FLOYD_WARSHALL': Routes are computed using the Floyd-Warshall algorithm."})
+        "'FLOYD_WARSHALL': Routes are computed using the Floyd-Warshall algorithm.",
+        "'ALT': Routes are computed using the A* algorithm with a heuristic based on distances to "
+        + "and from a set of landmark points.",
+        "'COST_MATRIX': Costs and routes between all pairs of points are precomputed using "
+        + "Dijkstra's algorithm and kept in matrices. Provides the fastest lookups, but requires "
+        + "memory quadratic in the number of points."})
   Algorithm algorithm();
 
   @ConfigurationEntry(
@@ -46,10 +51,24 @@ public interface ShortestPathConfiguration {
       })
   List<String> edgeEvaluators();
 
+  @ConfigurationEntry(
+      type = "Integer",
+      description = "The number of landmark points to be used by the 'ALT' algorithm.")
+  int altLandmarkCount();
+
+  @ConfigurationEntry(
+      type = "Boolean",
+      description = {
+        "Whether the matrices of the 'COST_MATRIX' algorithm are stored outside of the Java heap.",
+        "(Reduces the load on the garbage collector for large plant models.)"})
+  boolean costMatrixOffHeap();
+
   enum Algorithm {
     DIJKSTRA(false),
     BELLMAN_FORD(true),
-    FLOYD_WARSHALL(false);
+    FLOYD_WARSHALL(false),
+    ALT(false),
+    COST_MATRIX(false);
 
     private final boolean handlingNegativeCosts;
 
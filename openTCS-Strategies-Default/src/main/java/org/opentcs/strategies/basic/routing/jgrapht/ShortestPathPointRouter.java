@@ -14,6 +14,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import static java.util.Objects.requireNonNull;
+import javax.annotation.Nullable;
+import org.jgrapht.Graph;
 import org.jgrapht.GraphPath;
 import org.jgrapht.alg.interfaces.ShortestPathAlgorithm;
 import org.opentcs.components.kernel.routing.Edge;
@@ -44,10 +46,30 @@ public class ShortestPathPointRouter
   private final ShortestPathAlgorithm<String, Edge> algo;
 
   private final Map<String, Point> points = new HashMap<>();
+  /**
+   * The graph the algorithm works on, if known.
+   */
+  @Nullable
+  private final Graph<String, Edge> graph;
+
+  public ShortestPathPointRouter(ShortestPathAlgorithm<String, Edge> algo,
+                                 Collection<Point> points) {
+    this(algo, null, points);
+  }
 
+  /**
+   * Creates a new instance.
+   *
+   * @param algo The shortest path algorithm.
+   * @param graph The graph the algorithm works on, which must not be modified afterwards. May be
+   * {@code null}, in which case the point router cannot be updated incrementally.
+   * @param points The points.
+   */
   public ShortestPathPointRouter(ShortestPathAlgorithm<String, Edge> algo,
+                                 @Nullable Graph<String, Edge> graph,
                                  Collection<Point> points) {
     this.algo = requireNonNull(algo, "algo");
+    this.graph = graph;
     requireNonNull(points, "points");
 
     for (Point point : points) {
@@ -56,6 +78,16 @@ public class ShortestPathPointRouter
 
   }
 
+  /**
+   * Returns the graph the algorithm works on.
+   *
+   * @return The graph the algorithm works on, or {@code null}, if it is not known.
+   */
+  @Nullable
+  public Graph<String, Edge> getGraph() {
+    return graph;
+  }
+
   @Override
   public List<Route.Step> getRouteSteps(Point srcPoint, Point destPoint) {
     requireNonNull(srcPoint, "srcPoint");
@@ -9,6 +9,7 @@ package org.opentcs.strategies.basic.scheduling;
 
 import static java.util.Objects.requireNonNull;
 import java.util.Set;
+import javax.annotation.Nullable;
 import org.opentcs.components.kernel.Scheduler.Client;
 import org.opentcs.data.model.TCSResource;
 
@@ -121,18 +122,50 @@ abstract class AllocatorCommand
       extends AllocatorCommand {
 
     /**
-     * Creates a new instance.
+     * The resources that have been released, or <code>null</code>, if all deferred allocations
+     * should be retried.
+     */
+    @Nullable
+    private final Set<TCSResource<?>> releasedResources;
+
+    /**
+     * Creates a new instance for retrying all deferred allocations.
      *
      * @param client The scheduler client this command is associated with.
      */
     public RetryAllocates(Client client) {
       super(3, client);
+      this.releasedResources = null;
+    }
+
+    /**
+     * Creates a new instance for retrying the deferred allocations that may have been unblocked by
+     * the given resources being released.
+     *
+     * @param client The scheduler client this command is associated with.
+     * @param releasedResources The resources that have been released.
+     */
+    public RetryAllocates(Client client, Set<TCSResource<?>> releasedResources) {
+      super(3, client);
+      this.releasedResources = requireNonNull(releasedResources, "releasedResources");
+    }
+
+    /**
+     * Returns the resources that have been released.
+     *
+     * @return The resources that have been released, or <code>null</code>, if all deferred
+     * allocations should be retried.
+     */
+    @Nullable
+    public Set<TCSResource<?>> getReleasedResources() {
+      return releasedResources;
     }
 
     @Override
     public String toString() {
       return "RetryAllocates{"
           + "client=" + getClient()
+          + ", releasedResources=" + releasedResources
           + '}';
     }
   }
@@ -7,15 +7,15 @@
  */
 package org.opentcs.strategies.basic.scheduling;
 
+import java.util.HashSet;
+import java.util.List;
 import static java.util.Objects.requireNonNull;
-import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
 import javax.annotation.Nonnull;
 import org.opentcs.components.kernel.Scheduler;
 import org.opentcs.components.kernel.Scheduler.Client;
 import org.opentcs.components.kernel.services.InternalPlantModelService;
-import org.opentcs.customizations.kernel.GlobalSyncObject;
 import org.opentcs.data.model.TCSResource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,15 +45,11 @@ class AllocatorTask
   /**
    * Allocations deferred because they couldn't be granted, yet.
    */
-  private final Queue<AllocatorCommand.Allocate> deferredAllocations;
+  private final DeferredAllocations deferredAllocations;
   /**
    * Executes tasks.
    */
   private final ScheduledExecutorService kernelExecutor;
-  /**
-   * A global object to be used for synchronization within the kernel.
-   */
-  private final Object globalSyncObject;
   /**
    * Describes the actual task.
    */
@@ -64,17 +60,15 @@ class AllocatorTask
    */
   public AllocatorTask(@Nonnull InternalPlantModelService plantModelService,
                        @Nonnull ReservationPool reservationPool,
-                       @Nonnull Queue<AllocatorCommand.Allocate> deferredAllocations,
+                       @Nonnull DeferredAllocations deferredAllocations,
                        @Nonnull Scheduler.Module allocationAdvisor,
                        @Nonnull ScheduledExecutorService kernelExecutor,
-                       @Nonnull @GlobalSyncObject Object globalSyncObject,
                        @Nonnull AllocatorCommand command) {
     this.plantModelService = requireNonNull(plantModelService, "plantModelService");
     this.reservationPool = requireNonNull(reservationPool, "reservationPool");
     this.deferredAllocations = requireNonNull(deferredAllocations, "deferredAllocations");
     this.allocationAdvisor = requireNonNull(allocationAdvisor, "allocationAdvisor");
     this.kernelExecutor = requireNonNull(kernelExecutor, "kernelExecutor");
-    this.globalSyncObject = requireNonNull(globalSyncObject, "globalSyncObject");
     this.command = requireNonNull(command, "command");
   }
 
@@ -86,7 +80,7 @@ class AllocatorTask
       processAllocate((AllocatorCommand.Allocate) command);
     }
     else if (command instanceof AllocatorCommand.RetryAllocates) {
-      scheduleRetryWaitingAllocations();
+      retryAllocates((AllocatorCommand.RetryAllocates) command);
     }
     else if (command instanceof AllocatorCommand.CheckAllocationsPrepared) {
       checkAllocationsPrepared((AllocatorCommand.CheckAllocationsPrepared) command);
@@ -100,9 +94,10 @@ class AllocatorTask
   }
 
   private void processAllocate(AllocatorCommand.Allocate command) {
-    if (!tryAllocate(command)) {
+    Set<TCSResource<?>> blockingResources = new HashSet<>();
+    if (!tryAllocate(command, blockingResources)) {
       LOG.debug("{}: Resources unavailable, deferring allocation...", command.getClient().getId());
-      deferredAllocations.add(command);
+      deferredAllocations.add(command, blockingResources);
       return;
     }
 
@@ -130,25 +125,32 @@ class AllocatorTask
                resources);
       undoAllocate(client, resources);
       // See if others want the resources this one didn't, then.
-      scheduleRetryWaitingAllocations();
+      scheduleRetryWaitingAllocations(resources);
     }
     // Notify modules about the changes in claimed/allocated resources for this client.
-    allocationAdvisor.setAllocationState(client,
-                                         reservationPool.allocatedResources(client),
-                                         reservationPool.getClaim(client));
+    reservationPool.runWithLocks(client, Set.of(), () -> {
+      synchronized (reservationPool.getModuleSyncObject()) {
+        allocationAdvisor.setAllocationState(client,
+                                             reservationPool.allocatedResources(client),
+                                             reservationPool.getClaim(client));
+      }
+    });
   }
 
   /**
    * Allocates the given set of resources, if possible.
    *
    * @param command Describes the requested allocation.
+   * @param blockingResources Collects the resources allocated by other clients that prevented the
+   * allocation. Remains empty if the allocation was prevented for other reasons.
    * @return <code>true</code> if, and only if, the given resources were allocated.
    */
-  private boolean tryAllocate(AllocatorCommand.Allocate command) {
+  private boolean tryAllocate(AllocatorCommand.Allocate command,
+                              Set<TCSResource<?>> blockingResources) {
     Scheduler.Client client = command.getClient();
     Set<TCSResource<?>> resources = command.getResources();
 
-    synchronized (globalSyncObject) {
+    return reservationPool.callWithLocks(client, resources, () -> {
       if (!reservationPool.isNextInClaim(client, resources)) {
         LOG.error("{}: Not allocating resources that are not next claimed resources: {}",
                   client.getId(),
@@ -159,29 +161,34 @@ class AllocatorTask
       LOG.debug("{}: Checking resource availability: {}...", client.getId(), resources);
       if (!reservationPool.resourcesAvailableForUser(resources, client)) {
         LOG.debug("{}: Resources unavailable.", client.getId());
+        blockingResources.addAll(reservationPool.unavailableResources(resources, client));
         return false;
       }
 
-      LOG.debug("{}: Checking if resources may be allocated...", client.getId());
-      if (!allocationAdvisor.mayAllocate(client, resources)) {
-        LOG.debug("{}: Resources may not be allocated.", client.getId());
-        return false;
-      }
-
-      LOG.debug("{}: Preparing resources for allocation...", client.getId());
-      allocationAdvisor.prepareAllocation(client, resources);
-
-      LOG.debug("{}: All resources available, allocating...", client.getId());
-      // Allocate resources.
-      for (TCSResource<?> curRes : command.getResources()) {
-        reservationPool.getReservationEntry(curRes).allocate(client);
+      // Modules may keep state spanning resources beyond the ones locked here, so checking and
+      // preparing the allocation must not interleave with other clients' allocations.
+      synchronized (reservationPool.getModuleSyncObject()) {
+        LOG.debug("{}: Checking if resources may be allocated...", client.getId());
+        if (!allocationAdvisor.mayAllocate(client, resources)) {
+          LOG.debug("{}: Resources may not be allocated.", client.getId());
+          return false;
+        }
+
+        LOG.debug("{}: Preparing resources for allocation...", client.getId());
+        allocationAdvisor.prepareAllocation(client, resources);
+
+        LOG.debug("{}: All resources available, allocating...", client.getId());
+        // Allocate resources.
+        for (TCSResource<?> curRes : command.getResources()) {
+          reservationPool.getReservationEntry(curRes).allocate(client);
+        }
       }
 
       LOG.debug("{}: Removing resources claim: {}...", client.getId(), resources);
       reservationPool.unclaim(client, resources);
 
       return true;
-    }
+    });
   }
 
   private void allocationsReleased(AllocatorCommand.AllocationsReleased command) {
@@ -197,8 +204,15 @@ class AllocatorTask
    * @param command Describes the allocated resources.
    */
   private void undoAllocate(Client client, Set<TCSResource<?>> resources) {
-    synchronized (globalSyncObject) {
-      reservationPool.free(client, resources);
+    reservationPool.runWithLocks(client, resources, () -> reservationPool.free(client, resources));
+  }
+
+  private void retryAllocates(AllocatorCommand.RetryAllocates command) {
+    if (command.getReleasedResources() == null) {
+      scheduleRetryWaitingAllocations();
+    }
+    else {
+      scheduleRetryWaitingAllocations(command.getReleasedResources());
     }
   }
 
@@ -206,15 +220,33 @@ class AllocatorTask
    * Moves all waiting allocations back into the incoming queue so they can be rechecked.
    */
   private void scheduleRetryWaitingAllocations() {
-    for (AllocatorCommand.Allocate allocate : deferredAllocations) {
+    scheduleRetry(deferredAllocations.pollAll());
+  }
+
+  /**
+   * Moves the waiting allocations that may have been unblocked by the given resources being
+   * released back into the incoming queue so they can be rechecked.
+   *
+   * @param releasedResources The released resources.
+   */
+  private void scheduleRetryWaitingAllocations(Set<TCSResource<?>> releasedResources) {
+    List<AllocatorCommand.Allocate> allocates
+        = deferredAllocations.pollUnblockedBy(releasedResources);
+    LOG.debug("Retrying {} allocations after release of {}, {} allocations still deferred.",
+              allocates.size(),
+              releasedResources,
+              deferredAllocations.size());
+    scheduleRetry(allocates);
+  }
+
+  private void scheduleRetry(List<AllocatorCommand.Allocate> allocates) {
+    for (AllocatorCommand.Allocate allocate : allocates) {
       kernelExecutor.submit(new AllocatorTask(plantModelService,
                                               reservationPool,
                                               deferredAllocations,
                                               allocationAdvisor,
                                               kernelExecutor,
-                                              globalSyncObject,
                                               allocate));
     }
-    deferredAllocations.clear();
   }
 }
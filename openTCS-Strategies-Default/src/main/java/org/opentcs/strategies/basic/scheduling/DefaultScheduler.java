@@ -8,24 +8,25 @@
 package org.opentcs.strategies.basic.scheduling;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import static java.util.Objects.requireNonNull;
-import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
 import org.opentcs.components.kernel.ResourceAllocationException;
 import org.opentcs.components.kernel.Scheduler;
 import org.opentcs.components.kernel.services.InternalPlantModelService;
-import org.opentcs.customizations.kernel.GlobalSyncObject;
 import org.opentcs.customizations.kernel.KernelExecutor;
 import org.opentcs.data.model.TCSResource;
 import org.opentcs.strategies.basic.scheduling.AllocatorCommand.Allocate;
@@ -65,19 +66,27 @@ public class DefaultScheduler
   /**
    * Allocations deferred because they couldn't be granted, yet.
    */
-  private final Queue<AllocatorCommand.Allocate> deferredAllocations = new LinkedBlockingQueue<>();
+  private final DeferredAllocations deferredAllocations = new DeferredAllocations();
   /**
    * Executes scheduling tasks.
    */
   private final ScheduledExecutorService kernelExecutor;
   /**
-   * A global object to be used for synchronization within the kernel.
+   * Allocations that are scheduled for execution on the kernel executor.
    */
-  private final Object globalSyncObject;
+  private final Map<Client, List<Future<?>>> allocateFutures = new ConcurrentHashMap<>();
   /**
-   * Allocations that are scheduled for execution on the kernel executor.
+   * The scheduler's configuration.
+   */
+  private final DefaultSchedulerConfiguration configuration;
+  /**
+   * Periodically logs the wait time histograms.
    */
-  private final Map<Client, List<Future<?>>> allocateFutures = new HashMap<>();
+  private ScheduledFuture<?> waitTimeLoggingFuture;
+  /**
+   * The number of wait times recorded when the histograms were last logged.
+   */
+  private long lastLoggedWaitTimeCount;
   /**
    * Indicates whether this component is enabled.
    */
@@ -90,19 +99,19 @@ public class DefaultScheduler
    * @param allocationAdvisor Takes care of modules.
    * @param reservationPool The reservation pool to be used.
    * @param kernelExecutor Executes scheduling tasks.
-   * @param globalSyncObject The kernel threads' global synchronization object.
+   * @param configuration The scheduler's configuration.
    */
   @Inject
   public DefaultScheduler(InternalPlantModelService plantModelService,
                           AllocationAdvisor allocationAdvisor,
                           ReservationPool reservationPool,
                           @KernelExecutor ScheduledExecutorService kernelExecutor,
-                          @GlobalSyncObject Object globalSyncObject) {
+                          DefaultSchedulerConfiguration configuration) {
     this.plantModelService = requireNonNull(plantModelService, "plantModelService");
     this.allocationAdvisor = requireNonNull(allocationAdvisor, "allocationAdvisor");
     this.reservationPool = requireNonNull(reservationPool, "reservationPool");
     this.kernelExecutor = requireNonNull(kernelExecutor, "kernelExecutor");
-    this.globalSyncObject = requireNonNull(globalSyncObject, "globalSyncObject");
+    this.configuration = requireNonNull(configuration, "configuration");
   }
 
   @Override
@@ -114,6 +123,15 @@ public class DefaultScheduler
     reservationPool.clear();
     allocationAdvisor.initialize();
 
+    if (configuration.waitTimeLoggingInterval() > 0) {
+      waitTimeLoggingFuture = kernelExecutor.scheduleAtFixedRate(
+          this::logWaitTimeHistograms,
+          configuration.waitTimeLoggingInterval(),
+          configuration.waitTimeLoggingInterval(),
+          TimeUnit.MILLISECONDS
+      );
+    }
+
     initialized = true;
   }
 
@@ -128,7 +146,13 @@ public class DefaultScheduler
       return;
     }
 
+    if (waitTimeLoggingFuture != null) {
+      waitTimeLoggingFuture.cancel(false);
+      waitTimeLoggingFuture = null;
+    }
+
     allocationAdvisor.terminate();
+    logWaitTimeHistograms();
     initialized = false;
   }
 
@@ -137,13 +161,15 @@ public class DefaultScheduler
     requireNonNull(client, "client");
     requireNonNull(resources, "resources");
 
-    synchronized (globalSyncObject) {
+    reservationPool.runWithLocks(client, Set.of(), () -> {
       reservationPool.setClaim(client, resources);
 
-      allocationAdvisor.setAllocationState(client,
-                                           reservationPool.allocatedResources(client),
-                                           resources);
-    }
+      synchronized (reservationPool.getModuleSyncObject()) {
+        allocationAdvisor.setAllocationState(client,
+                                             reservationPool.allocatedResources(client),
+                                             resources);
+      }
+    });
   }
 
   @Override
@@ -151,13 +177,15 @@ public class DefaultScheduler
   public void unclaim(Client client) {
     requireNonNull(client, "client");
 
-    synchronized (globalSyncObject) {
+    reservationPool.runWithLocks(client, Set.of(), () -> {
       reservationPool.setClaim(client, new LinkedList<>());
 
-      allocationAdvisor.setAllocationState(client,
-                                           reservationPool.allocatedResources(client),
-                                           new LinkedList<>());
-    }
+      synchronized (reservationPool.getModuleSyncObject()) {
+        allocationAdvisor.setAllocationState(client,
+                                             reservationPool.allocatedResources(client),
+                                             new LinkedList<>());
+      }
+    });
   }
 
   @Override
@@ -165,7 +193,7 @@ public class DefaultScheduler
     requireNonNull(client, "client");
     requireNonNull(resources, "resources");
 
-    synchronized (globalSyncObject) {
+    reservationPool.runWithLocks(client, Set.of(), () -> {
       checkArgument(reservationPool.isNextInClaim(client, resources),
                     "Not the next claimed resources: %s",
                     resources);
@@ -176,7 +204,6 @@ public class DefaultScheduler
                             deferredAllocations,
                             allocationAdvisor,
                             kernelExecutor,
-                            globalSyncObject,
                             new Allocate(client, resources))
       );
 
@@ -187,7 +214,7 @@ public class DefaultScheduler
       // completed. This could also be done in other places, but doing it for every new allocation 
       // should be sufficient.
       removeCompletedAllocateFutures(client);
-    }
+    });
   }
 
   @Override
@@ -196,7 +223,7 @@ public class DefaultScheduler
     requireNonNull(client, "client");
     requireNonNull(resources, "resources");
 
-    synchronized (globalSyncObject) {
+    reservationPool.runWithLocks(client, resources, () -> {
       // Check if all resources are available.
       final Set<TCSResource<?>> availableResources = new HashSet<>();
       for (TCSResource<?> curResource : resources) {
@@ -212,12 +239,15 @@ public class DefaultScheduler
           availableResources.add(curResource);
         }
       }
-      // Allocate all requested resources that are available.
+      // Allocate all requested resources that are available. Like regular allocations, do this
+      // while holding the module sync object, so modules see a consistent state.
       LOG.debug("{}: Allocating immediately: {}", client.getId(), availableResources);
-      for (TCSResource<?> curResource : availableResources) {
-        reservationPool.getReservationEntry(curResource).allocate(client);
+      synchronized (reservationPool.getModuleSyncObject()) {
+        for (TCSResource<?> curResource : availableResources) {
+          reservationPool.getReservationEntry(curResource).allocate(client);
+        }
       }
-    }
+    });
   }
 
   @Override
@@ -225,7 +255,7 @@ public class DefaultScheduler
     requireNonNull(client, "client");
     requireNonNull(resources, "resources");
 
-    synchronized (globalSyncObject) {
+    Set<TCSResource<?>> freedResources = reservationPool.callWithLocks(client, resources, () -> {
       LOG.debug("{}: Releasing resources: {}", client.getId(), resources);
       reservationPool.free(client, resources);
 
@@ -238,25 +268,25 @@ public class DefaultScheduler
                                               deferredAllocations,
                                               allocationAdvisor,
                                               kernelExecutor,
-                                              globalSyncObject,
                                               new AllocationsReleased(client,
                                                                       completelyFreeResources)));
-    }
+      return completelyFreeResources;
+    });
     kernelExecutor.submit(new AllocatorTask(plantModelService,
                                             reservationPool,
                                             deferredAllocations,
                                             allocationAdvisor,
                                             kernelExecutor,
-                                            globalSyncObject,
-                                            new RetryAllocates(client)));
+                                            new RetryAllocates(client, freedResources)));
   }
 
   @Override
   public void freeAll(Client client) {
     requireNonNull(client, "client");
 
-    synchronized (globalSyncObject) {
-      Set<TCSResource<?>> freedResources = reservationPool.allocatedResources(client);
+    // The set of resources allocated by the client is not known in advance, so lock all of them.
+    Set<TCSResource<?>> freedResources = reservationPool.callWithAllLocks(() -> {
+      Set<TCSResource<?>> allocatedResources = reservationPool.allocatedResources(client);
 
       LOG.debug("{}: Releasing all resources...", client.getId());
       reservationPool.freeAll(client);
@@ -267,27 +297,26 @@ public class DefaultScheduler
                                               deferredAllocations,
                                               allocationAdvisor,
                                               kernelExecutor,
-                                              globalSyncObject,
                                               new AllocationsReleased(client,
-                                                                      freedResources)));
-    }
+                                                                      allocatedResources)));
+      return allocatedResources;
+    });
     kernelExecutor.submit(new AllocatorTask(plantModelService,
                                             reservationPool,
                                             deferredAllocations,
                                             allocationAdvisor,
                                             kernelExecutor,
-                                            globalSyncObject,
-                                            new RetryAllocates(client)));
+                                            new RetryAllocates(client, freedResources)));
   }
 
   @Override
   public void clearPendingAllocations(Client client) {
     requireNonNull(client, "client");
-    synchronized (globalSyncObject) {
+    reservationPool.runWithLocks(client, Set.of(), () -> {
       LOG.debug("{}: Clearing pending allocation requests...", client.getId());
-      deferredAllocations.removeIf(allocate -> client.equals(allocate.getClient()));
+      deferredAllocations.removeAll(client);
       cancelPendingAllocateFutures(client);
-    }
+    });
   }
 
   @Override
@@ -297,15 +326,12 @@ public class DefaultScheduler
                                             deferredAllocations,
                                             allocationAdvisor,
                                             kernelExecutor,
-                                            globalSyncObject,
                                             new RetryAllocates(new DummyClient())));
   }
 
   @Override
   public Map<String, Set<TCSResource<?>>> getAllocations() {
-    synchronized (globalSyncObject) {
-      return reservationPool.getAllocations();
-    }
+    return reservationPool.callWithAllLocks(() -> reservationPool.getAllocations());
   }
 
   @Override
@@ -321,10 +347,28 @@ public class DefaultScheduler
                                             deferredAllocations,
                                             allocationAdvisor,
                                             kernelExecutor,
-                                            globalSyncObject,
                                             new CheckAllocationsPrepared(client, resources)));
   }
 
+  private synchronized void logWaitTimeHistograms() {
+    Map<String, DeferredAllocations.WaitTimeHistogram> histograms
+        = deferredAllocations.getWaitTimeHistograms();
+    long waitTimeCount = histograms.values().stream()
+        .mapToLong(histogram -> histogram.getCount())
+        .sum();
+    // Don't repeat the same histograms if no allocations waited since they were last logged.
+    if (waitTimeCount == lastLoggedWaitTimeCount) {
+      return;
+    }
+    lastLoggedWaitTimeCount = waitTimeCount;
+
+    LOG.info("Resource wait times (bucket bounds in ms: {}):",
+             Arrays.toString(DeferredAllocations.WaitTimeHistogram.getBucketBounds()));
+    histograms.entrySet().stream()
+        .sorted(Comparator.comparing(entry -> entry.getKey()))
+        .forEach(entry -> LOG.info("{}: {}", entry.getKey(), entry.getValue()));
+  }
+
   private void addAllocateFuture(Client client, Future<?> allocateFuture) {
     if (!allocateFutures.containsKey(client)) {
       allocateFutures.put(client, new ArrayList<>());
@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.scheduling;
+
+import org.opentcs.configuration.ConfigurationEntry;
+import org.opentcs.configuration.ConfigurationPrefix;
+
+/**
+ * Provides methods to configure the {@link DefaultScheduler}.
+ */
+@ConfigurationPrefix(DefaultSchedulerConfiguration.PREFIX)
+public interface DefaultSchedulerConfiguration {
+
+  /**
+   * This configuration's prefix.
+   */
+  String PREFIX = "defaultscheduler";
+
+  @ConfigurationEntry(
+      type = "Boolean",
+      description = {
+        "Whether to guard resources with striped locks of the scheduler's own instead of the "
+        + "kernel's global synchronization object.",
+        "If enabled, allocations of disjoint sets of resources by different vehicles do not wait "
+        + "for each other or for unrelated kernel operations."
+      },
+      orderKey = "0_locking_0")
+  boolean stripedResourceLocking();
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = {
+        "The number of lock stripes to be used with striped resource locking.",
+        "Values less than 1 are treated as 1."
+      },
+      orderKey = "0_locking_1")
+  int resourceLockStripes();
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = {
+        "The interval (in ms) in which to log the histograms of times allocations waited for "
+        + "resources.",
+        "0 disables logging."
+      },
+      orderKey = "1_statistics_0")
+  long waitTimeLoggingInterval();
+}
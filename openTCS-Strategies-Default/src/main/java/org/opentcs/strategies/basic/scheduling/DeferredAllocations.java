@@ -0,0 +1,322 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.scheduling;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.Set;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import org.opentcs.components.kernel.Scheduler.Client;
+import org.opentcs.data.model.TCSResource;
+
+/**
+ * Keeps allocations that could not be granted, yet, indexed by the resources blocking them.
+ * <p>
+ * When resources are released, only the allocations blocked by any of them need to be retried,
+ * along with the allocations for which no blocking resources are known (e.g. because a scheduler
+ * module prevented them).
+ * Allocations are always returned for retrying in the order in which they were deferred.
+ * </p>
+ * <p>
+ * For every resource, the times allocations waited for it to be released are recorded in a
+ * histogram.
+ * </p>
+ */
+class DeferredAllocations {
+
+  /**
+   * Provides the current time in milliseconds.
+   */
+  private final LongSupplier clock;
+  /**
+   * All deferred allocations, in the order in which they were deferred.
+   */
+  private final Map<AllocatorCommand.Allocate, Entry> entries = new LinkedHashMap<>();
+  /**
+   * The deferred allocations blocked by a resource.
+   */
+  private final Map<TCSResource<?>, Set<Entry>> entriesByBlockingResource = new HashMap<>();
+  /**
+   * The wait time histograms by resource name.
+   */
+  private final Map<String, WaitTimeHistogram> waitTimeHistograms = new HashMap<>();
+  /**
+   * The sequence number for the next deferred allocation.
+   */
+  private long nextSequenceNumber;
+
+  /**
+   * Creates a new instance.
+   */
+  DeferredAllocations() {
+    this(System::currentTimeMillis);
+  }
+
+  /**
+   * Creates a new instance.
+   *
+   * @param clock Provides the current time in milliseconds.
+   */
+  DeferredAllocations(@Nonnull LongSupplier clock) {
+    this.clock = requireNonNull(clock, "clock");
+  }
+
+  /**
+   * Defers the given allocation.
+   *
+   * @param allocate The allocation.
+   * @param blockingResources The resources blocking the allocation. If empty, the allocation is
+   * retried whenever any resources are released.
+   */
+  public synchronized void add(@Nonnull AllocatorCommand.Allocate allocate,
+                               @Nonnull Set<TCSResource<?>> blockingResources) {
+    requireNonNull(allocate, "allocate");
+    requireNonNull(blockingResources, "blockingResources");
+
+    remove(allocate);
+
+    Entry entry = new Entry(allocate, Set.copyOf(blockingResources));
+    entries.put(allocate, entry);
+    for (TCSResource<?> resource : entry.blockingResources) {
+      entriesByBlockingResource.computeIfAbsent(resource, res -> new HashSet<>()).add(entry);
+    }
+  }
+
+  /**
+   * Removes and returns all allocations that should be retried after the given resources have been
+   * released.
+   *
+   * @param releasedResources The released resources.
+   * @return The allocations to be retried, in the order in which they were deferred.
+   */
+  @Nonnull
+  public synchronized List<AllocatorCommand.Allocate> pollUnblockedBy(
+      @Nonnull Set<TCSResource<?>> releasedResources) {
+    requireNonNull(releasedResources, "releasedResources");
+
+    long now = clock.getAsLong();
+    Set<Entry> result = new HashSet<>();
+    for (TCSResource<?> resource : releasedResources) {
+      Set<Entry> blockedEntries = entriesByBlockingResource.get(resource);
+      if (blockedEntries == null) {
+        continue;
+      }
+      WaitTimeHistogram histogram
+          = waitTimeHistograms.computeIfAbsent(resource.getName(), name -> new WaitTimeHistogram());
+      for (Entry entry : blockedEntries) {
+        histogram.record(now - entry.deferralTime);
+        result.add(entry);
+      }
+    }
+    for (Entry entry : entries.values()) {
+      if (entry.blockingResources.isEmpty()) {
+        result.add(entry);
+      }
+    }
+
+    List<Entry> sortedResult = new ArrayList<>(result);
+    sortedResult.sort(Comparator.comparingLong(entry -> entry.sequenceNumber));
+
+    List<AllocatorCommand.Allocate> allocates = new ArrayList<>(sortedResult.size());
+    for (Entry entry : sortedResult) {
+      remove(entry.allocate);
+      allocates.add(entry.allocate);
+    }
+    return allocates;
+  }
+
+  /**
+   * Removes and returns all deferred allocations.
+   *
+   * @return All deferred allocations, in the order in which they were deferred.
+   */
+  @Nonnull
+  public synchronized List<AllocatorCommand.Allocate> pollAll() {
+    List<AllocatorCommand.Allocate> result = new ArrayList<>(entries.keySet());
+    entries.clear();
+    entriesByBlockingResource.clear();
+    return result;
+  }
+
+  /**
+   * Removes all deferred allocations of the given client.
+   *
+   * @param client The client.
+   */
+  public synchronized void removeAll(@Nonnull Client client) {
+    requireNonNull(client, "client");
+
+    for (Iterator<Entry> iter = entries.values().iterator(); iter.hasNext();) {
+      Entry entry = iter.next();
+      if (client.equals(entry.allocate.getClient())) {
+        iter.remove();
+        removeFromIndex(entry);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of deferred allocations.
+   *
+   * @return The number of deferred allocations.
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Returns copies of the wait time histograms recorded so far, by resource name.
+   *
+   * @return The wait time histograms.
+   */
+  @Nonnull
+  public synchronized Map<String, WaitTimeHistogram> getWaitTimeHistograms() {
+    return waitTimeHistograms.entrySet().stream()
+        .collect(Collectors.toMap(entry -> entry.getKey(), entry -> entry.getValue().copy()));
+  }
+
+  private void remove(AllocatorCommand.Allocate allocate) {
+    Entry entry = entries.remove(allocate);
+    if (entry != null) {
+      removeFromIndex(entry);
+    }
+  }
+
+  private void removeFromIndex(Entry entry) {
+    for (TCSResource<?> resource : entry.blockingResources) {
+      Set<Entry> blockedEntries = entriesByBlockingResource.get(resource);
+      blockedEntries.remove(entry);
+      if (blockedEntries.isEmpty()) {
+        entriesByBlockingResource.remove(resource);
+      }
+    }
+  }
+
+  /**
+   * A deferred allocation.
+   */
+  private class Entry {
+
+    private final AllocatorCommand.Allocate allocate;
+    private final Set<TCSResource<?>> blockingResources;
+    private final long sequenceNumber;
+    private final long deferralTime;
+
+    Entry(AllocatorCommand.Allocate allocate, Set<TCSResource<?>> blockingResources) {
+      this.allocate = allocate;
+      this.blockingResources = blockingResources;
+      this.sequenceNumber = nextSequenceNumber++;
+      this.deferralTime = clock.getAsLong();
+    }
+  }
+
+  /**
+   * A histogram of the times allocations waited for a resource to be released.
+   */
+  public static class WaitTimeHistogram {
+
+    /**
+     * The (exclusive) upper bounds of the histogram's buckets, in milliseconds.
+     * The last bucket has no upper bound.
+     */
+    private static final long[] BUCKET_BOUNDS = {100, 1000, 5000, 10000, 30000, 60000};
+    /**
+     * The number of wait times recorded per bucket.
+     */
+    private final long[] counts;
+    /**
+     * The longest wait time recorded.
+     */
+    private long maxWaitTime;
+
+    /**
+     * Creates a new instance.
+     */
+    WaitTimeHistogram() {
+      this.counts = new long[BUCKET_BOUNDS.length + 1];
+    }
+
+    private WaitTimeHistogram(long[] counts, long maxWaitTime) {
+      this.counts = counts;
+      this.maxWaitTime = maxWaitTime;
+    }
+
+    /**
+     * Returns the number of wait times recorded.
+     *
+     * @return The number of wait times recorded.
+     */
+    public long getCount() {
+      return Arrays.stream(counts).sum();
+    }
+
+    /**
+     * Returns the longest wait time recorded.
+     *
+     * @return The longest wait time recorded, in milliseconds.
+     */
+    public long getMaxWaitTime() {
+      return maxWaitTime;
+    }
+
+    /**
+     * Returns the number of wait times recorded per bucket.
+     * Bucket <code>i</code> contains the wait times less than
+     * <code>getBucketBounds()[i]</code> (and not contained in bucket <code>i - 1</code>); the last
+     * bucket contains all wait times not contained in any other bucket.
+     *
+     * @return The number of wait times recorded per bucket.
+     */
+    public long[] getCounts() {
+      return counts.clone();
+    }
+
+    /**
+     * Returns the (exclusive) upper bounds of the buckets, in milliseconds.
+     *
+     * @return The upper bounds of the buckets.
+     */
+    public static long[] getBucketBounds() {
+      return BUCKET_BOUNDS.clone();
+    }
+
+    void record(long waitTime) {
+      int bucket = 0;
+      while (bucket < BUCKET_BOUNDS.length && waitTime >= BUCKET_BOUNDS[bucket]) {
+        bucket++;
+      }
+      counts[bucket]++;
+      maxWaitTime = Math.max(maxWaitTime, waitTime);
+    }
+
+    WaitTimeHistogram copy() {
+      return new WaitTimeHistogram(counts.clone(), maxWaitTime);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("WaitTimeHistogram{");
+      for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+        sb.append('<').append(BUCKET_BOUNDS[i]).append("ms=").append(counts[i]).append(", ");
+      }
+      sb.append(">=").append(BUCKET_BOUNDS[BUCKET_BOUNDS.length - 1]).append("ms=")
+          .append(counts[BUCKET_BOUNDS.length]).append(", ");
+      return sb.append("max=").append(maxWaitTime).append("ms}").toString();
+    }
+  }
+}
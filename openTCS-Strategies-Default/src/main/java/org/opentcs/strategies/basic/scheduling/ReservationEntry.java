@@ -34,13 +34,13 @@ public class ReservationEntry {
   /**
    * The client for which the resource is currently reserved.
    */
-  private Client client;
+  private volatile Client client;
   /**
    * The reservation counter.
    * With every allocation the counter will be incremented, with every call to <code>free()</code>
    * it will be decremented.
    */
-  private int counter;
+  private volatile int counter;
 
   /**
    * Creates a new instance.
@@ -7,6 +7,7 @@
  */
 package org.opentcs.strategies.basic.scheduling;
 
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -16,15 +17,29 @@ import java.util.Objects;
 import static java.util.Objects.requireNonNull;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import org.opentcs.components.kernel.Scheduler;
+import org.opentcs.customizations.kernel.GlobalSyncObject;
 import org.opentcs.data.model.TCSResource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Keeps track of claimed and allocated resources.
+ * <p>
+ * Access to the pool is guarded either by the kernel's global synchronization object or, if
+ * configured, by a set of lock stripes.
+ * With the latter, each client and each resource is mapped to one of the stripes, and the stripes
+ * required for an operation are always acquired in ascending order to avoid deadlocks.
+ * Operations on behalf of a client always hold the client's stripe, so the claim and the
+ * allocations of a client are never modified concurrently.
+ * </p>
  *
  * @author Stefan Walter (Fraunhofer IML)
  */
@@ -38,17 +53,168 @@ public class ReservationPool {
    * All claims.
    */
   private final Map<Scheduler.Client, Queue<Set<TCSResource<?>>>> claimsByClient
-      = new HashMap<>();
+      = new ConcurrentHashMap<>();
   /**
    * <code>ReservationEntry</code> instances for each <code>TCSResource</code>.
    */
-  private final Map<TCSResource<?>, ReservationEntry> reservations = new HashMap<>();
+  private final Map<TCSResource<?>, ReservationEntry> reservations = new ConcurrentHashMap<>();
+  /**
+   * The object to synchronize on for state spanning multiple resources.
+   * This is the kernel's global synchronization object unless striped locking is used.
+   */
+  private final Object moduleSyncObject;
+  /**
+   * The lock stripes, or <code>null</code>, if all access is guarded by the kernel's global
+   * synchronization object.
+   */
+  @Nullable
+  private final ReentrantLock[] lockStripes;
+
+  /**
+   * Creates a new instance that guards all resources with a single lock of its own.
+   */
+  public ReservationPool() {
+    this(new Object(), false, 0);
+  }
 
   /**
    * Creates a new instance.
+   *
+   * @param globalSyncObject The kernel threads' global synchronization object.
+   * @param configuration The scheduler's configuration.
    */
   @Inject
-  public ReservationPool() {
+  public ReservationPool(@GlobalSyncObject Object globalSyncObject,
+                         DefaultSchedulerConfiguration configuration) {
+    this(globalSyncObject,
+         configuration.stripedResourceLocking(),
+         configuration.resourceLockStripes());
+  }
+
+  private ReservationPool(Object globalSyncObject, boolean stripedLocking, int stripeCount) {
+    requireNonNull(globalSyncObject, "globalSyncObject");
+
+    if (stripedLocking) {
+      this.moduleSyncObject = new Object();
+      this.lockStripes = new ReentrantLock[Math.max(stripeCount, 1)];
+      for (int i = 0; i < lockStripes.length; i++) {
+        lockStripes[i] = new ReentrantLock();
+      }
+    }
+    else {
+      this.moduleSyncObject = globalSyncObject;
+      this.lockStripes = null;
+    }
+  }
+
+  /**
+   * Performs the given action while holding the locks for the given client and resources.
+   * <p>
+   * Locks must not be acquired via this method while already holding locks for a different set of
+   * clients and resources, as that would break the canonical order in which locks are acquired.
+   * </p>
+   *
+   * @param <T> The action's result type.
+   * @param client The client on whose behalf the action is performed, or <code>null</code>.
+   * @param resources The resources the action accesses.
+   * @param action The action.
+   * @return The action's result.
+   */
+  public <T> T callWithLocks(@Nullable Scheduler.Client client,
+                             @Nonnull Set<TCSResource<?>> resources,
+                             @Nonnull Supplier<T> action) {
+    requireNonNull(resources, "resources");
+    requireNonNull(action, "action");
+
+    if (lockStripes == null) {
+      synchronized (moduleSyncObject) {
+        return action.get();
+      }
+    }
+
+    BitSet stripes = new BitSet(lockStripes.length);
+    if (client != null) {
+      stripes.set(stripeIndex(client));
+    }
+    for (TCSResource<?> resource : resources) {
+      stripes.set(stripeIndex(resource));
+    }
+    return callWithStripes(stripes, action);
+  }
+
+  /**
+   * Performs the given action while holding the locks for the given client and resources.
+   *
+   * @param client The client on whose behalf the action is performed, or <code>null</code>.
+   * @param resources The resources the action accesses.
+   * @param action The action.
+   * @see #callWithLocks(org.opentcs.components.kernel.Scheduler.Client, java.util.Set,
+   * java.util.function.Supplier)
+   */
+  public void runWithLocks(@Nullable Scheduler.Client client,
+                           @Nonnull Set<TCSResource<?>> resources,
+                           @Nonnull Runnable action) {
+    requireNonNull(action, "action");
+
+    callWithLocks(client, resources, () -> {
+      action.run();
+      return null;
+    });
+  }
+
+  /**
+   * Performs the given action while holding all locks, i.e. without any concurrent modifications
+   * of the pool.
+   *
+   * @param <T> The action's result type.
+   * @param action The action.
+   * @return The action's result.
+   */
+  public <T> T callWithAllLocks(@Nonnull Supplier<T> action) {
+    requireNonNull(action, "action");
+
+    if (lockStripes == null) {
+      synchronized (moduleSyncObject) {
+        return action.get();
+      }
+    }
+
+    BitSet stripes = new BitSet(lockStripes.length);
+    stripes.set(0, lockStripes.length);
+    return callWithStripes(stripes, action);
+  }
+
+  /**
+   * Performs the given action while holding all locks, i.e. without any concurrent modifications
+   * of the pool.
+   *
+   * @param action The action.
+   */
+  public void runWithAllLocks(@Nonnull Runnable action) {
+    requireNonNull(action, "action");
+
+    callWithAllLocks(() -> {
+      action.run();
+      return null;
+    });
+  }
+
+  /**
+   * Returns the object to synchronize on when accessing state that spans multiple resources and
+   * clients, e.g. the state of scheduler modules.
+   * <p>
+   * When holding locks acquired via this pool, this object may be synchronized on, but not the
+   * other way round.
+   * Neither while holding locks acquired via this pool nor while synchronized on this object may
+   * the kernel's global synchronization object be acquired (e.g. by accessing kernel services),
+   * as threads holding the latter may be waiting for the pool's locks.
+   * </p>
+   *
+   * @return The object to synchronize on.
+   */
+  @Nonnull
+  public Object getModuleSyncObject() {
+    return moduleSyncObject;
   }
 
   /**
@@ -61,12 +227,7 @@ public class ReservationPool {
   public ReservationEntry getReservationEntry(TCSResource<?> resource) {
     requireNonNull(resource, "resource");
 
-    ReservationEntry entry = reservations.get(resource);
-    if (entry == null) {
-      entry = new ReservationEntry(resource);
-      reservations.put(resource, entry);
-    }
-    return entry;
+    return reservations.computeIfAbsent(resource, res -> new ReservationEntry(res));
   }
 
   /**
@@ -191,6 +352,28 @@ public class ReservationPool {
     return true;
   }
 
+  /**
+   * Returns the resources in the given set of resources that are not available for the given
+   * client, i.e. that are allocated by other clients.
+   *
+   * @param resources The set of resources to be checked.
+   * @param client The client for which to check.
+   * @return The resources not available for the given client.
+   */
+  @Nonnull
+  public Set<TCSResource<?>> unavailableResources(@Nonnull Set<TCSResource<?>> resources,
+                                                  @Nonnull Scheduler.Client client) {
+    requireNonNull(resources, "resources");
+    requireNonNull(client, "client");
+
+    return resources.stream()
+        .filter(resource -> {
+          ReservationEntry entry = getReservationEntry(resource);
+          return !entry.isFree() && !entry.isAllocatedBy(client);
+        })
+        .collect(Collectors.toSet());
+  }
+
   public void free(@Nonnull Scheduler.Client client, @Nonnull Set<TCSResource<?>> resources) {
     requireNonNull(client, "client");
     requireNonNull(resources, "resources");
@@ -232,6 +415,27 @@ public class ReservationPool {
     reservations.clear();
   }
 
+  private <T> T callWithStripes(BitSet stripes, Supplier<T> action) {
+    // Acquire the stripes in ascending order only, so threads never wait for each other in a cycle.
+    for (int i = stripes.nextSetBit(0); i >= 0; i = stripes.nextSetBit(i + 1)) {
+      lockStripes[i].lock();
+    }
+    try {
+      return action.get();
+    }
+    finally {
+      for (int i = stripes.previousSetBit(lockStripes.length - 1);
+           i >= 0;
+           i = stripes.previousSetBit(i - 1)) {
+        lockStripes[i].unlock();
+      }
+    }
+  }
+
+  private int stripeIndex(Object object) {
+    return Math.floorMod(object.hashCode(), lockStripes.length);
+  }
+
   /**
    * Returns a set of resources that is a subset of the given set of resources and is reserved/could
    * be released by the given client.
@@ -22,7 +22,6 @@ import javax.inject.Inject;
 import org.opentcs.components.kernel.Scheduler;
 import static org.opentcs.components.kernel.Scheduler.PROPKEY_BLOCK_ENTRY_DIRECTION;
 import org.opentcs.components.kernel.services.InternalPlantModelService;
-import org.opentcs.customizations.kernel.GlobalSyncObject;
 import org.opentcs.data.model.Block;
 import org.opentcs.data.model.Path;
 import org.opentcs.data.model.TCSResource;
@@ -54,12 +53,13 @@ public class SameDirectionBlockModule
   private final InternalPlantModelService plantModelService;
   /**
    * The permissions for all {@link Block.Type#SAME_DIRECTION_ONLY} blocks in a plant model.
+   * <p>
+   * The plant model does not change while this module is initialized, so blocks are looked up only
+   * once, and checking an allocation (while holding the reservation pool's locks) does not need to
+   * acquire the kernel's global synchronization object.
+   * </p>
    */
   private final Map<Block, BlockPermission> permissions = new HashMap<>();
-  /**
-   * A global object to be used for synchronization within the kernel.
-   */
-  private final Object globalSyncObject;
   /**
    * Whether this module is initialized.
    */
@@ -67,11 +67,9 @@ public class SameDirectionBlockModule
 
   @Inject
   public SameDirectionBlockModule(@Nonnull ReservationPool reservationPool,
-                                  @Nonnull InternalPlantModelService plantModelService,
-                                  @GlobalSyncObject Object globalSyncObject) {
+                                  @Nonnull InternalPlantModelService plantModelService) {
     this.reservationPool = requireNonNull(reservationPool, "reservationPool");
     this.plantModelService = requireNonNull(plantModelService, "plantModelService");
-    this.globalSyncObject = requireNonNull(globalSyncObject, "globalSyncObject");
   }
 
   @Override
@@ -81,9 +79,11 @@ public class SameDirectionBlockModule
     }
 
     Set<Block> blocks = plantModelService.fetchObjects(Block.class);
-    for (Block block : blocks) {
-      if (block.getType() == Block.Type.SAME_DIRECTION_ONLY) {
-        permissions.put(block, new BlockPermission(block));
+    synchronized (reservationPool.getModuleSyncObject()) {
+      for (Block block : blocks) {
+        if (block.getType() == Block.Type.SAME_DIRECTION_ONLY) {
+          permissions.put(block, new BlockPermission(block));
+        }
       }
     }
 
@@ -101,7 +101,9 @@ public class SameDirectionBlockModule
       return;
     }
 
-    permissions.clear();
+    synchronized (reservationPool.getModuleSyncObject()) {
+      permissions.clear();
+    }
 
     initialized = false;
   }
@@ -117,12 +119,11 @@ public class SameDirectionBlockModule
     requireNonNull(client, "client");
     requireNonNull(resources, "resources");
 
-    synchronized (globalSyncObject) {
+    synchronized (reservationPool.getModuleSyncObject()) {
       // Other modules may prevented the last allocation, discard any previous requests.
       discardPreviousRequests();
 
-      Set<Block> blocks = filterBlocksContainingResources(resources,
-                                                          Block.Type.SAME_DIRECTION_ONLY);
+      Set<Block> blocks = filterBlocksContainingResources(resources);
       if (blocks.isEmpty()) {
         LOG.debug("{}: No blocks to be checked, allocation allowed.", client.getId());
         return true;
@@ -157,10 +158,12 @@ public class SameDirectionBlockModule
 
   @Override
   public boolean hasPreparedAllocation(Scheduler.Client client, Set<TCSResource<?>> resources) {
-    return !permissions.values().stream()
-        .filter(permission -> permission.hasPendingRequests())
-        .findAny()
-        .isPresent();
+    synchronized (reservationPool.getModuleSyncObject()) {
+      return !permissions.values().stream()
+          .filter(permission -> permission.hasPendingRequests())
+          .findAny()
+          .isPresent();
+    }
   }
 
   @Override
@@ -168,7 +171,7 @@ public class SameDirectionBlockModule
     requireNonNull(client, "client");
     requireNonNull(resources, "resources");
 
-    synchronized (globalSyncObject) {
+    synchronized (reservationPool.getModuleSyncObject()) {
       for (Map.Entry<Block, BlockPermission> entry : permissions.entrySet()) {
         Block block = entry.getKey();
         BlockPermission permission = entry.getValue();
@@ -193,13 +196,10 @@ public class SameDirectionBlockModule
     permissions.values().forEach(permission -> permission.clearPendingRequests());
   }
 
-  private Set<Block> filterBlocksContainingResources(Set<TCSResource<?>> resources,
-                                                     Block.Type type) {
+  private Set<Block> filterBlocksContainingResources(Set<TCSResource<?>> resources) {
     Set<Block> result = new HashSet<>();
-    Set<Block> blocks = plantModelService.fetchObjects(Block.class,
-                                                       block -> block.getType() == type);
     for (TCSResource<?> resource : resources) {
-      for (Block block : blocks) {
+      for (Block block : permissions.keySet()) {
         if (block.getMembers().contains(resource.getReference())) {
           result.add(block);
         }
@@ -235,8 +235,7 @@ public class SameDirectionBlockModule
 
   private boolean blockResourcesAllocatedByClient(Block block, Scheduler.Client client) {
     Set<Block> clientBlocks
-        = filterBlocksContainingResources(reservationPool.allocatedResources(client),
-                                          Block.Type.SAME_DIRECTION_ONLY);
+        = filterBlocksContainingResources(reservationPool.allocatedResources(client));
     return clientBlocks.contains(block);
   }
 
@@ -7,8 +7,10 @@
  */
 package org.opentcs.strategies.basic.scheduling.modules;
 
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import static java.util.Objects.requireNonNull;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -16,10 +18,8 @@ import javax.annotation.Nonnull;
 import javax.inject.Inject;
 import org.opentcs.components.kernel.Scheduler;
 import org.opentcs.components.kernel.services.InternalPlantModelService;
-import org.opentcs.customizations.kernel.GlobalSyncObject;
 import org.opentcs.data.model.Block;
 import org.opentcs.data.model.TCSResource;
-import org.opentcs.data.model.TCSResourceReference;
 import org.opentcs.strategies.basic.scheduling.ReservationPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,9 +47,14 @@ public class SingleVehicleBlockModule
    */
   private final InternalPlantModelService plantModelService;
   /**
-   * A global object to be used for synchronization within the kernel.
+   * The members of all {@link Block.Type#SINGLE_VEHICLE_ONLY} blocks in the plant model, by block.
+   * <p>
+   * The plant model does not change while this module is initialized, so blocks are looked up only
+   * once, and checking an allocation (while holding the reservation pool's locks) does not need to
+   * acquire the kernel's global synchronization object.
+   * </p>
    */
-  private final Object globalSyncObject;
+  private volatile Map<Block, Set<TCSResource<?>>> blockMembers = Map.of();
   /**
    * Whether this module is initialized.
    */
@@ -57,11 +62,9 @@ public class SingleVehicleBlockModule
 
   @Inject
   public SingleVehicleBlockModule(@Nonnull ReservationPool reservationPool,
-                                  @Nonnull InternalPlantModelService plantModelService,
-                                  @Nonnull @GlobalSyncObject Object globalSyncObject) {
+                                  @Nonnull InternalPlantModelService plantModelService) {
     this.reservationPool = requireNonNull(reservationPool, "reservationPool");
     this.plantModelService = requireNonNull(plantModelService, "plantModelService");
-    this.globalSyncObject = requireNonNull(globalSyncObject, "globalSyncObject");
   }
 
   @Override
@@ -70,6 +73,18 @@ public class SingleVehicleBlockModule
       return;
     }
 
+    Map<Block, Set<TCSResource<?>>> members = new HashMap<>();
+    for (Block block : plantModelService.fetchObjects(
+        Block.class,
+        block -> block.getType() == Block.Type.SINGLE_VEHICLE_ONLY)) {
+      // Expanding the members may add members of other blocks, so keep the block's own ones only.
+      members.put(block,
+                  plantModelService.expandResources(block.getMembers()).stream()
+                      .filter(resource -> block.getMembers().contains(resource.getReference()))
+                      .collect(Collectors.toSet()));
+    }
+    blockMembers = members;
+
     initialized = true;
   }
 
@@ -84,6 +99,8 @@ public class SingleVehicleBlockModule
       return;
     }
 
+    blockMembers = Map.of();
+
     initialized = false;
   }
 
@@ -99,17 +116,19 @@ public class SingleVehicleBlockModule
     requireNonNull(client, "client");
     requireNonNull(resources, "resources");
 
-    synchronized (globalSyncObject) {
-      Set<Block> blocks = filterBlocksContainingResources(resources,
-                                                          Block.Type.SINGLE_VEHICLE_ONLY);
+    synchronized (reservationPool.getModuleSyncObject()) {
+      Map<Block, Set<TCSResource<?>>> members = blockMembers;
+      Set<Block> blocks = filterBlocksContainingResources(resources, members.keySet());
 
       if (blocks.isEmpty()) {
         LOG.debug("{}: No blocks to be checked, allocation allowed.", client.getId());
         return true;
       }
 
-      Set<TCSResource<?>> resourcesExpanded = expandResources(resources);
-      resourcesExpanded = filterRelevantResources(resourcesExpanded, blocks);
+      Set<TCSResource<?>> resourcesExpanded = blocks.stream()
+          .flatMap(block -> members.get(block).stream())
+          .collect(Collectors.toSet());
+      LOG.debug("Set {} expanded to {}", resources, resourcesExpanded);
 
       LOG.debug("{}: Checking resource availability: {}", client.getId(), resources);
       if (!reservationPool.resourcesAvailableForUser(resourcesExpanded, client)) {
@@ -139,10 +158,8 @@ public class SingleVehicleBlockModule
   }
 
   private Set<Block> filterBlocksContainingResources(Set<TCSResource<?>> resources,
-                                                     Block.Type type) {
+                                                     Set<Block> blocks) {
     Set<Block> result = new HashSet<>();
-    Set<Block> blocks = plantModelService.fetchObjects(Block.class,
-                                                       block -> block.getType() == type);
     for (TCSResource<?> resource : resources) {
       for (Block block : blocks) {
         if (block.getMembers().contains(resource.getReference())) {
@@ -152,36 +169,4 @@ public class SingleVehicleBlockModule
     }
     return result;
   }
-
-  private Set<TCSResource<?>> filterRelevantResources(Set<TCSResource<?>> resources,
-                                                      Set<Block> blocks) {
-    Set<TCSResourceReference<?>> blockResources = blocks.stream()
-        .flatMap(block -> block.getMembers().stream())
-        .collect(Collectors.toSet());
-
-    return resources.stream()
-        .filter(resource -> blockResources.contains(resource.getReference()))
-        .collect(Collectors.toSet());
-  }
-
-  /**
-   * Returns the given set of resources after expansion (by resolution of blocks, for instance) by
-   * the kernel.
-   *
-   * @param resources The set of resources to be expanded.
-   * @return The given set of resources after expansion (by resolution of
-   * blocks, for instance) by the kernel.
-   */
-  private Set<TCSResource<?>> expandResources(Set<TCSResource<?>> resources) {
-    requireNonNull(resources, "resources");
-    // Build a set of references
-    Set<TCSResourceReference<?>> refs = resources.stream()
-        .map((resource) -> resource.getReference())
-        .collect(Collectors.toSet());
-    // Let the kernel expand the resources for us.
-    Set<TCSResource<?>> result = plantModelService.expandResources(refs);
-    LOG.debug("Set {} expanded to {}", resources, result);
-    return result;
-  }
-
 }
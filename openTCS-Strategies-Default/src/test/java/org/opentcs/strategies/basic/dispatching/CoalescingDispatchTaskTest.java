@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.dispatching;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test cases for {@link CoalescingDispatchTask}.
+ */
+public class CoalescingDispatchTaskTest {
+
+  private Runnable dispatchTask;
+
+  private CoalescingDispatchTask task;
+
+  @Before
+  public void setUp() {
+    dispatchTask = mock(Runnable.class);
+    task = new CoalescingDispatchTask(dispatchTask);
+  }
+
+  @Test
+  public void coalesceRequestsWhileRunPending() {
+    assertTrue(task.requestRun());
+    assertFalse(task.requestRun());
+    assertFalse(task.requestRun());
+
+    task.run();
+
+    verify(dispatchTask).run();
+    assertEquals(3, task.getRequestedRuns());
+    assertEquals(1, task.getExecutedRuns());
+  }
+
+  @Test
+  public void scheduleOneFollowUpRunForRequestsWhileRunInProgress() {
+    doAnswer(invocation -> {
+      assertTrue(task.requestRun());
+      assertFalse(task.requestRun());
+      return null;
+    }).doNothing().when(dispatchTask).run();
+
+    assertTrue(task.requestRun());
+    task.run();
+    task.run();
+
+    verify(dispatchTask, times(2)).run();
+    assertEquals(3, task.getRequestedRuns());
+    assertEquals(2, task.getExecutedRuns());
+  }
+
+  @Test
+  public void scheduleNewRunForRequestAfterRunFinished() {
+    assertTrue(task.requestRun());
+    task.run();
+
+    assertTrue(task.requestRun());
+  }
+}
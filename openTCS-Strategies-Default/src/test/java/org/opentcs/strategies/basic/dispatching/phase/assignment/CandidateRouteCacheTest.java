@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.dispatching.phase.assignment;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.junit.*;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.opentcs.components.kernel.Router;
+import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.model.Path;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.DriveOrder;
+import org.opentcs.data.order.TransportOrder;
+import org.opentcs.util.event.EventSource;
+
+/**
+ * Test cases for {@link CandidateRouteCache}.
+ */
+public class CandidateRouteCacheTest {
+
+  private Router router;
+
+  private CandidateRouteCache cache;
+
+  private Point point1;
+
+  private Point point2;
+
+  private Vehicle vehicle;
+
+  private TransportOrder order;
+
+  @Before
+  public void setUp() {
+    router = mock(Router.class);
+    cache = new CandidateRouteCache(router, mock(EventSource.class));
+    cache.initialize();
+
+    point1 = new Point("point1");
+    point2 = new Point("point2");
+    vehicle = new Vehicle("vehicle").withCurrentPosition(point1.getReference());
+    order = new TransportOrder(
+        "order",
+        Collections.singletonList(new DriveOrder(new DriveOrder.Destination(point2.getReference())))
+    );
+
+    when(router.getRoute(any(Vehicle.class), any(Point.class), any(TransportOrder.class)))
+        .thenReturn(Optional.empty());
+  }
+
+  @After
+  public void tearDown() {
+    cache.terminate();
+  }
+
+  @Test
+  public void reuseRouteForUnchangedPair() {
+    cache.getRoute(vehicle, point1, order);
+    cache.getRoute(vehicle, point1, order.withDeadline(order.getDeadline()));
+
+    verify(router, times(1)).getRoute(vehicle, point1, order);
+    assertEquals(1, cache.getHits());
+    assertEquals(1, cache.getMisses());
+  }
+
+  @Test
+  public void recomputeRouteWhenVehiclePositionChanged() {
+    cache.getRoute(vehicle, point1, order);
+    cache.getRoute(vehicle.withCurrentPosition(point2.getReference()), point2, order);
+
+    assertEquals(0, cache.getHits());
+    assertEquals(2, cache.getMisses());
+  }
+
+  @Test
+  public void recomputeRouteWhenVehiclePropertiesChanged() {
+    cache.getRoute(vehicle, point1, order);
+    cache.getRoute(vehicle.withProperty("someKey", "someValue"), point1, order);
+
+    assertEquals(0, cache.getHits());
+    assertEquals(2, cache.getMisses());
+  }
+
+  @Test
+  public void recomputeRouteWhenDestinationsChanged() {
+    List<DriveOrder> driveOrders = Arrays.asList(
+        new DriveOrder(new DriveOrder.Destination(point1.getReference())),
+        new DriveOrder(new DriveOrder.Destination(point2.getReference()))
+    );
+
+    cache.getRoute(vehicle, point1, order);
+    cache.getRoute(vehicle, point1, new TransportOrder(order.getName(), driveOrders));
+
+    assertEquals(0, cache.getHits());
+    assertEquals(2, cache.getMisses());
+  }
+
+  @Test
+  public void recomputeRouteWhenTopologyChanged() {
+    cache.getRoute(vehicle, point1, order);
+    cache.topologyChanged();
+    cache.getRoute(vehicle, point1, order);
+
+    assertEquals(0, cache.getHits());
+    assertEquals(2, cache.getMisses());
+  }
+
+  @Test
+  public void recomputeRouteWhenPathLocked() {
+    Path path = new Path("path", point1.getReference(), point2.getReference());
+
+    cache.getRoute(vehicle, point1, order);
+    cache.onEvent(new TCSObjectEvent(path.withLocked(true),
+                                     path,
+                                     TCSObjectEvent.Type.OBJECT_MODIFIED));
+    cache.getRoute(vehicle, point1, order);
+
+    assertEquals(0, cache.getHits());
+    assertEquals(2, cache.getMisses());
+  }
+
+  @Test
+  public void reuseRouteWhenPointOccupationChanged() {
+    cache.getRoute(vehicle, point1, order);
+    cache.onEvent(new TCSObjectEvent(point2.withOccupyingVehicle(vehicle.getReference()),
+                                     point2,
+                                     TCSObjectEvent.Type.OBJECT_MODIFIED));
+    cache.getRoute(vehicle, point1, order);
+
+    assertEquals(1, cache.getHits());
+    assertEquals(1, cache.getMisses());
+  }
+
+  @Test
+  public void recomputeRouteWhenOrderRemovedAndRecreated() {
+    cache.getRoute(vehicle, point1, order);
+    cache.onEvent(new TCSObjectEvent(null, order, TCSObjectEvent.Type.OBJECT_REMOVED));
+    cache.getRoute(vehicle, point1, order);
+
+    assertEquals(0, cache.getHits());
+    assertEquals(2, cache.getMisses());
+  }
+}
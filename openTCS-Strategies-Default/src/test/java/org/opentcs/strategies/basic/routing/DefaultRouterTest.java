@@ -7,13 +7,23 @@
  */
 package org.opentcs.strategies.basic.routing;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 import org.junit.*;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -23,8 +33,14 @@ import org.opentcs.components.kernel.Router;
 import org.opentcs.components.kernel.routing.GroupMapper;
 import org.opentcs.components.kernel.services.TCSObjectService;
 import org.opentcs.data.TCSObject;
+import org.opentcs.data.model.Location;
+import org.opentcs.data.model.LocationType;
+import org.opentcs.data.model.Path;
 import org.opentcs.data.model.Point;
 import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.DriveOrder;
+import org.opentcs.data.order.Route;
+import org.opentcs.data.order.TransportOrder;
 
 /**
  * Test cases for the {@link DefaultRouter}.
@@ -130,6 +146,138 @@ public class DefaultRouterTest {
     verify(builder, times(15)).createPointRouter(any());
   }
 
+  @Test
+  public void shouldUpdatePointRoutersIncrementallyIfEnabled() {
+    when(configuration.incrementalTopologyUpdates()).thenReturn(true);
+    Vehicle vehicle = createVehicle("Vehicle-000", 1);
+    Set<Path> paths = Collections.singleton(createPath());
+
+    router.initialize();
+    router.topologyChanged(paths);
+
+    verify(builder, times(1)).createPointRouter(any());
+    verify(builder).updatePointRouter(any(), eq(vehicle), eq(paths));
+  }
+
+  @Test
+  public void shouldRecreatePointRoutersIfIncrementalUpdatesDisabled() {
+    when(configuration.incrementalTopologyUpdates()).thenReturn(false);
+    createVehicle("Vehicle-000", 1);
+
+    router.initialize();
+    router.topologyChanged(Collections.singleton(createPath()));
+
+    verify(builder, times(2)).createPointRouter(any());
+    verify(builder, never()).updatePointRouter(any(), any(), any());
+  }
+
+  @Test
+  public void shouldMaterializeOnlyCheapestOrderRoute() {
+    Vehicle vehicle = createVehicle("Vehicle-000", 1);
+    Point startPoint = createPoint("Start point");
+    Point pointA = createPoint("Point A");
+    Point pointB = createPoint("Point B");
+    Point pointC = createPoint("Point C");
+    LocationType locationType = new LocationType("Some location type");
+    when(objectService.fetchObject(LocationType.class, locationType.getName()))
+        .thenReturn(locationType);
+    Location location1 = createLocation("Location 1", locationType, pointA, pointB);
+    Location location2 = createLocation("Location 2", locationType, pointC);
+
+    // Going to B first is cheaper, but the whole route via A is the cheapest one.
+    Map<String, Long> costs = new HashMap<>();
+    costs.put("Start point->Point A", 10L);
+    costs.put("Start point->Point B", 1L);
+    costs.put("Point A->Point C", 1L);
+    costs.put("Point B->Point C", 20L);
+    PointRouter pointRouter = mock(PointRouter.class);
+    when(pointRouter.getCosts(any(Point.class), any(Point.class)))
+        .then(o -> costs.getOrDefault(((Point) o.getArgument(0)).getName()
+            + "->" + ((Point) o.getArgument(1)).getName(),
+                                      PointRouter.INFINITE_COSTS));
+    when(pointRouter.getRouteSteps(any(Point.class), any(Point.class)))
+        .then(o -> Arrays.asList(new Route.Step(null,
+                                                o.getArgument(0),
+                                                o.getArgument(1),
+                                                Vehicle.Orientation.FORWARD,
+                                                0)));
+    when(builder.createPointRouter(any())).thenReturn(pointRouter);
+
+    TransportOrder order = new TransportOrder(
+        "Some order",
+        Arrays.asList(new DriveOrder(createDestination(location1)),
+                      new DriveOrder(createDestination(location2)))
+    );
+
+    router.initialize();
+    Optional<List<DriveOrder>> result = router.getRoute(vehicle, startPoint, order);
+
+    assertTrue(result.isPresent());
+    assertThat(result.get().size(), is(2));
+    assertThat(result.get().get(0).getRoute().getFinalDestinationPoint(), is(pointA));
+    assertThat(result.get().get(0).getRoute().getCosts(), is(10L));
+    assertThat(result.get().get(1).getRoute().getFinalDestinationPoint(), is(pointC));
+    assertThat(result.get().get(1).getRoute().getCosts(), is(1L));
+    verify(pointRouter, times(2)).getRouteSteps(any(Point.class), any(Point.class));
+    verify(pointRouter, never()).getRouteSteps(any(Point.class), eq(pointB));
+    verify(pointRouter, never()).getRouteSteps(eq(pointB), any(Point.class));
+  }
+
+  @Test
+  public void shouldReturnEmptyOrderRouteIfDestinationUnreachable() {
+    Vehicle vehicle = createVehicle("Vehicle-000", 1);
+    Point startPoint = createPoint("Start point");
+    Point pointA = createPoint("Point A");
+    LocationType locationType = new LocationType("Some location type");
+    when(objectService.fetchObject(LocationType.class, locationType.getName()))
+        .thenReturn(locationType);
+    Location location = createLocation("Location 1", locationType, pointA);
+
+    PointRouter pointRouter = mock(PointRouter.class);
+    when(pointRouter.getCosts(any(Point.class), any(Point.class)))
+        .thenReturn(PointRouter.INFINITE_COSTS);
+    when(builder.createPointRouter(any())).thenReturn(pointRouter);
+
+    TransportOrder order = new TransportOrder(
+        "Some order",
+        Arrays.asList(new DriveOrder(createDestination(location)))
+    );
+
+    router.initialize();
+
+    assertThat(router.getRoute(vehicle, startPoint, order).isPresent(), is(false));
+    verify(pointRouter, never()).getRouteSteps(any(Point.class), any(Point.class));
+  }
+
+  private Point createPoint(String name) {
+    Point point = new Point(name);
+    when(objectService.fetchObject(Point.class, point.getReference())).thenReturn(point);
+    when(objectService.fetchObject(Point.class, name)).thenReturn(point);
+    return point;
+  }
+
+  private Location createLocation(String name, LocationType type, Point... points) {
+    Location location = new Location(name, type.getReference());
+    Set<Location.Link> links = new HashSet<>();
+    for (Point point : points) {
+      links.add(new Location.Link(location.getReference(), point.getReference()));
+    }
+    location = location.withAttachedLinks(links);
+    when(objectService.fetchObject(Location.class, name)).thenReturn(location);
+    return location;
+  }
+
+  private DriveOrder.Destination createDestination(Location location) {
+    return new DriveOrder.Destination(location.getReference())
+        .withOperation(DriveOrder.Destination.OP_NOP);
+  }
+
+  private Path createPath() {
+    return new Path("Some path",
+                    new Point("Some source point").getReference(),
+                    new Point("Some destination point").getReference());
+  }
+
   /**
    * Creates a vehicle with a unique id, the given name and the given routing group.
    * If the routing group is negative no property will be added.
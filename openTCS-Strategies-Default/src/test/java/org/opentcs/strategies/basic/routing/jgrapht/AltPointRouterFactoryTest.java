@@ -0,0 +1,214 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing.jgrapht;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.jgrapht.Graph;
+import org.jgrapht.GraphPath;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm;
+import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
+import org.jgrapht.graph.DirectedWeightedMultigraph;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.opentcs.components.kernel.routing.Edge;
+import org.opentcs.components.kernel.services.TCSObjectService;
+import org.opentcs.data.model.Path;
+import org.opentcs.data.model.Point;
+
+/**
+ * Test cases for {@link AltPointRouterFactory}.
+ */
+public class AltPointRouterFactoryTest {
+
+  /**
+   * The number of rows/columns of the grid graph used for comparisons with Dijkstra's algorithm.
+   */
+  private static final int GRID_SIZE = 8;
+
+  private Graph<String, Edge> graph;
+
+  @Before
+  public void setUp() {
+    graph = new DirectedWeightedMultigraph<>(Edge.class);
+
+    // A chain A --> B --> C --> D and an isolated point E.
+    for (String name : Arrays.asList("A", "B", "C", "D", "E")) {
+      graph.addVertex(name);
+    }
+    addEdge("A", "B");
+    addEdge("B", "C");
+    addEdge("C", "D");
+  }
+
+  @Test
+  public void selectNoLandmarksForEmptyGraph() {
+    Graph<String, Edge> emptyGraph = new DirectedWeightedMultigraph<>(Edge.class);
+
+    assertTrue(AltPointRouterFactory.selectLandmarks(emptyGraph, 4).isEmpty());
+  }
+
+  @Test
+  public void selectFarthestVerticesAsLandmarks() {
+    Set<String> landmarks = AltPointRouterFactory.selectLandmarks(graph, 3);
+
+    assertEquals(Arrays.asList("D", "A", "E"), new ArrayList<>(landmarks));
+  }
+
+  @Test
+  public void selectEachVertexAtMostOnce() {
+    Set<String> landmarks = AltPointRouterFactory.selectLandmarks(graph, 10);
+
+    assertEquals(Arrays.asList("D", "A", "E", "C", "B"), new ArrayList<>(landmarks));
+  }
+
+  @Test
+  public void computeSameRoutesAsDijkstra() {
+    Graph<String, Edge> gridGraph = createGridGraph();
+    ShortestPathAlgorithm<String, Edge> alt = createAltAlgorithm(gridGraph, 4);
+    DijkstraShortestPath<String, Edge> dijkstra = new DijkstraShortestPath<>(gridGraph);
+
+    for (String source : gridGraph.vertexSet()) {
+      for (String target : gridGraph.vertexSet()) {
+        assertSamePath(dijkstra.getPath(source, target), alt.getPath(source, target));
+        assertEquals(dijkstra.getPathWeight(source, target),
+                     alt.getPathWeight(source, target),
+                     0.0);
+      }
+    }
+  }
+
+  @Test
+  public void computeSameRoutesAsDijkstraForConcurrentQueries()
+      throws Exception {
+    Graph<String, Edge> gridGraph = createGridGraph();
+    ShortestPathAlgorithm<String, Edge> alt = createAltAlgorithm(gridGraph, 4);
+    DijkstraShortestPath<String, Edge> dijkstra = new DijkstraShortestPath<>(gridGraph);
+
+    List<String[]> queries = new ArrayList<>();
+    for (String source : gridGraph.vertexSet()) {
+      for (String target : gridGraph.vertexSet()) {
+        queries.add(new String[]{source, target});
+      }
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<GraphPath<String, Edge>>> results = new ArrayList<>();
+      for (String[] query : queries) {
+        results.add(executor.submit(() -> alt.getPath(query[0], query[1])));
+      }
+      for (int i = 0; i < queries.size(); i++) {
+        String[] query = queries.get(i);
+        assertSamePath(dijkstra.getPath(query[0], query[1]), results.get(i).get());
+      }
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void fallBackToDijkstraForEmptyGraph() {
+    Graph<String, Edge> emptyGraph = new DirectedWeightedMultigraph<>(Edge.class);
+
+    ShortestPathAlgorithm<String, Edge> algorithm = createAltAlgorithm(emptyGraph, 4);
+
+    assertTrue(algorithm instanceof DijkstraShortestPath);
+  }
+
+  private ShortestPathAlgorithm<String, Edge> createAltAlgorithm(Graph<String, Edge> graph,
+                                                                 int landmarkCount) {
+    ShortestPathConfiguration configuration = mock(ShortestPathConfiguration.class);
+    when(configuration.altLandmarkCount()).thenReturn(landmarkCount);
+    AltPointRouterFactory factory = new AltPointRouterFactory(mock(TCSObjectService.class),
+                                                              mock(ModelGraphMapper.class),
+                                                              configuration);
+    return factory.createShortestPathAlgorithm(graph);
+  }
+
+  /**
+   * Creates a grid of points with bidirectional connections between neighbouring points, with
+   * (pseudo-random but reproducible) different weights in each direction, plus an isolated point.
+   *
+   * @return The graph.
+   */
+  private Graph<String, Edge> createGridGraph() {
+    Graph<String, Edge> gridGraph = new DirectedWeightedMultigraph<>(Edge.class);
+    Random random = new Random(4711);
+    for (int row = 0; row < GRID_SIZE; row++) {
+      for (int col = 0; col < GRID_SIZE; col++) {
+        gridGraph.addVertex(gridVertex(row, col));
+      }
+    }
+    gridGraph.addVertex("isolated");
+
+    for (int row = 0; row < GRID_SIZE; row++) {
+      for (int col = 0; col < GRID_SIZE; col++) {
+        if (col + 1 < GRID_SIZE) {
+          addEdge(gridGraph, gridVertex(row, col), gridVertex(row, col + 1), random);
+          addEdge(gridGraph, gridVertex(row, col + 1), gridVertex(row, col), random);
+        }
+        if (row + 1 < GRID_SIZE) {
+          addEdge(gridGraph, gridVertex(row, col), gridVertex(row + 1, col), random);
+          addEdge(gridGraph, gridVertex(row + 1, col), gridVertex(row, col), random);
+        }
+      }
+    }
+    return gridGraph;
+  }
+
+  private static String gridVertex(int row, int col) {
+    return "P-" + row + "-" + col;
+  }
+
+  private static void assertSamePath(GraphPath<String, Edge> expected,
+                                     GraphPath<String, Edge> actual) {
+    if (expected == null) {
+      assertNull(actual);
+      return;
+    }
+    assertEquals(expected.getVertexList(), actual.getVertexList());
+    assertEquals(expected.getWeight(), actual.getWeight(), 0.0);
+  }
+
+  private void addEdge(String source, String target) {
+    addEdge(graph, source, target, 1000);
+  }
+
+  private static void addEdge(Graph<String, Edge> graph,
+                              String source,
+                              String target,
+                              Random random) {
+    // Use a wide range of weights so that there is exactly one shortest path between any points.
+    addEdge(graph, source, target, 1000 + random.nextInt(1000000));
+  }
+
+  private static void addEdge(Graph<String, Edge> graph,
+                              String source,
+                              String target,
+                              double weight) {
+    Path path = new Path(source + " --- " + target,
+                         new Point(source).getReference(),
+                         new Point(target).getReference());
+    Edge edge = new Edge(path, false);
+    graph.addEdge(source, target, edge);
+    graph.setEdgeWeight(edge, weight);
+  }
+}
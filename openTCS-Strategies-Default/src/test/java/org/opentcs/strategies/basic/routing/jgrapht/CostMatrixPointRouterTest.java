@@ -0,0 +1,209 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing.jgrapht;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DirectedWeightedMultigraph;
+import org.junit.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.opentcs.components.kernel.routing.Edge;
+import org.opentcs.data.model.Path;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.Route.Step;
+import org.opentcs.strategies.basic.routing.PointRouter;
+
+/**
+ * Test cases for {@link CostMatrixPointRouter}.
+ */
+public class CostMatrixPointRouterTest {
+
+  private Point pointA;
+  private Point pointB;
+  private Point pointC;
+  private Point pointD;
+
+  private Path pathAC;
+  private Path pathAD;
+  private Path pathDC;
+
+  private Graph<String, Edge> graph;
+
+  private CostMatrixPointRouter pointRouter;
+
+  @Before
+  public void setUp() {
+    pointA = new Point("A");
+    pointB = new Point("B");
+    pointC = new Point("C");
+    pointD = new Point("D");
+
+    pathAC = new Path("A-->C", pointA.getReference(), pointC.getReference());
+    pathAD = new Path("A-->D", pointA.getReference(), pointD.getReference());
+    pathDC = new Path("D-->C", pointD.getReference(), pointC.getReference());
+
+    Edge edgeAC = new Edge(pathAC, false);
+    Edge edgeAD = new Edge(pathAD, false);
+    Edge edgeDC = new Edge(pathDC, false);
+    Edge edgeCD = new Edge(pathDC, true);
+
+    graph = new DirectedWeightedMultigraph<>(Edge.class);
+
+    graph.addVertex(pointA.getName());
+    graph.addVertex(pointB.getName());
+    graph.addVertex(pointC.getName());
+    graph.addVertex(pointD.getName());
+
+    graph.addEdge(pointA.getName(), pointC.getName(), edgeAC);
+    graph.setEdgeWeight(edgeAC, 1234);
+    graph.addEdge(pointA.getName(), pointD.getName(), edgeAD);
+    graph.setEdgeWeight(edgeAD, 100);
+    graph.addEdge(pointD.getName(), pointC.getName(), edgeDC);
+    graph.setEdgeWeight(edgeDC, 200);
+    graph.addEdge(pointC.getName(), pointD.getName(), edgeCD);
+    graph.setEdgeWeight(edgeCD, 200);
+
+    pointRouter = createPointRouter(false);
+  }
+
+  @Test
+  public void returnZeroCostsIfDestinationIsSource() {
+    assertEquals(0, pointRouter.getCosts(pointA.getReference(), pointA.getReference()));
+  }
+
+  @Test
+  public void returnEmptyRouteIfDestinationIsSource() {
+    List<Step> steps = pointRouter.getRouteSteps(pointA, pointA);
+    assertNotNull(steps);
+    assertTrue(steps.isEmpty());
+  }
+
+  @Test
+  public void returnInfiniteCostsIfNoRouteExists() {
+    assertEquals(PointRouter.INFINITE_COSTS,
+                 pointRouter.getCosts(pointA.getReference(), pointB.getReference()));
+    assertEquals(PointRouter.INFINITE_COSTS,
+                 pointRouter.getCosts(pointC.getReference(), pointA.getReference()));
+  }
+
+  @Test
+  public void returnNullIfNoRouteExists() {
+    assertNull(pointRouter.getRouteSteps(pointA, pointB));
+    assertNull(pointRouter.getRouteSteps(pointC, pointA));
+  }
+
+  @Test
+  public void returnCostsOfCheapestRoute() {
+    assertEquals(300, pointRouter.getCosts(pointA.getReference(), pointC.getReference()));
+    assertEquals(100, pointRouter.getCosts(pointA.getReference(), pointD.getReference()));
+    assertEquals(200, pointRouter.getCosts(pointC.getReference(), pointD.getReference()));
+  }
+
+  @Test
+  public void returnStepsOfCheapestRoute() {
+    List<Step> steps = pointRouter.getRouteSteps(pointA, pointC);
+    assertNotNull(steps);
+    assertEquals(2, steps.size());
+
+    assertEquals(pathAD, steps.get(0).getPath());
+    assertEquals(pointA, steps.get(0).getSourcePoint());
+    assertEquals(pointD, steps.get(0).getDestinationPoint());
+    assertEquals(Vehicle.Orientation.FORWARD, steps.get(0).getVehicleOrientation());
+    assertEquals(0, steps.get(0).getRouteIndex());
+
+    assertEquals(pathDC, steps.get(1).getPath());
+    assertEquals(pointD, steps.get(1).getSourcePoint());
+    assertEquals(pointC, steps.get(1).getDestinationPoint());
+    assertEquals(Vehicle.Orientation.FORWARD, steps.get(1).getVehicleOrientation());
+    assertEquals(1, steps.get(1).getRouteIndex());
+  }
+
+  @Test
+  public void returnBackwardStepsForReverseEdges() {
+    List<Step> steps = pointRouter.getRouteSteps(pointC, pointD);
+    assertNotNull(steps);
+    assertEquals(1, steps.size());
+
+    assertEquals(pathDC, steps.get(0).getPath());
+    assertEquals(pointC, steps.get(0).getSourcePoint());
+    assertEquals(pointD, steps.get(0).getDestinationPoint());
+    assertEquals(Vehicle.Orientation.BACKWARD, steps.get(0).getVehicleOrientation());
+  }
+
+  @Test
+  public void returnSameResultsWithOffHeapMatrices() {
+    CostMatrixPointRouter offHeapRouter = createPointRouter(true);
+
+    for (Point src : Arrays.asList(pointA, pointB, pointC, pointD)) {
+      for (Point dest : Arrays.asList(pointA, pointB, pointC, pointD)) {
+        assertEquals(pointRouter.getCosts(src.getReference(), dest.getReference()),
+                     offHeapRouter.getCosts(src.getReference(), dest.getReference()));
+        assertEquals(pointRouter.getRouteSteps(src, dest),
+                     offHeapRouter.getRouteSteps(src, dest));
+      }
+    }
+  }
+
+  @Test
+  public void returnSameResultsAsNewInstanceAfterRemovingEdges() {
+    Graph<String, Edge> newGraph = copyGraphWithout(pathAD);
+
+    assertSameResults(new CostMatrixPointRouter(newGraph, allPoints(), false),
+                      pointRouter.update(newGraph, allPoints(), Collections.singleton("A-->D")));
+    assertEquals(1234, pointRouter.update(newGraph, allPoints(), Collections.singleton("A-->D"))
+                 .getCosts(pointA.getReference(), pointC.getReference()));
+  }
+
+  @Test
+  public void returnSameResultsAsNewInstanceAfterAddingEdges() {
+    CostMatrixPointRouter previousRouter
+        = new CostMatrixPointRouter(copyGraphWithout(pathAD), allPoints(), false);
+
+    assertSameResults(pointRouter,
+                      previousRouter.update(graph, allPoints(), Collections.singleton("A-->D")));
+  }
+
+  private void assertSameResults(CostMatrixPointRouter expected, CostMatrixPointRouter actual) {
+    for (Point src : allPoints()) {
+      for (Point dest : allPoints()) {
+        assertEquals(expected.getCosts(src.getReference(), dest.getReference()),
+                     actual.getCosts(src.getReference(), dest.getReference()));
+        assertEquals(expected.getRouteSteps(src, dest), actual.getRouteSteps(src, dest));
+      }
+    }
+  }
+
+  private Graph<String, Edge> copyGraphWithout(Path path) {
+    Graph<String, Edge> result = new DirectedWeightedMultigraph<>(Edge.class);
+    graph.vertexSet().forEach(result::addVertex);
+    for (Edge edge : graph.edgeSet()) {
+      if (edge.getPath() != path) {
+        result.addEdge(graph.getEdgeSource(edge), graph.getEdgeTarget(edge), edge);
+        result.setEdgeWeight(edge, graph.getEdgeWeight(edge));
+      }
+    }
+    return result;
+  }
+
+  private List<Point> allPoints() {
+    return Arrays.asList(pointA, pointB, pointC, pointD);
+  }
+
+  private CostMatrixPointRouter createPointRouter(boolean offHeap) {
+    return new CostMatrixPointRouter(graph,
+                                     new HashSet<>(Arrays.asList(pointA, pointB, pointC, pointD)),
+                                     offHeap);
+  }
+}
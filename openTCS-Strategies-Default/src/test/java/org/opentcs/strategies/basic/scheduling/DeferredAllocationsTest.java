@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.scheduling;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import org.junit.jupiter.api.*;
+import org.opentcs.components.kernel.Scheduler;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.TCSResource;
+
+/**
+ * Unit tests for {@link DeferredAllocations}.
+ */
+public class DeferredAllocationsTest {
+
+  private final Point point1 = new Point("point1");
+  private final Point point2 = new Point("point2");
+  private final Point point3 = new Point("point3");
+
+  private AtomicLong time;
+  private DeferredAllocations deferredAllocations;
+
+  @BeforeEach
+  public void setUp() {
+    time = new AtomicLong();
+    deferredAllocations = new DeferredAllocations(time::get);
+  }
+
+  @Test
+  public void retryOnlyAllocationsBlockedByReleasedResources() {
+    AllocatorCommand.Allocate allocate1 = createAllocate("client1", point1);
+    AllocatorCommand.Allocate allocate2 = createAllocate("client2", point2);
+    deferredAllocations.add(allocate1, Set.of(point1));
+    deferredAllocations.add(allocate2, Set.of(point2));
+
+    List<AllocatorCommand.Allocate> result = deferredAllocations.pollUnblockedBy(Set.of(point2));
+
+    assertThat(result, contains(allocate2));
+    assertThat(deferredAllocations.size(), is(1));
+  }
+
+  @Test
+  public void retryAllocationsInOrderOfDeferral() {
+    AllocatorCommand.Allocate allocate1 = createAllocate("client1", point1, point2);
+    AllocatorCommand.Allocate allocate2 = createAllocate("client2", point1);
+    AllocatorCommand.Allocate allocate3 = createAllocate("client3", point2);
+    deferredAllocations.add(allocate1, Set.of(point2));
+    deferredAllocations.add(allocate2, Set.of(point1));
+    deferredAllocations.add(allocate3, Set.of(point2));
+
+    List<AllocatorCommand.Allocate> result
+        = deferredAllocations.pollUnblockedBy(Set.of(point1, point2));
+
+    assertThat(result, contains(allocate1, allocate2, allocate3));
+    assertThat(deferredAllocations.size(), is(0));
+  }
+
+  @Test
+  public void alwaysRetryAllocationsWithoutKnownBlockingResources() {
+    AllocatorCommand.Allocate allocate1 = createAllocate("client1", point1);
+    AllocatorCommand.Allocate allocate2 = createAllocate("client2", point2);
+    deferredAllocations.add(allocate1, Set.of());
+    deferredAllocations.add(allocate2, Set.of(point2));
+
+    List<AllocatorCommand.Allocate> result = deferredAllocations.pollUnblockedBy(Set.of(point3));
+
+    assertThat(result, contains(allocate1));
+  }
+
+  @Test
+  public void retryAllocationDeferredAgainOnlyOnce() {
+    AllocatorCommand.Allocate allocate = createAllocate("client1", point1, point2);
+    deferredAllocations.add(allocate, Set.of(point1));
+    deferredAllocations.add(allocate, Set.of(point2));
+
+    assertThat(deferredAllocations.pollUnblockedBy(Set.of(point1)), is(empty()));
+    assertThat(deferredAllocations.pollUnblockedBy(Set.of(point2)), contains(allocate));
+  }
+
+  @Test
+  public void removeAllAllocationsOfClient() {
+    AllocatorCommand.Allocate allocate1 = createAllocate("client1", point1);
+    AllocatorCommand.Allocate allocate2 = createAllocate("client2", point1);
+    deferredAllocations.add(allocate1, Set.of(point1));
+    deferredAllocations.add(allocate2, Set.of(point1));
+
+    deferredAllocations.removeAll(allocate1.getClient());
+
+    assertThat(deferredAllocations.pollAll(), contains(allocate2));
+  }
+
+  @Test
+  public void recordWaitTimesForReleasedResources() {
+    deferredAllocations.add(createAllocate("client1", point1), Set.of(point1));
+    deferredAllocations.add(createAllocate("client2", point2), Set.of(point2));
+    time.set(2500);
+
+    deferredAllocations.pollUnblockedBy(Set.of(point1));
+
+    Map<String, DeferredAllocations.WaitTimeHistogram> histograms
+        = deferredAllocations.getWaitTimeHistograms();
+    assertThat(histograms, hasKey("point1"));
+    assertThat(histograms, not(hasKey("point2")));
+    assertThat(histograms.get("point1").getCount(), is(1L));
+    assertThat(histograms.get("point1").getMaxWaitTime(), is(2500L));
+    // The third bucket contains wait times from 1000 ms to less than 5000 ms.
+    assertThat(histograms.get("point1").getCounts()[2], is(1L));
+  }
+
+  private AllocatorCommand.Allocate createAllocate(String clientId, TCSResource<?>... resources) {
+    return new AllocatorCommand.Allocate(new TestClient(clientId), Set.of(resources));
+  }
+
+  /**
+   * A dummy client for cases in which we need to provide a client but do not have a real one.
+   */
+  private static class TestClient
+      implements Scheduler.Client {
+
+    private final String id;
+
+    TestClient(String id) {
+      this.id = id;
+    }
+
+    @Override
+    public String getId() {
+      return id;
+    }
+
+    @Override
+    public boolean allocationSuccessful(Set<TCSResource<?>> resources) {
+      return false;
+    }
+
+    @Override
+    public void allocationFailed(Set<TCSResource<?>> resources) {
+    }
+  }
+}
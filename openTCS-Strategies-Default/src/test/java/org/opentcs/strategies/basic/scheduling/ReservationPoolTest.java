@@ -9,6 +9,9 @@ package org.opentcs.strategies.basic.scheduling;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.aMapWithSize;
@@ -16,8 +19,12 @@ import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.collection.IsMapWithSize.anEmptyMap;
 import org.junit.jupiter.api.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 import org.opentcs.components.kernel.Scheduler;
 import org.opentcs.data.model.Point;
 import org.opentcs.data.model.TCSResource;
@@ -125,6 +132,93 @@ public class ReservationPoolTest {
     assertThat(reservationPool.getAllocations(), is(anEmptyMap()));
   }
 
+  @Test
+  public void useGlobalSyncObjectForModulesWithoutStripedLocking() {
+    Object globalSyncObject = new Object();
+    DefaultSchedulerConfiguration configuration = mock(DefaultSchedulerConfiguration.class);
+    when(configuration.stripedResourceLocking()).thenReturn(false);
+
+    reservationPool = new ReservationPool(globalSyncObject, configuration);
+
+    assertThat(reservationPool.getModuleSyncObject(), is(sameInstance(globalSyncObject)));
+    assertThat(reservationPool.callWithLocks(client,
+                                             Set.of(new Point("point1")),
+                                             () -> Thread.holdsLock(globalSyncObject)),
+               is(true));
+  }
+
+  @Test
+  public void notUseGlobalSyncObjectWithStripedLocking() {
+    Object globalSyncObject = new Object();
+    reservationPool = new ReservationPool(globalSyncObject, createStripedConfiguration(16));
+
+    assertThat(reservationPool.getModuleSyncObject(), is(not(sameInstance(globalSyncObject))));
+    assertThat(reservationPool.callWithLocks(client,
+                                             Set.of(new Point("point1")),
+                                             () -> Thread.holdsLock(globalSyncObject)),
+               is(false));
+  }
+
+  @Test
+  public void blockLockingResourcesWhileAllLocksAreHeld()
+      throws Exception {
+    reservationPool = new ReservationPool(new Object(), createStripedConfiguration(16));
+    CountDownLatch allLocksHeld = new CountDownLatch(1);
+    CountDownLatch releaseAllLocks = new CountDownLatch(1);
+    AtomicBoolean resourceLocked = new AtomicBoolean();
+
+    Thread holder = new Thread(() -> reservationPool.runWithAllLocks(() -> {
+      allLocksHeld.countDown();
+      awaitQuietly(releaseAllLocks);
+    }));
+    holder.start();
+    allLocksHeld.await(5, TimeUnit.SECONDS);
+
+    Thread locker = new Thread(
+        () -> reservationPool.runWithLocks(client,
+                                           Set.of(new Point("point1")),
+                                           () -> resourceLocked.set(true))
+    );
+    locker.start();
+    locker.join(200);
+    assertThat(resourceLocked.get(), is(false));
+
+    releaseAllLocks.countDown();
+    locker.join(5000);
+    holder.join(5000);
+    assertThat(resourceLocked.get(), is(true));
+  }
+
+  @Test
+  public void allowNestedLockingOfSubsets() {
+    reservationPool = new ReservationPool(new Object(), createStripedConfiguration(16));
+    Set<TCSResource<?>> resources = Set.of(new Point("point1"), new Point("point2"));
+
+    boolean result = reservationPool.callWithLocks(
+        client,
+        resources,
+        () -> reservationPool.callWithLocks(client, Set.of(new Point("point1")), () -> true)
+    );
+
+    assertThat(result, is(true));
+  }
+
+  private DefaultSchedulerConfiguration createStripedConfiguration(int stripes) {
+    DefaultSchedulerConfiguration configuration = mock(DefaultSchedulerConfiguration.class);
+    when(configuration.stripedResourceLocking()).thenReturn(true);
+    when(configuration.resourceLockStripes()).thenReturn(stripes);
+    return configuration;
+  }
+
+  private void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    }
+    catch (InterruptedException exc) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
   /**
    * A dummy client for cases in which we need to provide a client but do not have a real one.
    */
@@ -15,7 +15,9 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import org.opentcs.components.kernel.Scheduler;
 import org.opentcs.components.kernel.services.InternalPlantModelService;
@@ -44,7 +46,8 @@ public class SingleVehicleBlockModuleTest {
   public SingleVehicleBlockModuleTest() {
     reservationPool = mock(ReservationPool.class);
     plantModelService = mock(InternalPlantModelService.class);
-    module = new SingleVehicleBlockModule(reservationPool, plantModelService, new Object());
+    when(reservationPool.getModuleSyncObject()).thenReturn(new Object());
+    module = new SingleVehicleBlockModule(reservationPool, plantModelService);
   }
 
   @Before
@@ -61,6 +64,7 @@ public class SingleVehicleBlockModuleTest {
     ModelData model = new ModelData();
 
     when(plantModelService.fetchObjects(eq(Block.class), any())).thenReturn(new HashSet<>());
+    module.initialize();
     assertTrue(module.mayAllocate(client, model.resourcesToAllocate));
   }
 
@@ -74,6 +78,7 @@ public class SingleVehicleBlockModuleTest {
     when(plantModelService.expandResources(any())).thenReturn(model.getBlockResources());
     when(reservationPool.resourcesAvailableForUser(model.getBlockResources(), client))
         .thenReturn(true);
+    module.initialize();
     assertTrue(module.mayAllocate(client, model.getResourcesToAllocate()));
   }
 
@@ -87,9 +92,29 @@ public class SingleVehicleBlockModuleTest {
     when(plantModelService.expandResources(any())).thenReturn(model.getBlockResources());
     when(reservationPool.resourcesAvailableForUser(model.getBlockResources(), client))
         .thenReturn(false);
+    module.initialize();
     assertFalse(module.mayAllocate(client, model.getResourcesToAllocate()));
   }
 
+  @Test
+  public void shouldNotAccessPlantModelWhenCheckingAllocation() {
+    Scheduler.Client client = new SampleClient();
+    ModelData model = new ModelData();
+
+    when(plantModelService.fetchObjects(eq(Block.class), any()))
+        .thenReturn(new HashSet<>(Arrays.asList(model.getBlock())));
+    when(plantModelService.expandResources(any())).thenReturn(model.getBlockResources());
+    when(reservationPool.resourcesAvailableForUser(model.getBlockResources(), client))
+        .thenReturn(true);
+    module.initialize();
+    clearInvocations(plantModelService);
+
+    assertTrue(module.mayAllocate(client, model.getResourcesToAllocate()));
+    // Accessing the plant model would acquire the kernel's global synchronization object while
+    // holding the reservation pool's locks.
+    verifyZeroInteractions(plantModelService);
+  }
+
   private class ModelData {
 
     private final Set<TCSResource<?>> blockResources = new HashSet<>();